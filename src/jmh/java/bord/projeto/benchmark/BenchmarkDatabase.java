@@ -0,0 +1,44 @@
+package bord.projeto.benchmark;
+
+import bord.projeto.support.DatabaseSeeder;
+import bord.projeto.support.DatabaseSeeder.SeededBoard;
+import bord.projeto.support.EmbeddedDatabase;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Banco embarcado compartilhado pelos benchmarks, populado uma vez por trial com {@code cards} cards.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+
+    @Param({"10", "10000", "1000000"})
+    public int cards;
+
+    public EmbeddedDatabase database;
+    public SeededBoard seeded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = EmbeddedDatabase.start("board_bench").useAsDefault();
+        try (var connection = database.openConnection()) {
+            seeded = DatabaseSeeder.seed(connection, cards);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    public long randomCardId() {
+        return ThreadLocalRandom.current().nextLong(seeded.firstCardId(), seeded.lastCardId() + 1);
+    }
+
+}
@@ -0,0 +1,32 @@
+package bord.projeto.benchmark;
+
+import bord.projeto.dto.BoardColumnDTO;
+import bord.projeto.persistence.dao.BoardColumnDAO;
+import bord.projeto.persistence.entity.BoardColumnEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.INITIAL;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BoardColumnDAOBenchmark {
+
+    @Benchmark
+    public List<BoardColumnDTO> findByBoardIdWithDetails(final BenchmarkDatabase database, final ConnectionState state) throws SQLException {
+        return new BoardColumnDAO(state.connection).findByBoardIdWithDetails(database.seeded.boardId());
+    }
+
+    @Benchmark
+    public Optional<BoardColumnEntity> findById(final BenchmarkDatabase database, final ConnectionState state) throws SQLException {
+        return new BoardColumnDAO(state.connection).findById(database.seeded.column(INITIAL).id());
+    }
+
+}
@@ -0,0 +1,23 @@
+package bord.projeto.benchmark;
+
+import bord.projeto.persistence.entity.BoardEntity;
+import bord.projeto.service.BoardService;
+import bord.projeto.support.DatabaseSeeder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BoardServiceBenchmark {
+
+    @Benchmark
+    public BoardEntity insert(final BenchmarkDatabase database, final ConnectionState state) throws SQLException {
+        return new BoardService(state.connection).insert(DatabaseSeeder.newBoard("benchmark"));
+    }
+
+}
@@ -0,0 +1,100 @@
+package bord.projeto.benchmark;
+
+import bord.projeto.persistence.dao.CardDAO;
+import bord.projeto.service.CardBulkService;
+import bord.projeto.service.CardService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.sql.SQLException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.INITIAL;
+
+/**
+ * Compara a vazão (cards/s) de mover cards um a um por CardService.moveToNextColumn com
+ * CardBulkService.moveToNextColumn, para o mesmo conjunto de cards.
+ * Cada invocação move até {@value #CARDS_PER_INVOCATION} cards distintos (menos quando o banco tem
+ * menos cards); a vazão em cards/s é a do contador {@code moved}, que soma os cards realmente
+ * movidos, e não a das invocações.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CardBulkMoveBenchmark {
+
+    private static final int CARDS_PER_INVOCATION = 500;
+
+    @State(Scope.Thread)
+    public static class Cards {
+
+        List<Long> cardIds;
+
+        @Setup(Level.Trial)
+        public void silenceServiceOutput() {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        }
+
+        // Sorteia os cards e devolve todos para a coluna inicial antes de cada invocação
+        @Setup(Level.Invocation)
+        public void pickCards(final BenchmarkDatabase database, final ConnectionState state) throws SQLException {
+            var initialColumnId = database.seeded.column(INITIAL).id();
+            var dao = new CardDAO(state.connection);
+            var amount = Math.min(CARDS_PER_INVOCATION, database.cards);
+            // Sem sorteios repetidos: um card repetido falharia no segundo movimento
+            var picked = new LinkedHashSet<Long>(amount * 2);
+            while (picked.size() < amount) {
+                picked.add(database.randomCardId());
+            }
+            for (var cardId : picked) {
+                dao.moveToColumn(initialColumnId, cardId);
+            }
+            cardIds = List.copyOf(picked);
+            state.connection.commit();
+        }
+    }
+
+    // Cards movidos; o JMH reporta o contador como taxa (cards/s), normalizada pelo tamanho real do lote
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Moved {
+
+        public long moved;
+
+    }
+
+    @Benchmark
+    public void moveOneByOne(final BenchmarkDatabase database, final ConnectionState state, final Cards cards,
+                             final Moved moved) throws SQLException {
+        var service = new CardService(state.connection);
+        var workflow = database.seeded.board().getWorkflow();
+        for (var cardId : cards.cardIds) {
+            try {
+                service.moveToNextColumn(database.seeded.boardId(), cardId, workflow);
+                moved.moved++;
+            } catch (RuntimeException ex) {
+                // Card bloqueado ou fora do fluxo; o loop segue como no menu
+            }
+        }
+    }
+
+    @Benchmark
+    public Object moveAll(final BenchmarkDatabase database, final ConnectionState state, final Cards cards,
+                          final Moved moved) throws SQLException {
+        var result = new CardBulkService(state.connection)
+                .moveToNextColumn(database.seeded.boardId(), cards.cardIds, database.seeded.board().getWorkflow());
+        moved.moved += result.moved();
+        return result;
+    }
+
+}
@@ -0,0 +1,74 @@
+package bord.projeto.benchmark;
+
+import bord.projeto.persistence.entity.CardEntity;
+import bord.projeto.service.CardService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.INITIAL;
+
+/**
+ * Compara a vazão (cards/s) de CardService.create, um card por transação, com CardService.createAll.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CardCreateBenchmark {
+
+    private static final int CARDS_PER_INVOCATION = 1_000;
+
+    @State(Scope.Thread)
+    public static class Cards {
+
+        List<CardEntity> cards;
+
+        @Setup(Level.Trial)
+        public void silenceServiceOutput() {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        }
+
+        @Setup(Level.Invocation)
+        public void newCards(final BenchmarkDatabase database) {
+            var column = database.seeded.board().getBoardColumns().stream()
+                    .filter(c -> c.getKind() == INITIAL)
+                    .findFirst().orElseThrow();
+            cards = new ArrayList<>(CARDS_PER_INVOCATION);
+            for (var i = 0; i < CARDS_PER_INVOCATION; i++) {
+                var card = new CardEntity();
+                card.setTitle("importado " + i);
+                card.setDescription("card importado pelo benchmark");
+                card.setBoardColumn(column);
+                cards.add(card);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CARDS_PER_INVOCATION)
+    public void createOneByOne(final ConnectionState state, final Cards cards) throws SQLException {
+        var service = new CardService(state.connection);
+        for (var card : cards.cards) {
+            service.create(card);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CARDS_PER_INVOCATION)
+    public List<CardEntity> createAll(final ConnectionState state, final Cards cards) throws SQLException {
+        return new CardService(state.connection).createAll(cards.cards);
+    }
+
+}
@@ -0,0 +1,33 @@
+package bord.projeto.benchmark;
+
+import bord.projeto.dto.CardDetailsDTO;
+import bord.projeto.persistence.dao.CardDAO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CardDAOBenchmark {
+
+    @Benchmark
+    public Optional<CardDetailsDTO> findById(final BenchmarkDatabase database, final ConnectionState state) throws SQLException {
+        return new CardDAO(state.connection).findById(database.seeded.boardId(), database.randomCardId());
+    }
+
+    // O rollback mantém a massa de dados estável entre as iterações
+    @Benchmark
+    public void moveToColumn(final BenchmarkDatabase database, final ConnectionState state) throws SQLException {
+        var columns = database.seeded.columns();
+        var column = columns.get(ThreadLocalRandom.current().nextInt(columns.size()));
+        new CardDAO(state.connection).moveToColumn(column.id(), database.randomCardId());
+        state.connection.rollback();
+    }
+
+}
@@ -0,0 +1,49 @@
+package bord.projeto.benchmark;
+
+import bord.projeto.persistence.dao.CardDAO;
+import bord.projeto.service.CardService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.INITIAL;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CardServiceBenchmark {
+
+    @State(Scope.Thread)
+    public static class MoveState {
+
+        long cardId;
+
+        @Setup(Level.Trial)
+        public void silenceServiceOutput() {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        }
+
+        // Devolve um card aleatório para a coluna inicial antes de cada movimento
+        @Setup(Level.Invocation)
+        public void pickCard(final BenchmarkDatabase database, final ConnectionState state) throws SQLException {
+            cardId = database.randomCardId();
+            new CardDAO(state.connection).moveToColumn(database.seeded.column(INITIAL).id(), cardId);
+            state.connection.commit();
+        }
+    }
+
+    @Benchmark
+    public void moveToNextColumn(final BenchmarkDatabase database, final ConnectionState state, final MoveState move) throws SQLException {
+        new CardService(state.connection).moveToNextColumn(database.seeded.boardId(), move.cardId, database.seeded.board().getWorkflow());
+    }
+
+}
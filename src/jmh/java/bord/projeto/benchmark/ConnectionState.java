@@ -0,0 +1,32 @@
+package bord.projeto.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static bord.projeto.persistence.ConnectionConfig.getConnection;
+
+/**
+ * Uma conexão do pool por thread de benchmark, como um usuário que mantém a sessão aberta.
+ */
+@State(Scope.Thread)
+public class ConnectionState {
+
+    public Connection connection;
+
+    @Setup(Level.Trial)
+    public void open(final BenchmarkDatabase database) throws SQLException {
+        connection = getConnection();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws SQLException {
+        connection.close();
+    }
+
+}
@@ -0,0 +1,52 @@
+package bord.projeto.loadtest;
+
+import bord.projeto.dto.BoardWorkflow;
+import bord.projeto.persistence.entity.BoardEntity;
+import bord.projeto.support.DatabaseSeeder.SeededBoard;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * Board compartilhado pelos usuários simulados e a faixa de ids de cards que eles sorteiam.
+ * Cards criados durante a carga ampliam a faixa.
+ */
+final class LoadContext {
+
+    private final SeededBoard seeded;
+    private final BoardWorkflow workflow;
+    private final long firstCardId;
+    private final AtomicLong lastCardId;
+
+    LoadContext(final SeededBoard seeded) {
+        this.seeded = seeded;
+        this.workflow = seeded.board().getWorkflow();
+        this.firstCardId = seeded.firstCardId();
+        this.lastCardId = new AtomicLong(seeded.lastCardId());
+    }
+
+    BoardEntity board() {
+        return seeded.board();
+    }
+
+    Long boardId() {
+        return seeded.boardId();
+    }
+
+    BoardWorkflow workflow() {
+        return workflow;
+    }
+
+    long randomCardId(final RandomGenerator random) {
+        return random.nextLong(firstCardId, lastCardId.get() + 1);
+    }
+
+    long randomColumnId(final RandomGenerator random) {
+        return workflow.columnIdAt(random.nextInt(workflow.size()));
+    }
+
+    void registerCard(final long cardId) {
+        lastCardId.accumulateAndGet(cardId, Math::max);
+    }
+
+}
@@ -0,0 +1,143 @@
+package bord.projeto.loadtest;
+
+import bord.projeto.persistence.ConnectionConfig;
+import bord.projeto.support.DatabaseSeeder;
+import bord.projeto.support.EmbeddedDatabase;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static bord.projeto.config.ApplicationProperties.getInt;
+import static bord.projeto.config.ApplicationProperties.getString;
+import static bord.projeto.persistence.ConnectionConfig.getConnection;
+
+/**
+ * Gerador de carga: N usuários simulados executam operações de card e de consulta contra um MariaDB
+ * embarcado, sorteadas pelo mix configurado, e no fim é impressa a vazão e os percentis de latência
+ * de cada operação.
+ *
+ * <pre>./gradlew loadTest -Dboard.load.users=32 -Dboard.load.duration-s=60 -Dboard.load.mix=move=50,findCard=50</pre>
+ *
+ * Configurações (system properties):
+ * <ul>
+ *     <li>{@code board.load.users}: usuários simultâneos (padrão 16)</li>
+ *     <li>{@code board.load.cards}: cards criados antes da carga (padrão 10000)</li>
+ *     <li>{@code board.load.warmup-s} e {@code board.load.duration-s}: aquecimento, não medido, e medição (5 e 30)</li>
+ *     <li>{@code board.load.mix}: pesos das operações (padrão {@value #DEFAULT_MIX})</li>
+ *     <li>{@code board.load.think-time-ms}: pausa de cada usuário entre operações (padrão 0)</li>
+ * </ul>
+ */
+public final class LoadTest {
+
+    private static final String DEFAULT_MIX =
+            "create=15,move=25,block=5,unblock=5,cancel=5,findCard=30,showBoard=10,columnPage=5";
+
+    private LoadTest() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        var users = getInt("board.load.users", 16);
+        var cards = getInt("board.load.cards", 10_000);
+        var warmupSeconds = getInt("board.load.warmup-s", 5);
+        var durationSeconds = getInt("board.load.duration-s", 30);
+        var thinkTimeMs = getInt("board.load.think-time-ms", 0);
+        var mix = OperationMix.parse(getString("board.load.mix", DEFAULT_MIX));
+
+        // Uma conexão por usuário: a carga mede o banco e os serviços, não a espera pelo pool
+        System.setProperty("board.datasource.pool.max-size", String.valueOf(users));
+        System.setProperty("board.datasource.pool.min-idle", String.valueOf(users));
+
+        try (var database = EmbeddedDatabase.start("board_load").useAsDefault()) {
+            LoadContext context;
+            try (var connection = database.openConnection()) {
+                context = new LoadContext(DatabaseSeeder.seed(connection, cards));
+            }
+
+            var console = System.out;
+            console.printf("Carga: %s usuários, %s cards, mix %s%n", users, cards, mix);
+            // Os serviços imprimem mensagens de sucesso a cada operação
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            try {
+                run(context, mix, users, warmupSeconds, thinkTimeMs);
+                var started = System.nanoTime();
+                var stats = run(context, mix, users, durationSeconds, thinkTimeMs);
+                var elapsedSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+                print(console, stats, elapsedSeconds);
+                console.printf("Pool: %s%n", ConnectionConfig.getPoolStats());
+            } finally {
+                System.setOut(console);
+            }
+        }
+    }
+
+    private static Map<Operation, OperationStats> run(final LoadContext context, final OperationMix mix, final int users,
+                                                      final int seconds, final int thinkTimeMs) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        var start = new CountDownLatch(1);
+        List<Map<Operation, OperationStats>> perUser = new ArrayList<>(users);
+        try (var executor = Executors.newFixedThreadPool(users)) {
+            for (var i = 0; i < users; i++) {
+                Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+                perUser.add(stats);
+                executor.submit(() -> {
+                    start.await();
+                    simulateUser(context, mix, deadline, thinkTimeMs, stats);
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+        Map<Operation, OperationStats> total = new EnumMap<>(Operation.class);
+        perUser.forEach(stats -> stats.forEach((operation, s) ->
+                total.computeIfAbsent(operation, o -> new OperationStats()).add(s)));
+        return total;
+    }
+
+    private static void simulateUser(final LoadContext context, final OperationMix mix, final long deadline,
+                                     final int thinkTimeMs, final Map<Operation, OperationStats> stats) throws InterruptedException {
+        var random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            var operation = mix.next(random);
+            var operationStats = stats.computeIfAbsent(operation, o -> new OperationStats());
+            var started = System.nanoTime();
+            try (var connection = getConnection()) {
+                operation.run(context, connection, random);
+                operationStats.recordSuccess(System.nanoTime() - started);
+            } catch (SQLException ex) {
+                operationStats.recordFailure();
+            } catch (RuntimeException ex) {
+                operationStats.recordRejected(System.nanoTime() - started);
+            }
+            if (thinkTimeMs > 0) {
+                Thread.sleep(thinkTimeMs);
+            }
+        }
+    }
+
+    private static void print(final PrintStream out, final Map<Operation, OperationStats> stats, final double elapsedSeconds) {
+        out.printf("%-12s %10s %10s %9s %7s %9s %9s %9s %9s%n",
+                "operação", "total", "ops/s", "recusadas", "falhas", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        var all = new OperationStats();
+        stats.forEach((operation, s) -> {
+            printLine(out, operation.key(), s, elapsedSeconds);
+            all.add(s);
+        });
+        printLine(out, "todas", all, elapsedSeconds);
+    }
+
+    private static void printLine(final PrintStream out, final String name, final OperationStats s, final double elapsedSeconds) {
+        out.printf("%-12s %10d %10.1f %9d %7d %9.2f %9.2f %9.2f %9.2f%n",
+                name, s.count(), s.count() / elapsedSeconds, s.rejected(), s.failed(),
+                s.percentileMillis(50), s.percentileMillis(95), s.percentileMillis(99), s.maxMillis());
+    }
+
+}
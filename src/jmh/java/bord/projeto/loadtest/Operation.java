@@ -0,0 +1,98 @@
+package bord.projeto.loadtest;
+
+import bord.projeto.persistence.entity.CardEntity;
+import bord.projeto.service.BoardColumnQueryService;
+import bord.projeto.service.BoardQueryService;
+import bord.projeto.service.CardQueryService;
+import bord.projeto.service.CardService;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.random.RandomGenerator;
+
+/**
+ * Operações que um usuário simulado executa, cada uma com uma conexão do pool, como faz a API.
+ * Recusas de regra de negócio (card bloqueado, finalizado, em conflito...) são exceções de runtime
+ * e o LoadTest as conta à parte das falhas.
+ */
+enum Operation {
+
+    CREATE("create") {
+        @Override
+        void run(final LoadContext context, final Connection connection, final RandomGenerator random) throws SQLException {
+            var card = new CardEntity();
+            card.setTitle("carga " + random.nextInt(1_000_000));
+            card.setDescription("card criado pelo gerador de carga");
+            card.setBoardColumn(context.board().getInitialColumn());
+            new CardService(connection).create(card);
+            context.registerCard(card.getId());
+        }
+    },
+    MOVE("move") {
+        @Override
+        void run(final LoadContext context, final Connection connection, final RandomGenerator random) throws SQLException {
+            new CardService(connection).moveToNextColumn(context.boardId(), context.randomCardId(random), context.workflow());
+        }
+    },
+    BLOCK("block") {
+        @Override
+        void run(final LoadContext context, final Connection connection, final RandomGenerator random) throws SQLException {
+            new CardService(connection).block(context.boardId(), context.randomCardId(random), "bloqueio de carga", context.workflow());
+        }
+    },
+    UNBLOCK("unblock") {
+        @Override
+        void run(final LoadContext context, final Connection connection, final RandomGenerator random) throws SQLException {
+            new CardService(connection).unblock(context.boardId(), context.randomCardId(random), "desbloqueio de carga");
+        }
+    },
+    CANCEL("cancel") {
+        @Override
+        void run(final LoadContext context, final Connection connection, final RandomGenerator random) throws SQLException {
+            new CardService(connection).cancel(context.boardId(), context.randomCardId(random), context.workflow());
+        }
+    },
+    FIND_CARD("findCard") {
+        @Override
+        void run(final LoadContext context, final Connection connection, final RandomGenerator random) throws SQLException {
+            new CardQueryService(connection).findById(context.boardId(), context.randomCardId(random));
+            connection.rollback();
+        }
+    },
+    SHOW_BOARD("showBoard") {
+        @Override
+        void run(final LoadContext context, final Connection connection, final RandomGenerator random) throws SQLException {
+            new BoardQueryService(connection).showBoardDetails(context.boardId());
+            connection.rollback();
+        }
+    },
+    COLUMN_PAGE("columnPage") {
+        @Override
+        void run(final LoadContext context, final Connection connection, final RandomGenerator random) throws SQLException {
+            new BoardColumnQueryService(connection).findCardsPage(context.randomColumnId(random), 0, 20);
+            connection.rollback();
+        }
+    };
+
+    private final String key;
+
+    Operation(final String key) {
+        this.key = key;
+    }
+
+    abstract void run(LoadContext context, Connection connection, RandomGenerator random) throws SQLException;
+
+    String key() {
+        return key;
+    }
+
+    static Operation fromKey(final String key) {
+        for (var operation : values()) {
+            if (operation.key.equalsIgnoreCase(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Operação desconhecida no mix: " + key);
+    }
+
+}
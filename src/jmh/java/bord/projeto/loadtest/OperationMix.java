@@ -0,0 +1,68 @@
+package bord.projeto.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Sorteia a próxima operação de acordo com pesos, no formato {@code create=20,move=30,findCard=25}.
+ * Operações ausentes têm peso zero.
+ */
+final class OperationMix {
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    private OperationMix(final Map<Operation, Integer> weights) {
+        operations = weights.keySet().toArray(Operation[]::new);
+        cumulativeWeights = new int[operations.length];
+        var total = 0;
+        for (var i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("O mix de operações precisa de ao menos um peso positivo");
+        }
+        totalWeight = total;
+    }
+
+    static OperationMix parse(final String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (var entry : mix.split(",")) {
+            var parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Entrada inválida no mix de operações: " + entry);
+            }
+            var weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Peso negativo no mix de operações: " + entry);
+            }
+            weights.put(Operation.fromKey(parts[0].trim()), weight);
+        }
+        return new OperationMix(weights);
+    }
+
+    Operation next(final RandomGenerator random) {
+        var value = random.nextInt(totalWeight);
+        for (var i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        var text = new StringBuilder();
+        var previous = 0;
+        for (var i = 0; i < operations.length; i++) {
+            text.append(i == 0 ? "" : ",").append(operations[i].key()).append('=').append(cumulativeWeights[i] - previous);
+            previous = cumulativeWeights[i];
+        }
+        return text.toString();
+    }
+
+}
@@ -0,0 +1,59 @@
+package bord.projeto.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latências (em nanossegundos) e desfechos de uma operação. Cada usuário simulado tem as suas
+ * instâncias, sem sincronização; no fim da carga elas são somadas com {@link #add(OperationStats)}.
+ */
+final class OperationStats {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Histogram latencies = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+    private long rejected;
+    private long failed;
+
+    void recordSuccess(final long nanos) {
+        latencies.recordValue(Math.min(nanos, HIGHEST_TRACKABLE_NANOS));
+    }
+
+    // Recusas de regra de negócio também custam uma ida ao banco e entram nas latências
+    void recordRejected(final long nanos) {
+        recordSuccess(nanos);
+        rejected++;
+    }
+
+    void recordFailure() {
+        failed++;
+    }
+
+    void add(final OperationStats other) {
+        latencies.add(other.latencies);
+        rejected += other.rejected;
+        failed += other.failed;
+    }
+
+    long count() {
+        return latencies.getTotalCount();
+    }
+
+    long rejected() {
+        return rejected;
+    }
+
+    long failed() {
+        return failed;
+    }
+
+    double percentileMillis(final double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+
+    double maxMillis() {
+        return latencies.getMaxValue() / 1_000_000.0;
+    }
+
+}
@@ -1,24 +1,74 @@
 package bord.projeto;
 
+import bord.projeto.exception.MigrationFailedException;
+import bord.projeto.metrics.StartupTimings;
+import bord.projeto.persistence.ConnectionConfig;
+import bord.projeto.persistence.migration.MigrationOutcome;
 import bord.projeto.persistence.migration.MigrationStrategy;
+import bord.projeto.persistence.shard.ShardIdRanges;
+import bord.projeto.service.CardSearchIndexer;
 import bord.projeto.ui.MainMenu;
+import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
 import java.sql.SQLException;
 
+import static bord.projeto.config.ApplicationProperties.getBoolean;
 import static bord.projeto.persistence.ConnectionConfig.getConnection;
+import static bord.projeto.persistence.ConnectionConfig.getShardConnection;
+import static bord.projeto.persistence.ConnectionConfig.getShardCount;
 
 @SpringBootApplication
 public class ProjetoBordJavaApplication {
 
 	public static void main(String[] args) throws SQLException {
 
+		var timings = new StartupTimings();
+		MigrationOutcome migration;
+		try {
+			migration = migrate(timings);
+		} catch (MigrationFailedException ex) {
+			// O detalhe já está no log e em liquibase.log; subir com o esquema pela metade só adiaria o erro
+			System.err.println(ex.getMessage());
+			ConnectionConfig.shutdown();
+			System.exit(1);
+			return;
+		}
+		// Os ids gerados em cada shard são conferidos e alinhados
+		timings.phase("shards", () -> {
+			ShardIdRanges.verifyAndAlign();
+			return null;
+		});
+		timings.phase("índice de busca", () -> {
+			CardSearchIndexer.rebuildAsync();
+			return null;
+		});
+		// A API HTTP atende em virtual threads (spring.threads.virtual.enabled) enquanto o menu roda no terminal
+		if (getBoolean("board.api.enabled", true)) {
+			timings.phase("api", () -> SpringApplication.run(ProjetoBordJavaApplication.class, args));
+		}
+		if (getBoolean("board.startup.report-timings", true)) {
+			System.out.printf("%s (%s)%n", timings.summary(), migration.getDescription());
+		}
+		if (getBoolean("board.menu.enabled", true)) {
+			new MainMenu().execute();
+		}
+	}
 
-		try (var connection = getConnection()) {
-			new MigrationStrategy(connection).executeMigration();
+	// Migra o shard 0 e depois os demais, com as mesmas migrations; a primeira falha interrompe a inicialização
+	private static MigrationOutcome migrate(final StartupTimings timings) throws SQLException {
+		MigrationOutcome migration;
+		try (var connection = timings.phase("conexão", () -> getConnection())) {
+			migration = timings.phase("migração", () -> new MigrationStrategy(connection).executeMigration());
+		}
+		for (var shard = 1; shard < getShardCount(); shard++) {
+			try (var connection = getShardConnection(shard)) {
+				new MigrationStrategy(connection).executeMigration();
+			} catch (MigrationFailedException ex) {
+				throw new MigrationFailedException("Shard %s: %s".formatted(shard, ex.getMessage()), ex.getCause());
+			}
 		}
-		new MainMenu().execute();
+		return migration;
 	}
 
 }
-
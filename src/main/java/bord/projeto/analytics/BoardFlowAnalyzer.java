@@ -0,0 +1,99 @@
+package bord.projeto.analytics;
+
+import bord.projeto.dto.BoardFlowReportDTO;
+import bord.projeto.dto.BoardWorkflow;
+import bord.projeto.dto.CardHistoryRowDTO;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Consome, numa única passada, o histórico de um board ordenado por card e por data
+ * (ver {@code CardMovementDAO.forEachHistoryByBoardId}). As linhas de cada card são agrupadas,
+ * os cards são juntados em lotes de {@code batchCards} e cada lote é somado por um {@link CardFlowTask}
+ * no fork/join pool enquanto a leitura continua.
+ * <p>
+ * No máximo {@code maxInFlight} lotes ficam pendentes: ao passar disso, a leitura espera o lote mais
+ * antigo e o combina no total. A memória fica limitada a esses lotes, qualquer que seja o tamanho do board.
+ */
+public final class BoardFlowAnalyzer implements Consumer<CardHistoryRowDTO> {
+
+    private final BoardWorkflow workflow;
+    private final long nowMillis;
+    private final ForkJoinPool pool;
+    private final int batchCards;
+    private final int maxInFlight;
+
+    private final FlowAccumulator total;
+    private final Deque<ForkJoinTask<FlowAccumulator>> inFlight = new ArrayDeque<>();
+
+    private List<List<CardHistoryRowDTO>> batch;
+    private List<CardHistoryRowDTO> currentCard;
+    private long currentCardId = -1;
+
+    public BoardFlowAnalyzer(final BoardWorkflow workflow, final long nowMillis, final ForkJoinPool pool,
+                             final int batchCards, final int maxInFlight) {
+        if (batchCards <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("O lote e o limite de lotes pendentes devem ser maiores que zero");
+        }
+        this.workflow = workflow;
+        this.nowMillis = nowMillis;
+        this.pool = pool;
+        this.batchCards = batchCards;
+        this.maxInFlight = maxInFlight;
+        this.total = new FlowAccumulator(workflow, nowMillis);
+        this.batch = new ArrayList<>(batchCards);
+    }
+
+    @Override
+    public void accept(final CardHistoryRowDTO row) {
+        if (row.cardId() != currentCardId) {
+            closeCard();
+            currentCardId = row.cardId();
+            currentCard = new ArrayList<>();
+        }
+        currentCard.add(row);
+    }
+
+    /**
+     * Espera os lotes pendentes e devolve o relatório; chamado depois da última linha.
+     */
+    public BoardFlowReportDTO finish(final Long boardId) {
+        closeCard();
+        submitBatch();
+        while (!inFlight.isEmpty()) {
+            total.merge(inFlight.removeFirst().join());
+        }
+        return total.toReport(boardId);
+    }
+
+    private void closeCard() {
+        if (isNull(currentCard)) {
+            return;
+        }
+        batch.add(currentCard);
+        currentCard = null;
+        if (batch.size() >= batchCards) {
+            submitBatch();
+        }
+    }
+
+    private void submitBatch() {
+        if (batch.isEmpty()) {
+            return;
+        }
+        inFlight.addLast(pool.submit(new CardFlowTask(batch, workflow, nowMillis)));
+        batch = new ArrayList<>(batchCards);
+        while (inFlight.size() > maxInFlight) {
+            total.merge(inFlight.removeFirst().join());
+        }
+    }
+
+}
@@ -0,0 +1,42 @@
+package bord.projeto.analytics;
+
+import bord.projeto.dto.BoardWorkflow;
+import bord.projeto.dto.CardHistoryRowDTO;
+
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Soma o histórico de um lote de cards dividindo-o ao meio até {@link #THRESHOLD} cards.
+ */
+final class CardFlowTask extends RecursiveTask<FlowAccumulator> {
+
+    static final int THRESHOLD = 256;
+
+    private final List<List<CardHistoryRowDTO>> cards;
+    private final BoardWorkflow workflow;
+    private final long nowMillis;
+
+    CardFlowTask(final List<List<CardHistoryRowDTO>> cards, final BoardWorkflow workflow, final long nowMillis) {
+        this.cards = cards;
+        this.workflow = workflow;
+        this.nowMillis = nowMillis;
+    }
+
+    @Override
+    protected FlowAccumulator compute() {
+        if (cards.size() <= THRESHOLD) {
+            var accumulator = new FlowAccumulator(workflow, nowMillis);
+            cards.forEach(accumulator::addCard);
+            return accumulator;
+        }
+        var middle = cards.size() / 2;
+        var left = new CardFlowTask(cards.subList(0, middle), workflow, nowMillis);
+        var right = new CardFlowTask(cards.subList(middle, cards.size()), workflow, nowMillis);
+        left.fork();
+        var result = right.compute();
+        result.merge(left.join());
+        return result;
+    }
+
+}
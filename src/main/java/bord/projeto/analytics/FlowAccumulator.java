@@ -0,0 +1,179 @@
+package bord.projeto.analytics;
+
+import bord.projeto.dto.BoardFlowReportDTO;
+import bord.projeto.dto.BoardFlowReportDTO.BlockedTime;
+import bord.projeto.dto.BoardFlowReportDTO.ColumnFlow;
+import bord.projeto.dto.BoardFlowReportDTO.DurationStats;
+import bord.projeto.dto.BoardWorkflow;
+import bord.projeto.dto.CardHistoryRowDTO;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static bord.projeto.dto.BoardWorkflow.NONE;
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static java.time.DayOfWeek.MONDAY;
+import static java.time.ZoneOffset.UTC;
+import static java.time.temporal.TemporalAdjusters.previousOrSame;
+
+/**
+ * Totais das análises de fluxo de um conjunto de cards. O tamanho não depende da quantidade de
+ * cards nem de eventos: só de colunas do board e de semanas com entregas. Duas instâncias
+ * de partes diferentes do board são combinadas com {@link #merge(FlowAccumulator)}.
+ */
+final class FlowAccumulator {
+
+    private final BoardWorkflow workflow;
+    private final long nowMillis;
+
+    private long cards;
+    private long events;
+    private final long[] lead = new long[3];
+    private final long[] cycle = new long[3];
+
+    // Por índice do workflow
+    private final long[] columnVisits;
+    private final long[] columnMillis;
+    private final long[] columnMaxMillis;
+    private final long[] columnCurrent;
+
+    private long blocks;
+    private long openBlocks;
+    private long blockedCards;
+    private long blockedMillis;
+
+    private final SortedMap<LocalDate, Long> throughput = new TreeMap<>();
+
+    FlowAccumulator(final BoardWorkflow workflow, final long nowMillis) {
+        this.workflow = workflow;
+        this.nowMillis = nowMillis;
+        columnVisits = new long[workflow.size()];
+        columnMillis = new long[workflow.size()];
+        columnMaxMillis = new long[workflow.size()];
+        columnCurrent = new long[workflow.size()];
+    }
+
+    /**
+     * Soma o histórico de um card; as linhas estão em ordem cronológica.
+     */
+    void addCard(final List<CardHistoryRowDTO> rows) {
+        cards++;
+        events += rows.size();
+        long createdAt = -1, startedAt = -1, finishedAt = -1, enteredAt = -1;
+        var currentIndex = NONE;
+        var wasBlocked = false;
+        for (var row : rows) {
+            if (row.block()) {
+                blocks++;
+                var until = row.untilMillis();
+                if (until < 0) {
+                    openBlocks++;
+                    until = nowMillis;
+                }
+                blockedMillis += Math.max(0, until - row.atMillis());
+                wasBlocked = true;
+                continue;
+            }
+            switch (row.event()) {
+                case CREATE -> createdAt = createdAt < 0 ? row.atMillis() : createdAt;
+                case MOVE, CANCEL -> {
+                    var fromIndex = workflow.indexOf(row.fromColumnId());
+                    if (currentIndex != NONE && currentIndex == fromIndex && enteredAt >= 0) {
+                        addColumnTime(currentIndex, row.atMillis() - enteredAt);
+                    }
+                    if (startedAt < 0 && fromIndex != NONE && workflow.kindAt(fromIndex) == INITIAL) {
+                        startedAt = row.atMillis();
+                    }
+                }
+                default -> {
+                    // BLOCK/UNBLOCK não mudam a coluna; o tempo bloqueado vem de BLOCKS
+                    continue;
+                }
+            }
+            currentIndex = workflow.indexOf(row.toColumnId());
+            enteredAt = row.atMillis();
+            if (finishedAt < 0 && currentIndex != NONE && workflow.isFinal(currentIndex)) {
+                finishedAt = row.atMillis();
+            }
+        }
+        if (wasBlocked) {
+            blockedCards++;
+        }
+        if (currentIndex != NONE) {
+            columnCurrent[currentIndex]++;
+        }
+        if (finishedAt >= 0) {
+            var week = Instant.ofEpochMilli(finishedAt).atOffset(UTC).toLocalDate().with(previousOrSame(MONDAY));
+            throughput.merge(week, 1L, Long::sum);
+            if (createdAt >= 0) {
+                add(lead, finishedAt - createdAt);
+            }
+            if (startedAt >= 0) {
+                add(cycle, finishedAt - startedAt);
+            }
+        }
+    }
+
+    void merge(final FlowAccumulator other) {
+        cards += other.cards;
+        events += other.events;
+        merge(lead, other.lead);
+        merge(cycle, other.cycle);
+        for (var i = 0; i < columnVisits.length; i++) {
+            columnVisits[i] += other.columnVisits[i];
+            columnMillis[i] += other.columnMillis[i];
+            columnMaxMillis[i] = Math.max(columnMaxMillis[i], other.columnMaxMillis[i]);
+            columnCurrent[i] += other.columnCurrent[i];
+        }
+        blocks += other.blocks;
+        openBlocks += other.openBlocks;
+        blockedCards += other.blockedCards;
+        blockedMillis += other.blockedMillis;
+        other.throughput.forEach((week, amount) -> throughput.merge(week, amount, Long::sum));
+    }
+
+    BoardFlowReportDTO toReport(final Long boardId) {
+        List<ColumnFlow> columns = new ArrayList<>(workflow.size());
+        for (var i = 0; i < workflow.size(); i++) {
+            columns.add(new ColumnFlow(workflow.columnIdAt(i), workflow.kindAt(i),
+                    stats(columnVisits[i], columnMillis[i], columnMaxMillis[i]), columnCurrent[i]));
+        }
+        return new BoardFlowReportDTO(boardId, cards, events,
+                stats(lead[0], lead[1], lead[2]),
+                stats(cycle[0], cycle[1], cycle[2]),
+                columns,
+                new BlockedTime(blocks, openBlocks, blockedCards, Duration.ofMillis(blockedMillis)),
+                new TreeMap<>(throughput));
+    }
+
+    private void addColumnTime(final int index, final long millis) {
+        columnVisits[index]++;
+        columnMillis[index] += millis;
+        columnMaxMillis[index] = Math.max(columnMaxMillis[index], millis);
+    }
+
+    // {quantidade, soma, máximo} em millis
+    private static void add(final long[] totals, final long millis) {
+        totals[0]++;
+        totals[1] += millis;
+        totals[2] = Math.max(totals[2], millis);
+    }
+
+    private static void merge(final long[] totals, final long[] other) {
+        totals[0] += other[0];
+        totals[1] += other[1];
+        totals[2] = Math.max(totals[2], other[2]);
+    }
+
+    private static DurationStats stats(final long count, final long sumMillis, final long maxMillis) {
+        return new DurationStats(count,
+                Duration.ofMillis(count == 0 ? 0 : sumMillis / count),
+                Duration.ofMillis(maxMillis));
+    }
+
+}
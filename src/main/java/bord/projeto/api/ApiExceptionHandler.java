@@ -0,0 +1,52 @@
+package bord.projeto.api;
+
+import bord.projeto.exception.CardBlockedException;
+import bord.projeto.exception.CardConflictException;
+import bord.projeto.exception.CardFinishedException;
+import bord.projeto.exception.CardWorkflowException;
+import bord.projeto.exception.DatabaseBusyException;
+import bord.projeto.exception.EntityNotFoundException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.sql.SQLException;
+
+/**
+ * Traduz as exceções dos serviços para respostas HTTP no formato problem+json.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(EntityNotFoundException.class)
+    public ProblemDetail handleNotFound(final EntityNotFoundException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+
+    @ExceptionHandler({CardBlockedException.class, CardFinishedException.class,
+            CardConflictException.class, CardWorkflowException.class})
+    public ProblemDetail handleConflict(final RuntimeException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleBadRequest(final IllegalArgumentException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(DatabaseBusyException.class)
+    public ResponseEntity<ProblemDetail> handleBusy(final DatabaseBusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+    }
+
+    @ExceptionHandler(SQLException.class)
+    public ProblemDetail handleSql(final SQLException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao acessar o banco de dados");
+    }
+
+}
@@ -0,0 +1,31 @@
+package bord.projeto.api;
+
+import bord.projeto.persistence.entity.BoardColumnKindEnum;
+
+import java.util.List;
+
+/**
+ * Corpos das requisições da API.
+ */
+public final class ApiRequests {
+
+    private ApiRequests() {
+    }
+
+    // As colunas são criadas na ordem da lista
+    public record CreateBoard(String name, List<CreateColumn> columns) {
+    }
+
+    public record CreateColumn(String name, BoardColumnKindEnum kind) {
+    }
+
+    public record CreateCard(String title, String description) {
+    }
+
+    public record Reason(String reason) {
+    }
+
+    public record CardIds(List<Long> cardIds) {
+    }
+
+}
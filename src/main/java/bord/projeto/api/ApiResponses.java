@@ -0,0 +1,33 @@
+package bord.projeto.api;
+
+import bord.projeto.dto.CardMoveOutcome;
+import bord.projeto.dto.CardPageDTO;
+
+import java.util.List;
+
+/**
+ * Respostas da API que não são DTOs dos serviços. As entidades não são serializadas diretamente
+ * porque carregam referências de volta (card -> coluna -> board).
+ */
+public final class ApiResponses {
+
+    private ApiResponses() {
+    }
+
+    public record CardSummary(Long id, String title, String description) {
+    }
+
+    public record CardPage(List<CardSummary> cards, Long nextAfterCardId) {
+
+        public static CardPage of(final CardPageDTO page) {
+            var cards = page.cards().stream()
+                    .map(c -> new CardSummary(c.getId(), c.getTitle(), c.getDescription()))
+                    .toList();
+            return new CardPage(cards, page.nextAfterCardId());
+        }
+    }
+
+    public record CardMove(Long cardId, CardMoveOutcome outcome) {
+    }
+
+}
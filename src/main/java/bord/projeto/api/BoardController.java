@@ -0,0 +1,159 @@
+package bord.projeto.api;
+
+import bord.projeto.dto.BoardColumnDTO;
+import bord.projeto.dto.BoardDetailsDTO;
+import bord.projeto.dto.BoardPageDTO;
+import bord.projeto.dto.BoardTopology;
+import bord.projeto.dto.BulkMoveResultDTO;
+import bord.projeto.exception.EntityNotFoundException;
+import bord.projeto.persistence.entity.BoardColumnEntity;
+import bord.projeto.persistence.entity.BoardEntity;
+import bord.projeto.service.BoardColumnQueryService;
+import bord.projeto.service.BoardListingService;
+import bord.projeto.service.BoardQueryService;
+import bord.projeto.service.BoardService;
+import bord.projeto.service.CardBulkService;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static bord.projeto.config.ApplicationProperties.getInt;
+import static bord.projeto.dto.BoardWorkflow.NONE;
+import static java.util.Objects.isNull;
+
+@RestController
+@RequestMapping("/boards")
+@AllArgsConstructor
+public class BoardController {
+
+    private final DatabaseLimiter limiter;
+
+    @PostMapping
+    public ResponseEntity<BoardDetailsDTO> create(@RequestBody final ApiRequests.CreateBoard request) throws SQLException {
+        validate(request);
+        var entity = new BoardEntity();
+        entity.setName(request.name());
+        List<BoardColumnEntity> columns = new ArrayList<>();
+        for (var i = 0; i < request.columns().size(); i++) {
+            var column = new BoardColumnEntity();
+            column.setName(request.columns().get(i).name());
+            column.setKind(request.columns().get(i).kind());
+            column.setOrder(i);
+            columns.add(column);
+        }
+        entity.setBoardColumns(columns);
+        var workflow = entity.getWorkflow();
+        if (workflow.initialIndex() == NONE || workflow.finalIndex() == NONE || workflow.cancelIndex() == NONE) {
+            throw new IllegalArgumentException("O board precisa de uma coluna INITIAL, uma FINAL e uma CANCEL");
+        }
+
+        var board = limiter.withNewBoardConnection(connection -> new BoardService(connection).insert(entity));
+        var details = new BoardDetailsDTO(board.getId(), board.getName(), board.getBoardColumns().stream()
+                .map(c -> new BoardColumnDTO(c.getId(), c.getName(), c.getKind(), 0))
+                .toList());
+        return ResponseEntity.created(URI.create("/boards/" + board.getId())).body(details);
+    }
+
+    // Boards de todos os shards em ordem de id; nextAfterBoardId é o cursor da próxima página
+    @GetMapping
+    public BoardPageDTO findAll(@RequestParam(defaultValue = "0") final long afterBoardId,
+                                @RequestParam(required = false) final Integer limit) throws SQLException {
+        var pageSize = Optional.ofNullable(limit).orElseGet(() -> getInt("board.menu.page-size", 20));
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("O limite da página deve ser maior que zero");
+        }
+        return limiter.withPermit(() -> BoardListingService.findPage(afterBoardId, pageSize));
+    }
+
+    @GetMapping("/{boardId}")
+    public BoardDetailsDTO findById(@PathVariable final Long boardId) throws SQLException {
+        return limiter.withReadConnection(boardId, connection -> new BoardQueryService(connection).showBoardDetails(boardId)
+                .orElseThrow(() -> boardNotFound(boardId)));
+    }
+
+    @DeleteMapping("/{boardId}")
+    public ResponseEntity<Void> delete(@PathVariable final Long boardId) throws SQLException {
+        limiter.withConnection(boardId, connection -> {
+            if (!new BoardService(connection).delete(boardId)) {
+                throw boardNotFound(boardId);
+            }
+            return null;
+        });
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/{boardId}/columns/{columnId}/cards")
+    public ApiResponses.CardPage findCards(@PathVariable final Long boardId,
+                                           @PathVariable final Long columnId,
+                                           @RequestParam(defaultValue = "0") final long afterCardId,
+                                           @RequestParam(required = false) final Integer limit) throws SQLException {
+        var pageSize = Optional.ofNullable(limit).orElseGet(() -> getInt("board.menu.page-size", 20));
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("O limite da página deve ser maior que zero");
+        }
+        return limiter.withReadConnection(boardId, connection -> {
+            findColumn(connection, boardId, columnId);
+            return ApiResponses.CardPage.of(
+                    new BoardColumnQueryService(connection).findCardsPage(columnId, afterCardId, pageSize));
+        });
+    }
+
+    @PostMapping("/{boardId}/columns/{columnId}/move")
+    public BulkMoveResultDTO moveColumn(@PathVariable final Long boardId, @PathVariable final Long columnId) throws SQLException {
+        return limiter.withConnection(boardId, connection -> {
+            var topology = findColumn(connection, boardId, columnId);
+            return new CardBulkService(connection).moveColumnToNextColumn(columnId, topology.workflow());
+        });
+    }
+
+    @PostMapping("/{boardId}/columns/{columnId}/cancel")
+    public BulkMoveResultDTO cancelColumn(@PathVariable final Long boardId, @PathVariable final Long columnId) throws SQLException {
+        return limiter.withConnection(boardId, connection -> {
+            var topology = findColumn(connection, boardId, columnId);
+            return new CardBulkService(connection).cancelColumn(columnId, topology.workflow());
+        });
+    }
+
+    // Campos ausentes no JSON chegam como null; viram 400 em vez de NullPointerException (500)
+    private static void validate(final ApiRequests.CreateBoard request) {
+        if (isNull(request.name()) || request.name().isBlank()) {
+            throw new IllegalArgumentException("Informe o nome do board");
+        }
+        if (isNull(request.columns()) || request.columns().isEmpty()) {
+            throw new IllegalArgumentException("Informe as colunas do board");
+        }
+        for (var column : request.columns()) {
+            if (isNull(column) || isNull(column.name()) || isNull(column.kind())) {
+                throw new IllegalArgumentException("Cada coluna precisa de nome e tipo");
+            }
+        }
+    }
+
+    private BoardTopology findColumn(final Connection connection, final Long boardId, final Long columnId) throws SQLException {
+        var topology = new BoardQueryService(connection).findTopologyById(boardId)
+                .orElseThrow(() -> boardNotFound(boardId));
+        if (!topology.workflow().contains(columnId)) {
+            throw new EntityNotFoundException("A coluna %s não foi encontrada no board %s".formatted(columnId, boardId));
+        }
+        return topology;
+    }
+
+    private EntityNotFoundException boardNotFound(final Long boardId) {
+        return new EntityNotFoundException("Não foi encontrado um board com id %s".formatted(boardId));
+    }
+
+}
@@ -0,0 +1,179 @@
+package bord.projeto.api;
+
+import bord.projeto.dto.BoardTopology;
+import bord.projeto.dto.BulkMoveResultDTO;
+import bord.projeto.dto.CardDetailsDTO;
+import bord.projeto.exception.EntityNotFoundException;
+import bord.projeto.persistence.entity.CardEntity;
+import bord.projeto.service.BoardQueryService;
+import bord.projeto.service.CardBulkService;
+import bord.projeto.service.CardQueryService;
+import bord.projeto.service.CardService;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Objects;
+
+import static bord.projeto.dto.CardMoveOutcome.MOVED;
+import static bord.projeto.dto.CardMoveOutcome.NOT_FOUND;
+import static java.util.Objects.isNull;
+
+@RestController
+@RequestMapping("/boards/{boardId}/cards")
+@AllArgsConstructor
+public class CardController {
+
+    // Tamanho de CARDS.title, CARDS.description e BLOCKS.block_reason/unblock_reason
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final DatabaseLimiter limiter;
+
+    @PostMapping
+    public ResponseEntity<CardDetailsDTO> create(@PathVariable final Long boardId,
+                                                 @RequestBody final ApiRequests.CreateCard request) throws SQLException {
+        validate(request);
+        var card = limiter.withConnection(boardId, connection -> {
+            var topology = findTopology(connection, boardId);
+            var entity = new CardEntity();
+            entity.setTitle(request.title());
+            entity.setDescription(request.description());
+            entity.setBoardColumn(topology.initialColumn().toEntity());
+            new CardService(connection).create(entity);
+            return findCard(connection, boardId, entity.getId());
+        });
+        return ResponseEntity.created(URI.create("/boards/%s/cards/%s".formatted(boardId, card.id()))).body(card);
+    }
+
+    @GetMapping("/{cardId}")
+    public CardDetailsDTO findById(@PathVariable final Long boardId, @PathVariable final Long cardId) throws SQLException {
+        return limiter.withReadConnection(boardId, connection -> findCard(connection, boardId, cardId));
+    }
+
+    /**
+     * O movimento é um único UPDATE condicional na coluna e na versão esperadas, e o conflito volta como 409.
+     * Sem expectedColumnId e expectedVersion (lidos de um GET do card) valem a coluna e a versão lidas
+     * na própria requisição, logo antes do movimento.
+     */
+    @PostMapping("/{cardId}/move")
+    public ResponseEntity<ApiResponses.CardMove> move(@PathVariable final Long boardId,
+                                                      @PathVariable final Long cardId,
+                                                      @RequestParam(required = false) final Long expectedColumnId,
+                                                      @RequestParam(required = false) final Long expectedVersion) throws SQLException {
+        var outcome = limiter.withConnection(boardId, connection -> {
+            var topology = findTopology(connection, boardId);
+            var service = new CardService(connection);
+            if (isNull(expectedColumnId) || isNull(expectedVersion)) {
+                var card = findCard(connection, boardId, cardId);
+                return service.tryMoveToNextColumn(boardId, cardId, card.columnId(), card.version(), topology.workflow());
+            }
+            return service.tryMoveToNextColumn(boardId, cardId, expectedColumnId, expectedVersion, topology.workflow());
+        });
+        var body = new ApiResponses.CardMove(cardId, outcome);
+        if (outcome == MOVED) {
+            return ResponseEntity.ok(body);
+        }
+        return ResponseEntity.status(outcome == NOT_FOUND ? HttpStatus.NOT_FOUND : HttpStatus.CONFLICT).body(body);
+    }
+
+    @PostMapping("/{cardId}/cancel")
+    public ResponseEntity<Void> cancel(@PathVariable final Long boardId, @PathVariable final Long cardId) throws SQLException {
+        limiter.withConnection(boardId, connection -> {
+            new CardService(connection).cancel(boardId, cardId, findTopology(connection, boardId).workflow());
+            return null;
+        });
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{cardId}/block")
+    public ResponseEntity<Void> block(@PathVariable final Long boardId, @PathVariable final Long cardId,
+                                      @RequestBody final ApiRequests.Reason request) throws SQLException {
+        validate(request);
+        limiter.withConnection(boardId, connection -> {
+            new CardService(connection).block(boardId, cardId, request.reason(), findTopology(connection, boardId).workflow());
+            return null;
+        });
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{cardId}/unblock")
+    public ResponseEntity<Void> unblock(@PathVariable final Long boardId, @PathVariable final Long cardId,
+                                        @RequestBody final ApiRequests.Reason request) throws SQLException {
+        validate(request);
+        limiter.withConnection(boardId, connection -> {
+            new CardService(connection).unblock(boardId, cardId, request.reason());
+            return null;
+        });
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/bulk/move")
+    public BulkMoveResultDTO moveAll(@PathVariable final Long boardId,
+                                     @RequestBody final ApiRequests.CardIds request) throws SQLException {
+        validate(request);
+        return limiter.withConnection(boardId, connection -> new CardBulkService(connection)
+                .moveToNextColumn(boardId, request.cardIds(), findTopology(connection, boardId).workflow()));
+    }
+
+    @PostMapping("/bulk/cancel")
+    public BulkMoveResultDTO cancelAll(@PathVariable final Long boardId,
+                                       @RequestBody final ApiRequests.CardIds request) throws SQLException {
+        validate(request);
+        return limiter.withConnection(boardId, connection -> new CardBulkService(connection)
+                .cancel(boardId, request.cardIds(), findTopology(connection, boardId).workflow()));
+    }
+
+    // Como no BoardController: campos ausentes ou maiores que as colunas VARCHAR(255) viram 400, não erro do banco
+    private static void validate(final ApiRequests.CreateCard request) {
+        requireText(request.title(), "Informe o título do card", "O título do card");
+        if (isNull(request.description())) {
+            throw new IllegalArgumentException("Informe a descrição do card");
+        }
+        requireMaxLength(request.description(), "A descrição do card");
+    }
+
+    private static void validate(final ApiRequests.Reason request) {
+        requireText(request.reason(), "Informe o motivo", "O motivo");
+    }
+
+    private static void validate(final ApiRequests.CardIds request) {
+        if (isNull(request.cardIds()) || request.cardIds().stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Informe os ids dos cards");
+        }
+    }
+
+    private static void requireText(final String value, final String missing, final String field) {
+        if (isNull(value) || value.isBlank()) {
+            throw new IllegalArgumentException(missing);
+        }
+        requireMaxLength(value, field);
+    }
+
+    private static void requireMaxLength(final String value, final String field) {
+        if (value.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException("%s deve ter no máximo %s caracteres".formatted(field, MAX_TEXT_LENGTH));
+        }
+    }
+
+    private BoardTopology findTopology(final Connection connection, final Long boardId) throws SQLException {
+        return new BoardQueryService(connection).findTopologyById(boardId)
+                .orElseThrow(() -> new EntityNotFoundException("Não foi encontrado um board com id %s".formatted(boardId)));
+    }
+
+    private CardDetailsDTO findCard(final Connection connection, final Long boardId, final Long cardId) throws SQLException {
+        return new CardQueryService(connection).findById(boardId, cardId)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "O card de id %s não foi encontrado no board %s".formatted(cardId, boardId)));
+    }
+
+}
@@ -0,0 +1,133 @@
+package bord.projeto.api;
+
+import bord.projeto.exception.DatabaseBusyException;
+import bord.projeto.exception.EntityNotFoundException;
+import bord.projeto.metrics.BoardMetrics.SqlCall;
+import bord.projeto.metrics.MeteredConnection;
+import bord.projeto.persistence.ConnectionConfig;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static bord.projeto.config.ApplicationProperties.getInt;
+import static bord.projeto.config.ApplicationProperties.getLong;
+import static bord.projeto.persistence.ConnectionConfig.getConnection;
+import static bord.projeto.persistence.ConnectionConfig.getReadConnection;
+
+/**
+ * Limita quantas requisições usam o banco ao mesmo tempo. Cada requisição roda numa virtual thread,
+ * então milhares podem chegar juntas; sem o limite todas ficariam presas na fila do pool.
+ * Quem não consegue uma vaga em {@code board.api.db-acquire-timeout-ms} recebe 503 e pode tentar de novo.
+ * Os GETs usam {@link #withReadConnection}, que pode ser atendido por uma réplica. As variantes com
+ * boardId entregam a conexão do shard em que o board está; se o trabalho não encontrar o board ali e a
+ * rota tiver mudado (o board foi movido por outra instância), ele roda de novo uma vez, no shard novo.
+ * <p>
+ * O padrão de {@code board.api.db-concurrency} é o tamanho do pool menos
+ * {@code board.api.db-reserved-connections} (padrão 2: o gravador do histórico de cards e o menu do console),
+ * para que a API sozinha não esgote o pool e deixe esses usuários presos no connection-timeout.
+ */
+@Component
+public class DatabaseLimiter {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+
+    public DatabaseLimiter() {
+        this(getInt("board.api.db-concurrency", defaultConcurrency()),
+                getLong("board.api.db-acquire-timeout-ms", 2_000));
+    }
+
+    DatabaseLimiter(final int maxConcurrency, final long acquireTimeoutMs) {
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    public <T> T withConnection(final ConnectionWork<T> work) throws SQLException {
+        return run(ConnectionConfig::getConnection, work);
+    }
+
+    public <T> T withReadConnection(final ConnectionWork<T> work) throws SQLException {
+        return run(ConnectionConfig::getReadConnection, work);
+    }
+
+    public <T> T withConnection(final long boardId, final ConnectionWork<T> work) throws SQLException {
+        return runRouted(boardId, () -> getConnection(boardId), work);
+    }
+
+    public <T> T withReadConnection(final long boardId, final ConnectionWork<T> work) throws SQLException {
+        return runRouted(boardId, () -> getReadConnection(boardId), work);
+    }
+
+    // Conexão do shard que vai receber o board criado
+    public <T> T withNewBoardConnection(final ConnectionWork<T> work) throws SQLException {
+        return run(ConnectionConfig::getNewBoardConnection, work);
+    }
+
+    // Para o que abre as próprias conexões, como a listagem que consulta todos os shards
+    public <T> T withPermit(final SqlCall<T> call) throws SQLException {
+        acquire();
+        try {
+            return call.call();
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Vagas que sobram no pool depois das conexões reservadas ao trabalho em segundo plano
+    static int defaultConcurrency() {
+        var poolSize = getInt("board.datasource.pool.max-size", 10);
+        var reserved = getInt("board.api.db-reserved-connections", 2);
+        return Math.max(1, poolSize - reserved);
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    private <T> T run(final SqlCall<Connection> source, final ConnectionWork<T> work) throws SQLException {
+        return withPermit(() -> {
+            try (var connection = source.call()) {
+                try {
+                    return work.apply(connection);
+                } catch (SQLException | RuntimeException ex) {
+                    // Vai para a tag exception do board.service antes de a conexão fechar a unidade de trabalho
+                    MeteredConnection.failed(connection, ex);
+                    throw ex;
+                }
+            }
+        });
+    }
+
+    // O board não existia no shard da primeira tentativa, então nada foi gravado ali e repetir é seguro
+    private <T> T runRouted(final long boardId, final SqlCall<Connection> source,
+                            final ConnectionWork<T> work) throws SQLException {
+        try {
+            return run(source, work);
+        } catch (EntityNotFoundException ex) {
+            if (!ConnectionConfig.getShardRouter().refresh(boardId)) {
+                throw ex;
+            }
+            return run(source, work);
+        }
+    }
+
+    private void acquire() {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new DatabaseBusyException("O banco está ocupado, tente novamente em instantes");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseBusyException("A requisição foi interrompida enquanto aguardava o banco");
+        }
+    }
+
+    @FunctionalInterface
+    public interface ConnectionWork<T> {
+        T apply(Connection connection) throws SQLException;
+    }
+
+}
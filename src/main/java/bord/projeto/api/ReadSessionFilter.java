@@ -0,0 +1,67 @@
+package bord.projeto.api;
+
+import bord.projeto.persistence.replica.ReadSession;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+import static bord.projeto.config.ApplicationProperties.getLong;
+import static java.util.Objects.isNull;
+
+/**
+ * Leva o read-your-writes das réplicas de uma requisição para a próxima do mesmo cliente: o horário do
+ * último commit vai no cookie {@value #COOKIE}, que vale pela janela
+ * {@code board.datasource.replicas.read-your-writes-ms}. O cookie é escrito no commit, antes da resposta
+ * começar a ser enviada. Cliente sem cookie lê das réplicas desde a primeira requisição.
+ */
+@Component
+public class ReadSessionFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "board-last-write";
+
+    private final long windowMillis = getLong("board.datasource.replicas.read-your-writes-ms", 2_000);
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain chain) throws ServletException, IOException {
+        ReadSession.open(lastWrite(request), millis -> {
+            if (!response.isCommitted()) {
+                var cookie = new Cookie(COOKIE, String.valueOf(millis));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) Math.max(1, (windowMillis + 999) / 1000));
+                response.addCookie(cookie);
+            }
+        });
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadSession.close();
+        }
+    }
+
+    // Cookie ausente ou inválido conta como nenhum commit
+    private static long lastWrite(final HttpServletRequest request) {
+        var cookies = request.getCookies();
+        if (isNull(cookies)) {
+            return 0;
+        }
+        for (var cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+}
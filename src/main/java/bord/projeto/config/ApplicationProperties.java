@@ -0,0 +1,68 @@
+package bord.projeto.config;
+
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import static java.util.Objects.isNull;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Lê as configurações do board a partir do application.properties do classpath.
+ * Qualquer chave pode ser sobrescrita por uma system property (-Dchave=valor).
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class ApplicationProperties {
+
+    private static final String RESOURCE = "/application.properties";
+
+    private static final Properties properties = load();
+
+    public static String getString(final String key, final String defaultValue) {
+        var value = System.getProperty(key, properties.getProperty(key));
+        return isNull(value) ? defaultValue : value.trim();
+    }
+
+    public static int getInt(final String key, final int defaultValue) {
+        var value = getString(key, null);
+        return isNull(value) || value.isEmpty() ? defaultValue : Integer.parseInt(value);
+    }
+
+    public static long getLong(final String key, final long defaultValue) {
+        var value = getString(key, null);
+        return isNull(value) || value.isEmpty() ? defaultValue : Long.parseLong(value);
+    }
+
+    public static boolean getBoolean(final String key, final boolean defaultValue) {
+        var value = getString(key, null);
+        return isNull(value) || value.isEmpty() ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    public static List<String> getList(final String key) {
+        var value = getString(key, null);
+        if (isNull(value)) {
+            return List.of();
+        }
+        return Stream.of(value.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
+
+    private static Properties load() {
+        var loaded = new Properties();
+        try (var stream = ApplicationProperties.class.getResourceAsStream(RESOURCE)) {
+            if (!isNull(stream)) {
+                loaded.load(stream);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return loaded;
+    }
+
+}
@@ -0,0 +1,10 @@
+package bord.projeto.dto;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Resultado de uma exportação: registros por arquivo e bytes de texto gerados (antes do gzip).
+ */
+public record BoardExportResultDTO(Path directory, int boards, Map<String, Long> recordsByFile, long bytes) {
+}
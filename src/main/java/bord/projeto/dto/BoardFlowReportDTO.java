@@ -0,0 +1,37 @@
+package bord.projeto.dto;
+
+import bord.projeto.persistence.entity.BoardColumnKindEnum;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Relatório de fluxo de um board.
+ * <ul>
+ *     <li>{@code leadTime}: da criação do card até a chegada na coluna FINAL</li>
+ *     <li>{@code cycleTime}: da saída da coluna INITIAL até a chegada na coluna FINAL</li>
+ *     <li>{@code columns}: permanência em cada coluna (só passagens concluídas) e cards parados nela hoje</li>
+ *     <li>{@code throughputPerWeek}: cards finalizados por semana, chaveada pela segunda-feira (UTC)</li>
+ * </ul>
+ */
+public record BoardFlowReportDTO(Long boardId,
+                                 long cards,
+                                 long events,
+                                 DurationStats leadTime,
+                                 DurationStats cycleTime,
+                                 List<ColumnFlow> columns,
+                                 BlockedTime blocked,
+                                 SortedMap<LocalDate, Long> throughputPerWeek) {
+
+    public record DurationStats(long count, Duration mean, Duration max) {
+    }
+
+    public record ColumnFlow(Long columnId, BoardColumnKindEnum kind, DurationStats time, long currentCards) {
+    }
+
+    public record BlockedTime(long blocks, long openBlocks, long blockedCards, Duration total) {
+    }
+
+}
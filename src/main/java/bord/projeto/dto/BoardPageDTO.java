@@ -0,0 +1,13 @@
+package bord.projeto.dto;
+
+import java.util.List;
+
+/**
+ * Página da listagem de boards de todos os shards; nextAfterBoardId é o cursor da próxima página ou null na última.
+ */
+public record BoardPageDTO(List<BoardSummaryDTO> boards, Long nextAfterBoardId) {
+
+    public boolean hasNext() {
+        return nextAfterBoardId != null;
+    }
+}
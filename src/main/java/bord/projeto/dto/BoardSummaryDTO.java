@@ -0,0 +1,4 @@
+package bord.projeto.dto;
+
+public record BoardSummaryDTO(Long id, String name, int shard) {
+}
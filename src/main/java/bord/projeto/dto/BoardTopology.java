@@ -0,0 +1,74 @@
+package bord.projeto.dto;
+
+import bord.projeto.persistence.entity.BoardColumnEntity;
+import bord.projeto.persistence.entity.BoardColumnKindEnum;
+import bord.projeto.persistence.entity.BoardEntity;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static bord.projeto.dto.BoardWorkflow.NONE;
+
+/**
+ * Estrutura imutável de um board (colunas, tipos e ordem) na versão em que foi lida.
+ * Os índices do {@code workflow} são as posições em {@code columns}.
+ */
+public record BoardTopology(Long id,
+                            String name,
+                            long version,
+                            List<Column> columns,
+                            BoardWorkflow workflow) {
+
+    public record Column(Long id, String name, int order, BoardColumnKindEnum kind) {
+
+        public BoardColumnEntity toEntity() {
+            var entity = new BoardColumnEntity();
+            entity.setId(id);
+            entity.setName(name);
+            entity.setOrder(order);
+            entity.setKind(kind);
+            return entity;
+        }
+    }
+
+    public static BoardTopology of(final BoardEntity board) {
+        var columns = board.getBoardColumns().stream()
+                .sorted(Comparator.comparingInt(BoardColumnEntity::getOrder))
+                .map(c -> new Column(c.getId(), c.getName(), c.getOrder(), c.getKind()))
+                .toList();
+        var workflow = BoardWorkflow.of(columns.stream()
+                .map(c -> new BoardColumnInfoDTO(c.id(), c.order(), c.kind()))
+                .toList());
+        return new BoardTopology(board.getId(), board.getName(), board.getVersion(), columns, workflow);
+    }
+
+    public Column initialColumn() {
+        return columnAt(workflow.initialIndex());
+    }
+
+    public Column cancelColumn() {
+        return columnAt(workflow.cancelIndex());
+    }
+
+    private Column columnAt(final int index) {
+        if (index == NONE) {
+            throw new NoSuchElementException("O board %s não tem a coluna pedida".formatted(id));
+        }
+        return columns.get(index);
+    }
+
+    public BoardEntity toEntity() {
+        var board = new BoardEntity();
+        board.setId(id);
+        board.setName(name);
+        board.setVersion(version);
+        board.setBoardColumns(columns.stream().map(c -> {
+            var column = c.toEntity();
+            column.setBoard(board);
+            return column;
+        }).toList());
+        return board;
+    }
+
+}
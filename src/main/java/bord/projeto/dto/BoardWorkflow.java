@@ -0,0 +1,156 @@
+package bord.projeto.dto;
+
+import bord.projeto.persistence.entity.BoardColumnKindEnum;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.FINAL;
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static java.util.Objects.isNull;
+
+/**
+ * Tabela de transições de um board, montada uma vez a partir das colunas.
+ * Cada coluna é identificada pelo índice que tinha na lista usada em {@link #of(List)};
+ * as consultas por id, pela próxima coluna e pelas colunas INITIAL/FINAL/CANCEL são O(1)
+ * e trabalham só com tipos primitivos.
+ */
+public final class BoardWorkflow {
+
+    public static final int NONE = -1;
+
+    private final long[] columnIds;
+    private final BoardColumnKindEnum[] kinds;
+    private final int[] next;
+
+    // Mapa id -> índice com endereçamento aberto; slot vazio tem índice NONE
+    private final long[] slotIds;
+    private final int[] slotIndexes;
+    private final int mask;
+
+    private final int initialIndex;
+    private final int finalIndex;
+    private final int cancelIndex;
+
+    private BoardWorkflow(final List<BoardColumnInfoDTO> columns) {
+        var size = columns.size();
+        columnIds = new long[size];
+        kinds = new BoardColumnKindEnum[size];
+        next = new int[size];
+
+        var capacity = Integer.highestOneBit(Math.max(size, 1) * 2) << 1;
+        slotIds = new long[capacity];
+        slotIndexes = new int[capacity];
+        Arrays.fill(slotIndexes, NONE);
+        mask = capacity - 1;
+
+        int initial = NONE, finalColumn = NONE, cancel = NONE;
+        for (var i = 0; i < size; i++) {
+            var column = columns.get(i);
+            kinds[i] = column.kind();
+            // Colunas ainda não gravadas não têm id e ficam fora do mapa
+            if (!isNull(column.id())) {
+                columnIds[i] = column.id();
+                put(column.id(), i);
+            }
+            switch (column.kind()) {
+                case INITIAL -> initial = initial == NONE ? i : initial;
+                case FINAL -> finalColumn = finalColumn == NONE ? i : finalColumn;
+                case CANCEL -> cancel = cancel == NONE ? i : cancel;
+                default -> { }
+            }
+        }
+        initialIndex = initial;
+        finalIndex = finalColumn;
+        cancelIndex = cancel;
+
+        // A próxima coluna é a de ordem imediatamente seguinte, como no fluxo do board
+        for (var i = 0; i < size; i++) {
+            next[i] = NONE;
+            var nextOrder = columns.get(i).order() + 1;
+            for (var j = 0; j < size; j++) {
+                if (columns.get(j).order() == nextOrder) {
+                    next[i] = j;
+                    break;
+                }
+            }
+        }
+    }
+
+    public static BoardWorkflow of(final List<BoardColumnInfoDTO> columns) {
+        return new BoardWorkflow(columns);
+    }
+
+    public int size() {
+        return columnIds.length;
+    }
+
+    /**
+     * @return o índice da coluna ou {@link #NONE} se ela não pertence ao board
+     */
+    public int indexOf(final long columnId) {
+        var slot = hash(columnId) & mask;
+        while (slotIndexes[slot] != NONE) {
+            if (slotIds[slot] == columnId) {
+                return slotIndexes[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NONE;
+    }
+
+    public boolean contains(final long columnId) {
+        return indexOf(columnId) != NONE;
+    }
+
+    public long columnIdAt(final int index) {
+        return columnIds[index];
+    }
+
+    public BoardColumnKindEnum kindAt(final int index) {
+        return kinds[index];
+    }
+
+    /**
+     * @return o índice da próxima coluna ou {@link #NONE} se a coluna é a última do fluxo
+     */
+    public int nextIndex(final int index) {
+        return next[index];
+    }
+
+    public int initialIndex() {
+        return initialIndex;
+    }
+
+    public int finalIndex() {
+        return finalIndex;
+    }
+
+    public int cancelIndex() {
+        return cancelIndex;
+    }
+
+    public boolean isFinal(final int index) {
+        return kinds[index] == FINAL;
+    }
+
+    public boolean isCancel(final int index) {
+        return kinds[index] == CANCEL;
+    }
+
+    private void put(final long columnId, final int index) {
+        var slot = hash(columnId) & mask;
+        while (slotIndexes[slot] != NONE && slotIds[slot] != columnId) {
+            slot = (slot + 1) & mask;
+        }
+        slotIds[slot] = columnId;
+        slotIndexes[slot] = index;
+    }
+
+    private static int hash(final long value) {
+        var h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+}
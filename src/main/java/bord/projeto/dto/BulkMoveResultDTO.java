@@ -0,0 +1,20 @@
+package bord.projeto.dto;
+
+import java.util.Map;
+
+import static bord.projeto.dto.CardMoveOutcome.MOVED;
+
+/**
+ * Resultado de um movimento em lote: o desfecho de cada card, na ordem em que os ids foram pedidos.
+ */
+public record BulkMoveResultDTO(Map<Long, CardMoveOutcome> outcomes) {
+
+    public long count(final CardMoveOutcome outcome) {
+        return outcomes.values().stream().filter(o -> o == outcome).count();
+    }
+
+    public long moved() {
+        return count(MOVED);
+    }
+
+}
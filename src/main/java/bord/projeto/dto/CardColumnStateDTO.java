@@ -0,0 +1,4 @@
+package bord.projeto.dto;
+
+public record CardColumnStateDTO(Long id, Long columnId, boolean blocked) {
+}
@@ -12,6 +12,7 @@ public record CardDetailsDTO(Long id,
                              String blockReason,
                              int blocksAmount,
                              Long columnId,
-                             String columnName
+                             String columnName,
+                             long version
 ) {
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package bord.projeto.dto;
+
+import bord.projeto.persistence.entity.CardMovementEventEnum;
+
+/**
+ * Uma linha do histórico de um card para as análises de fluxo: um evento de CARD_MOVEMENTS
+ * ({@code block = false}) ou um bloqueio de BLOCKS ({@code block = true}, com {@code event} nulo).
+ * Datas em epoch millis; colunas ausentes valem 0 e {@code untilMillis} vale -1 se o bloqueio está aberto.
+ */
+public record CardHistoryRowDTO(long cardId,
+                                boolean block,
+                                CardMovementEventEnum event,
+                                long fromColumnId,
+                                long toColumnId,
+                                long atMillis,
+                                long untilMillis) {
+}
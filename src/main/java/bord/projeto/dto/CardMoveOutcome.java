@@ -0,0 +1,13 @@
+package bord.projeto.dto;
+
+public enum CardMoveOutcome {
+
+    MOVED,
+    // O card mudou de coluna ou de versão desde que foi lido
+    CONFLICT,
+    BLOCKED,
+    FINISHED,
+    CANCELED,
+    NOT_FOUND
+
+}
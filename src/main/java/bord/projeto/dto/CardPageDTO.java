@@ -0,0 +1,15 @@
+package bord.projeto.dto;
+
+import bord.projeto.persistence.entity.CardEntity;
+
+import java.util.List;
+
+/**
+ * Página de cards de uma coluna; nextAfterCardId é o cursor da próxima página ou null na última.
+ */
+public record CardPageDTO(List<CardEntity> cards, Long nextAfterCardId) {
+
+    public boolean hasNext() {
+        return nextAfterCardId != null;
+    }
+}
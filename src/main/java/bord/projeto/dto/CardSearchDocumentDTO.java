@@ -0,0 +1,4 @@
+package bord.projeto.dto;
+
+public record CardSearchDocumentDTO(long cardId, long columnId, String title, String description) {
+}
@@ -0,0 +1,8 @@
+package bord.projeto.dto;
+
+/**
+ * Resultado de busca. {@code columnId} é a coluna em que o card estava quando foi indexado e serve
+ * para identificar o board; a coluna atual vem de {@code CardQueryService.findById}.
+ */
+public record CardSearchHitDTO(Long cardId, Long columnId, String title, double score) {
+}
@@ -0,0 +1,7 @@
+package bord.projeto.dto;
+
+public record CardsAmountMismatchDTO(Long columnId,
+                                     String columnName,
+                                     int storedAmount,
+                                     int actualAmount) {
+}
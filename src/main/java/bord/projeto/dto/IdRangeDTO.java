@@ -0,0 +1,4 @@
+package bord.projeto.dto;
+
+public record IdRangeDTO(long min, long max) {
+}
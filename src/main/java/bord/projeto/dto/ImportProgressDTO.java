@@ -0,0 +1,19 @@
+package bord.projeto.dto;
+
+/**
+ * Andamento de uma importação. As contagens incluem as execuções anteriores retomadas pelo checkpoint;
+ * {@code rowsPerSecond} mede só a execução atual.
+ */
+public record ImportProgressDTO(long rowsRead,
+                                long rowsImported,
+                                long rowsRejected,
+                                long bytesRead,
+                                long totalBytes,
+                                double rowsPerSecond,
+                                boolean finished) {
+
+    public double percent() {
+        return totalBytes == 0 ? 100 : bytesRead * 100.0 / totalBytes;
+    }
+
+}
@@ -0,0 +1,4 @@
+package bord.projeto.dto;
+
+public record ShardMoveResultDTO(Long boardId, int fromShard, int toShard, long rowsCopied, long elapsedMillis) {
+}
@@ -0,0 +1,7 @@
+package bord.projeto.exception;
+
+public class CardConflictException extends RuntimeException {
+    public CardConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package bord.projeto.exception;
+
+// O pedido não vale para a situação atual do card ou do fluxo do board (card cancelado, coluna de outro board...)
+public class CardWorkflowException extends RuntimeException {
+    public CardWorkflowException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package bord.projeto.exception;
+
+public class MigrationFailedException extends RuntimeException {
+    public MigrationFailedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,89 @@
+package bord.projeto.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Escreve texto UTF-8 num arquivo através de um {@link FileChannel}, acumulando os bytes num
+ * {@link ByteBuffer} direto e só chamando o canal quando ele enche. Com gzip, os bytes passam por um
+ * {@link GZIPOutputStream} antes do arquivo. O arquivo precisa ser novo: se já existir, a abertura falha
+ * com {@link java.nio.file.FileAlreadyExistsException}. Erros de I/O na escrita viram
+ * {@link UncheckedIOException}.
+ */
+final class ChannelTextWriter implements Closeable {
+
+    private final FileChannel file;
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private final CharsetEncoder encoder = UTF_8.newEncoder();
+    private long bytes;
+
+    ChannelTextWriter(final Path path, final boolean gzip, final int bufferSize) throws IOException {
+        file = FileChannel.open(path, CREATE_NEW, WRITE);
+        channel = gzip ?
+                Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(file), bufferSize)) :
+                file;
+        buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    void write(final CharSequence text) {
+        var chars = CharBuffer.wrap(text);
+        while (true) {
+            var result = encoder.encode(chars, buffer, false);
+            if (result == CoderResult.OVERFLOW) {
+                flushBuffer();
+            } else if (result.isError()) {
+                throw new UncheckedIOException(new IOException("Texto inválido para UTF-8: " + result));
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return bytes já entregues ao canal (antes da compressão)
+     */
+    long bytesWritten() {
+        return bytes + buffer.position();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            encoder.encode(CharBuffer.allocate(0), buffer, true);
+            encoder.flush(buffer);
+            flushBuffer();
+        } finally {
+            // Fecha o gzip (grava o rodapé) e o arquivo
+            channel.close();
+            file.close();
+        }
+    }
+
+    private void flushBuffer() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                bytes += channel.write(buffer);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        buffer.clear();
+    }
+
+}
@@ -0,0 +1,136 @@
+package bord.projeto.export;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static java.util.Objects.isNull;
+
+/**
+ * CSV (RFC 4180). Com a lista de campos informada na abertura, o cabeçalho é escrito logo de início e
+ * aparece mesmo num arquivo sem registros; sem ela, é montado a partir dos nomes dos campos do
+ * primeiro registro.
+ */
+final class CsvRecordWriter implements RecordWriter {
+
+    private final ChannelTextWriter out;
+    private final StringBuilder line = new StringBuilder(256);
+    private final StringBuilder header = new StringBuilder(128);
+    private boolean headerWritten;
+    private boolean firstField;
+    private long records;
+
+    CsvRecordWriter(final ChannelTextWriter out, final List<String> fields) {
+        this.out = out;
+        if (!fields.isEmpty()) {
+            out.write(header.append(String.join(",", fields)).append("\r\n"));
+            headerWritten = true;
+        }
+    }
+
+    @Override
+    public void startRecord() {
+        line.setLength(0);
+        firstField = true;
+    }
+
+    @Override
+    public RecordWriter field(final String name, final String value) {
+        separator(name);
+        if (isNull(value)) {
+            return this;
+        }
+        if (needsQuotes(value)) {
+            line.append('"');
+            for (var i = 0; i < value.length(); i++) {
+                var c = value.charAt(i);
+                if (c == '"') {
+                    line.append('"');
+                }
+                line.append(c);
+            }
+            line.append('"');
+        } else {
+            line.append(value);
+        }
+        return this;
+    }
+
+    @Override
+    public RecordWriter field(final String name, final long value) {
+        separator(name);
+        line.append(value);
+        return this;
+    }
+
+    @Override
+    public RecordWriter field(final String name, final boolean value) {
+        separator(name);
+        line.append(value);
+        return this;
+    }
+
+    @Override
+    public RecordWriter field(final String name, final OffsetDateTime value) {
+        separator(name);
+        if (!isNull(value)) {
+            line.append(value);
+        }
+        return this;
+    }
+
+    @Override
+    public RecordWriter nullField(final String name) {
+        separator(name);
+        return this;
+    }
+
+    @Override
+    public void endRecord() {
+        if (!headerWritten) {
+            out.write(header.append("\r\n"));
+            headerWritten = true;
+        }
+        out.write(line.append("\r\n"));
+        records++;
+    }
+
+    @Override
+    public long records() {
+        return records;
+    }
+
+    @Override
+    public long bytesWritten() {
+        return out.bytesWritten();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void separator(final String name) {
+        if (!headerWritten) {
+            if (!header.isEmpty()) {
+                header.append(',');
+            }
+            header.append(name);
+        }
+        if (!firstField) {
+            line.append(',');
+        }
+        firstField = false;
+    }
+
+    private static boolean needsQuotes(final String value) {
+        for (var i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
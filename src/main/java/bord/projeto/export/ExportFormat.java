@@ -0,0 +1,43 @@
+package bord.projeto.export;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static bord.projeto.config.ApplicationProperties.getInt;
+
+public enum ExportFormat {
+
+    CSV("csv"), JSONL("jsonl");
+
+    private final String extension;
+
+    ExportFormat(final String extension) {
+        this.extension = extension;
+    }
+
+    public String fileName(final String name, final boolean gzip) {
+        return name + "." + extension + (gzip ? ".gz" : "");
+    }
+
+    public RecordWriter open(final Path directory, final String name, final boolean gzip) throws IOException {
+        return open(directory, name, List.of(), gzip);
+    }
+
+    /**
+     * Cria {@code directory/name.<extensão>[.gz]} para escrita, com buffer de
+     * {@code board.export.buffer-size} bytes (padrão 64 KiB). Falha se o arquivo já existir.
+     *
+     * @param fields campos de cada registro, na ordem; no CSV viram o cabeçalho, escrito mesmo sem registros
+     */
+    public RecordWriter open(final Path directory, final String name, final List<String> fields,
+                             final boolean gzip) throws IOException {
+        var out = new ChannelTextWriter(directory.resolve(fileName(name, gzip)), gzip,
+                getInt("board.export.buffer-size", 64 * 1024));
+        return switch (this) {
+            case CSV -> new CsvRecordWriter(out, fields);
+            case JSONL -> new JsonLinesRecordWriter(out);
+        };
+    }
+
+}
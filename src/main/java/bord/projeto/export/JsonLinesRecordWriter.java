@@ -0,0 +1,119 @@
+package bord.projeto.export;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+
+import static java.util.Objects.isNull;
+
+/**
+ * JSON Lines: um objeto JSON por linha.
+ */
+final class JsonLinesRecordWriter implements RecordWriter {
+
+    private final ChannelTextWriter out;
+    private final StringBuilder line = new StringBuilder(256);
+    private long records;
+
+    JsonLinesRecordWriter(final ChannelTextWriter out) {
+        this.out = out;
+    }
+
+    @Override
+    public void startRecord() {
+        line.setLength(0);
+        line.append('{');
+    }
+
+    @Override
+    public RecordWriter field(final String name, final String value) {
+        if (isNull(value)) {
+            return nullField(name);
+        }
+        name(name);
+        string(value);
+        return this;
+    }
+
+    @Override
+    public RecordWriter field(final String name, final long value) {
+        name(name);
+        line.append(value);
+        return this;
+    }
+
+    @Override
+    public RecordWriter field(final String name, final boolean value) {
+        name(name);
+        line.append(value);
+        return this;
+    }
+
+    @Override
+    public RecordWriter field(final String name, final OffsetDateTime value) {
+        if (isNull(value)) {
+            return nullField(name);
+        }
+        name(name);
+        line.append('"').append(value).append('"');
+        return this;
+    }
+
+    @Override
+    public RecordWriter nullField(final String name) {
+        name(name);
+        line.append("null");
+        return this;
+    }
+
+    @Override
+    public void endRecord() {
+        out.write(line.append("}\n"));
+        records++;
+    }
+
+    @Override
+    public long records() {
+        return records;
+    }
+
+    @Override
+    public long bytesWritten() {
+        return out.bytesWritten();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void name(final String name) {
+        if (line.length() > 1) {
+            line.append(',');
+        }
+        string(name);
+        line.append(':');
+    }
+
+    private void string(final String value) {
+        line.append('"');
+        for (var i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append("\\u%04x".formatted((int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+
+}
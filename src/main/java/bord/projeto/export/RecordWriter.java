@@ -0,0 +1,31 @@
+package bord.projeto.export;
+
+import java.io.Closeable;
+import java.time.OffsetDateTime;
+
+/**
+ * Destino de registros de exportação. Um registro é aberto com {@link #startRecord()}, recebe os campos
+ * sempre na mesma ordem e é fechado com {@link #endRecord()}; os valores são escritos direto no buffer,
+ * sem montar objetos por linha. Erros de I/O são lançados como {@link java.io.UncheckedIOException}.
+ */
+public interface RecordWriter extends Closeable {
+
+    void startRecord();
+
+    RecordWriter field(String name, String value);
+
+    RecordWriter field(String name, long value);
+
+    RecordWriter field(String name, boolean value);
+
+    RecordWriter field(String name, OffsetDateTime value);
+
+    RecordWriter nullField(String name);
+
+    void endRecord();
+
+    long records();
+
+    long bytesWritten();
+
+}
@@ -0,0 +1,140 @@
+package bord.projeto.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Leitor de CSV (RFC 4180, separador vírgula, UTF-8) sobre um {@link FileChannel}. O arquivo é lido em
+ * blocos de {@code bufferSize} bytes e o separador, as aspas e as quebras de linha são reconhecidos nos
+ * próprios bytes; só o conteúdo de cada campo é decodificado para String. {@link #position()} é o offset
+ * exato do próximo registro, usado como checkpoint e em {@link #seek(long)}.
+ */
+public final class CsvChannelReader implements Closeable {
+
+    private static final int QUOTE = '"';
+    private static final int COMMA = ',';
+    private static final int CR = '\r';
+    private static final int LF = '\n';
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private byte[] field = new byte[256];
+    private int fieldLength;
+    private long position;
+
+    private CsvChannelReader(final FileChannel channel, final int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(bufferSize).flip();
+    }
+
+    public static CsvChannelReader open(final Path path, final int bufferSize) throws IOException {
+        return new CsvChannelReader(FileChannel.open(path, READ), bufferSize);
+    }
+
+    public long position() {
+        return position;
+    }
+
+    public long size() throws IOException {
+        return channel.size();
+    }
+
+    public void seek(final long offset) throws IOException {
+        channel.position(offset);
+        buffer.clear().flip();
+        position = offset;
+    }
+
+    /**
+     * Lê o próximo registro em {@code fields}.
+     *
+     * @return false no fim do arquivo
+     */
+    public boolean next(final List<String> fields) throws IOException {
+        fields.clear();
+        fieldLength = 0;
+        var quoted = false;
+        var read = false;
+        while (true) {
+            var b = read();
+            if (b < 0) {
+                if (!read) {
+                    return false;
+                }
+                fields.add(takeField());
+                return true;
+            }
+            read = true;
+            if (quoted) {
+                if (b == QUOTE) {
+                    if (peek() == QUOTE) {
+                        read();
+                        append(QUOTE);
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    append(b);
+                }
+            } else if (b == COMMA) {
+                fields.add(takeField());
+            } else if (b == LF) {
+                fields.add(takeField());
+                return true;
+            } else if (b == QUOTE && fieldLength == 0) {
+                quoted = true;
+            } else if (b != CR) {
+                append(b);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int read() throws IOException {
+        if (!buffer.hasRemaining() && !fill()) {
+            return -1;
+        }
+        position++;
+        return buffer.get() & 0xFF;
+    }
+
+    private int peek() throws IOException {
+        if (!buffer.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return buffer.get(buffer.position()) & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+        buffer.clear();
+        var n = channel.read(buffer);
+        buffer.flip();
+        return n > 0;
+    }
+
+    private void append(final int b) {
+        if (fieldLength == field.length) {
+            field = Arrays.copyOf(field, field.length * 2);
+        }
+        field[fieldLength++] = (byte) b;
+    }
+
+    private String takeField() {
+        var value = new String(field, 0, fieldLength, UTF_8);
+        fieldLength = 0;
+        return value;
+    }
+
+}
@@ -0,0 +1,133 @@
+package bord.projeto.metrics;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.logging.LoggingMeterRegistry;
+import io.micrometer.core.instrument.logging.LoggingRegistryConfig;
+import io.micrometer.jmx.JmxConfig;
+import io.micrometer.jmx.JmxMeterRegistry;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static bord.projeto.config.ApplicationProperties.getBoolean;
+import static bord.projeto.config.ApplicationProperties.getLong;
+import static bord.projeto.config.ApplicationProperties.getString;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.util.Objects.isNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Registro de métricas do board. O {@link MeteredConnection} mede cada statement no timer {@code board.dao}
+ * (outcome success/failure) e cada unidade de trabalho de um serviço no timer {@code board.service}
+ * (outcome commit/rollback/close); os dois têm as tags operation, outcome e exception.
+ * As métricas são publicadas via JMX ({@code board.metrics.jmx.enabled}) e gravadas periodicamente
+ * em {@code board.metrics.log-file} a cada {@code board.metrics.log-interval-s} segundos (0 desliga).
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class BoardMetrics {
+
+    public static final String SERVICE = "board.service";
+    public static final String DAO = "board.dao";
+
+    private static final String NONE = "none";
+
+    private static final CompositeMeterRegistry registry = createRegistry();
+
+    private static final Counter commits = Counter.builder("board.transactions")
+            .tag("result", "commit")
+            .register(registry);
+    private static final Counter rollbacks = Counter.builder("board.transactions")
+            .tag("result", "rollback")
+            .register(registry);
+
+    private static final ConcurrentMap<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public static MeterRegistry registry() {
+        return registry;
+    }
+
+    static void recordStatement(final String operation, final long nanos, final Throwable failure) {
+        var exception = isNull(failure) ? NONE : failure.getClass().getSimpleName();
+        timer(DAO, operation, isNull(failure) ? "success" : "failure", exception).record(nanos, NANOSECONDS);
+    }
+
+    static void recordUnit(final String operation, final long nanos, final String outcome, final Throwable failure) {
+        var exception = isNull(failure) ? NONE : failure.getClass().getSimpleName();
+        timer(SERVICE, operation, outcome, exception).record(nanos, NANOSECONDS);
+    }
+
+    static void countCommit() {
+        commits.increment();
+    }
+
+    static void countRollback() {
+        rollbacks.increment();
+    }
+
+    // O registro do Micrometer também acha o timer pelo id, mas só depois de montar o builder e as tags
+    private static Timer timer(final String metric, final String operation, final String outcome, final String exception) {
+        return timers.computeIfAbsent(new TimerKey(metric, operation, outcome, exception), key -> Timer.builder(metric)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry));
+    }
+
+    private static CompositeMeterRegistry createRegistry() {
+        var composite = new CompositeMeterRegistry();
+        if (getBoolean("board.metrics.jmx.enabled", true)) {
+            composite.add(new JmxMeterRegistry(JmxConfig.DEFAULT, Clock.SYSTEM));
+        }
+        var interval = getLong("board.metrics.log-interval-s", 60);
+        if (interval > 0) {
+            // O console é do menu; o relatório periódico vai para um arquivo próprio
+            var file = Path.of(getString("board.metrics.log-file", "board-metrics.log"));
+            LoggingRegistryConfig config = new LoggingRegistryConfig() {
+                @Override
+                public String get(final String key) {
+                    return null;
+                }
+
+                @Override
+                public Duration step() {
+                    return Duration.ofSeconds(interval);
+                }
+            };
+            composite.add(LoggingMeterRegistry.builder(config)
+                    .loggingSink(line -> append(file, line))
+                    .build());
+        }
+        return composite;
+    }
+
+    private static void append(final Path file, final String line) {
+        try {
+            Files.writeString(file, line + System.lineSeparator(), CREATE, APPEND);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @FunctionalInterface
+    public interface SqlCall<T> {
+        T call() throws SQLException;
+    }
+
+    private record TimerKey(String metric, String operation, String outcome, String exception) {
+    }
+
+}
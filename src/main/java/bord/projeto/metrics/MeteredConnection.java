@@ -0,0 +1,284 @@
+package bord.projeto.metrics;
+
+import bord.projeto.persistence.trace.SqlTrace;
+import lombok.NoArgsConstructor;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Envolve a conexão entregue aos serviços e mede o que passa por ela, sem código de métrica nos
+ * serviços e DAOs:
+ * <ul>
+ *     <li>commits e rollbacks em {@code board.transactions}. Fica acima do pool, então os rollbacks que
+ *     o próprio pool faz ao receber uma conexão de volta não contam;</li>
+ *     <li>cada execução de PreparedStatement no timer {@code board.dao}, com o nome do método de DAO que
+ *     preparou o SQL;</li>
+ *     <li>cada unidade de trabalho no timer {@code board.service}, com o nome do método de serviço que a
+ *     começou. A unidade vai do primeiro statement até o commit ou o rollback; sem nenhum dos dois (os
+ *     serviços de consulta) ela termina no último statement, e o que quem chamou faz antes de fechar a
+ *     conexão (por exemplo, esperar o usuário no menu) não conta. A tag exception traz a falha de um
+ *     statement da unidade ou a que foi informada em {@link #failed}. A unidade também é o escopo do
+ *     {@link SqlTrace}.</li>
+ * </ul>
+ * Os nomes vêm da pilha de chamadas no prepareStatement: o método mais externo de cada pacote, sem as
+ * lambdas. A pilha só é percorrida até sair dos serviços e DAOs, o que costuma dar poucos frames.
+ * O {@code afterCommit} opcional roda depois de cada commit bem-sucedido e o {@code onFailure} opcional
+ * recebe cada SQLException de uma execução de statement (por exemplo, para tirar uma réplica da rotação).
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class MeteredConnection {
+
+    private static final String SERVICE_PACKAGE = "bord.projeto.service.";
+    private static final String DAO_PACKAGE = "bord.projeto.persistence.dao.";
+
+    private static final StackWalker walker = StackWalker.getInstance();
+
+    public static Connection wrap(final Connection connection) {
+        return wrap(connection, () -> { });
+    }
+
+    public static Connection wrap(final Connection connection, final Runnable afterCommit) {
+        return wrap(connection, afterCommit, null);
+    }
+
+    public static Connection wrap(final Connection connection, final Runnable afterCommit,
+                                  final Consumer<SQLException> onFailure) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new Handler(connection, afterCommit, onFailure));
+    }
+
+    /**
+     * Informa a falha com que o serviço terminou (uma regra de negócio, por exemplo), para a tag exception
+     * da unidade de trabalho. Deve ser chamado antes de fechar a conexão; o rollback do serviço já pode ter
+     * acontecido. Conexão que não veio de {@link #wrap} é ignorada.
+     */
+    public static void failed(final Connection connection, final Throwable failure) throws SQLException {
+        if (connection.isWrapperFor(Failures.class)) {
+            connection.unwrap(Failures.class).failed(failure);
+        }
+    }
+
+    private interface Failures {
+        void failed(Throwable failure);
+    }
+
+    private static final class Handler implements InvocationHandler {
+
+        private final Connection connection;
+        private final Runnable afterCommit;
+        private final Consumer<SQLException> onFailure;
+        private WorkUnit unit;
+        // Unidade desfeita que só é registrada no fechamento ou na próxima unidade, para receber a falha
+        // que o serviço lança depois do rollback
+        private WorkUnit rolledBack;
+
+        private Handler(final Connection connection, final Runnable afterCommit,
+                        final Consumer<SQLException> onFailure) {
+            this.connection = connection;
+            this.afterCommit = afterCommit;
+            this.onFailure = onFailure;
+        }
+
+        @Override
+        public Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+            var name = method.getName();
+            if (name.equals("prepareStatement")) {
+                return prepare(method, args);
+            }
+            if ((name.equals("unwrap") || name.equals("isWrapperFor")) && args[0] == Failures.class) {
+                return name.equals("isWrapperFor") ? Boolean.TRUE : (Failures) this::failed;
+            }
+            var result = MeteredConnection.invoke(connection, method, args);
+            if (method.getParameterCount() == 0) {
+                switch (name) {
+                    case "commit" -> {
+                        BoardMetrics.countCommit();
+                        recordRolledBack();
+                        if (nonNull(unit)) {
+                            unit.end("commit");
+                            unit.record();
+                            unit = null;
+                        }
+                        afterCommit.run();
+                    }
+                    case "rollback" -> {
+                        BoardMetrics.countRollback();
+                        recordRolledBack();
+                        if (nonNull(unit)) {
+                            unit.end("rollback");
+                            rolledBack = unit;
+                            unit = null;
+                        }
+                    }
+                    case "close" -> {
+                        recordRolledBack();
+                        if (nonNull(unit)) {
+                            unit.endAtLastStatement("close");
+                            unit.record();
+                            unit = null;
+                        }
+                    }
+                    default -> { }
+                }
+            }
+            return result;
+        }
+
+        // SQL preparado fora de um serviço e de um DAO (por exemplo, pelo Liquibase) não é medido
+        private Object prepare(final Method method, final Object[] args) throws Throwable {
+            var caller = Caller.current();
+            if (isNull(unit) && nonNull(caller.service())) {
+                recordRolledBack();
+                unit = new WorkUnit(caller.service());
+            }
+            var statement = (PreparedStatement) MeteredConnection.invoke(connection, method, args);
+            if (isNull(caller.dao()) && isNull(unit) && isNull(onFailure)) {
+                return statement;
+            }
+            return timeStatement(statement, caller.dao(), unit);
+        }
+
+        private void failed(final Throwable failure) {
+            var target = nonNull(unit) ? unit : rolledBack;
+            if (nonNull(target) && isNull(target.failure)) {
+                target.failure = failure;
+            }
+        }
+
+        private void recordRolledBack() {
+            if (nonNull(rolledBack)) {
+                rolledBack.record();
+                rolledBack = null;
+            }
+        }
+
+        // Mede os execute* sem SQL próprio (os que recebem SQL pertencem à interface Statement). operation é
+        // null para o SQL preparado fora de um DAO, que só marca o fim da unidade e repassa as falhas
+        private PreparedStatement timeStatement(final PreparedStatement statement, final String operation,
+                                                final WorkUnit statementUnit) {
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    (target, method, args) -> {
+                        if (!method.getName().startsWith("execute") || method.getParameterCount() != 0) {
+                            var result = invoke(statement, method, args);
+                            // O DAO fecha o statement quando termina de ler o resultado
+                            if (nonNull(statementUnit) && method.getName().equals("close")) {
+                                statementUnit.touch();
+                            }
+                            return result;
+                        }
+                        var started = System.nanoTime();
+                        try {
+                            var result = invoke(statement, method, args);
+                            if (nonNull(operation)) {
+                                BoardMetrics.recordStatement(operation, System.nanoTime() - started, null);
+                            }
+                            return result;
+                        } catch (Throwable ex) {
+                            if (nonNull(operation)) {
+                                BoardMetrics.recordStatement(operation, System.nanoTime() - started, ex);
+                            }
+                            if (nonNull(statementUnit)) {
+                                statementUnit.failure = ex;
+                            }
+                            if (nonNull(onFailure) && ex instanceof SQLException sqlException) {
+                                onFailure.accept(sqlException);
+                            }
+                            throw ex;
+                        } finally {
+                            if (nonNull(statementUnit)) {
+                                statementUnit.touch();
+                            }
+                        }
+                    });
+        }
+    }
+
+    private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private static final class WorkUnit {
+
+        private final String operation;
+        private final long startedAt = System.nanoTime();
+        private final SqlTrace.Scope scope;
+        private long lastStatementAt = startedAt;
+        private long endedAt;
+        private String outcome;
+        private Throwable failure;
+
+        private WorkUnit(final String operation) {
+            this.operation = operation;
+            this.scope = SqlTrace.enter(operation);
+        }
+
+        private void touch() {
+            lastStatementAt = System.nanoTime();
+        }
+
+        private void end(final String outcome) {
+            this.outcome = outcome;
+            this.endedAt = System.nanoTime();
+            scope.close();
+        }
+
+        private void endAtLastStatement(final String outcome) {
+            end(outcome);
+            endedAt = lastStatementAt;
+        }
+
+        private void record() {
+            BoardMetrics.recordUnit(operation, endedAt - startedAt, outcome, failure);
+        }
+    }
+
+    // Métodos de serviço e de DAO mais externos da pilha atual, como "CardService.moveToNextColumn"
+    private record Caller(String service, String dao) {
+
+        private static Caller current() {
+            return walker.walk(frames -> {
+                String service = null;
+                String dao = null;
+                for (var frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                    if (frame.getMethodName().startsWith("lambda$")) {
+                        continue;
+                    }
+                    var className = frame.getClassName();
+                    if (className.startsWith(SERVICE_PACKAGE)) {
+                        service = operation(className, frame.getMethodName());
+                    } else if (className.startsWith(DAO_PACKAGE)) {
+                        dao = operation(className, frame.getMethodName());
+                    } else if (nonNull(service) || nonNull(dao)) {
+                        // Saiu dos serviços e DAOs: o resto da pilha é de quem os chamou (menu, API, testes)
+                        break;
+                    }
+                }
+                return new Caller(service, dao);
+            });
+        }
+
+        private static String operation(final String className, final String methodName) {
+            return className.substring(className.lastIndexOf('.') + 1) + "." + methodName;
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+package bord.projeto.metrics;
+
+import bord.projeto.metrics.BoardMetrics.SqlCall;
+import io.micrometer.core.instrument.Timer;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo de cada fase da inicialização (conexão, migração, API...), na ordem em que rodaram. Cada fase
+ * também vai para o timer {@code board.startup} com a tag phase, e {@link #summary()} monta a linha
+ * impressa no console quando {@code board.startup.report-timings} está ligado.
+ */
+public final class StartupTimings {
+
+    private final long started = System.nanoTime();
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+
+    public <T> T phase(final String name, final SqlCall<T> call) throws SQLException {
+        var phaseStarted = System.nanoTime();
+        try {
+            return call.call();
+        } finally {
+            record(name, System.nanoTime() - phaseStarted);
+        }
+    }
+
+    public void record(final String name, final long nanos) {
+        phases.merge(name, nanos, Long::sum);
+        Timer.builder("board.startup")
+                .tag("phase", name)
+                .register(BoardMetrics.registry())
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public String summary() {
+        var joiner = new StringJoiner(", ", "Inicialização em %d ms: ".formatted(millis(System.nanoTime() - started)), "");
+        phases.forEach((name, nanos) -> joiner.add("%s %d ms".formatted(name, millis(nanos))));
+        return joiner.toString();
+    }
+
+    private static long millis(final long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+}
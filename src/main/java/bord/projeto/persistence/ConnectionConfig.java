@@ -2,24 +2,299 @@ package bord.projeto.persistence;
 
 
 
+import bord.projeto.metrics.BoardMetrics;
+import bord.projeto.metrics.MeteredConnection;
+import bord.projeto.persistence.pool.ConnectionPoolStats;
+import bord.projeto.persistence.pool.PoolMetrics;
+import bord.projeto.persistence.replica.ReadSession;
+import bord.projeto.persistence.replica.ReplicaRouter;
+import bord.projeto.persistence.shard.ShardConnections;
+import bord.projeto.persistence.shard.ShardRouter;
+import bord.projeto.persistence.statement.StatementCacheStats;
+import bord.projeto.persistence.statement.StatementCachingDataSource;
+import bord.projeto.persistence.trace.SqlTrace;
+import bord.projeto.persistence.trace.TracingConnection;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
 import lombok.NoArgsConstructor;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ToIntFunction;
 
+import static bord.projeto.config.ApplicationProperties.getBoolean;
+import static bord.projeto.config.ApplicationProperties.getInt;
+import static bord.projeto.config.ApplicationProperties.getList;
+import static bord.projeto.config.ApplicationProperties.getLong;
+import static bord.projeto.config.ApplicationProperties.getString;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static lombok.AccessLevel.PRIVATE;
 
 @NoArgsConstructor(access = PRIVATE)
 public final class ConnectionConfig {
 
+    private static final PoolMetrics poolMetrics = new PoolMetrics();
+
+    private static volatile HikariDataSource dataSource;
+
+    private static volatile ReplicaRouter replicaRouter;
+
+    // Pools dos shards 1..n (board.shards.urls); o shard 0 é o dataSource acima
+    private static volatile List<HikariDataSource> shardDataSources = List.of();
+
+    private static volatile ShardRouter shardRouter;
+
+    private static boolean shutdownHookRegistered;
+
+    private static final List<Runnable> shutdownListeners = new CopyOnWriteArrayList<>();
+
+    static {
+        registerPoolGauge("active", HikariPoolMXBean::getActiveConnections);
+        registerPoolGauge("idle", HikariPoolMXBean::getIdleConnections);
+        registerPoolGauge("total", HikariPoolMXBean::getTotalConnections);
+        registerPoolGauge("pending", HikariPoolMXBean::getThreadsAwaitingConnection);
+        Gauge.builder("board.replicas.healthy", () -> {
+                    var current = replicaRouter;
+                    return isNull(current) ? 0 : current.healthyReplicas();
+                })
+                .register(BoardMetrics.registry());
+    }
+
+    // As conexões vêm de um pool; o close() do try-with-resources devolve a conexão ao pool
     public static Connection getConnection() throws SQLException{
-        var url = "jdbc:mysql://localhost:3307/board";
-        var user = "root";
-        var password = "mysecretpassword";
+        var dataSource = getDataSource();
+        var connection = ShardConnections.bind(dataSource.getConnection(), 0);
+        // Um commit no primário mantém as leituras seguintes da mesma sessão no primário até a réplica alcançar
+        var router = replicaRouter;
+        return router.hasReplicas() ?
+                wrap(MeteredConnection.wrap(connection, ReadSession::markWrite)) :
+                wrap(MeteredConnection.wrap(connection));
+    }
+
+    /**
+     * Conexão para os serviços de consulta: vem de uma réplica (board.datasource.replicas.urls) quando há
+     * alguma saudável e a sessão ({@link ReadSession}) não fez commit recente no primário; caso contrário,
+     * do próprio primário.
+     */
+    public static Connection getReadConnection() throws SQLException {
+        getDataSource();
+        var router = replicaRouter;
+        Optional<ReplicaRouter.Borrowed> replica = router.readConnection();
+        if (replica.isEmpty()) {
+            return getConnection();
+        }
+        var borrowed = replica.get();
+        return wrap(MeteredConnection.wrap(ShardConnections.bind(borrowed.connection(), 0), () -> { }, borrowed::failed));
+    }
+
+    /**
+     * Conexão do shard em que está o board (board.shards.urls). Todo acesso a um board existente, e ao
+     * que há nele, passa por aqui; com um único shard é o mesmo que {@link #getConnection()}.
+     */
+    public static Connection getConnection(final long boardId) throws SQLException {
+        return getShardConnection(getShardRouter().shardOf(boardId));
+    }
+
+    // As réplicas de leitura são do shard 0; nos demais shards a leitura vai para o próprio shard
+    public static Connection getReadConnection(final long boardId) throws SQLException {
+        var shard = getShardRouter().shardOf(boardId);
+        return shard == 0 ? getReadConnection() : getShardConnection(shard);
+    }
+
+    // Conexão do shard que vai receber o próximo board criado (BoardService.insert)
+    public static Connection getNewBoardConnection() throws SQLException {
+        return getShardConnection(getShardRouter().nextShardForNewBoard());
+    }
+
+    public static Connection getShardConnection(final int shard) throws SQLException {
+        if (shard == 0) {
+            return getConnection();
+        }
+        var connection = ShardConnections.bind(shardDataSource(shard).getConnection(), shard);
+        return wrap(MeteredConnection.wrap(connection));
+    }
+
+    public static int getShardCount() {
+        return getShardRouter().shardCount();
+    }
+
+    public static ShardRouter getShardRouter() {
+        getDataSource();
+        return shardRouter;
+    }
+
+    /**
+     * Conexão do shard para gravações em segundo plano (como o histórico write-behind de cards):
+     * o commit dela não abre a janela de read-your-writes, senão o fluxo contínuo de lotes deixaria
+     * as réplicas sem leitura.
+     */
+    public static Connection getBackgroundConnection(final int shard) throws SQLException {
+        var dataSource = shard == 0 ? getDataSource() : shardDataSource(shard);
+        return wrap(MeteredConnection.wrap(ShardConnections.bind(dataSource.getConnection(), shard)));
+    }
+
+    public static ConnectionPoolStats getPoolStats() {
+        return poolMetrics.snapshot();
+    }
+
+    public static StatementCacheStats getStatementCacheStats() {
+        return StatementCachingDataSource.getStats();
+    }
+
+    /**
+     * Registra uma ação executada no shutdown antes do pool fechar, enquanto ainda há conexões
+     * disponíveis (por exemplo, para gravar o que está pendente em memória).
+     */
+    public static void addShutdownListener(final Runnable listener) {
+        shutdownListeners.add(listener);
+    }
+
+    public static synchronized void shutdown() {
+        if (nonNull(dataSource)) {
+            shutdownListeners.forEach(Runnable::run);
+            replicaRouter.close();
+            replicaRouter = null;
+            shardDataSources.forEach(HikariDataSource::close);
+            shardDataSources = List.of();
+            shardRouter = null;
+            dataSource.close();
+            dataSource = null;
+        }
+    }
+
+    private static HikariDataSource getDataSource() {
+        var current = dataSource;
+        if (isNull(current)) {
+            synchronized (ConnectionConfig.class) {
+                if (isNull(dataSource)) {
+                    replicaRouter = buildReplicaRouter();
+                    shardDataSources = buildShardDataSources();
+                    var primaryConfig = buildPoolConfig("board-pool",
+                            getString("board.datasource.url", "jdbc:mysql://localhost:3307/board"));
+                    // As estatísticas de getPoolStats() são as do shard 0
+                    primaryConfig.setMetricsTrackerFactory(poolMetrics);
+                    var primary = new HikariDataSource(primaryConfig);
+                    shardRouter = new ShardRouter(shardDataSources.size() + 1, getInt("board.shards.id-stride", 16),
+                            getLong("board.shards.route-cache-ms", 30_000),
+                            getInt("board.shards.route-cache-size", 10_000), primary);
+                    dataSource = primary;
+                    if (!shutdownHookRegistered) {
+                        Runtime.getRuntime().addShutdownHook(new Thread(ConnectionConfig::shutdown));
+                        shutdownHookRegistered = true;
+                    }
+                }
+                current = dataSource;
+            }
+        }
+        return current;
+    }
+
+    private static HikariDataSource shardDataSource(final int shard) {
+        getDataSource();
+        var shards = shardDataSources;
+        if (shard < 1 || shard > shards.size()) {
+            throw new IllegalArgumentException("Shard inexistente: " + shard);
+        }
+        return shards.get(shard - 1);
+    }
+
+    private static Connection wrap(final Connection connection) {
+        return SqlTrace.isEnabled() ? TracingConnection.wrap(connection) : connection;
+    }
+
+    // Lê o pool atual a cada coleta; enquanto o pool não existe (ou depois do shutdown) o valor é 0
+    private static void registerPoolGauge(final String state, final ToIntFunction<HikariPoolMXBean> value) {
+        Gauge.builder("board.pool.connections", () -> {
+                    var current = dataSource;
+                    return isNull(current) || isNull(current.getHikariPoolMXBean()) ?
+                            0 : value.applyAsInt(current.getHikariPoolMXBean());
+                })
+                .tag("state", state)
+                .register(BoardMetrics.registry());
+    }
+
+    private static HikariConfig buildPoolConfig(final String poolName, final String url) {
+        var config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setDataSource(new StatementCachingDataSource(
+                url,
+                buildDriverProperties(),
+                getInt("board.datasource.statement-cache.size", 64)));
+        config.setAutoCommit(false);
+
+        config.setMaximumPoolSize(getInt("board.datasource.pool.max-size", 10));
+        config.setMinimumIdle(getInt("board.datasource.pool.min-idle", 2));
+        config.setConnectionTimeout(getLong("board.datasource.pool.connection-timeout-ms", 5_000));
+        config.setValidationTimeout(getLong("board.datasource.pool.validation-timeout-ms", 1_000));
+        config.setLeakDetectionThreshold(getLong("board.datasource.pool.leak-detection-threshold-ms", 0));
+        config.setMaxLifetime(getLong("board.datasource.pool.max-lifetime-ms", 1_800_000));
+        var testQuery = getString("board.datasource.pool.validation-query", null);
+        if (nonNull(testQuery)) {
+            config.setConnectionTestQuery(testQuery);
+        }
+
+        config.setRegisterMbeans(getBoolean("board.datasource.pool.register-mbeans", true));
+        return config;
+    }
+
+    private static List<HikariDataSource> buildShardDataSources() {
+        var urls = getList("board.shards.urls");
+        List<HikariDataSource> shards = new ArrayList<>(urls.size());
+        for (var i = 0; i < urls.size(); i++) {
+            shards.add(new HikariDataSource(buildPoolConfig("board-shard-" + (i + 1), urls.get(i))));
+        }
+        return List.copyOf(shards);
+    }
+
+    private static ReplicaRouter buildReplicaRouter() {
+        var urls = getList("board.datasource.replicas.urls");
+        List<HikariDataSource> replicas = new ArrayList<>(urls.size());
+        for (var i = 0; i < urls.size(); i++) {
+            replicas.add(new HikariDataSource(buildReplicaPoolConfig(i + 1, urls.get(i))));
+        }
+        return new ReplicaRouter(replicas,
+                Duration.ofMillis(getLong("board.datasource.replicas.read-your-writes-ms", 2_000)),
+                Duration.ofMillis(getLong("board.datasource.replicas.health-check-interval-ms", 5_000)),
+                (int) Math.max(1, getLong("board.datasource.pool.validation-timeout-ms", 1_000) / 1_000));
+    }
+
+    private static HikariConfig buildReplicaPoolConfig(final int number, final String url) {
+        var config = new HikariConfig();
+        config.setPoolName("board-replica-" + number);
+        config.setDataSource(new StatementCachingDataSource(url, buildDriverProperties(),
+                getInt("board.datasource.statement-cache.size", 64)));
+        config.setAutoCommit(false);
+        config.setReadOnly(true);
+        config.setMaximumPoolSize(getInt("board.datasource.replicas.pool.max-size", 10));
+        config.setMinimumIdle(getInt("board.datasource.replicas.pool.min-idle", 2));
+        // Réplica fora do ar não impede a inicialização nem segura a leitura: o roteador tenta a próxima
+        config.setInitializationFailTimeout(-1);
+        config.setConnectionTimeout(getLong("board.datasource.replicas.connection-timeout-ms", 1_000));
+        config.setValidationTimeout(getLong("board.datasource.pool.validation-timeout-ms", 1_000));
+        config.setMaxLifetime(getLong("board.datasource.pool.max-lifetime-ms", 1_800_000));
+        config.setRegisterMbeans(getBoolean("board.datasource.pool.register-mbeans", true));
+        return config;
+    }
 
-        var connection = DriverManager.getConnection(url, user,password);
-        connection.setAutoCommit(false);
-        return connection;
+    private static Properties buildDriverProperties() {
+        var properties = new Properties();
+        properties.setProperty("user", getString("board.datasource.username", "root"));
+        properties.setProperty("password", getString("board.datasource.password", "mysecretpassword"));
+        // Permite que os executeBatch dos DAOs virem INSERTs multi-linha no MySQL
+        properties.setProperty("rewriteBatchedStatements",
+                getString("board.datasource.rewrite-batched-statements", "true"));
+        // Com o cache de statements, o prepare no servidor acontece uma vez por conexão física
+        properties.setProperty("useServerPrepStmts",
+                getString("board.datasource.server-prepared-statements", "true"));
+        return properties;
     }
 }
@@ -7,32 +7,73 @@ import java.sql.SQLException;
 import java.time.OffsetDateTime;
 
 import static bord.projeto.persistence.converter.OffsetDateTimeConverter.toTimestamp;
+import static java.sql.Statement.RETURN_GENERATED_KEYS;
 
 @AllArgsConstructor
 public class BlockDAO {
 
+    static final String BLOCK_SQL = "INSERT INTO BLOCKS (block_at, block_reason, card_id) VALUES (?, ?, ?)";
+    // O estado de bloqueio fica desnormalizado em CARDS (is_blocked, current_block_id, blocks_amount)
+    static final String MARK_CARD_BLOCKED_SQL = """
+            UPDATE CARDS
+               SET is_blocked = TRUE,
+                   current_block_id = ?,
+                   blocks_amount = blocks_amount + 1
+             WHERE id = ?
+               AND is_blocked = FALSE
+            """;
+    static final String UNBLOCK_SQL = """
+            UPDATE BLOCKS b
+             INNER JOIN CARDS c
+                ON c.current_block_id = b.id
+               SET b.unblock_at = ?,
+                   b.unblock_reason = ?,
+                   c.is_blocked = FALSE,
+                   c.current_block_id = NULL
+             WHERE c.id = ?
+               AND c.is_blocked = TRUE
+            """;
+
     private final Connection connection;
 
-    public void block(final String reason, final Long cardId) throws SQLException {
-        var sql = "INSERT INTO BLOCKS (block_at, block_reason, card_id) VALUES (?, ?, ?);";
-        try(var statement = connection.prepareStatement(sql)){
+    /**
+     * Registra o bloqueio e marca o card como bloqueado na mesma transação.
+     *
+     * @return false se o card não existe ou já estava bloqueado; nesse caso a transação deve ser desfeita
+     */
+    public boolean block(final String reason, final Long cardId) throws SQLException {
+        long blockId;
+        try(var statement = connection.prepareStatement(BLOCK_SQL, RETURN_GENERATED_KEYS)){
             var i = 1;
             statement.setTimestamp(i ++, toTimestamp(OffsetDateTime.now()));
             statement.setString(i ++, reason);
             statement.setLong(i, cardId);
             statement.executeUpdate();
+            try (var keys = statement.getGeneratedKeys()) {
+                keys.next();
+                blockId = keys.getLong(1);
+            }
+        }
+        try(var statement = connection.prepareStatement(MARK_CARD_BLOCKED_SQL)){
+            statement.setLong(1, blockId);
+            statement.setLong(2, cardId);
+            return statement.executeUpdate() > 0;
         }
     }
 
-    public void unblock(final String reason, final Long cardId) throws SQLException{
-        var sql = "UPDATE BLOCKS SET unblocked_at = ?, unblock_reason = ? WHERE card_id = ? AND unblock_reason IS NULL;";
-        try(var statement = connection.prepareStatement(sql)){
+    /**
+     * Fecha o bloqueio atual do card e limpa o estado de bloqueio em CARDS num único UPDATE.
+     *
+     * @return false se o card não estava bloqueado
+     */
+    public boolean unblock(final String reason, final Long cardId) throws SQLException{
+        try(var statement = connection.prepareStatement(UNBLOCK_SQL)){
             var i = 1;
             statement.setTimestamp(i ++, toTimestamp(OffsetDateTime.now()));
             statement.setString(i ++, reason);
             statement.setLong(i, cardId);
-            statement.executeUpdate();
+            return statement.executeUpdate() > 0;
         }
     }
 
-}
\ No newline at end of file
+}
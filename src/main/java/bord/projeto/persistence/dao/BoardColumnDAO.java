@@ -1,45 +1,104 @@
 package bord.projeto.persistence.dao;
 
 import bord.projeto.dto.BoardColumnDTO;
+import bord.projeto.dto.CardsAmountMismatchDTO;
 import bord.projeto.persistence.entity.BoardColumnEntity;
 import bord.projeto.persistence.entity.CardEntity;
-import com.mysql.cj.jdbc.StatementImpl;
 import lombok.RequiredArgsConstructor;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static bord.projeto.persistence.entity.BoardColumnKindEnum.findByName;
+import static java.sql.Statement.RETURN_GENERATED_KEYS;
 import static java.util.Objects.isNull;
 
 @RequiredArgsConstructor
 public class BoardColumnDAO {
 
+    static final String INSERT_SQL = "INSERT INTO BOARDS_COLUMNS (name, `order`, kind, board_id) VALUES (?, ?, ?, ?)";
+    static final String FIND_BY_BOARD_ID_SQL = "SELECT id, name, `order`, kind FROM BOARDS_COLUMNS WHERE board_id = ? ORDER BY `order`";
+    static final String FIND_BY_BOARD_ID_WITH_DETAILS_SQL = """
+            SELECT bc.id,
+                   bc.name,
+                   bc.kind,
+                   bc.cards_amount
+              FROM BOARDS_COLUMNS bc
+             WHERE board_id = ?
+             ORDER BY `order`
+            """;
+    static final String FIND_BY_ID_SQL = """
+            SELECT bc.name,
+                   bc.kind,
+                   c.id,
+                   c.title,
+                   c.description
+              FROM BOARDS_COLUMNS bc
+              LEFT JOIN CARDS c
+                ON c.board_column_id = bc.id
+             WHERE bc.id = ?
+            """;
+
+    static final String ADD_CARDS_AMOUNT_SQL = "UPDATE BOARDS_COLUMNS SET cards_amount = cards_amount + ? WHERE id = ?";
+    static final String FIND_CARDS_AMOUNT_MISMATCHES_SQL = """
+            SELECT bc.id,
+                   bc.name,
+                   bc.cards_amount,
+                   COUNT(c.id) actual_amount
+              FROM BOARDS_COLUMNS bc
+              LEFT JOIN CARDS c
+                ON c.board_column_id = bc.id
+             WHERE bc.board_id = ?
+             GROUP BY bc.id, bc.name, bc.cards_amount
+            HAVING bc.cards_amount <> COUNT(c.id)
+            """;
+    static final String RECOUNT_CARDS_AMOUNT_SQL = """
+            UPDATE BOARDS_COLUMNS bc
+               SET bc.cards_amount = (SELECT COUNT(c.id) FROM CARDS c WHERE c.board_column_id = bc.id)
+             WHERE bc.board_id = ?
+            """;
+
+    static final String FIND_HEADER_BY_ID_SQL = "SELECT id, name, `order`, kind FROM BOARDS_COLUMNS WHERE id = ?";
+
     private final Connection connection;
 
     public BoardColumnEntity insert(final BoardColumnEntity entity) throws SQLException {
-        var sql = "INSERT INTO BOARDS_COLUMNS (name, `order`, kind, board_id) VALUES (?, ?, ?, ?);";
-        try(var statement = connection.prepareStatement(sql)){
-            var i = 1;
-            statement.setString(i ++, entity.getName());
-            statement.setInt(i ++, entity.getOrder());
-            statement.setString(i ++, entity.getKind().name());
-            statement.setLong(i, entity.getBoard().getId());
-            statement.executeUpdate();
-            if (statement instanceof StatementImpl impl){
-                entity.setId(impl.getLastInsertID());
+        insertAll(List.of(entity));
+        return entity;
+    }
+
+    // Todas as colunas (de um ou vários boards) vão num único batch multi-linha
+    public List<BoardColumnEntity> insertAll(final List<BoardColumnEntity> entities) throws SQLException {
+        try(var statement = connection.prepareStatement(INSERT_SQL, RETURN_GENERATED_KEYS)){
+            for (var entity : entities) {
+                var i = 1;
+                statement.setString(i ++, entity.getName());
+                statement.setInt(i ++, entity.getOrder());
+                statement.setString(i ++, entity.getKind().name());
+                statement.setLong(i, entity.getBoard().getId());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            try (var keys = statement.getGeneratedKeys()) {
+                for (var entity : entities) {
+                    if (!keys.next()) {
+                        throw new SQLException("O banco não devolveu o id de todas as %s colunas inseridas"
+                                .formatted(entities.size()));
+                    }
+                    entity.setId(keys.getLong(1));
+                }
             }
-            return entity;
+            return entities;
         }
     }
 
     public List<BoardColumnEntity> findByBoardId(final long boardId) throws SQLException {
         List<BoardColumnEntity> entities = new ArrayList<>();
-        var sql = "SELECT id, name, `order`, kind FROM BOARDS_COLUMNS WHERE board_id = ? ORDER BY `order`";
-        try(var statement = connection.prepareStatement(sql)){
+        try(var statement = connection.prepareStatement(FIND_BY_BOARD_ID_SQL)){
             statement.setLong(1, boardId);
             statement.executeQuery();
             var resultSet = statement.getResultSet();
@@ -56,19 +115,7 @@ public class BoardColumnDAO {
     }
     public List<BoardColumnDTO> findByBoardIdWithDetails(final Long boardId) throws SQLException {
         List<BoardColumnDTO> dtos = new ArrayList<>();
-        var sql =
-                """
-                SELECT bc.id,
-                       bc.name,
-                       bc.kind,
-                       (SELECT COUNT(c.id)
-                               FROM CARDS c
-                              WHERE c.board_column_id = bc.id) cards_amount
-                  FROM BOARDS_COLUMNS bc
-                 WHERE board_id = ?
-                 ORDER BY `order`;
-                """;
-        try(var statement = connection.prepareStatement(sql)){
+        try(var statement = connection.prepareStatement(FIND_BY_BOARD_ID_WITH_DETAILS_SQL)){
             statement.setLong(1, boardId);
             statement.executeQuery();
             var resultSet = statement.getResultSet();
@@ -77,27 +124,33 @@ public class BoardColumnDAO {
                         resultSet.getLong("bc.id"),
                         resultSet.getString("bc.name"),
                         findByName(resultSet.getString("bc.kind")),
-                        resultSet.getInt("cards_amount")
+                        resultSet.getInt("bc.cards_amount")
                 );
                 dtos.add(dto);
             }
             return dtos;
         }
     }
+    // Apenas os dados da coluna, sem os cards; os cards são lidos página a página pelo CardDAO
+    public Optional<BoardColumnEntity> findHeaderById(final Long id) throws SQLException{
+        try(var statement = connection.prepareStatement(FIND_HEADER_BY_ID_SQL)){
+            statement.setLong(1, id);
+            try (var resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return Optional.empty();
+                }
+                var entity = new BoardColumnEntity();
+                entity.setId(resultSet.getLong("id"));
+                entity.setName(resultSet.getString("name"));
+                entity.setOrder(resultSet.getInt("order"));
+                entity.setKind(findByName(resultSet.getString("kind")));
+                return Optional.of(entity);
+            }
+        }
+    }
+
     public Optional<BoardColumnEntity> findById(final Long boardId) throws SQLException{
-        var sql =
-                """
-                SELECT bc.name,
-                       bc.kind,
-                       c.id,
-                       c.title,
-                       c.description
-                  FROM BOARDS_COLUMNS bc
-                  LEFT JOIN CARDS c
-                    ON c.board_column_id = bc.id
-                 WHERE bc.id = ?;
-                """;
-        try(var statement = connection.prepareStatement(sql)){
+        try(var statement = connection.prepareStatement(FIND_BY_ID_SQL)){
             statement.setLong(1, boardId);
             statement.executeQuery();
             var resultSet = statement.getResultSet();
@@ -121,4 +174,41 @@ public class BoardColumnDAO {
         }
     }
 
+    // Contador de cards por coluna; deve rodar na mesma transação que insere ou move os cards
+    public void addCardsAmount(final Map<Long, Integer> deltaByColumnId) throws SQLException {
+        try(var statement = connection.prepareStatement(ADD_CARDS_AMOUNT_SQL)){
+            for (var entry : deltaByColumnId.entrySet()) {
+                statement.setInt(1, entry.getValue());
+                statement.setLong(2, entry.getKey());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    public List<CardsAmountMismatchDTO> findCardsAmountMismatches(final Long boardId) throws SQLException {
+        List<CardsAmountMismatchDTO> dtos = new ArrayList<>();
+        try(var statement = connection.prepareStatement(FIND_CARDS_AMOUNT_MISMATCHES_SQL)){
+            statement.setLong(1, boardId);
+            try (var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    dtos.add(new CardsAmountMismatchDTO(
+                            resultSet.getLong("bc.id"),
+                            resultSet.getString("bc.name"),
+                            resultSet.getInt("bc.cards_amount"),
+                            resultSet.getInt("actual_amount")
+                    ));
+                }
+            }
+        }
+        return dtos;
+    }
+
+    public int recountCardsAmount(final Long boardId) throws SQLException {
+        try(var statement = connection.prepareStatement(RECOUNT_CARDS_AMOUNT_SQL)){
+            statement.setLong(1, boardId);
+            return statement.executeUpdate();
+        }
+    }
+
 }
@@ -1,33 +1,56 @@
 package bord.projeto.persistence.dao;
 
 import bord.projeto.persistence.entity.BoardEntity;
-import com.mysql.cj.jdbc.StatementImpl;
 import lombok.AllArgsConstructor;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
+import static java.sql.Statement.RETURN_GENERATED_KEYS;
+
 @AllArgsConstructor
 public class BoardDAO {
 
+    static final String INSERT_SQL = "INSERT INTO BOARDS (name) values (?)";
+    static final String DELETE_SQL = "DELETE FROM BOARDS WHERE id = ?";
+    static final String FIND_BY_ID_SQL = "SELECT id, name, version FROM BOARDS WHERE id = ?";
+    static final String FIND_VERSION_SQL = "SELECT version FROM BOARDS WHERE id = ?";
+    static final String EXISTS_SQL = "SELECT 1 FROM  BOARDS WHERE id = ?";
+    static final String FIND_ID_BY_NAME_SQL = "SELECT id FROM BOARDS WHERE name = ? ORDER BY id LIMIT 1";
+    static final String FIND_PAGE_SQL = "SELECT id, name, version FROM BOARDS WHERE id > ? ORDER BY id LIMIT ?";
+
     private final Connection connection;
 
     public BoardEntity insert (final BoardEntity entity)throws SQLException{
-        var sql = "INSERT INTO BOARDS (name) values (?)";
-        try(var statement = connection.prepareStatement(sql)){
-            statement.setString(1,entity.getName());
-            statement.executeUpdate();
-            if (statement instanceof StatementImpl impl){
-                entity.setId(impl.getLastInsertID());
-            }
-    }
+        insertAll(List.of(entity));
         return entity;
     }
 
+    public List<BoardEntity> insertAll(final List<BoardEntity> entities) throws SQLException{
+        try(var statement = connection.prepareStatement(INSERT_SQL, RETURN_GENERATED_KEYS)){
+            for (var entity : entities) {
+                statement.setString(1, entity.getName());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            try (var keys = statement.getGeneratedKeys()) {
+                for (var entity : entities) {
+                    if (!keys.next()) {
+                        throw new SQLException("O banco não devolveu o id de todos os %s boards inseridos"
+                                .formatted(entities.size()));
+                    }
+                    entity.setId(keys.getLong(1));
+                }
+            }
+        }
+        return entities;
+    }
+
     public  void delete(final Long id)throws SQLException{
-        var sql = "DELETE FROM BOARDS WHERE id = ?";
-        try(var statement = connection.prepareStatement(sql)){
+        try(var statement = connection.prepareStatement(DELETE_SQL)){
             statement.setLong(1,id);
             statement.executeUpdate();
         }
@@ -35,8 +58,7 @@ public class BoardDAO {
     }
 
     public Optional<BoardEntity> findById (final  Long id)throws SQLException{
-        var sql = "SELECT id, name FROM BOARDS WHERE id = ?";
-        try(var statement = connection.prepareStatement(sql)){
+        try(var statement = connection.prepareStatement(FIND_BY_ID_SQL)){
             statement.setLong(1,id);
             statement.executeQuery();
             var resultSet = statement.getResultSet();
@@ -44,6 +66,7 @@ public class BoardDAO {
                 var entity = new BoardEntity();
                 entity.setId(resultSet.getLong("id"));
                 entity.setName(resultSet.getString("name"));
+                entity.setVersion(resultSet.getLong("version"));
                 return Optional.of(entity);
             }
 
@@ -52,9 +75,17 @@ public class BoardDAO {
 
     }
 
+    public Optional<Long> findVersion(final Long id) throws SQLException{
+        try(var statement = connection.prepareStatement(FIND_VERSION_SQL)){
+            statement.setLong(1,id);
+            try (var resultSet = statement.executeQuery()) {
+                return resultSet.next() ? Optional.of(resultSet.getLong("version")) : Optional.empty();
+            }
+        }
+    }
+
     public boolean exists(final Long id) throws SQLException{
-        var sql = "SELECT 1 FROM  BOARDS WHERE id = ?";
-        try(var statement = connection.prepareStatement(sql)){
+        try(var statement = connection.prepareStatement(EXISTS_SQL)){
             statement.setLong(1,id);
             statement.executeQuery();
             return statement.getResultSet().next();
@@ -63,4 +94,33 @@ public class BoardDAO {
 
     }
 
+    // Nomes não são únicos; devolve o board mais antigo com o nome
+    public Optional<Long> findIdByName(final String name) throws SQLException{
+        try(var statement = connection.prepareStatement(FIND_ID_BY_NAME_SQL)){
+            statement.setString(1, name);
+            try (var resultSet = statement.executeQuery()) {
+                return resultSet.next() ? Optional.of(resultSet.getLong(1)) : Optional.empty();
+            }
+        }
+    }
+
+    // Paginação por keyset: a próxima página começa depois do último id recebido
+    public List<BoardEntity> findPage(final long afterId, final int limit) throws SQLException{
+        try(var statement = connection.prepareStatement(FIND_PAGE_SQL)){
+            statement.setLong(1, afterId);
+            statement.setInt(2, limit);
+            try (var resultSet = statement.executeQuery()) {
+                List<BoardEntity> boards = new ArrayList<>();
+                while (resultSet.next()) {
+                    var entity = new BoardEntity();
+                    entity.setId(resultSet.getLong("id"));
+                    entity.setName(resultSet.getString("name"));
+                    entity.setVersion(resultSet.getLong("version"));
+                    boards.add(entity);
+                }
+                return boards;
+            }
+        }
+    }
+
 }
@@ -0,0 +1,138 @@
+package bord.projeto.persistence.dao;
+
+import bord.projeto.export.RecordWriter;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static bord.projeto.config.ApplicationProperties.getInt;
+import static bord.projeto.persistence.converter.OffsetDateTimeConverter.toOffsetDateTime;
+
+/**
+ * Leituras da exportação. Cada linha do ResultSet vai direto para o {@link RecordWriter}, sem virar
+ * entidade; as consultas de cards e bloqueios usam streaming (fetch size {@code Integer.MIN_VALUE}),
+ * então o driver também não guarda o resultado inteiro em memória.
+ */
+@AllArgsConstructor
+public class BoardExportDAO {
+
+    // Campos de cada arquivo, na ordem em que os export* os escrevem
+    public static final List<String> BOARD_FIELDS = List.of("id", "name", "version");
+    public static final List<String> COLUMN_FIELDS = List.of("id", "board_id", "name", "kind", "order", "cards_amount");
+    public static final List<String> CARD_FIELDS = List.of("id", "board_id", "column_id", "title", "description",
+            "blocked", "blocks_amount", "version");
+    public static final List<String> BLOCK_FIELDS = List.of("id", "card_id", "block_at", "block_reason", "unblock_at",
+            "unblock_reason");
+
+    static final String FIND_BOARD_IDS_SQL = "SELECT id FROM BOARDS ORDER BY id";
+    static final String EXPORT_BOARD_SQL = "SELECT id, name, version FROM BOARDS WHERE id = ?";
+    static final String EXPORT_COLUMNS_SQL = """
+            SELECT id, board_id, name, kind, `order`, cards_amount
+              FROM BOARDS_COLUMNS
+             WHERE board_id = ?
+             ORDER BY `order`
+            """;
+    static final String EXPORT_CARDS_SQL = """
+            SELECT c.id, bc.board_id, c.board_column_id, c.title, c.description,
+                   c.is_blocked, c.blocks_amount, c.version
+              FROM BOARDS_COLUMNS bc
+             INNER JOIN CARDS c
+                ON c.board_column_id = bc.id
+             WHERE bc.board_id = ?
+            """;
+    static final String EXPORT_BLOCKS_SQL = """
+            SELECT b.id, b.card_id, b.block_at, b.block_reason, b.unblock_at, b.unblock_reason
+              FROM BOARDS_COLUMNS bc
+             INNER JOIN CARDS c
+                ON c.board_column_id = bc.id
+             INNER JOIN BLOCKS b
+                ON b.card_id = c.id
+             WHERE bc.board_id = ?
+            """;
+
+    private final Connection connection;
+
+    public List<Long> findBoardIds() throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (var statement = connection.prepareStatement(FIND_BOARD_IDS_SQL);
+             var resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    public void exportBoard(final Long boardId, final RecordWriter writer) throws SQLException {
+        forEachRow(EXPORT_BOARD_SQL, boardId, resultSet -> {
+            writer.startRecord();
+            writer.field("id", resultSet.getLong("id"))
+                    .field("name", resultSet.getString("name"))
+                    .field("version", resultSet.getLong("version"));
+            writer.endRecord();
+        });
+    }
+
+    public void exportColumns(final Long boardId, final RecordWriter writer) throws SQLException {
+        forEachRow(EXPORT_COLUMNS_SQL, boardId, resultSet -> {
+            writer.startRecord();
+            writer.field("id", resultSet.getLong("id"))
+                    .field("board_id", resultSet.getLong("board_id"))
+                    .field("name", resultSet.getString("name"))
+                    .field("kind", resultSet.getString("kind"))
+                    .field("order", resultSet.getLong("order"))
+                    .field("cards_amount", resultSet.getLong("cards_amount"));
+            writer.endRecord();
+        });
+    }
+
+    public void exportCards(final Long boardId, final RecordWriter writer) throws SQLException {
+        forEachRow(EXPORT_CARDS_SQL, boardId, resultSet -> {
+            writer.startRecord();
+            writer.field("id", resultSet.getLong(1))
+                    .field("board_id", resultSet.getLong(2))
+                    .field("column_id", resultSet.getLong(3))
+                    .field("title", resultSet.getString(4))
+                    .field("description", resultSet.getString(5))
+                    .field("blocked", resultSet.getBoolean(6))
+                    .field("blocks_amount", resultSet.getLong(7))
+                    .field("version", resultSet.getLong(8));
+            writer.endRecord();
+        });
+    }
+
+    public void exportBlocks(final Long boardId, final RecordWriter writer) throws SQLException {
+        forEachRow(EXPORT_BLOCKS_SQL, boardId, resultSet -> {
+            writer.startRecord();
+            writer.field("id", resultSet.getLong(1))
+                    .field("card_id", resultSet.getLong(2))
+                    .field("block_at", toOffsetDateTime(resultSet.getTimestamp(3)))
+                    .field("block_reason", resultSet.getString(4))
+                    .field("unblock_at", toOffsetDateTime(resultSet.getTimestamp(5)))
+                    .field("unblock_reason", resultSet.getString(6));
+            writer.endRecord();
+        });
+    }
+
+    private void forEachRow(final String sql, final Long boardId, final RowHandler handler) throws SQLException {
+        try (var statement = connection.prepareStatement(sql)) {
+            statement.setFetchSize(getInt("board.jdbc.stream-fetch-size", Integer.MIN_VALUE));
+            statement.setLong(1, boardId);
+            try (var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    handler.handle(resultSet);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowHandler {
+        void handle(ResultSet resultSet) throws SQLException;
+    }
+
+}
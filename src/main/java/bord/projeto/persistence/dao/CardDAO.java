@@ -1,42 +1,269 @@
 package bord.projeto.persistence.dao;
 
+import bord.projeto.dto.CardColumnStateDTO;
 import bord.projeto.dto.CardDetailsDTO;
+import bord.projeto.dto.CardSearchDocumentDTO;
+import bord.projeto.dto.IdRangeDTO;
 import bord.projeto.persistence.entity.CardEntity;
-import com.mysql.cj.jdbc.StatementImpl;
 import lombok.AllArgsConstructor;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import static bord.projeto.config.ApplicationProperties.getInt;
 import static bord.projeto.persistence.converter.OffsetDateTimeConverter.toOffsetDateTime;
-import static java.util.Objects.nonNull;
+import static java.sql.Statement.RETURN_GENERATED_KEYS;
+import static java.util.Objects.isNull;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.summingInt;
 
 
 @AllArgsConstructor
 public class CardDAO {
 
+    static final String INSERT_SQL = "INSERT INTO CARDS (title, description, board_column_id) values (?, ?, ?)";
+
+    // Move o card e ajusta os contadores das colunas de origem e destino (cards_amount)
+    static final String LEAVE_COLUMN_SQL = """
+            UPDATE BOARDS_COLUMNS bc
+             INNER JOIN CARDS c
+                ON c.board_column_id = bc.id
+               SET bc.cards_amount = bc.cards_amount - 1
+             WHERE c.id = ?
+               AND bc.id <> ?
+            """;
+    static final String MOVE_TO_COLUMN_SQL = """
+            UPDATE CARDS c
+             INNER JOIN BOARDS_COLUMNS bc
+                ON bc.id = ?
+               SET c.board_column_id = bc.id,
+                   c.version = c.version + 1,
+                   bc.cards_amount = bc.cards_amount + 1
+             WHERE c.id = ?
+               AND c.board_column_id <> bc.id
+            """;
+    /*
+     * Movimento otimista: só altera o card se ele ainda estiver na coluna e na versão lidas e não
+     * estiver bloqueado. O mesmo UPDATE ajusta cards_amount das colunas de origem (-1) e destino (+1).
+     */
+    static final String MOVE_IF_CURRENT_SQL = """
+            UPDATE CARDS c
+             INNER JOIN BOARDS_COLUMNS bc
+                ON bc.id IN (?, ?)
+               SET c.board_column_id = ?,
+                   c.version = c.version + 1,
+                   bc.cards_amount = bc.cards_amount + IF(bc.id = ?, 1, -1)
+             WHERE c.id = ?
+               AND c.board_column_id = ?
+               AND c.version = ?
+               AND c.is_blocked = FALSE
+            """;
+
+    /*
+     * Movimento e cancelamento a partir do id do card, sem lê-lo antes: a coluna de destino sai da própria
+     * coluna atual (a de ordem seguinte, ou a CANCEL do board) e o mesmo UPDATE ajusta cards_amount das duas
+     * colunas. Só cards desbloqueados em coluna INITIAL ou PENDING do board se movem. A coluna de origem,
+     * para o histórico, é lida antes com FOR UPDATE na mesma transação; o UPDATE só move o card se ele ainda
+     * estiver nela.
+     */
+    static final String LOCK_COLUMN_ID_SQL = """
+            SELECT c.board_column_id
+              FROM CARDS c
+             INNER JOIN BOARDS_COLUMNS bc
+                ON bc.id = c.board_column_id
+             WHERE c.id = ?
+               AND bc.board_id = ?
+               FOR UPDATE
+            """;
+    static final String MOVE_TO_NEXT_COLUMN_SQL = """
+            UPDATE CARDS c
+             INNER JOIN BOARDS_COLUMNS src
+                ON src.id = c.board_column_id
+             INNER JOIN BOARDS_COLUMNS dst
+                ON dst.board_id = src.board_id
+               AND dst.`order` = src.`order` + 1
+               SET c.board_column_id = dst.id,
+                   c.version = c.version + 1,
+                   src.cards_amount = src.cards_amount - 1,
+                   dst.cards_amount = dst.cards_amount + 1
+             WHERE c.id = ?
+               AND src.board_id = ?
+               AND src.id = ?
+               AND src.kind IN ('INITIAL', 'PENDING')
+               AND c.is_blocked = FALSE
+            """;
+    static final String MOVE_TO_CANCEL_COLUMN_SQL = """
+            UPDATE CARDS c
+             INNER JOIN BOARDS_COLUMNS src
+                ON src.id = c.board_column_id
+             INNER JOIN BOARDS_COLUMNS dst
+                ON dst.board_id = src.board_id
+               AND dst.kind = 'CANCEL'
+               SET c.board_column_id = dst.id,
+                   c.version = c.version + 1,
+                   src.cards_amount = src.cards_amount - 1,
+                   dst.cards_amount = dst.cards_amount + 1
+             WHERE c.id = ?
+               AND src.board_id = ?
+               AND src.id = ?
+               AND src.kind IN ('INITIAL', 'PENDING')
+               AND c.is_blocked = FALSE
+            """;
+
+    /*
+     * Movimentos em lote. As listas de ids vão em blocos de tamanho fixo (o último bloco é completado
+     * repetindo o último id), assim cada consulta tem um único texto SQL e aproveita o cache de statements.
+     * As linhas são travadas com FOR UPDATE antes do UPDATE, para que o resultado de cada card informado
+     * ao chamador seja o que de fato foi gravado.
+     */
+    static final int ID_CHUNK_SIZE = 100;
+
+    static final String LOCK_FOR_MOVE_SQL = """
+            SELECT c.id,
+                   c.board_column_id,
+                   c.is_blocked
+              FROM CARDS c
+             INNER JOIN BOARDS_COLUMNS bc
+                ON bc.id = c.board_column_id
+             WHERE bc.board_id = ?
+               AND c.id IN (%s)
+               FOR UPDATE
+            """.formatted(placeholders(ID_CHUNK_SIZE));
+    static final String LOCK_COLUMN_FOR_MOVE_SQL = """
+            SELECT id,
+                   board_column_id,
+                   is_blocked
+              FROM CARDS
+             WHERE board_column_id = ?
+             ORDER BY id
+               FOR UPDATE
+            """;
+    static final String MOVE_ALL_SQL = """
+            UPDATE CARDS
+               SET board_column_id = ?,
+                   version = version + 1
+             WHERE board_column_id = ?
+               AND is_blocked = FALSE
+               AND id IN (%s)
+            """.formatted(placeholders(ID_CHUNK_SIZE));
+    static final String MOVE_COLUMN_SQL = """
+            UPDATE CARDS
+               SET board_column_id = ?,
+                   version = version + 1
+             WHERE board_column_id = ?
+               AND is_blocked = FALSE
+            """;
+
+    /*
+     * Detalhes do card, filtrando também pelo boardId para garantir que o card pertence ao board.
+     * O estado de bloqueio vem da própria linha de CARDS; BLOCKS só é lido pela chave primária
+     * (current_block_id) para trazer data e motivo do bloqueio em aberto.
+     */
+    static final String FIND_BY_ID_SQL = """
+            SELECT c.id,
+                   c.title,
+                   c.description,
+                   c.is_blocked,
+                   b.block_at,
+                   b.block_reason,
+                   c.blocks_amount,
+                   c.board_column_id,
+                   bc.name,
+                   c.version
+              FROM CARDS c
+             INNER JOIN BOARDS_COLUMNS bc
+                ON bc.id = c.board_column_id
+              LEFT JOIN BLOCKS b
+                ON b.id = c.current_block_id
+             WHERE c.id = ?
+               AND bc.board_id = ?
+            """;
+
+    // Paginação por chave (keyset) sobre o índice (board_column_id, id): custo constante em qualquer página
+    static final String FIND_PAGE_BY_COLUMN_ID_SQL = """
+            SELECT id, title, description
+              FROM CARDS
+             WHERE board_column_id = ?
+               AND id > ?
+             ORDER BY id
+             LIMIT ?
+            """;
+    static final String FIND_ID_RANGE_SQL = "SELECT MIN(id), MAX(id) FROM CARDS";
+    static final String FIND_SEARCH_DOCUMENTS_SQL = """
+            SELECT id, board_column_id, title, description
+              FROM CARDS
+             WHERE id BETWEEN ? AND ?
+            """;
+    static final String FIND_BY_COLUMN_ID_SQL = """
+            SELECT id, title, description
+              FROM CARDS
+             WHERE board_column_id = ?
+             ORDER BY id
+            """;
+
     private Connection connection;
 
     public CardEntity insert(final CardEntity entity) throws SQLException {
-        var sql = "INSERT INTO CARDS (title, description, board_column_id) values (?, ?, ?);";
-        try(var statement = connection.prepareStatement(sql)){
+        try(var statement = connection.prepareStatement(INSERT_SQL, RETURN_GENERATED_KEYS)){
             var i = 1;
             statement.setString(i ++, entity.getTitle());
             statement.setString(i ++, entity.getDescription());
             statement.setLong(i, entity.getBoardColumn().getId());
             statement.executeUpdate();
-            if (statement instanceof StatementImpl impl){
-                entity.setId(impl.getLastInsertID());
+            try (var keys = statement.getGeneratedKeys()) {
+                if (keys.next()) {
+                    entity.setId(keys.getLong(1));
+                }
             }
         }
+        new BoardColumnDAO(connection).addCardsAmount(Map.of(entity.getBoardColumn().getId(), 1));
         return entity;
     }
 
+    // Insere todos os cards num único executeBatch; com rewriteBatchedStatements o driver
+    // envia um INSERT multi-linha e devolve as chaves geradas na mesma ordem dos cards
+    public List<CardEntity> insertAll(final List<CardEntity> entities) throws SQLException {
+        try(var statement = connection.prepareStatement(INSERT_SQL, RETURN_GENERATED_KEYS)){
+            for (var entity : entities) {
+                var i = 1;
+                statement.setString(i ++, entity.getTitle());
+                statement.setString(i ++, entity.getDescription());
+                statement.setLong(i, entity.getBoardColumn().getId());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            try (var keys = statement.getGeneratedKeys()) {
+                for (var entity : entities) {
+                    // Sem a chave o card ficaria sem id e o evento CREATE sem card_id
+                    if (!keys.next()) {
+                        throw new SQLException("O banco não devolveu o id de todos os %s cards inseridos"
+                                .formatted(entities.size()));
+                    }
+                    entity.setId(keys.getLong(1));
+                }
+            }
+        }
+        var insertedByColumn = entities.stream()
+                .collect(groupingBy(e -> e.getBoardColumn().getId(), summingInt(e -> 1)));
+        new BoardColumnDAO(connection).addCardsAmount(insertedByColumn);
+        return entities;
+    }
+
     public void moveToColumn(final Long columnId, final Long cardId) throws SQLException{
-        var sql = "UPDATE CARDS SET board_column_id = ? WHERE id = ?;";
-        try(var statement = connection.prepareStatement(sql)){
+        try(var statement = connection.prepareStatement(LEAVE_COLUMN_SQL)){
+            statement.setLong(1, cardId);
+            statement.setLong(2, columnId);
+            statement.executeUpdate();
+        }
+        try(var statement = connection.prepareStatement(MOVE_TO_COLUMN_SQL)){
             var i = 1;
             statement.setLong(i ++, columnId);
             statement.setLong(i, cardId);
@@ -44,32 +271,107 @@ public class CardDAO {
         }
     }
 
-    public Optional<CardDetailsDTO> findById(final Long boardId, final Long cardId) throws SQLException {
-        // SQL query para obter os detalhes do card, filtrando também pelo boardId
-        String sql = """
-        SELECT c.id,                         -- Seleciona o ID do card
-               c.title,                      -- Seleciona o título do card
-               c.description,                -- Seleciona a descrição do card
-               b.block_at,                  -- Seleciona a data de bloqueio do card
-               b.block_reason,              -- Seleciona o motivo de bloqueio do card
-               c.board_column_id,           -- Seleciona o ID da coluna do board onde o card está
-               bc.name,                      -- Seleciona o nome da coluna do board
-               (SELECT COUNT(sub_b.id)      -- Conta a quantidade de bloqueios para o card
-                   FROM BLOCKS sub_b
-                  WHERE sub_b.card_id = c.id) AS blocks_amount
-          FROM CARDS c                         -- Tabela de cards
-          LEFT JOIN BLOCKS b                   -- Junção à tabela de BLOCKS para obter detalhes sobre bloqueios
-            ON c.id = b.card_id
-           AND b.unblock_at IS NULL           -- Apenas considera os bloqueios não desbloqueados
-         INNER JOIN BOARDS_COLUMNS bc          -- Junção à tabela de colunas do board para obter o nome da coluna
-            ON bc.id = c.board_column_id
-         INNER JOIN BOARDS board               -- Junção à tabela de boards para garantir que o card pertence ao board correto
-            ON board.id = bc.board_id
-          WHERE c.id = ?                       -- Filtra pelo ID do card
-            AND board.id = ?;                  -- Filtra pelo ID do board, garantindo que o card pertence ao board correto
-    """;
+    /**
+     * @return true se o card foi movido; false se não está mais em fromColumnId com a versão esperada,
+     * se está bloqueado ou se não existe
+     */
+    public boolean moveToColumnIfCurrent(final Long cardId, final Long fromColumnId, final Long toColumnId,
+                                         final long expectedVersion) throws SQLException{
+        try(var statement = connection.prepareStatement(MOVE_IF_CURRENT_SQL)){
+            var i = 1;
+            statement.setLong(i ++, fromColumnId);
+            statement.setLong(i ++, toColumnId);
+            statement.setLong(i ++, toColumnId);
+            statement.setLong(i ++, toColumnId);
+            statement.setLong(i ++, cardId);
+            statement.setLong(i ++, fromColumnId);
+            statement.setLong(i, expectedVersion);
+            return statement.executeUpdate() > 0;
+        }
+    }
 
-        try (var statement = connection.prepareStatement(sql)) {
+    /**
+     * @return a coluna de onde o card saiu, ou vazio se ele não foi movido (não está no board, está
+     * bloqueado ou está numa coluna FINAL ou CANCEL)
+     */
+    public Optional<Long> moveToNextColumn(final Long boardId, final Long cardId) throws SQLException {
+        return moveReturningSource(MOVE_TO_NEXT_COLUMN_SQL, boardId, cardId);
+    }
+
+    /**
+     * @return a coluna de onde o card saiu, ou vazio se ele não foi cancelado, pelos mesmos motivos de moveToNextColumn
+     */
+    public Optional<Long> moveToCancelColumn(final Long boardId, final Long cardId) throws SQLException {
+        return moveReturningSource(MOVE_TO_CANCEL_COLUMN_SQL, boardId, cardId);
+    }
+
+    /**
+     * Trava e devolve coluna e bloqueio dos cards do board informados; ids de outro board ou inexistentes ficam de fora.
+     */
+    public List<CardColumnStateDTO> lockForMove(final Long boardId, final List<Long> cardIds) throws SQLException {
+        List<CardColumnStateDTO> states = new ArrayList<>(cardIds.size());
+        try (var statement = connection.prepareStatement(LOCK_FOR_MOVE_SQL)) {
+            for (var chunk : chunks(cardIds)) {
+                statement.setLong(1, boardId);
+                setIds(statement, 2, chunk);
+                try (var resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        states.add(mapToCardColumnState(resultSet));
+                    }
+                }
+            }
+        }
+        return states;
+    }
+
+    public List<CardColumnStateDTO> lockColumnForMove(final Long columnId) throws SQLException {
+        List<CardColumnStateDTO> states = new ArrayList<>();
+        try (var statement = connection.prepareStatement(LOCK_COLUMN_FOR_MOVE_SQL)) {
+            statement.setLong(1, columnId);
+            try (var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    states.add(mapToCardColumnState(resultSet));
+                }
+            }
+        }
+        return states;
+    }
+
+    /**
+     * Move de fromColumnId para toColumnId os cards informados que não estão bloqueados.
+     * Não altera cards_amount; o chamador ajusta os contadores com o total devolvido.
+     *
+     * @return quantidade de cards movidos
+     */
+    public int moveAll(final List<Long> cardIds, final Long fromColumnId, final Long toColumnId) throws SQLException {
+        var moved = 0;
+        try (var statement = connection.prepareStatement(MOVE_ALL_SQL)) {
+            for (var chunk : chunks(cardIds)) {
+                var i = 1;
+                statement.setLong(i ++, toColumnId);
+                statement.setLong(i ++, fromColumnId);
+                setIds(statement, i, chunk);
+                moved += statement.executeUpdate();
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * Move todos os cards não bloqueados da coluna. Assim como moveAll, não altera cards_amount.
+     *
+     * @return quantidade de cards movidos
+     */
+    public int moveColumn(final Long fromColumnId, final Long toColumnId) throws SQLException {
+        try (var statement = connection.prepareStatement(MOVE_COLUMN_SQL)) {
+            statement.setLong(1, toColumnId);
+            statement.setLong(2, fromColumnId);
+            return statement.executeUpdate();
+        }
+    }
+
+    public Optional<CardDetailsDTO> findById(final Long boardId, final Long cardId) throws SQLException {
+        try (var statement = connection.prepareStatement(FIND_BY_ID_SQL)) {
             // Define o valor do parâmetro do ID do card na consulta SQL
             statement.setLong(1, cardId);
             // Define o valor do parâmetro do ID do board na consulta SQL
@@ -91,17 +393,132 @@ public class CardDAO {
     }
 
 
+    public List<CardEntity> findPageByColumnId(final Long columnId, final long afterCardId, final int limit) throws SQLException {
+        List<CardEntity> entities = new ArrayList<>(limit);
+        try (var statement = connection.prepareStatement(FIND_PAGE_BY_COLUMN_ID_SQL)) {
+            var i = 1;
+            statement.setLong(i ++, columnId);
+            statement.setLong(i ++, afterCardId);
+            statement.setInt(i, limit);
+            try (var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    entities.add(mapToCardEntity(resultSet, columnId));
+                }
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * Percorre os cards da coluna com um result set em streaming, sem carregar a coluna inteira na memória.
+     * Enquanto o consumer roda a conexão fica ocupada pelo streaming; ele não deve usá-la.
+     */
+    public void forEachByColumnId(final Long columnId, final Consumer<CardEntity> consumer) throws SQLException {
+        try (var statement = connection.prepareStatement(FIND_BY_COLUMN_ID_SQL)) {
+            statement.setFetchSize(getInt("board.jdbc.stream-fetch-size", Integer.MIN_VALUE));
+            statement.setLong(1, columnId);
+            try (var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    consumer.accept(mapToCardEntity(resultSet, columnId));
+                }
+            }
+        }
+    }
+
+    public Optional<IdRangeDTO> findIdRange() throws SQLException {
+        try (var statement = connection.prepareStatement(FIND_ID_RANGE_SQL);
+             var resultSet = statement.executeQuery()) {
+            if (!resultSet.next() || isNull(resultSet.getObject(1))) {
+                return Optional.empty();
+            }
+            return Optional.of(new IdRangeDTO(resultSet.getLong(1), resultSet.getLong(2)));
+        }
+    }
+
+    // Faixa de ids pela chave primária; usado na reconstrução paralela do índice de busca
+    public List<CardSearchDocumentDTO> findSearchDocuments(final long fromId, final long toId) throws SQLException {
+        List<CardSearchDocumentDTO> documents = new ArrayList<>();
+        try (var statement = connection.prepareStatement(FIND_SEARCH_DOCUMENTS_SQL)) {
+            statement.setLong(1, fromId);
+            statement.setLong(2, toId);
+            try (var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    documents.add(new CardSearchDocumentDTO(resultSet.getLong(1), resultSet.getLong(2),
+                            resultSet.getString(3), resultSet.getString(4)));
+                }
+            }
+        }
+        return documents;
+    }
+
+    private Optional<Long> moveReturningSource(final String sql, final Long boardId, final Long cardId) throws SQLException {
+        long fromColumnId;
+        try (var statement = connection.prepareStatement(LOCK_COLUMN_ID_SQL)) {
+            statement.setLong(1, cardId);
+            statement.setLong(2, boardId);
+            try (var resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return Optional.empty();
+                }
+                fromColumnId = resultSet.getLong(1);
+            }
+        }
+        try (var statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, cardId);
+            statement.setLong(2, boardId);
+            statement.setLong(3, fromColumnId);
+            return statement.executeUpdate() == 0 ? Optional.empty() : Optional.of(fromColumnId);
+        }
+    }
+
+    private CardColumnStateDTO mapToCardColumnState(final ResultSet resultSet) throws SQLException {
+        return new CardColumnStateDTO(
+                resultSet.getLong(1),
+                resultSet.getLong(2),
+                resultSet.getBoolean(3)
+        );
+    }
+
+    private static String placeholders(final int amount) {
+        return String.join(", ", Collections.nCopies(amount, "?"));
+    }
+
+    private static List<List<Long>> chunks(final List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (var from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + ID_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    private static void setIds(final PreparedStatement statement, final int firstIndex,
+                               final List<Long> chunk) throws SQLException {
+        for (var i = 0; i < ID_CHUNK_SIZE; i++) {
+            statement.setLong(firstIndex + i, chunk.get(Math.min(i, chunk.size() - 1)));
+        }
+    }
+
+    private CardEntity mapToCardEntity(final ResultSet resultSet, final Long columnId) throws SQLException {
+        var entity = new CardEntity();
+        entity.setId(resultSet.getLong("id"));
+        entity.setTitle(resultSet.getString("title"));
+        entity.setDescription(resultSet.getString("description"));
+        entity.getBoardColumn().setId(columnId);
+        return entity;
+    }
+
     private CardDetailsDTO mapToCardDetailsDTO(ResultSet resultSet) throws SQLException {
         return new CardDetailsDTO(
                 resultSet.getLong("c.id"),
                 resultSet.getString("c.title"),
                 resultSet.getString("c.description"),
-                nonNull(resultSet.getString("b.block_reason")),
+                resultSet.getBoolean("c.is_blocked"),
                 toOffsetDateTime(resultSet.getTimestamp("b.block_at")),
                 resultSet.getString("b.block_reason"),
-                resultSet.getInt("blocks_amount"),
+                resultSet.getInt("c.blocks_amount"),
                 resultSet.getLong("c.board_column_id"),
-                resultSet.getString("bc.name")
+                resultSet.getString("bc.name"),
+                resultSet.getLong("c.version")
         );
     }
 
@@ -0,0 +1,122 @@
+package bord.projeto.persistence.dao;
+
+import bord.projeto.dto.CardHistoryRowDTO;
+import bord.projeto.persistence.entity.CardMovementEntity;
+import bord.projeto.persistence.entity.CardMovementEventEnum;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static bord.projeto.config.ApplicationProperties.getInt;
+import static bord.projeto.persistence.converter.OffsetDateTimeConverter.toOffsetDateTime;
+import static bord.projeto.persistence.converter.OffsetDateTimeConverter.toTimestamp;
+import static java.util.Objects.isNull;
+
+@AllArgsConstructor
+public class CardMovementDAO {
+
+    static final String INSERT_SQL = """
+            INSERT INTO CARD_MOVEMENTS (card_id, event, from_column_id, to_column_id, moved_at)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+    static final String FIND_BY_CARD_ID_SQL = """
+            SELECT id, card_id, event, from_column_id, to_column_id, moved_at
+              FROM CARD_MOVEMENTS
+             WHERE card_id = ?
+             ORDER BY moved_at, id
+            """;
+
+    // Eventos e bloqueios de todos os cards do board numa única leitura, em ordem de card e de data; no
+    // mesmo instante os eventos vêm antes dos bloqueios e, entre eles, pelo id, para a ordem não variar
+    static final String FIND_HISTORY_BY_BOARD_ID_SQL = """
+            SELECT m.card_id, FALSE AS is_block, m.event, m.from_column_id, m.to_column_id,
+                   m.moved_at AS happened_at, NULL AS until_at, m.id AS row_id
+              FROM CARD_MOVEMENTS m
+             INNER JOIN BOARDS_COLUMNS bc
+                ON bc.id = m.to_column_id
+             WHERE bc.board_id = ?
+            UNION ALL
+            SELECT b.card_id, TRUE, NULL, NULL, NULL, b.block_at, b.unblock_at, b.id
+              FROM BLOCKS b
+             INNER JOIN CARDS c
+                ON c.id = b.card_id
+             INNER JOIN BOARDS_COLUMNS bc
+                ON bc.id = c.board_column_id
+             WHERE bc.board_id = ?
+             ORDER BY card_id, happened_at, is_block, row_id
+            """;
+
+    private final Connection connection;
+
+    // Um único executeBatch; com rewriteBatchedStatements vira um INSERT multi-linha
+    public void insertAll(final List<CardMovementEntity> entities) throws SQLException {
+        try (var statement = connection.prepareStatement(INSERT_SQL)) {
+            for (var entity : entities) {
+                var i = 1;
+                statement.setLong(i ++, entity.getCardId());
+                statement.setString(i ++, entity.getEvent().name());
+                if (isNull(entity.getFromColumnId())) {
+                    statement.setNull(i ++, Types.BIGINT);
+                } else {
+                    statement.setLong(i ++, entity.getFromColumnId());
+                }
+                statement.setLong(i ++, entity.getToColumnId());
+                statement.setTimestamp(i, toTimestamp(entity.getMovedAt()));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    public List<CardMovementEntity> findByCardId(final Long cardId) throws SQLException {
+        List<CardMovementEntity> entities = new ArrayList<>();
+        try (var statement = connection.prepareStatement(FIND_BY_CARD_ID_SQL)) {
+            statement.setLong(1, cardId);
+            try (var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    var entity = new CardMovementEntity();
+                    entity.setId(resultSet.getLong("id"));
+                    entity.setCardId(resultSet.getLong("card_id"));
+                    entity.setEvent(CardMovementEventEnum.findByName(resultSet.getString("event")));
+                    entity.setFromColumnId(resultSet.getObject("from_column_id", Long.class));
+                    entity.setToColumnId(resultSet.getLong("to_column_id"));
+                    entity.setMovedAt(toOffsetDateTime(resultSet.getTimestamp("moved_at")));
+                    entities.add(entity);
+                }
+            }
+        }
+        return entities;
+    }
+
+
+    /**
+     * Entrega ao consumer o histórico do board linha a linha, sem carregar o resultado em memória.
+     */
+    public void forEachHistoryByBoardId(final Long boardId, final Consumer<CardHistoryRowDTO> consumer) throws SQLException {
+        try (var statement = connection.prepareStatement(FIND_HISTORY_BY_BOARD_ID_SQL)) {
+            statement.setFetchSize(getInt("board.jdbc.stream-fetch-size", Integer.MIN_VALUE));
+            statement.setLong(1, boardId);
+            statement.setLong(2, boardId);
+            try (var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    var block = resultSet.getBoolean(2);
+                    var until = resultSet.getTimestamp(7);
+                    consumer.accept(new CardHistoryRowDTO(
+                            resultSet.getLong(1),
+                            block,
+                            block ? null : CardMovementEventEnum.findByName(resultSet.getString(3)),
+                            resultSet.getLong(4),
+                            resultSet.getLong(5),
+                            resultSet.getTimestamp(6).getTime(),
+                            isNull(until) ? -1 : until.getTime()));
+                }
+            }
+        }
+    }
+
+}
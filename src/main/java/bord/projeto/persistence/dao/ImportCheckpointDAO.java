@@ -0,0 +1,74 @@
+package bord.projeto.persistence.dao;
+
+import bord.projeto.persistence.entity.ImportCheckpointEntity;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Optional;
+
+import static bord.projeto.persistence.converter.OffsetDateTimeConverter.toOffsetDateTime;
+import static bord.projeto.persistence.converter.OffsetDateTimeConverter.toTimestamp;
+
+@AllArgsConstructor
+public class ImportCheckpointDAO {
+
+    static final String FIND_BY_KEY_SQL = """
+            SELECT source_key, source_name, byte_offset, rows_read, rows_imported, rows_rejected, finished, updated_at
+              FROM IMPORT_CHECKPOINTS
+             WHERE source_key = ?
+            """;
+    static final String SAVE_SQL = """
+            INSERT INTO IMPORT_CHECKPOINTS
+                   (source_key, source_name, byte_offset, rows_read, rows_imported, rows_rejected, finished, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE
+                   source_name = VALUES(source_name),
+                   byte_offset = VALUES(byte_offset),
+                   rows_read = VALUES(rows_read),
+                   rows_imported = VALUES(rows_imported),
+                   rows_rejected = VALUES(rows_rejected),
+                   finished = VALUES(finished),
+                   updated_at = VALUES(updated_at)
+            """;
+
+    private final Connection connection;
+
+    public Optional<ImportCheckpointEntity> findByKey(final String sourceKey) throws SQLException {
+        try (var statement = connection.prepareStatement(FIND_BY_KEY_SQL)) {
+            statement.setString(1, sourceKey);
+            try (var resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return Optional.empty();
+                }
+                var entity = new ImportCheckpointEntity();
+                entity.setSourceKey(resultSet.getString("source_key"));
+                entity.setSourceName(resultSet.getString("source_name"));
+                entity.setByteOffset(resultSet.getLong("byte_offset"));
+                entity.setRowsRead(resultSet.getLong("rows_read"));
+                entity.setRowsImported(resultSet.getLong("rows_imported"));
+                entity.setRowsRejected(resultSet.getLong("rows_rejected"));
+                entity.setFinished(resultSet.getBoolean("finished"));
+                entity.setUpdatedAt(toOffsetDateTime(resultSet.getTimestamp("updated_at")));
+                return Optional.of(entity);
+            }
+        }
+    }
+
+    // Gravado na mesma transação do lote de cards: o checkpoint nunca fica à frente nem atrás do banco
+    public void save(final ImportCheckpointEntity entity) throws SQLException {
+        try (var statement = connection.prepareStatement(SAVE_SQL)) {
+            var i = 1;
+            statement.setString(i ++, entity.getSourceKey());
+            statement.setString(i ++, entity.getSourceName());
+            statement.setLong(i ++, entity.getByteOffset());
+            statement.setLong(i ++, entity.getRowsRead());
+            statement.setLong(i ++, entity.getRowsImported());
+            statement.setLong(i ++, entity.getRowsRejected());
+            statement.setBoolean(i ++, entity.isFinished());
+            statement.setTimestamp(i, toTimestamp(entity.getUpdatedAt()));
+            statement.executeUpdate();
+        }
+    }
+
+}
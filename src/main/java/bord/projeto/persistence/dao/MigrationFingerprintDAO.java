@@ -0,0 +1,47 @@
+package bord.projeto.persistence.dao;
+
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+import static bord.projeto.persistence.converter.OffsetDateTimeConverter.toTimestamp;
+
+@AllArgsConstructor
+public class MigrationFingerprintDAO {
+
+    // A tabela tem uma única linha: o hash dos changelogs aplicados por último
+    static final long FINGERPRINT_ID = 1;
+
+    static final String FIND_HASH_SQL = "SELECT changelog_hash FROM MIGRATION_FINGERPRINTS WHERE id = ?";
+    static final String SAVE_SQL = """
+            INSERT INTO MIGRATION_FINGERPRINTS (id, changelog_hash, applied_at)
+            VALUES (?, ?, ?)
+                ON DUPLICATE KEY UPDATE
+                   changelog_hash = VALUES(changelog_hash),
+                   applied_at = VALUES(applied_at)
+            """;
+
+    private final Connection connection;
+
+    public Optional<String> findHash() throws SQLException {
+        try (var statement = connection.prepareStatement(FIND_HASH_SQL)) {
+            statement.setLong(1, FINGERPRINT_ID);
+            try (var resultSet = statement.executeQuery()) {
+                return resultSet.next() ? Optional.of(resultSet.getString("changelog_hash")) : Optional.empty();
+            }
+        }
+    }
+
+    public void save(final String hash) throws SQLException {
+        try (var statement = connection.prepareStatement(SAVE_SQL)) {
+            statement.setLong(1, FINGERPRINT_ID);
+            statement.setString(2, hash);
+            statement.setTimestamp(3, toTimestamp(OffsetDateTime.now()));
+            statement.executeUpdate();
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+package bord.projeto.persistence.dao;
+
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import static bord.projeto.persistence.converter.OffsetDateTimeConverter.toTimestamp;
+
+@AllArgsConstructor
+public class ShardDirectoryDAO {
+
+    static final String FIND_SHARD_SQL = "SELECT shard FROM SHARD_DIRECTORY WHERE board_id = ?";
+    static final String SAVE_SQL = """
+            INSERT INTO SHARD_DIRECTORY (board_id, shard, updated_at)
+            VALUES (?, ?, ?)
+                ON DUPLICATE KEY UPDATE
+                   shard = VALUES(shard),
+                   updated_at = VALUES(updated_at)
+            """;
+    // Boards do shard 0 cujo id aponta para outro shard (os de antes do sharding); os já registrados ficam como estão
+    static final String REGISTER_MISPLACED_SQL = """
+            INSERT IGNORE INTO SHARD_DIRECTORY (board_id, shard, updated_at)
+            SELECT id, 0, ?
+              FROM BOARDS
+             WHERE MOD(id - 1, ?) <> 0
+            """;
+    static final String DELETE_SQL = "DELETE FROM SHARD_DIRECTORY WHERE board_id = ?";
+
+    private final Connection connection;
+
+    public Optional<Integer> findShard(final Long boardId) throws SQLException {
+        try (var statement = connection.prepareStatement(FIND_SHARD_SQL)) {
+            statement.setLong(1, boardId);
+            try (var resultSet = statement.executeQuery()) {
+                return resultSet.next() ? Optional.of(resultSet.getInt("shard")) : Optional.empty();
+            }
+        }
+    }
+
+    /**
+     * Registra no shard 0 os boards desta base cujo shard de origem, pelo id, seria outro.
+     *
+     * @return quantos boards entraram no diretório
+     */
+    public int registerMisplaced(final int idStride) throws SQLException {
+        try (var statement = connection.prepareStatement(REGISTER_MISPLACED_SQL)) {
+            statement.setTimestamp(1, toTimestamp(OffsetDateTime.now()));
+            statement.setInt(2, idStride);
+            return statement.executeUpdate();
+        }
+    }
+
+    // board id -> shard, num único batch
+    public void saveAll(final Map<Long, Integer> shardByBoardId) throws SQLException {
+        var now = toTimestamp(OffsetDateTime.now());
+        try (var statement = connection.prepareStatement(SAVE_SQL)) {
+            for (var entry : shardByBoardId.entrySet()) {
+                statement.setLong(1, entry.getKey());
+                statement.setInt(2, entry.getValue());
+                statement.setTimestamp(3, now);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    public void delete(final Long boardId) throws SQLException {
+        try (var statement = connection.prepareStatement(DELETE_SQL)) {
+            statement.setLong(1, boardId);
+            statement.executeUpdate();
+        }
+    }
+
+}
@@ -0,0 +1,165 @@
+package bord.projeto.persistence.dao;
+
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Consultas de manutenção dos shards: cópia de um board inteiro para outro banco, mantendo os ids, e
+ * o alinhamento dos contadores de AUTO_INCREMENT. As leituras da cópia usam FOR UPDATE: enquanto a
+ * transação da origem estiver aberta, movimentos, bloqueios e novos cards do board esperam.
+ */
+@AllArgsConstructor
+public class ShardMaintenanceDAO {
+
+    // Tabelas com id gerado pelo banco, que precisam de ids únicos entre os shards
+    public static final List<String> ID_TABLES = List.of("BOARDS", "BOARDS_COLUMNS", "CARDS", "BLOCKS", "CARD_MOVEMENTS");
+
+    static final String FIND_ID_SETTINGS_SQL = "SELECT @@auto_increment_increment, @@auto_increment_offset";
+    static final String COPY_BOARD_SQL = "SELECT * FROM BOARDS WHERE id = ? FOR UPDATE";
+    static final String COPY_COLUMNS_SQL = "SELECT * FROM BOARDS_COLUMNS WHERE board_id = ? ORDER BY id FOR UPDATE";
+    static final String COPY_CARDS_SQL = """
+            SELECT c.*
+              FROM CARDS c
+             INNER JOIN BOARDS_COLUMNS bc
+                ON bc.id = c.board_column_id
+             WHERE bc.board_id = ?
+             ORDER BY c.id
+               FOR UPDATE
+            """;
+    static final String COPY_BLOCKS_SQL = """
+            SELECT b.*
+              FROM BLOCKS b
+             INNER JOIN CARDS c
+                ON c.id = b.card_id
+             INNER JOIN BOARDS_COLUMNS bc
+                ON bc.id = c.board_column_id
+             WHERE bc.board_id = ?
+             ORDER BY b.id
+               FOR UPDATE
+            """;
+    static final String COPY_MOVEMENTS_SQL = """
+            SELECT m.*
+              FROM CARD_MOVEMENTS m
+             INNER JOIN CARDS c
+                ON c.id = m.card_id
+             INNER JOIN BOARDS_COLUMNS bc
+                ON bc.id = c.board_column_id
+             WHERE bc.board_id = ?
+             ORDER BY m.id
+               FOR UPDATE
+            """;
+    // CARD_MOVEMENTS não tem FK para CARDS; o histórico sai antes do board para não ficar órfão
+    static final String DELETE_MOVEMENTS_SQL = """
+            DELETE m
+              FROM CARD_MOVEMENTS m
+             INNER JOIN CARDS c
+                ON c.id = m.card_id
+             INNER JOIN BOARDS_COLUMNS bc
+                ON bc.id = c.board_column_id
+             WHERE bc.board_id = ?
+            """;
+
+    private static final int COPY_BATCH_SIZE = 1_000;
+
+    private final Connection connection;
+
+    /**
+     * @return {auto_increment_increment, auto_increment_offset} da sessão
+     */
+    public long[] findIdSettings() throws SQLException {
+        try (var statement = connection.prepareStatement(FIND_ID_SETTINGS_SQL);
+             var resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return new long[]{resultSet.getLong(1), resultSet.getLong(2)};
+        }
+    }
+
+    public long findMaxId(final String table) throws SQLException {
+        try (var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + idTable(table))) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    // O InnoDB ignora um valor menor que o maior id da tabela, então a chamada nunca recua o contador
+    public void raiseAutoIncrement(final String table, final long nextId) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE %s AUTO_INCREMENT = %d".formatted(idTable(table), nextId));
+        }
+    }
+
+    /**
+     * Copia o board, as colunas, os cards, os bloqueios e o histórico para {@code target}, com os mesmos ids.
+     * Não faz commit em nenhuma das conexões.
+     *
+     * @return quantidade de linhas copiadas, ou 0 se o board não existe nesta conexão
+     */
+    public long copyBoardTo(final Connection target, final Long boardId) throws SQLException {
+        var board = copy(target, "BOARDS", COPY_BOARD_SQL, boardId);
+        if (board == 0) {
+            return 0L;
+        }
+        return board
+                + copy(target, "BOARDS_COLUMNS", COPY_COLUMNS_SQL, boardId)
+                + copy(target, "CARDS", COPY_CARDS_SQL, boardId)
+                + copy(target, "BLOCKS", COPY_BLOCKS_SQL, boardId)
+                + copy(target, "CARD_MOVEMENTS", COPY_MOVEMENTS_SQL, boardId);
+    }
+
+    public int deleteMovements(final Long boardId) throws SQLException {
+        try (var statement = connection.prepareStatement(DELETE_MOVEMENTS_SQL)) {
+            statement.setLong(1, boardId);
+            return statement.executeUpdate();
+        }
+    }
+
+    // O INSERT é montado a partir das colunas do SELECT *: a cópia acompanha as migrations sem mudar aqui
+    private long copy(final Connection target, final String table, final String sql, final Long boardId) throws SQLException {
+        try (var statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, boardId);
+            try (var resultSet = statement.executeQuery();
+                 var insert = target.prepareStatement(insertSql(table, resultSet))) {
+                var columns = resultSet.getMetaData().getColumnCount();
+                var rows = 0L;
+                while (resultSet.next()) {
+                    for (var i = 1; i <= columns; i++) {
+                        insert.setObject(i, resultSet.getObject(i));
+                    }
+                    insert.addBatch();
+                    if (++rows % COPY_BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                if (rows % COPY_BATCH_SIZE != 0) {
+                    insert.executeBatch();
+                }
+                return rows;
+            }
+        }
+    }
+
+    private static String insertSql(final String table, final ResultSet resultSet) throws SQLException {
+        var metaData = resultSet.getMetaData();
+        var names = new StringJoiner(", ");
+        var values = new StringJoiner(", ");
+        for (var i = 1; i <= metaData.getColumnCount(); i++) {
+            names.add("`" + metaData.getColumnName(i) + "`");
+            values.add("?");
+        }
+        return "INSERT INTO %s (%s) VALUES (%s)".formatted(table, names, values);
+    }
+
+    private static String idTable(final String table) {
+        if (!ID_TABLES.contains(table)) {
+            throw new IllegalArgumentException("Tabela sem id gerado pelo banco: " + table);
+        }
+        return table;
+    }
+
+}
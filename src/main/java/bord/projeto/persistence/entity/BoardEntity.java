@@ -1,24 +1,62 @@
 package bord.projeto.persistence.entity;
 
+import bord.projeto.dto.BoardColumnInfoDTO;
+import bord.projeto.dto.BoardWorkflow;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Predicate;
+import java.util.NoSuchElementException;
 
-import static bord.projeto.persistence.entity.BoardColumnKindEnum.CANCEL;
-import static bord.projeto.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static java.util.Objects.isNull;
 
 @Data
 public class BoardEntity {
 
     private Long id; // Identificador único do board
     private String name; // Nome do board
+    private long version; // Versão da estrutura do board, usada pelo cache de topologia
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     private List<BoardColumnEntity> boardColumns = new ArrayList<>(); // Lista de colunas do board
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private BoardWorkflow workflow; // Tabela de transições, montada na primeira consulta
+
+    public void setBoardColumns(final List<BoardColumnEntity> boardColumns) {
+        this.boardColumns = boardColumns;
+        invalidateWorkflow();
+    }
+
+    /**
+     * Obtém a tabela de transições do board; os índices são as posições em boardColumns.
+     * É montada na primeira consulta e reaproveitada até {@link #invalidateWorkflow()}.
+     */
+    public BoardWorkflow getWorkflow() {
+        var current = workflow;
+        if (isNull(current)) {
+            current = BoardWorkflow.of(boardColumns.stream()
+                    .map(c -> new BoardColumnInfoDTO(c.getId(), c.getOrder(), c.getKind()))
+                    .toList());
+            workflow = current;
+        }
+        return current;
+    }
+
+    /**
+     * Descarta a tabela de transições. Deve ser chamado quando id, ordem ou tipo de uma coluna muda
+     * sem passar por setBoardColumns, por exemplo quando as colunas recebem o id depois do INSERT.
+     */
+    public void invalidateWorkflow() {
+        this.workflow = null;
+    }
 
     /**
      * Obtém a coluna inicial do board.
@@ -26,7 +64,7 @@ public class BoardEntity {
      * @return A coluna de tipo INITIAL, se encontrada
      */
     public BoardColumnEntity getInitialColumn() {
-        return getFilteredColumn(bc -> bc.getKind().equals(INITIAL));
+        return getColumnAt(getWorkflow().initialIndex());
     }
 
     /**
@@ -35,19 +73,19 @@ public class BoardEntity {
      * @return A coluna de tipo CANCEL, se encontrada.
      */
     public BoardColumnEntity getCancelColumn() {
-        return getFilteredColumn(bc -> bc.getKind().equals(CANCEL));
+        return getColumnAt(getWorkflow().cancelIndex());
     }
 
     /**
-     * Método privado para buscar uma coluna com base em um filtro.
+     * Método privado para buscar uma coluna pelo índice da tabela de transições.
      *
-     * @param filter Predicate para filtrar a coluna desejada.
-     * @return A primeira coluna que corresponde ao filtro.
+     * @param index Índice da coluna em boardColumns.
+     * @return A coluna do índice informado.
      */
-    private BoardColumnEntity getFilteredColumn(Predicate<BoardColumnEntity> filter) {
-        return boardColumns.stream()
-                .filter(filter)
-                .findFirst()
-                .orElseThrow();
+    private BoardColumnEntity getColumnAt(int index) {
+        if (index == BoardWorkflow.NONE) {
+            throw new NoSuchElementException("O board não tem a coluna pedida");
+        }
+        return boardColumns.get(index);
     }
 }
@@ -0,0 +1,21 @@
+package bord.projeto.persistence.entity;
+
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Um evento do histórico de um card. Em bloqueio e desbloqueio o card não muda de coluna:
+ * fromColumnId e toColumnId são a coluna atual. Na criação, fromColumnId é nulo.
+ */
+@Data
+public class CardMovementEntity {
+
+    private Long id;
+    private Long cardId;
+    private CardMovementEventEnum event;
+    private Long fromColumnId;
+    private Long toColumnId;
+    private OffsetDateTime movedAt;
+
+}
@@ -0,0 +1,15 @@
+package bord.projeto.persistence.entity;
+
+import java.util.stream.Stream;
+
+public enum CardMovementEventEnum {
+
+    CREATE, MOVE, CANCEL, BLOCK, UNBLOCK;
+
+    public static CardMovementEventEnum findByName(final String name){
+        return Stream.of(CardMovementEventEnum.values())
+                .filter(e -> e.name().equals(name))
+                .findFirst().orElseThrow();
+    }
+
+}
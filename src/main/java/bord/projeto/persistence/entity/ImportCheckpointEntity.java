@@ -0,0 +1,23 @@
+package bord.projeto.persistence.entity;
+
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Ponto de retomada de uma importação: byteOffset é a posição, no arquivo, da primeira linha
+ * ainda não confirmada no banco.
+ */
+@Data
+public class ImportCheckpointEntity {
+
+    private String sourceKey;
+    private String sourceName;
+    private long byteOffset;
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    private boolean finished;
+    private OffsetDateTime updatedAt;
+
+}
@@ -0,0 +1,102 @@
+package bord.projeto.persistence.migration;
+
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.isNull;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * SHA-256 do changelog mestre e de todos os arquivos de {@code db/changelog/migrations}, em ordem de nome.
+ * Qualquer arquivo novo, removido ou alterado muda o hash. A leitura é feita direto do classpath, sem
+ * carregar o Liquibase; quando os recursos não podem ser listados (um classpath que não é diretório nem jar)
+ * o resultado é vazio e a migração segue pelo caminho completo.
+ */
+@NoArgsConstructor(access = PRIVATE)
+final class ChangelogFingerprint {
+
+    static final String MASTER = "db/changelog/db.changelog-master.yml";
+    static final String MIGRATIONS = "db/changelog/migrations";
+
+    static Optional<String> compute(final ClassLoader classLoader) {
+        try {
+            var master = classLoader.getResource(MASTER);
+            var migrations = classLoader.getResource(MIGRATIONS);
+            if (isNull(master) || isNull(migrations)) {
+                return Optional.empty();
+            }
+            var files = list(migrations);
+            if (files.isEmpty()) {
+                return Optional.empty();
+            }
+            var digest = MessageDigest.getInstance("SHA-256");
+            try (var in = master.openStream()) {
+                update(digest, MASTER, in.readAllBytes());
+            }
+            files.get().forEach((name, content) -> update(digest, name, content));
+            return Optional.of(HexFormat.of().formatHex(digest.digest()));
+        } catch (IOException | URISyntaxException ex) {
+            return Optional.empty();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    // Nome do arquivo -> conteúdo, ordenado pelo nome como o includeAll do changelog mestre
+    private static Optional<SortedMap<String, byte[]>> list(final URL directory) throws IOException, URISyntaxException {
+        SortedMap<String, byte[]> files = new TreeMap<>();
+        switch (directory.getProtocol()) {
+            case "file" -> {
+                try (var paths = Files.list(Path.of(directory.toURI()))) {
+                    for (var path : paths.filter(Files::isRegularFile).toList()) {
+                        files.put(path.getFileName().toString(), Files.readAllBytes(path));
+                    }
+                }
+            }
+            case "jar" -> {
+                var connection = (JarURLConnection) directory.openConnection();
+                connection.setUseCaches(false);
+                var entryName = connection.getEntryName();
+                var prefix = entryName.endsWith("/") ? entryName : entryName + "/";
+                try (var jar = connection.getJarFile()) {
+                    var entries = jar.entries();
+                    while (entries.hasMoreElements()) {
+                        var entry = entries.nextElement();
+                        var name = entry.getName();
+                        if (!entry.isDirectory() && name.startsWith(prefix) && name.indexOf('/', prefix.length()) < 0) {
+                            try (var in = jar.getInputStream(entry)) {
+                                files.put(name.substring(prefix.length()), in.readAllBytes());
+                            }
+                        }
+                    }
+                }
+            }
+            default -> {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(files);
+    }
+
+    private static void update(final MessageDigest digest, final String name, final byte[] content) {
+        // O nome entra no hash: renomear um arquivo muda a ordem em que o Liquibase o aplica
+        digest.update(name.getBytes(UTF_8));
+        digest.update((byte) 0);
+        digest.update(content);
+        digest.update((byte) 0);
+    }
+
+}
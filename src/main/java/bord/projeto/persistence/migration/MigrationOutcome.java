@@ -0,0 +1,15 @@
+package bord.projeto.persistence.migration;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public enum MigrationOutcome {
+
+    UP_TO_DATE("esquema atual, Liquibase não executado"),
+    APPLIED("changelogs aplicados pelo Liquibase");
+
+    private final String description;
+
+}
@@ -1,52 +1,134 @@
 package bord.projeto.persistence.migration;
 
 
+import bord.projeto.exception.MigrationFailedException;
+import bord.projeto.persistence.dao.MigrationFingerprintDAO;
 import liquibase.Liquibase;
 import liquibase.database.jvm.JdbcConnection;
 import liquibase.exception.LiquibaseException;
 import liquibase.resource.ClassLoaderResourceAccessor;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Optional;
 
-import static bord.projeto.persistence.ConnectionConfig.getConnection;
+import static bord.projeto.config.ApplicationProperties.getBoolean;
+import static bord.projeto.persistence.migration.MigrationOutcome.APPLIED;
+import static bord.projeto.persistence.migration.MigrationOutcome.UP_TO_DATE;
+import static java.util.Objects.isNull;
 
+/**
+ * Aplica os changelogs do Liquibase na conexão recebida. Com {@code board.migration.fast-path} ligado, o hash
+ * dos changelogs empacotados ({@link ChangelogFingerprint}) é comparado com o gravado em MIGRATION_FINGERPRINTS
+ * na última migração bem-sucedida; se for igual, o Liquibase nem é carregado. O hash só é gravado depois de um
+ * update completo, então um changelog novo ou alterado sempre passa pelo Liquibase.
+ * <p>
+ * A saída do Liquibase vai para {@value #LOG_FILE}. Se o update falhar, o stack trace é gravado no mesmo
+ * arquivo, a falha vai para o log e {@link #executeMigration()} lança {@link MigrationFailedException}:
+ * a aplicação não deve subir com o esquema pela metade.
+ */
+@Slf4j
 @AllArgsConstructor
 public class MigrationStrategy {
 
+    private static final String LOG_FILE = "liquibase.log";
+
     private final Connection connection;
 
+    /**
+     * @throws MigrationFailedException se o Liquibase não conseguir aplicar os changelogs
+     */
+    public MigrationOutcome executeMigration() {
+        Optional<String> fingerprint = getBoolean("board.migration.fast-path", true)
+                ? ChangelogFingerprint.compute(MigrationStrategy.class.getClassLoader())
+                : Optional.empty();
+        if (fingerprint.isPresent() && fingerprint.equals(appliedFingerprint())) {
+            return UP_TO_DATE;
+        }
+        runLiquibase();
+        fingerprint.ifPresent(this::saveFingerprint);
+        return APPLIED;
+    }
+
+    private Optional<String> appliedFingerprint() {
+        try {
+            var hash = new MigrationFingerprintDAO(connection).findHash();
+            connection.commit();
+            return hash;
+        } catch (SQLException ex) {
+            // Banco novo ou anterior à tabela MIGRATION_FINGERPRINTS: o Liquibase decide o que aplicar
+            rollbackQuietly();
+            return Optional.empty();
+        }
+    }
+
+    private void saveFingerprint(final String fingerprint) {
+        try {
+            new MigrationFingerprintDAO(connection).save(fingerprint);
+            connection.commit();
+        } catch (SQLException ex) {
+            // Sem o hash a próxima inicialização só volta a passar pelo Liquibase
+            rollbackQuietly();
+            log.warn("Não foi possível gravar o hash dos changelogs; a próxima inicialização executa o Liquibase", ex);
+        }
+    }
+
+    private void runLiquibase() {
+        Exception failure;
+        try (var out = new PrintStream(new FileOutputStream(LOG_FILE))) {
+            failure = update(out);
+            if (!isNull(failure)) {
+                // Junto da saída do Liquibase, que mostra em qual changeset parou
+                failure.printStackTrace(out);
+            }
+        } catch (IOException ex) {
+            failure = ex;
+        }
+        if (!isNull(failure)) {
+            log.error("Falha na migração, veja {}", LOG_FILE, failure);
+            throw new MigrationFailedException("Falha na migração, veja " + LOG_FILE, failure);
+        }
+    }
 
     //para evitar conflitos entr o liquibase e o terminal
-    public void executeMigration(){
+    private Exception update(final PrintStream out) {
         var originalOut = System.out;
         var originalErr = System.err;
-        try(var fos = new FileOutputStream("liquibase.log")){
-            System.setOut(new PrintStream(fos));
-            System.setErr(new PrintStream(fos));
-            try(
-                    var connection = getConnection();
-                    var jdbcConnection = new JdbcConnection(connection);
-            ){
+        System.setOut(out);
+        System.setErr(out);
+        try {
+            // O Liquibase pode trocar o auto-commit da conexão; ela volta como chegou para quem a emprestou
+            var autoCommit = connection.getAutoCommit();
+            try {
+                // A JdbcConnection não é fechada: a conexão é de quem chamou e volta ao pool no try dele
                 var liquibase = new Liquibase(
                         "/db/changelog/db.changelog-master.yml",
                         new ClassLoaderResourceAccessor(),
-                        jdbcConnection);
+                        new JdbcConnection(connection));
                 liquibase.update();
-            } catch (SQLException | LiquibaseException e) {
-                e.printStackTrace();
-                System.setErr(originalErr);
+                return null;
+            } finally {
+                connection.setAutoCommit(autoCommit);
             }
-        } catch (IOException ex){
-            ex.printStackTrace();
+        } catch (SQLException | LiquibaseException ex) {
+            return ex;
         } finally {
             System.setOut(originalOut);
             System.setErr(originalErr);
         }
     }
 
-}
\ No newline at end of file
+    private void rollbackQuietly() {
+        try {
+            connection.rollback();
+        } catch (SQLException ignored) {
+            // A conexão será descartada pelo pool se estiver quebrada
+        }
+    }
+
+}
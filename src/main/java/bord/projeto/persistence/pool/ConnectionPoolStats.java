@@ -0,0 +1,18 @@
+package bord.projeto.persistence.pool;
+
+import java.util.Map;
+
+public record ConnectionPoolStats(int activeConnections,
+                                  int idleConnections,
+                                  int totalConnections,
+                                  int threadsAwaiting,
+                                  long acquisitions,
+                                  long timeouts,
+                                  long totalWaitNanos,
+                                  long maxWaitNanos,
+                                  Map<Long, Long> acquireLatencyMicros) {
+
+    public double averageWaitNanos() {
+        return acquisitions == 0 ? 0 : (double) totalWaitNanos / acquisitions;
+    }
+}
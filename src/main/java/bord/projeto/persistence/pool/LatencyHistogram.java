@@ -0,0 +1,39 @@
+package bord.projeto.persistence.pool;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latência com buckets em potências de 2 (em microssegundos).
+ * É lock-free para poder ser alimentado a cada aquisição de conexão.
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKETS = 32;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    public void record(final long nanos) {
+        var micros = TimeUnit.NANOSECONDS.toMicros(Math.max(nanos, 0));
+        var bucket = micros == 0 ? 0 : 64 - Long.numberOfLeadingZeros(micros);
+        counts.incrementAndGet(Math.min(bucket, BUCKETS - 1));
+    }
+
+    /**
+     * @return limite superior de cada bucket em microssegundos e a quantidade de amostras nele,
+     * omitindo os buckets vazios.
+     */
+    public Map<Long, Long> snapshot() {
+        Map<Long, Long> snapshot = new LinkedHashMap<>();
+        for (var i = 0; i < BUCKETS; i++) {
+            var count = counts.get(i);
+            if (count > 0) {
+                snapshot.put(i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1, count);
+            }
+        }
+        return snapshot;
+    }
+
+}
@@ -0,0 +1,60 @@
+package bord.projeto.persistence.pool;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Coleta as métricas do pool: o Hikari chama o tracker a cada aquisição de conexão,
+ * e o {@link PoolStats} recebido na criação fornece conexões ativas, ociosas e threads esperando.
+ */
+public class PoolMetrics implements MetricsTrackerFactory, IMetricsTracker {
+
+    private final LatencyHistogram acquireLatency = new LatencyHistogram();
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private volatile PoolStats poolStats;
+
+    @Override
+    public IMetricsTracker create(final String poolName, final PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return this;
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(final long elapsedAcquiredNanos) {
+        acquisitions.increment();
+        totalWaitNanos.add(elapsedAcquiredNanos);
+        maxWaitNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+        acquireLatency.record(elapsedAcquiredNanos);
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        timeouts.increment();
+    }
+
+    public ConnectionPoolStats snapshot() {
+        var stats = poolStats;
+        return new ConnectionPoolStats(
+                isNull(stats) ? 0 : stats.getActiveConnections(),
+                isNull(stats) ? 0 : stats.getIdleConnections(),
+                isNull(stats) ? 0 : stats.getTotalConnections(),
+                isNull(stats) ? 0 : stats.getPendingThreads(),
+                acquisitions.sum(),
+                timeouts.sum(),
+                totalWaitNanos.sum(),
+                maxWaitNanos.get(),
+                acquireLatency.snapshot()
+        );
+    }
+
+}
@@ -0,0 +1,79 @@
+package bord.projeto.persistence.replica;
+
+import lombok.NoArgsConstructor;
+
+import java.util.function.LongConsumer;
+
+import static java.util.Objects.isNull;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Último commit no primário feito pela sessão atual, para o read-your-writes do {@link ReplicaRouter}.
+ * A sessão é da thread: o menu do console roda numa só thread e é uma sessão. Na API cada requisição roda
+ * na sua thread; o {@code ReadSessionFilter} traz o último commit do cliente num cookie com {@link #open}
+ * e o devolve pelo {@code onWrite}. Quem passa trabalho para outras threads (como o {@code ShardScatter})
+ * leva a sessão junto com {@link #current()} e {@link #bind}.
+ * <p>
+ * O horário é o do relógio de parede em milissegundos, para poder ir e voltar no cookie.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class ReadSession {
+
+    private static final ThreadLocal<Session> current = ThreadLocal.withInitial(() -> new Session(0, null));
+
+    /**
+     * Chamado depois de cada commit no primário feito por esta thread.
+     */
+    public static void markWrite() {
+        current.get().markWrite();
+    }
+
+    /**
+     * @return true se a sessão gravou no primário há menos de {@code windowMillis}
+     */
+    public static boolean wroteWithin(final long windowMillis) {
+        return System.currentTimeMillis() - current.get().lastWriteMillis < windowMillis;
+    }
+
+    /**
+     * Começa na thread atual uma sessão que continua outra (por exemplo, a de um cliente HTTP).
+     *
+     * @param lastWriteMillis último commit conhecido da sessão, 0 se nenhum
+     * @param onWrite         avisado a cada novo commit, com o horário dele; pode ser null
+     */
+    public static void open(final long lastWriteMillis, final LongConsumer onWrite) {
+        current.set(new Session(lastWriteMillis, onWrite));
+    }
+
+    public static void close() {
+        current.remove();
+    }
+
+    public static Session current() {
+        return current.get();
+    }
+
+    // Faz a thread atual (de um executor, por exemplo) usar a sessão de quem a chamou
+    public static void bind(final Session session) {
+        current.set(session);
+    }
+
+    public static final class Session {
+
+        private volatile long lastWriteMillis;
+        private final LongConsumer onWrite;
+
+        private Session(final long lastWriteMillis, final LongConsumer onWrite) {
+            this.lastWriteMillis = lastWriteMillis;
+            this.onWrite = onWrite;
+        }
+
+        private void markWrite() {
+            lastWriteMillis = System.currentTimeMillis();
+            if (!isNull(onWrite)) {
+                onWrite.accept(lastWriteMillis);
+            }
+        }
+    }
+
+}
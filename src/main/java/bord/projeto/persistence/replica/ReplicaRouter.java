@@ -0,0 +1,169 @@
+package bord.projeto.persistence.replica;
+
+import bord.projeto.metrics.BoardMetrics;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Distribui as leituras dos serviços de consulta entre réplicas somente leitura, em round-robin entre as
+ * saudáveis. Uma verificação periódica testa cada réplica e devolve à rotação as que voltaram.
+ * <p>
+ * A conexão emprestada não é testada a cada leitura, o que custaria um ping por consulta: o Hikari valida
+ * as conexões paradas e a verificação periódica testa as réplicas. Quando uma leitura de verdade falha com
+ * erro de conexão ({@link Borrowed#failed}), a réplica sai da rotação na hora e as leituras seguintes vão
+ * para a próxima réplica ou para o primário; a leitura que falhou não é repetida.
+ * <p>
+ * Depois de um commit no primário, as leituras da mesma sessão ({@link ReadSession}) ficam no primário
+ * durante a janela de read-your-writes, tempo para a replicação alcançar o que acabou de ser gravado:
+ * quem grava e logo depois abre "Ver board" ou "Ver card" sempre lê o que gravou, e os commits de uma
+ * sessão não tiram as réplicas das outras. Sem réplica disponível, {@link #readConnection()} devolve
+ * vazio e a leitura vai para o primário.
+ */
+public final class ReplicaRouter implements AutoCloseable {
+
+    private final List<Replica> replicas;
+    private final long readYourWritesMillis;
+    private final int validationTimeoutSeconds;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final ScheduledExecutorService healthCheck;
+
+    private final Counter replicaReads = Counter.builder("board.reads")
+            .tag("target", "replica")
+            .register(BoardMetrics.registry());
+    private final Counter primaryReads = Counter.builder("board.reads")
+            .tag("target", "primary")
+            .register(BoardMetrics.registry());
+
+    public ReplicaRouter(final List<HikariDataSource> dataSources, final Duration readYourWrites,
+                         final Duration healthCheckInterval, final int validationTimeoutSeconds) {
+        this.replicas = dataSources.stream().map(Replica::new).toList();
+        this.readYourWritesMillis = readYourWrites.toMillis();
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        if (replicas.isEmpty()) {
+            healthCheck = null;
+            return;
+        }
+        healthCheck = Executors.newSingleThreadScheduledExecutor(r ->
+                Thread.ofPlatform().name("replica-health-check").daemon(true).unstarted(r));
+        var interval = healthCheckInterval.toMillis();
+        healthCheck.scheduleWithFixedDelay(this::checkHealth, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return uma conexão de réplica ou vazio quando a leitura deve ir para o primário
+     */
+    public Optional<Borrowed> readConnection() {
+        if (replicas.isEmpty() || ReadSession.wroteWithin(readYourWritesMillis)) {
+            primaryReads.increment();
+            return Optional.empty();
+        }
+        var size = replicas.size();
+        var start = Math.floorMod(cursor.getAndIncrement(), size);
+        for (var i = 0; i < size; i++) {
+            var replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            var connection = borrow(replica);
+            if (connection.isPresent()) {
+                replicaReads.increment();
+                return connection;
+            }
+            // A verificação periódica devolve a réplica à rotação quando ela voltar a responder
+            replica.healthy = false;
+        }
+        primaryReads.increment();
+        return Optional.empty();
+    }
+
+    public boolean hasReplicas() {
+        return !replicas.isEmpty();
+    }
+
+    public int healthyReplicas() {
+        return (int) replicas.stream().filter(r -> r.healthy).count();
+    }
+
+    public void checkHealth() {
+        for (var replica : replicas) {
+            try (var connection = replica.dataSource.getConnection()) {
+                replica.healthy = connection.isValid(validationTimeoutSeconds);
+            } catch (SQLException | RuntimeException ex) {
+                replica.healthy = false;
+            }
+        }
+    }
+
+    private Optional<Borrowed> borrow(final Replica replica) {
+        try {
+            return Optional.of(new Borrowed(replica.dataSource.getConnection(), replica));
+        } catch (SQLException | RuntimeException ex) {
+            return Optional.empty();
+        }
+    }
+
+    // SQLState 08 é a classe de erros de conexão; o Connector/J usa 08S01 para a comunicação perdida
+    private static boolean isConnectionError(final SQLException ex) {
+        return ex instanceof SQLRecoverableException || ex instanceof SQLNonTransientConnectionException
+                || (nonNull(ex.getSQLState()) && ex.getSQLState().startsWith("08"));
+    }
+
+    /**
+     * Conexão emprestada de uma réplica. Quem a usa avisa as falhas em {@link #failed}, para que uma
+     * réplica fora do ar saia da rotação sem esperar a verificação periódica.
+     */
+    public static final class Borrowed {
+
+        private final Connection connection;
+        private final Replica replica;
+
+        private Borrowed(final Connection connection, final Replica replica) {
+            this.connection = connection;
+            this.replica = replica;
+        }
+
+        public Connection connection() {
+            return connection;
+        }
+
+        public void failed(final SQLException ex) {
+            if (isConnectionError(ex)) {
+                replica.healthy = false;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (nonNull(healthCheck)) {
+            healthCheck.shutdownNow();
+        }
+        replicas.forEach(r -> r.dataSource.close());
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(final HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+    }
+
+}
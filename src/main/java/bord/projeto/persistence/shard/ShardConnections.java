@@ -0,0 +1,53 @@
+package bord.projeto.persistence.shard;
+
+import lombok.NoArgsConstructor;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Marca cada conexão do pool com o shard de onde ela veio. Quem recebe a conexão descobre o shard com
+ * {@link #shardOf} pelo {@code unwrap} do JDBC, que as demais camadas (métricas, trace) repassam; assim
+ * o shard acompanha a conexão, e não a thread que a pegou por último.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class ShardConnections {
+
+    public static Connection bind(final Connection connection, final int shard) {
+        Shard binding = () -> shard;
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (target, method, args) -> {
+                    var name = method.getName();
+                    if (name.equals("isWrapperFor") && args[0] == Shard.class) {
+                        return true;
+                    }
+                    if (name.equals("unwrap") && args[0] == Shard.class) {
+                        return binding;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+    }
+
+    /**
+     * @return o shard da conexão; 0 para conexões que não vieram do ConnectionConfig
+     */
+    public static int shardOf(final Connection connection) throws SQLException {
+        return connection.isWrapperFor(Shard.class) ? connection.unwrap(Shard.class).shard() : 0;
+    }
+
+    @FunctionalInterface
+    public interface Shard {
+        int shard();
+    }
+
+}
@@ -0,0 +1,83 @@
+package bord.projeto.persistence.shard;
+
+import bord.projeto.persistence.ConnectionConfig;
+import bord.projeto.persistence.dao.ShardDirectoryDAO;
+import bord.projeto.persistence.dao.ShardMaintenanceDAO;
+import lombok.NoArgsConstructor;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static bord.projeto.persistence.dao.ShardMaintenanceDAO.ID_TABLES;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Garante ids únicos entre os shards. Cada servidor precisa gerar ids com
+ * {@code auto_increment_increment = board.shards.id-stride} e {@code auto_increment_offset = shard + 1}
+ * (configuração do servidor, para que o driver também conheça o passo nos INSERTs em batch); um shard
+ * configurado de outro jeito impede a inicialização.
+ * <p>
+ * A cada subida, o shard cujo maior id de uma tabela está abaixo do maior id dela entre todos os shards tem
+ * o contador de AUTO_INCREMENT levado para depois deste: assim um shard novo, ou restaurado de um backup,
+ * não repete ids do banco original nem de um board movido. Os boards do shard 0 cujo id aponta para outro shard (os de
+ * antes do sharding) entram no diretório, já que o {@link ShardRouter} roteia pelo id quem não está nele.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class ShardIdRanges {
+
+    public static void verifyAndAlign() throws SQLException {
+        var router = ConnectionConfig.getShardRouter();
+        if (!router.isSharded()) {
+            return;
+        }
+        for (var shard = 0; shard < router.shardCount(); shard++) {
+            try (var connection = ConnectionConfig.getShardConnection(shard)) {
+                var settings = new ShardMaintenanceDAO(connection).findIdSettings();
+                if (settings[0] != router.idStride() || settings[1] != shard + 1) {
+                    throw new IllegalStateException(("O shard %s gera ids com auto_increment_increment=%s e " +
+                            "auto_increment_offset=%s; configure o servidor com %s e %s")
+                            .formatted(shard, settings[0], settings[1], router.idStride(), shard + 1));
+                }
+            }
+        }
+
+        List<Map<String, Long>> maxIdByShard = new ArrayList<>();
+        Map<String, Long> globalMaxId = new HashMap<>();
+        for (var shard = 0; shard < router.shardCount(); shard++) {
+            try (var connection = ConnectionConfig.getShardConnection(shard)) {
+                var dao = new ShardMaintenanceDAO(connection);
+                Map<String, Long> maxIdByTable = new HashMap<>();
+                for (var table : ID_TABLES) {
+                    maxIdByTable.put(table, dao.findMaxId(table));
+                }
+                maxIdByShard.add(maxIdByTable);
+                maxIdByTable.forEach((table, maxId) -> globalMaxId.merge(table, maxId, Math::max));
+            }
+        }
+        for (var shard = 0; shard < router.shardCount(); shard++) {
+            var maxIdByTable = maxIdByShard.get(shard);
+            try (var connection = ConnectionConfig.getShardConnection(shard)) {
+                var dao = new ShardMaintenanceDAO(connection);
+                for (var table : ID_TABLES) {
+                    if (maxIdByTable.get(table) < globalMaxId.get(table)) {
+                        dao.raiseAutoIncrement(table, globalMaxId.get(table) + 1);
+                    }
+                }
+            }
+        }
+
+        try (var connection = ConnectionConfig.getConnection()) {
+            try {
+                new ShardDirectoryDAO(connection).registerMisplaced(router.idStride());
+                connection.commit();
+            } catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,179 @@
+package bord.projeto.persistence.shard;
+
+import bord.projeto.persistence.dao.ShardDirectoryDAO;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Diz em qual shard está cada board. O shard 0 é o banco de {@code board.datasource.url} e guarda o
+ * diretório (SHARD_DIRECTORY: board -> shard); os demais vêm de {@code board.shards.urls}. Um board e
+ * tudo o que há nele (colunas, cards, bloqueios, histórico) ficam sempre no mesmo shard.
+ * <p>
+ * Os ids são únicos entre os shards porque cada servidor gera ids com o mesmo passo
+ * ({@code board.shards.id-stride}) e um deslocamento próprio: o shard k usa auto_increment_offset k + 1.
+ * Por isso o shard em que um board foi criado sai do próprio id ({@link #homeShard}) e board novo não
+ * precisa de entrada no diretório. O diretório só guarda as exceções: boards movidos por
+ * {@code ShardRebalancer} e boards de antes do sharding, que não seguem o deslocamento e são registrados
+ * no shard 0 por {@link ShardIdRanges#verifyAndAlign()}. Board fora do diretório está no shard de origem.
+ * <p>
+ * As rotas lidas do diretório ficam em memória por {@code board.shards.route-cache-ms}, no máximo
+ * {@code board.shards.route-cache-size} delas (as menos usadas saem primeiro). Um board movido
+ * por outra instância é encontrado antes disso por {@link #refresh}, que quem não achou o board no shard
+ * da rota chama para tentar de novo.
+ * <p>
+ * Com um único shard nada disso é consultado: todo board está no shard 0.
+ */
+public final class ShardRouter {
+
+    private final int shardCount;
+    private final int idStride;
+    private final DataSource directory;
+    private final long routeTtlNanos;
+    private final AtomicInteger nextShard = new AtomicInteger();
+    private final Map<Long, Route> routeByBoardId;
+
+    public ShardRouter(final int shardCount, final int idStride, final long routeCacheMillis,
+                       final int routeCacheSize, final DataSource directory) {
+        if (shardCount > 1 && idStride < shardCount) {
+            throw new IllegalStateException("board.shards.id-stride (%s) precisa ser maior ou igual ao número de shards (%s)"
+                    .formatted(idStride, shardCount));
+        }
+        this.shardCount = shardCount;
+        this.idStride = idStride;
+        this.routeTtlNanos = TimeUnit.MILLISECONDS.toNanos(routeCacheMillis);
+        this.directory = directory;
+        this.routeByBoardId = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, Route> eldest) {
+                return size() > routeCacheSize;
+            }
+        };
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    public int idStride() {
+        return idStride;
+    }
+
+    public int shardOf(final long boardId) throws SQLException {
+        if (!isSharded()) {
+            return 0;
+        }
+        var cached = cachedRoute(boardId);
+        return nonNull(cached) ? cached.shard() : load(boardId);
+    }
+
+    /**
+     * Relê a rota do board no diretório, descartando a que estava em memória.
+     *
+     * @return true se o board mudou de shard desde a última leitura; quem não o encontrou pode tentar de novo
+     */
+    public boolean refresh(final long boardId) throws SQLException {
+        if (!isSharded()) {
+            return false;
+        }
+        var cached = removeRoute(boardId);
+        var shard = load(boardId);
+        return nonNull(cached) && cached.shard() != shard;
+    }
+
+    // Boards novos são distribuídos em round-robin
+    public int nextShardForNewBoard() {
+        return isSharded() ? Math.floorMod(nextShard.getAndIncrement(), shardCount) : 0;
+    }
+
+    public int homeShard(final long id) {
+        return isSharded() ? (int) ((id - 1) % idStride) : 0;
+    }
+
+    public void moved(final long boardId, final int shard) throws SQLException {
+        save(Map.of(boardId, shard));
+    }
+
+    public void forget(final long boardId) throws SQLException {
+        if (!isSharded()) {
+            return;
+        }
+        try (var connection = directory.getConnection()) {
+            try {
+                new ShardDirectoryDAO(connection).delete(boardId);
+                connection.commit();
+            } catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            }
+        }
+        removeRoute(boardId);
+    }
+
+    private int load(final long boardId) throws SQLException {
+        int shard;
+        try (var connection = directory.getConnection()) {
+            shard = new ShardDirectoryDAO(connection).findShard(boardId).orElseGet(() -> originShard(boardId));
+        }
+        putRoute(boardId, new Route(shard, System.nanoTime()));
+        return shard;
+    }
+
+    private void save(final Map<Long, Integer> shards) throws SQLException {
+        try (var connection = directory.getConnection()) {
+            try {
+                new ShardDirectoryDAO(connection).saveAll(shards);
+                connection.commit();
+            } catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            }
+        }
+        var now = System.nanoTime();
+        shards.forEach((boardId, shard) -> putRoute(boardId, new Route(shard, now)));
+    }
+
+    // A rota vencida sai já na leitura, para não ocupar lugar até ser empurrada pelas mais novas
+    private Route cachedRoute(final long boardId) {
+        synchronized (routeByBoardId) {
+            var route = routeByBoardId.get(boardId);
+            if (nonNull(route) && System.nanoTime() - route.loadedAt() >= routeTtlNanos) {
+                routeByBoardId.remove(boardId);
+                return null;
+            }
+            return route;
+        }
+    }
+
+    private void putRoute(final long boardId, final Route route) {
+        synchronized (routeByBoardId) {
+            routeByBoardId.put(boardId, route);
+        }
+    }
+
+    private Route removeRoute(final long boardId) {
+        synchronized (routeByBoardId) {
+            return routeByBoardId.remove(boardId);
+        }
+    }
+
+    // Id que não é de nenhum shard configurado (board que não existe): o shard 0 responde que não o encontrou
+    private int originShard(final long boardId) {
+        var shard = homeShard(boardId);
+        return shard < shardCount ? shard : 0;
+    }
+
+    private record Route(int shard, long loadedAt) {
+    }
+
+}
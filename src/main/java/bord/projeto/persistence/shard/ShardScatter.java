@@ -0,0 +1,74 @@
+package bord.projeto.persistence.shard;
+
+import bord.projeto.persistence.ConnectionConfig;
+import bord.projeto.persistence.replica.ReadSession;
+import lombok.NoArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Scatter-gather para consultas que atravessam boards: a mesma consulta roda em todos os shards ao mesmo
+ * tempo, cada um numa virtual thread com a sua conexão de leitura, e os resultados voltam na ordem dos
+ * shards. Quem chama faz a junção (ordenar, cortar a página, somar). Com um único shard a consulta roda
+ * na thread atual. As virtual threads usam a {@link ReadSession} de quem chamou, então quem acabou de
+ * gravar lê do primário também aqui.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class ShardScatter {
+
+    public static <T> List<T> gather(final ShardWork<T> work) throws SQLException {
+        var shardCount = ConnectionConfig.getShardCount();
+        if (shardCount == 1) {
+            return List.of(run(work, 0));
+        }
+        List<Future<T>> futures = new ArrayList<>(shardCount);
+        var session = ReadSession.current();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var shard = 0; shard < shardCount; shard++) {
+                var current = shard;
+                futures.add(executor.submit(() -> {
+                    ReadSession.bind(session);
+                    return run(work, current);
+                }));
+            }
+        }
+        List<T> results = new ArrayList<>(shardCount);
+        try {
+            for (var future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Consulta nos shards interrompida", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+        return results;
+    }
+
+    private static <T> T run(final ShardWork<T> work, final int shard) throws SQLException {
+        try (var connection = shard == 0 ? ConnectionConfig.getReadConnection() : ConnectionConfig.getShardConnection(shard)) {
+            return work.apply(shard, connection);
+        }
+    }
+
+    @FunctionalInterface
+    public interface ShardWork<T> {
+        T apply(int shard, Connection connection) throws SQLException;
+    }
+
+}
@@ -0,0 +1,212 @@
+package bord.projeto.persistence.statement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Cache LRU de PreparedStatements de uma conexão física, chaveado pelo SQL.
+ * O close() do DAO devolve o statement ao cache em vez de fechá-lo; o statement
+ * só é fechado de verdade quando é removido do cache ou quando a conexão fecha.
+ * <p>
+ * O mapa é protegido por um ReentrantLock, não por synchronized: com virtual threads um monitor segura a
+ * carrier thread durante a espera. O prepare de um SQL novo (ida ao servidor) acontece fora do lock; se
+ * outra thread cachear o mesmo SQL nesse meio tempo, o statement recém-preparado é usado avulso.
+ */
+class StatementCache {
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder evictions = new LongAdder();
+
+    private final Connection connection;
+    private final Map<CacheKey, CachedStatement> statements;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    StatementCache(final Connection connection, final int capacity) {
+        this.connection = connection;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<CacheKey, CachedStatement> eldest) {
+                if (size() <= capacity) {
+                    return false;
+                }
+                evictions.increment();
+                eldest.getValue().evict();
+                return true;
+            }
+        };
+    }
+
+    static StatementCacheStats stats() {
+        return new StatementCacheStats(hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    PreparedStatement prepare(final Connection owner, final String sql, final int autoGeneratedKeys) throws SQLException {
+        var key = new CacheKey(sql, autoGeneratedKeys);
+        lock.lock();
+        try {
+            var cached = statements.get(key);
+            if (nonNull(cached) && !cached.inUse) {
+                hits.increment();
+                return cached.borrow(owner);
+            }
+        } finally {
+            lock.unlock();
+        }
+        misses.increment();
+        var statement = connection.prepareStatement(sql, autoGeneratedKeys);
+        lock.lock();
+        try {
+            if (statements.containsKey(key)) {
+                // O mesmo SQL já está aberto (ou acabou de ser cacheado) nesta conexão: usa um statement avulso
+                return statement;
+            }
+            var cached = new CachedStatement(statement);
+            statements.put(key, cached);
+            return cached.borrow(owner);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void closeAll() {
+        lock.lock();
+        try {
+            for (var cached : new ArrayList<>(statements.values())) {
+                cached.evict();
+            }
+            statements.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record CacheKey(String sql, int autoGeneratedKeys) {
+    }
+
+    private class CachedStatement {
+
+        private final PreparedStatement delegate;
+        private boolean inUse;
+        private boolean evicted;
+
+        CachedStatement(final PreparedStatement delegate) {
+            this.delegate = delegate;
+        }
+
+        PreparedStatement borrow(final Connection owner) {
+            inUse = true;
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new Handler(owner));
+        }
+
+        void evict() {
+            evicted = true;
+            if (!inUse) {
+                closeQuietly();
+            }
+        }
+
+        void release() throws SQLException {
+            lock.lock();
+            try {
+                if (evicted) {
+                    inUse = false;
+                    closeQuietly();
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            // Ainda emprestado: ninguém mais mexe no statement enquanto ele é limpo
+            try {
+                var resultSet = delegate.getResultSet();
+                if (nonNull(resultSet)) {
+                    resultSet.close();
+                }
+                delegate.clearParameters();
+                delegate.clearBatch();
+                delegate.setFetchSize(0);
+                delegate.setMaxRows(0);
+            } finally {
+                lock.lock();
+                try {
+                    inUse = false;
+                    if (evicted) {
+                        closeQuietly();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                delegate.close();
+            } catch (SQLException ignored) {
+                // o statement já não tem mais uso
+            }
+        }
+
+        private class Handler implements InvocationHandler {
+
+            private final Connection owner;
+            private boolean closed;
+
+            Handler(final Connection owner) {
+                this.owner = owner;
+            }
+
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close" -> {
+                        if (!closed) {
+                            closed = true;
+                            release();
+                        }
+                        return null;
+                    }
+                    case "isClosed" -> {
+                        return closed || delegate.isClosed();
+                    }
+                    case "getConnection" -> {
+                        return owner;
+                    }
+                    case "equals" -> {
+                        return proxy == args[0];
+                    }
+                    case "hashCode" -> {
+                        return System.identityHashCode(proxy);
+                    }
+                    default -> {
+                        if (closed) {
+                            throw new SQLException("O statement já foi fechado");
+                        }
+                        try {
+                            return method.invoke(delegate, args);
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getTargetException();
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+}
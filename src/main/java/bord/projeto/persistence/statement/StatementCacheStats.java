@@ -0,0 +1,9 @@
+package bord.projeto.persistence.statement;
+
+public record StatementCacheStats(long hits, long misses, long evictions) {
+
+    public double hitRate() {
+        var total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
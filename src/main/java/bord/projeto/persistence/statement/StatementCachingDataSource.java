@@ -0,0 +1,119 @@
+package bord.projeto.persistence.statement;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+/**
+ * DataSource usado pelo pool para abrir as conexões físicas. Cada conexão ganha o seu
+ * {@link StatementCache}, que sobrevive entre um empréstimo e outro do pool.
+ */
+public class StatementCachingDataSource implements DataSource {
+
+    private final String url;
+    private final Properties properties;
+    private final int cacheSize;
+
+    private PrintWriter logWriter;
+    private int loginTimeout;
+
+    public StatementCachingDataSource(final String url, final Properties properties, final int cacheSize) {
+        this.url = url;
+        this.properties = properties;
+        this.cacheSize = cacheSize;
+    }
+
+    public static StatementCacheStats getStats() {
+        return StatementCache.stats();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        var connection = DriverManager.getConnection(url, properties);
+        return cacheSize > 0 ? wrap(connection) : connection;
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        var credentials = new Properties();
+        credentials.putAll(properties);
+        credentials.setProperty("user", username);
+        credentials.setProperty("password", password);
+        var connection = DriverManager.getConnection(url, credentials);
+        return cacheSize > 0 ? wrap(connection) : connection;
+    }
+
+    private Connection wrap(final Connection connection) {
+        var cache = new StatementCache(connection, cacheSize);
+        var proxy = new Connection[1];
+        proxy[0] = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (target, method, args) -> {
+                    var name = method.getName();
+                    var types = method.getParameterTypes();
+                    if (name.equals("prepareStatement") && types.length == 1) {
+                        return cache.prepare(proxy[0], (String) args[0], Statement.NO_GENERATED_KEYS);
+                    }
+                    if (name.equals("prepareStatement") && types.length == 2 && types[1] == int.class) {
+                        return cache.prepare(proxy[0], (String) args[0], (int) args[1]);
+                    }
+                    if (name.equals("close")) {
+                        cache.closeAll();
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+        return proxy[0];
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return logWriter;
+    }
+
+    @Override
+    public void setLogWriter(final PrintWriter out) {
+        this.logWriter = out;
+    }
+
+    @Override
+    public void setLoginTimeout(final int seconds) {
+        this.loginTimeout = seconds;
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return loginTimeout;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Não é um wrapper de " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+}
@@ -0,0 +1,21 @@
+package bord.projeto.persistence.trace;
+
+/**
+ * Statements executados pelas chamadas de uma operação de serviço desde o último reset
+ * e o tempo total dessas chamadas.
+ */
+public record OperationStatementStats(String operation,
+                                      long calls,
+                                      long statements,
+                                      long maxStatementsPerCall,
+                                      long totalNanos) {
+
+    public double statementsPerCall() {
+        return calls == 0 ? 0 : (double) statements / calls;
+    }
+
+    public double totalMillis() {
+        return totalNanos / 1_000_000.0;
+    }
+
+}
@@ -0,0 +1,206 @@
+package bord.projeto.persistence.trace;
+
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static bord.projeto.config.ApplicationProperties.getBoolean;
+import static bord.projeto.config.ApplicationProperties.getLong;
+import static bord.projeto.config.ApplicationProperties.getString;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Rastreamento opcional ({@code board.trace.enabled}) dos statements executados pelas conexões do
+ * {@link bord.projeto.persistence.ConnectionConfig}. Cada statement é atribuído à operação de serviço
+ * em andamento na thread, aberta por {@link #enter(String)}: o {@link bord.projeto.metrics.MeteredConnection}
+ * abre uma a cada unidade de trabalho da conexão (do primeiro statement ao commit, rollback ou close).
+ * O resumo por operação mostra quantos statements cada chamada fez, o que denuncia padrões N+1. Statements acima de
+ * {@code board.trace.slow-query-ms} vão para {@code board.trace.slow-query-log}.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class SqlTrace {
+
+    private static final String NO_OPERATION = "(fora de serviço)";
+
+    private static final Scope NOOP_SCOPE = () -> { };
+
+    private static volatile boolean enabled = getBoolean("board.trace.enabled", false);
+
+    private static final long slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(getLong("board.trace.slow-query-ms", 200));
+
+    private static final Path slowQueryLog = Path.of(getString("board.trace.slow-query-log", "board-slow-queries.log"));
+
+    private static final ThreadLocal<Deque<ActiveScope>> scopes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private static final ConcurrentMap<String, Totals> totals = new ConcurrentHashMap<>();
+
+    private static final AtomicLong statements = new AtomicLong();
+
+    private static final AtomicLong lostSlowQueries = new AtomicLong();
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    // Vale para as conexões obtidas depois da chamada
+    public static void setEnabled(final boolean value) {
+        enabled = value;
+    }
+
+    /**
+     * Abre o escopo de uma operação de serviço na thread atual. Escopos aninhados (um serviço chamando
+     * outro) contam os statements para todos os escopos abertos.
+     */
+    public static Scope enter(final String operation) {
+        if (!enabled) {
+            return NOOP_SCOPE;
+        }
+        var active = new ActiveScope(operation);
+        scopes.get().push(active);
+        return active;
+    }
+
+    public static long totalStatements() {
+        return statements.get();
+    }
+
+    public static List<OperationStatementStats> summary() {
+        return totals.entrySet().stream()
+                .map(e -> e.getValue().snapshot(e.getKey()))
+                .sorted(Comparator.comparingDouble(OperationStatementStats::statementsPerCall).reversed())
+                .toList();
+    }
+
+    public static void reset() {
+        totals.clear();
+        statements.set(0);
+    }
+
+    static void record(final String sql, final long nanos, final long rows) {
+        statements.incrementAndGet();
+        var active = scopes.get();
+        var operation = active.isEmpty() ? NO_OPERATION : active.peek().operation;
+        active.forEach(ActiveScope::countStatement);
+        if (active.isEmpty()) {
+            totals.computeIfAbsent(NO_OPERATION, k -> new Totals()).addCall(1, nanos);
+        }
+        if (nanos >= slowQueryNanos) {
+            logSlowQuery(sql, nanos, rows, operation);
+        }
+    }
+
+    /**
+     * @return linhas do log de consultas lentas descartadas (fila cheia) ou que falharam ao gravar
+     */
+    public static long lostSlowQueries() {
+        return lostSlowQueries.get();
+    }
+
+    private static void logSlowQuery(final String sql, final long nanos, final long rows, final String operation) {
+        var line = "%s %.1f ms %s linhas [%s] %s%n".formatted(
+                LocalDateTime.now(), nanos / 1_000_000.0, rows, operation, sql.replaceAll("\\s+", " ").trim());
+        SlowQueryLog.append(line);
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final class ActiveScope implements Scope {
+
+        private final String operation;
+        private final long startedAt = System.nanoTime();
+        private long statementCount;
+
+        private ActiveScope(final String operation) {
+            this.operation = operation;
+        }
+
+        private void countStatement() {
+            statementCount++;
+        }
+
+        @Override
+        public void close() {
+            scopes.get().remove(this);
+            totals.computeIfAbsent(operation, k -> new Totals()).addCall(statementCount, System.nanoTime() - startedAt);
+        }
+    }
+
+    /**
+     * Grava o log de consultas lentas numa thread própria, fora do caminho do JDBC: a consulta nunca
+     * espera pelo disco nem falha por causa dele. A thread só é criada na primeira consulta lenta.
+     */
+    private static final class SlowQueryLog {
+
+        private static final int QUEUE_SIZE = 10_000;
+
+        private static final BlockingQueue<String> lines = new ArrayBlockingQueue<>(QUEUE_SIZE);
+
+        static {
+            Thread.ofPlatform().name("sql-trace-slow-query-log").daemon(true).start(SlowQueryLog::write);
+        }
+
+        private static void append(final String line) {
+            if (!lines.offer(line)) {
+                lostSlowQueries.incrementAndGet();
+            }
+        }
+
+        private static void write() {
+            var batch = new ArrayList<String>();
+            try {
+                while (true) {
+                    batch.add(lines.take());
+                    lines.drainTo(batch);
+                    try {
+                        Files.writeString(slowQueryLog, String.join("", batch), CREATE, APPEND);
+                    } catch (IOException ex) {
+                        lostSlowQueries.addAndGet(batch.size());
+                    }
+                    batch.clear();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static final class Totals {
+
+        private long calls;
+        private long statements;
+        private long maxStatementsPerCall;
+        private long nanos;
+
+        private synchronized void addCall(final long callStatements, final long callNanos) {
+            calls++;
+            statements += callStatements;
+            maxStatementsPerCall = Math.max(maxStatementsPerCall, callStatements);
+            nanos += callNanos;
+        }
+
+        private synchronized OperationStatementStats snapshot(final String operation) {
+            return new OperationStatementStats(operation, calls, statements, maxStatementsPerCall, nanos);
+        }
+    }
+
+}
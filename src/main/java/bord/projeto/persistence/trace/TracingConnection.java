@@ -0,0 +1,138 @@
+package bord.projeto.persistence.trace;
+
+import lombok.NoArgsConstructor;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.Set;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Envolve a conexão para registrar no {@link SqlTrace} cada PreparedStatement executado, com o tempo
+ * de execução e a quantidade de linhas. Em consultas, as linhas são contadas enquanto o result set é
+ * percorrido e o registro acontece quando ele (ou o statement) é fechado.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class TracingConnection {
+
+    private static final Set<String> EXECUTE_UPDATE = Set.of("executeUpdate", "executeLargeUpdate", "execute");
+    private static final Set<String> EXECUTE_BATCH = Set.of("executeBatch", "executeLargeBatch");
+
+    public static Connection wrap(final Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (target, method, args) -> {
+                    var result = invoke(connection, method, args);
+                    if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                        return traceStatement(statement, (String) args[0]);
+                    }
+                    return result;
+                });
+    }
+
+    private static PreparedStatement traceStatement(final PreparedStatement statement, final String sql) {
+        var pending = new PendingQuery[1];
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (target, method, args) -> {
+                    var name = method.getName();
+                    // Só os execute* sem SQL próprio: os que recebem SQL pertencem à interface Statement
+                    var ownSql = method.getParameterCount() == 0;
+                    if (name.equals("executeQuery") && ownSql) {
+                        flush(pending);
+                        var started = System.nanoTime();
+                        var resultSet = (ResultSet) invoke(statement, method, args);
+                        pending[0] = new PendingQuery(sql, System.nanoTime() - started);
+                        return pending[0].wrap(resultSet);
+                    }
+                    if (name.equals("getResultSet") && pending[0] != null && pending[0].resultSet != null) {
+                        return pending[0].resultSet;
+                    }
+                    if ((EXECUTE_UPDATE.contains(name) || EXECUTE_BATCH.contains(name)) && ownSql) {
+                        flush(pending);
+                        var started = System.nanoTime();
+                        var result = invoke(statement, method, args);
+                        SqlTrace.record(sql, System.nanoTime() - started, rows(result));
+                        return result;
+                    }
+                    if (name.equals("close")) {
+                        flush(pending);
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static void flush(final PendingQuery[] pending) {
+        if (pending[0] != null) {
+            pending[0].record();
+            pending[0] = null;
+        }
+    }
+
+    private static long rows(final Object result) {
+        if (result instanceof int[] counts) {
+            return Arrays.stream(counts).filter(c -> c > 0).asLongStream().sum();
+        }
+        if (result instanceof long[] counts) {
+            return Arrays.stream(counts).filter(c -> c > 0).sum();
+        }
+        if (result instanceof Number count) {
+            return count.longValue();
+        }
+        return 0;
+    }
+
+    private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private static final class PendingQuery {
+
+        private final String sql;
+        private final long nanos;
+        private long rows;
+        private boolean recorded;
+        private ResultSet resultSet;
+
+        private PendingQuery(final String sql, final long nanos) {
+            this.sql = sql;
+            this.nanos = nanos;
+        }
+
+        private ResultSet wrap(final ResultSet delegate) {
+            resultSet = (ResultSet) Proxy.newProxyInstance(
+                    ResultSet.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class},
+                    (target, method, args) -> {
+                        var result = invoke(delegate, method, args);
+                        if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                            rows++;
+                        } else if (method.getName().equals("close")) {
+                            record();
+                        }
+                        return result;
+                    });
+            return resultSet;
+        }
+
+        private void record() {
+            if (!recorded) {
+                recorded = true;
+                SqlTrace.record(sql, nanos, rows);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,331 @@
+package bord.projeto.search;
+
+import bord.projeto.dto.CardSearchDocumentDTO;
+import bord.projeto.dto.CardSearchHitDTO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+import static bord.projeto.config.ApplicationProperties.getInt;
+import static java.util.Objects.isNull;
+
+/**
+ * Índice invertido em memória sobre título e descrição dos cards, com ranking BM25. Termos do título
+ * valem {@value #TITLE_WEIGHT} vezes os da descrição. A tokenização ({@link TextTokenizer}) acontece fora
+ * do lock; escritas e buscas concorrentes são protegidas por um {@link ReadWriteLock}.
+ * <p>
+ * Atualizar ou remover um card não apaga na hora as entradas antigas das listas de termos, só troca a
+ * versão do documento; elas são ignoradas na busca. Quando as entradas velhas passam de
+ * {@code board.search.compact-min-stale} (padrão 10000) e também das vivas, todas as listas são
+ * compactadas de uma vez, ainda dentro do lock de escrita.
+ * <p>
+ * Durante uma reconstrução ({@link #startRebuild()} até {@link #finishRebuild()}) os documentos lidos do
+ * banco entram por {@link #putAllFromRebuild}, que não sobrescreve cards indexados pelos serviços nesse
+ * meio tempo nem devolve ao índice cards e colunas removidos depois do início da reconstrução.
+ */
+public final class CardSearchIndex {
+
+    static final int TITLE_WEIGHT = 2;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final int compactMinStale;
+    private long totalLength;
+    private int nextVersion;
+    private long liveEntries;
+    private long staleEntries;
+    private long compactions;
+    // Remoções vistas desde o início da reconstrução em andamento; null fora de uma reconstrução
+    private Set<Long> removedCards;
+    private List<LongPredicate> removedColumns;
+
+    public CardSearchIndex() {
+        this(getInt("board.search.compact-min-stale", 10_000));
+    }
+
+    CardSearchIndex(final int compactMinStale) {
+        this.compactMinStale = compactMinStale;
+    }
+
+    public void put(final CardSearchDocumentDTO card) {
+        putAll(List.of(card));
+    }
+
+    public void putAll(final Collection<CardSearchDocumentDTO> cards) {
+        List<Tokenized> tokenized = new ArrayList<>(cards.size());
+        cards.forEach(c -> tokenized.add(tokenize(c)));
+        lock.writeLock().lock();
+        try {
+            tokenized.forEach(this::write);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Esvazia o índice e passa a registrar remoções até {@link #finishRebuild()}.
+     */
+    public void startRebuild() {
+        lock.writeLock().lock();
+        try {
+            clearAll();
+            removedCards = new HashSet<>();
+            removedColumns = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexa documentos lidos pela reconstrução, pulando os cards que os serviços indexaram ou removeram
+     * depois de {@link #startRebuild()}: a leitura do banco pode ser anterior a essas mudanças.
+     */
+    public void putAllFromRebuild(final Collection<CardSearchDocumentDTO> cards) {
+        List<Tokenized> tokenized = new ArrayList<>(cards.size());
+        cards.forEach(c -> tokenized.add(tokenize(c)));
+        lock.writeLock().lock();
+        try {
+            for (var card : tokenized) {
+                if (!isRemovedOrNewer(card.card())) {
+                    write(card);
+                }
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void finishRebuild() {
+        lock.writeLock().lock();
+        try {
+            removedCards = null;
+            removedColumns = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(final long cardId) {
+        lock.writeLock().lock();
+        try {
+            var document = documents.remove(cardId);
+            if (!isNull(document)) {
+                discard(document);
+            }
+            if (!isNull(removedCards)) {
+                removedCards.add(cardId);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove os cards cuja coluna indexada satisfaz o filtro (por exemplo, as colunas de um board excluído).
+     */
+    public void removeByColumn(final LongPredicate columnFilter) {
+        lock.writeLock().lock();
+        try {
+            var iterator = documents.values().iterator();
+            while (iterator.hasNext()) {
+                var document = iterator.next();
+                if (columnFilter.test(document.columnId())) {
+                    discard(document);
+                    iterator.remove();
+                }
+            }
+            if (!isNull(removedColumns)) {
+                removedColumns.add(columnFilter);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param columnFilter restringe a busca a cards de certas colunas (por exemplo, {@code workflow::contains})
+     * @return até {@code limit} cards, do mais para o menos relevante
+     */
+    public List<CardSearchHitDTO> search(final String query, final LongPredicate columnFilter, final int limit) {
+        var terms = new LinkedHashSet<>(TextTokenizer.tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return List.of();
+            }
+            var count = documents.size();
+            var averageLength = Math.max(1.0, (double) totalLength / count);
+            Map<Long, double[]> scores = new HashMap<>();
+            for (var term : terms) {
+                var termPostings = postings.get(term);
+                if (isNull(termPostings)) {
+                    continue;
+                }
+                // df inclui entradas antigas ainda não compactadas; a compactação limita o erro
+                var df = Math.min(termPostings.size(), count);
+                var idf = Math.log(1 + (count - df + 0.5) / (df + 0.5));
+                for (var i = 0; i < termPostings.size(); i++) {
+                    var cardId = termPostings.cardIdAt(i);
+                    var document = documents.get(cardId);
+                    if (isNull(document) || document.version() != termPostings.versionAt(i)
+                            || !columnFilter.test(document.columnId())) {
+                        continue;
+                    }
+                    var tf = termPostings.frequencyAt(i);
+                    var norm = K1 * (1 - B + B * document.length() / averageLength);
+                    scores.computeIfAbsent(cardId, id -> new double[1])[0] += idf * tf * (K1 + 1) / (tf + norm);
+                }
+            }
+
+            PriorityQueue<CardSearchHitDTO> top = new PriorityQueue<>(Comparator.comparingDouble(CardSearchHitDTO::score));
+            scores.forEach((cardId, score) -> {
+                if (top.size() < limit || score[0] > top.peek().score()) {
+                    var document = documents.get(cardId);
+                    top.add(new CardSearchHitDTO(cardId, document.columnId(), document.title(), score[0]));
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            });
+            List<CardSearchHitDTO> hits = new ArrayList<>(top);
+            hits.sort(Comparator.comparingDouble(CardSearchHitDTO::score).reversed()
+                    .thenComparing(CardSearchHitDTO::cardId));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            clearAll();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Entradas guardadas em todas as listas de termos, vivas e velhas
+    long postingEntries() {
+        lock.readLock().lock();
+        try {
+            return postings.values().stream().mapToLong(Postings::size).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long compactions() {
+        lock.readLock().lock();
+        try {
+            return compactions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void clearAll() {
+        documents.clear();
+        postings.clear();
+        totalLength = 0;
+        liveEntries = 0;
+        staleEntries = 0;
+    }
+
+    private boolean isRemovedOrNewer(final CardSearchDocumentDTO card) {
+        if (documents.containsKey(card.cardId())) {
+            return true;
+        }
+        if (isNull(removedCards)) {
+            return false;
+        }
+        return removedCards.contains(card.cardId())
+                || removedColumns.stream().anyMatch(filter -> filter.test(card.columnId()));
+    }
+
+    private void discard(final Document document) {
+        totalLength -= document.length();
+        liveEntries -= document.terms();
+        staleEntries += document.terms();
+    }
+
+    private void compactIfNeeded() {
+        if (staleEntries < compactMinStale || staleEntries <= liveEntries) {
+            return;
+        }
+        var iterator = postings.values().iterator();
+        while (iterator.hasNext()) {
+            var termPostings = iterator.next();
+            termPostings.retain((cardId, version) -> {
+                var document = documents.get(cardId);
+                return !isNull(document) && document.version() == version;
+            });
+            if (termPostings.size() == 0) {
+                iterator.remove();
+            }
+        }
+        staleEntries = 0;
+        compactions++;
+    }
+
+    private Tokenized tokenize(final CardSearchDocumentDTO card) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        var titleTerms = TextTokenizer.tokenize(card.title());
+        titleTerms.forEach(t -> frequencies.merge(t, TITLE_WEIGHT, Integer::sum));
+        var descriptionTerms = TextTokenizer.tokenize(card.description());
+        descriptionTerms.forEach(t -> frequencies.merge(t, 1, Integer::sum));
+        return new Tokenized(card, frequencies, titleTerms.size() * TITLE_WEIGHT + descriptionTerms.size());
+    }
+
+    private void write(final Tokenized tokenized) {
+        var card = tokenized.card();
+        var previous = documents.get(card.cardId());
+        if (!isNull(previous)) {
+            discard(previous);
+        }
+        var version = ++nextVersion;
+        var terms = tokenized.frequencies().size();
+        documents.put(card.cardId(), new Document(card.columnId(), card.title(), tokenized.length(), terms, version));
+        totalLength += tokenized.length();
+        liveEntries += terms;
+        tokenized.frequencies().forEach((term, frequency) ->
+                postings.computeIfAbsent(term, t -> new Postings()).add(card.cardId(), frequency, version));
+    }
+
+    private record Document(long columnId, String title, int length, int terms, int version) {
+    }
+
+    private record Tokenized(CardSearchDocumentDTO card, Map<String, Integer> frequencies, int length) {
+    }
+
+}
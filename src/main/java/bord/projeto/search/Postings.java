@@ -0,0 +1,73 @@
+package bord.projeto.search;
+
+import java.util.Arrays;
+
+/**
+ * Lista de ocorrências de um termo em arrays primitivos. Entradas não são removidas uma a uma: cada uma
+ * guarda a versão do documento quando foi escrita, a busca ignora as que não batem com a versão atual e
+ * {@link #retain} descarta as velhas de uma vez, na compactação do índice.
+ */
+final class Postings {
+
+    private long[] cardIds = new long[4];
+    private int[] frequencies = new int[4];
+    private int[] versions = new int[4];
+    private int size;
+
+    void add(final long cardId, final int frequency, final int version) {
+        if (size == cardIds.length) {
+            var capacity = size * 2;
+            cardIds = Arrays.copyOf(cardIds, capacity);
+            frequencies = Arrays.copyOf(frequencies, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+        }
+        cardIds[size] = cardId;
+        frequencies[size] = frequency;
+        versions[size] = version;
+        size++;
+    }
+
+    /**
+     * Mantém só as entradas aceitas pelo filtro, na mesma ordem, e devolve a memória que sobrar.
+     */
+    void retain(final EntryFilter filter) {
+        var kept = 0;
+        for (var i = 0; i < size; i++) {
+            if (filter.keep(cardIds[i], versions[i])) {
+                cardIds[kept] = cardIds[i];
+                frequencies[kept] = frequencies[i];
+                versions[kept] = versions[i];
+                kept++;
+            }
+        }
+        size = kept;
+        if (cardIds.length > 4 && size < cardIds.length / 4) {
+            var capacity = Math.max(4, size * 2);
+            cardIds = Arrays.copyOf(cardIds, capacity);
+            frequencies = Arrays.copyOf(frequencies, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    long cardIdAt(final int index) {
+        return cardIds[index];
+    }
+
+    int frequencyAt(final int index) {
+        return frequencies[index];
+    }
+
+    int versionAt(final int index) {
+        return versions[index];
+    }
+
+    @FunctionalInterface
+    interface EntryFilter {
+        boolean keep(long cardId, int version);
+    }
+
+}
@@ -0,0 +1,83 @@
+package bord.projeto.search;
+
+import lombok.NoArgsConstructor;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static java.util.Objects.isNull;
+import static java.util.stream.Collectors.toUnmodifiableSet;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Quebra textos em português e inglês em termos de busca: minúsculas, sem acentos ("ação" e "acao"
+ * viram o mesmo termo), sem stopwords das duas línguas e com o plural regular reduzido ao singular
+ * ("cards" → "card", "tarefas" → "tarefa"). A mesma função é usada na indexação e na consulta.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class TextTokenizer {
+
+    private static final int MIN_LENGTH = 2;
+
+    // Palavras comuns às duas línguas ("as", "do", "no") aparecem nas duas listas: Set.of recusaria as
+    // repetidas, o collector não
+    private static final Set<String> STOPWORDS = Stream.of(
+            // português
+            "a", "o", "as", "os", "um", "uma", "uns", "umas", "de", "do", "da", "dos", "das", "em", "no", "na",
+            "nos", "nas", "por", "pelo", "pela", "para", "pra", "com", "sem", "e", "ou", "que", "se", "ao", "aos",
+            "como", "mais", "mas", "ja", "nao", "sim", "ser", "foi", "sao", "esta", "este", "isso", "isto", "ele",
+            "ela", "eles", "elas", "seu", "sua", "seus", "suas", "entre", "sobre", "ate", "quando", "muito",
+            // inglês
+            "the", "an", "and", "or", "of", "to", "in", "on", "at", "by", "for", "with", "without", "from", "is",
+            "are", "was", "were", "be", "been", "it", "its", "this", "that", "these", "those", "as", "not", "no",
+            "but", "if", "then", "than", "into", "about", "after", "before", "so", "do", "does", "done"
+    ).collect(toUnmodifiableSet());
+
+    public static List<String> tokenize(final String text) {
+        List<String> terms = new ArrayList<>();
+        if (isNull(text) || text.isBlank()) {
+            return terms;
+        }
+        var folded = Normalizer.normalize(text, Normalizer.Form.NFD);
+        var term = new StringBuilder();
+        for (var i = 0; i < folded.length(); i++) {
+            var c = folded.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                term.append(Character.toLowerCase(c));
+            } else {
+                addTerm(terms, term);
+            }
+        }
+        addTerm(terms, term);
+        return terms;
+    }
+
+    private static void addTerm(final List<String> terms, final StringBuilder term) {
+        if (term.length() >= MIN_LENGTH) {
+            var value = term.toString();
+            if (!STOPWORDS.contains(value)) {
+                terms.add(singular(value));
+            }
+        }
+        term.setLength(0);
+    }
+
+    // Plural regular das duas línguas: "-oes"/"-aes" → "-ao" e "-s" → sem o sufixo; formas como
+    // "-ais" ou "-res" ficam como estão para não desfigurar palavras em inglês
+    private static String singular(final String term) {
+        if (term.length() <= 3 || !term.endsWith("s") || term.endsWith("ss") || term.endsWith("us")) {
+            return term;
+        }
+        if (term.endsWith("oes") || term.endsWith("aes")) {
+            return term.substring(0, term.length() - 3) + "ao";
+        }
+        return term.substring(0, term.length() - 1);
+    }
+
+}
@@ -0,0 +1,35 @@
+package bord.projeto.service;
+
+import bord.projeto.analytics.BoardFlowAnalyzer;
+import bord.projeto.dto.BoardFlowReportDTO;
+import bord.projeto.dto.BoardWorkflow;
+import bord.projeto.persistence.dao.CardMovementDAO;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.ForkJoinPool;
+
+import static bord.projeto.config.ApplicationProperties.getInt;
+
+@AllArgsConstructor
+public class BoardAnalyticsService {
+
+    private final Connection connection;
+
+    /**
+     * Lead time, cycle time por coluna, tempo bloqueado e vazão semanal do board, calculados a partir de
+     * CARD_MOVEMENTS e BLOCKS. As linhas são lidas uma vez, em streaming, e somadas em paralelo por lotes de
+     * {@code board.analytics.batch-cards} cards (padrão 2048) no fork/join pool comum, com no máximo
+     * {@code board.analytics.max-in-flight} lotes pendentes (padrão 2 por processador).
+     */
+    public BoardFlowReportDTO flowReport(final Long boardId, final BoardWorkflow workflow) throws SQLException {
+        var pool = ForkJoinPool.commonPool();
+        var analyzer = new BoardFlowAnalyzer(workflow, System.currentTimeMillis(), pool,
+                getInt("board.analytics.batch-cards", 2_048),
+                getInt("board.analytics.max-in-flight", pool.getParallelism() * 2));
+        new CardMovementDAO(connection).forEachHistoryByBoardId(boardId, analyzer);
+        return analyzer.finish(boardId);
+    }
+
+}
@@ -1,12 +1,18 @@
 package bord.projeto.service;
 
+import bord.projeto.dto.CardPageDTO;
+import bord.projeto.dto.CardsAmountMismatchDTO;
 import bord.projeto.persistence.dao.BoardColumnDAO;
+import bord.projeto.persistence.dao.CardDAO;
 import bord.projeto.persistence.entity.BoardColumnEntity;
+import bord.projeto.persistence.entity.CardEntity;
 import lombok.AllArgsConstructor;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @AllArgsConstructor
 public class BoardColumnQueryService {
@@ -18,4 +24,31 @@ public class BoardColumnQueryService {
         return dao.findById(id);
     }
 
+    public Optional<BoardColumnEntity> findHeaderById(final Long id) throws SQLException {
+        var dao = new BoardColumnDAO(connection);
+        return dao.findHeaderById(id);
+    }
+
+    // Lê limit + 1 cards para saber se existe uma próxima página
+    public CardPageDTO findCardsPage(final Long columnId, final long afterCardId, final int limit) throws SQLException {
+        var dao = new CardDAO(connection);
+        var cards = dao.findPageByColumnId(columnId, afterCardId, limit + 1);
+        if (cards.size() <= limit) {
+            return new CardPageDTO(cards, null);
+        }
+        var page = cards.subList(0, limit);
+        return new CardPageDTO(page, page.get(limit - 1).getId());
+    }
+
+    public void forEachCard(final Long columnId, final Consumer<CardEntity> consumer) throws SQLException {
+        var dao = new CardDAO(connection);
+        dao.forEachByColumnId(columnId, consumer);
+    }
+
+    // Colunas do board cujo contador cards_amount não bate com a contagem real de cards
+    public List<CardsAmountMismatchDTO> findCardsAmountMismatches(final Long boardId) throws SQLException {
+        var dao = new BoardColumnDAO(connection);
+        return dao.findCardsAmountMismatches(boardId);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package bord.projeto.service;
+
+import bord.projeto.persistence.dao.BoardColumnDAO;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+@AllArgsConstructor
+public class BoardColumnService {
+
+    private final Connection connection;
+
+    // Recalcula o cards_amount de todas as colunas do board a partir da tabela CARDS
+    public int recountCardsAmount(final Long boardId) throws SQLException {
+        try {
+            var dao = new BoardColumnDAO(connection);
+            var updated = dao.recountCardsAmount(boardId);
+            connection.commit();
+            return updated;
+        } catch (SQLException ex) {
+            connection.rollback();
+            throw ex;
+        }
+    }
+
+}
@@ -0,0 +1,117 @@
+package bord.projeto.service;
+
+import bord.projeto.dto.BoardExportResultDTO;
+import bord.projeto.exception.EntityNotFoundException;
+import bord.projeto.export.ExportFormat;
+import bord.projeto.export.RecordWriter;
+import bord.projeto.persistence.dao.BoardDAO;
+import bord.projeto.persistence.dao.BoardExportDAO;
+import lombok.AllArgsConstructor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static bord.projeto.persistence.dao.BoardExportDAO.BLOCK_FIELDS;
+import static bord.projeto.persistence.dao.BoardExportDAO.BOARD_FIELDS;
+import static bord.projeto.persistence.dao.BoardExportDAO.CARD_FIELDS;
+import static bord.projeto.persistence.dao.BoardExportDAO.COLUMN_FIELDS;
+import static java.util.Objects.nonNull;
+
+/**
+ * Exporta boards para um diretório, um arquivo por tipo de registro: boards, columns, cards e blocks
+ * (CSV ou JSON Lines, com gzip opcional). As linhas são lidas em streaming e escritas direto no buffer
+ * do arquivo, então a memória usada não cresce com a quantidade de cards. Todas as leituras de uma
+ * exportação são feitas na mesma transação e enxergam o mesmo snapshot do banco. Arquivos que já
+ * existem no diretório não são sobrescritos: a exportação falha antes de criar qualquer arquivo.
+ */
+@AllArgsConstructor
+public class BoardExportService {
+
+    private static final Map<String, List<String>> FILES = new LinkedHashMap<>();
+
+    static {
+        FILES.put("boards", BOARD_FIELDS);
+        FILES.put("columns", COLUMN_FIELDS);
+        FILES.put("cards", CARD_FIELDS);
+        FILES.put("blocks", BLOCK_FIELDS);
+    }
+
+    private final Connection connection;
+
+    public BoardExportResultDTO exportBoard(final Long boardId, final Path directory, final ExportFormat format,
+                                            final boolean gzip) throws SQLException {
+        if (!new BoardDAO(connection).exists(boardId)) {
+            throw new EntityNotFoundException("O board de id %s não foi encontrado".formatted(boardId));
+        }
+        return export(List.of(boardId), directory, format, gzip);
+    }
+
+    public BoardExportResultDTO exportAll(final Path directory, final ExportFormat format,
+                                          final boolean gzip) throws SQLException {
+        return export(new BoardExportDAO(connection).findBoardIds(), directory, format, gzip);
+    }
+
+    private BoardExportResultDTO export(final List<Long> boardIds, final Path directory, final ExportFormat format,
+                                        final boolean gzip) throws SQLException {
+        Map<String, RecordWriter> writers = new LinkedHashMap<>();
+        try {
+            Files.createDirectories(directory);
+            for (var file : FILES.keySet()) {
+                var path = directory.resolve(format.fileName(file, gzip));
+                if (Files.exists(path)) {
+                    throw new FileAlreadyExistsException(path.toString());
+                }
+            }
+            for (var entry : FILES.entrySet()) {
+                writers.put(entry.getKey(), format.open(directory, entry.getKey(), entry.getValue(), gzip));
+            }
+            var dao = new BoardExportDAO(connection);
+            for (var boardId : boardIds) {
+                dao.exportBoard(boardId, writers.get("boards"));
+                dao.exportColumns(boardId, writers.get("columns"));
+                dao.exportCards(boardId, writers.get("cards"));
+                dao.exportBlocks(boardId, writers.get("blocks"));
+            }
+            connection.commit();
+        } catch (SQLException | RuntimeException ex) {
+            connection.rollback();
+            throw ex;
+        } catch (IOException ex) {
+            connection.rollback();
+            throw new UncheckedIOException(ex);
+        } finally {
+            closeAll(writers);
+        }
+
+        Map<String, Long> records = new LinkedHashMap<>();
+        var bytes = 0L;
+        for (var entry : writers.entrySet()) {
+            records.put(format.fileName(entry.getKey(), gzip), entry.getValue().records());
+            bytes += entry.getValue().bytesWritten();
+        }
+        return new BoardExportResultDTO(directory, boardIds.size(), records, bytes);
+    }
+
+    private void closeAll(final Map<String, RecordWriter> writers) {
+        UncheckedIOException failure = null;
+        for (var writer : writers.values()) {
+            try {
+                writer.close();
+            } catch (IOException ex) {
+                failure = new UncheckedIOException(ex);
+            }
+        }
+        if (nonNull(failure)) {
+            throw failure;
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package bord.projeto.service;
+
+import bord.projeto.dto.BoardPageDTO;
+import bord.projeto.dto.BoardSummaryDTO;
+import bord.projeto.persistence.dao.BoardDAO;
+import bord.projeto.persistence.shard.ShardScatter;
+import lombok.NoArgsConstructor;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Listagem de boards de todos os shards (scatter-gather). Cada shard devolve a sua próxima página em ordem
+ * de id; a junção ordena as páginas e corta no limite, então o cursor continua valendo entre os shards.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class BoardListingService {
+
+    public static BoardPageDTO findPage(final long afterBoardId, final int limit) throws SQLException {
+        var pages = ShardScatter.gather((shard, connection) -> new BoardDAO(connection).findPage(afterBoardId, limit + 1)
+                .stream()
+                .map(b -> new BoardSummaryDTO(b.getId(), b.getName(), shard))
+                .toList());
+        List<BoardSummaryDTO> boards = new ArrayList<>();
+        pages.forEach(boards::addAll);
+        boards.sort(Comparator.comparing(BoardSummaryDTO::id));
+        if (boards.size() <= limit) {
+            return new BoardPageDTO(boards, null);
+        }
+        var page = List.copyOf(boards.subList(0, limit));
+        return new BoardPageDTO(page, page.get(limit - 1).id());
+    }
+
+}
@@ -1,7 +1,7 @@
 package bord.projeto.service;
 
-
 import bord.projeto.dto.BoardDetailsDTO;
+import bord.projeto.dto.BoardTopology;
 import bord.projeto.persistence.dao.BoardColumnDAO;
 import bord.projeto.persistence.dao.BoardDAO;
 import bord.projeto.persistence.entity.BoardEntity;
@@ -11,22 +11,40 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Optional;
 
+
 @AllArgsConstructor
 public class BoardQueryService {
 
     private final Connection connection;
 
     public Optional<BoardEntity> findById(final Long id) throws SQLException{
+        return findTopologyById(id).map(BoardTopology::toEntity);
+    }
+
+    // Confere só a versão do board; colunas são relidas apenas quando a topologia em cache está velha
+    public Optional<BoardTopology> findTopologyById(final Long id) throws SQLException{
         var dao = new BoardDAO(connection);
+        var version = dao.findVersion(id);
+        if (version.isEmpty()){
+            BoardTopologyCache.invalidate(id);
+            return Optional.empty();
+        }
+        var cached = BoardTopologyCache.get(id, version.get());
+        if (cached.isPresent()){
+            return cached;
+        }
         var bordColumnDAO = new BoardColumnDAO(connection);
         var optinal = dao.findById(id);
         if(optinal.isPresent()){
             var entity = optinal.get();
             entity.setBoardColumns(bordColumnDAO.findByBoardId(entity.getId()));
-            return Optional.of(entity);
+            var topology = BoardTopology.of(entity);
+            BoardTopologyCache.put(topology);
+            return Optional.of(topology);
         }
         return Optional.empty();
     }
+
     public Optional<BoardDetailsDTO> showBoardDetails(final Long id) throws SQLException {
         var dao = new BoardDAO(connection);
         var boardColumnDAO = new BoardColumnDAO(connection);
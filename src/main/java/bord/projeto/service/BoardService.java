@@ -1,12 +1,19 @@
 package bord.projeto.service;
 
+import bord.projeto.persistence.ConnectionConfig;
 import bord.projeto.persistence.dao.BoardColumnDAO;
 import bord.projeto.persistence.dao.BoardDAO;
+import bord.projeto.persistence.dao.ShardMaintenanceDAO;
+import bord.projeto.persistence.entity.BoardColumnEntity;
 import bord.projeto.persistence.entity.BoardEntity;
 import lombok.AllArgsConstructor;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @AllArgsConstructor
 public class BoardService {
@@ -17,39 +24,63 @@ public class BoardService {
 
 //------inset
     public BoardEntity insert(final BoardEntity entity) throws SQLException{
+        insertAll(List.of(entity));
+        return entity;
+    }
+
+    // Cria vários boards numa transação: um batch para os boards e outro para todas as colunas
+    public List<BoardEntity> insertAll(final Collection<BoardEntity> entities) throws SQLException{
         var doa = new BoardDAO(connection);
         var boardColumnDAO = new BoardColumnDAO(connection);
+        var boards = List.copyOf(entities);
         try {
-            doa.insert(entity);
-            var columns = entity.getBoardColumns().stream().map(c ->{
-                c.setBoard(entity);
-                return c;
-            }).toList();
-            for (var column : columns){
-                boardColumnDAO.insert(column);
+            doa.insertAll(boards);
+            var columns = boards.stream()
+                    .flatMap(b -> b.getBoardColumns().stream().map(c ->{
+                        c.setBoard(b);
+                        return c;
+                    }))
+                    .toList();
+            if (!columns.isEmpty()) {
+                boardColumnDAO.insertAll(columns);
+                // As colunas acabaram de receber o id: a tabela de transições precisa ser remontada
+                boards.forEach(BoardEntity::invalidateWorkflow);
             }
+            // Com vários shards o board é roteado pelo próprio id (ShardRouter.homeShard): não há diretório a gravar
             connection.commit();
         }catch (SQLException e){
             connection.rollback();;
             throw e;
         }
-        return entity;
+        return boards;
     }
 
 //-------delete
     public boolean  delete(final Long id) throws SQLException{
         var doa = new BoardDAO(connection);
+        Set<Long> columnIds;
         try {
             if (!doa.exists(id)){
                 return false;
             }
+            // Os cards do board saem do índice de busca pelas colunas em que foram indexados
+            columnIds = new BoardColumnDAO(connection).findByBoardId(id).stream()
+                    .map(BoardColumnEntity::getId)
+                    .collect(Collectors.toSet());
+            // CARD_MOVEMENTS não tem FK para CARDS: o histórico sai antes do board, na mesma transação
+            new ShardMaintenanceDAO(connection).deleteMovements(id);
             doa.delete(id);
             connection.commit();
-            return true;
         }catch (SQLException e){
             connection.rollback();;
             throw e;
         }
+        // Depois do commit: uma falha aqui não pode desfazer a exclusão. A entrada do diretório é a última
+        // a sair; se ficar, aponta para um board que não existe e quem o procura recebe "não encontrado"
+        BoardTopologyCache.invalidate(id);
+        CardSearchIndexer.removedColumns(columnIds);
+        ConnectionConfig.getShardRouter().forget(id);
+        return true;
     }
 
 }
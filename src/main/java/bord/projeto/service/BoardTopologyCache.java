@@ -0,0 +1,92 @@
+package bord.projeto.service;
+
+import bord.projeto.dto.BoardTopology;
+import bord.projeto.metrics.BoardMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import static bord.projeto.config.ApplicationProperties.getInt;
+import static java.util.Objects.isNull;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Cache LRU, compartilhado pelo processo, das topologias de board. Uma entrada só é usada
+ * quando a versão gravada em BOARDS é igual à versão da topologia em cache; os triggers de BOARDS e
+ * BOARDS_COLUMNS incrementam a versão a cada mudança de nome, ordem ou tipo de coluna.
+ * Acertos, faltas, entradas velhas e remoções são publicados em {@code board.topology.cache}.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class BoardTopologyCache {
+
+    private static final int CAPACITY = getInt("board.topology-cache.size", 256);
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder staleHits = new LongAdder();
+    private static final LongAdder evictions = new LongAdder();
+
+    private static final Map<Long, BoardTopology> topologies = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Long, BoardTopology> eldest) {
+            if (size() > CAPACITY) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    static {
+        registerCounter("hit", hits);
+        registerCounter("miss", misses);
+        registerCounter("stale", staleHits);
+        FunctionCounter.builder("board.topology.cache.evictions", evictions, LongAdder::sum)
+                .register(BoardMetrics.registry());
+        Gauge.builder("board.topology.cache.size", BoardTopologyCache::size)
+                .register(BoardMetrics.registry());
+    }
+
+    public static synchronized Optional<BoardTopology> get(final Long boardId, final long version) {
+        var topology = topologies.get(boardId);
+        if (isNull(topology)) {
+            misses.increment();
+            return Optional.empty();
+        }
+        if (topology.version() != version) {
+            staleHits.increment();
+            topologies.remove(boardId);
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(topology);
+    }
+
+    public static synchronized void put(final BoardTopology topology) {
+        topologies.put(topology.id(), topology);
+    }
+
+    public static synchronized void invalidate(final Long boardId) {
+        topologies.remove(boardId);
+    }
+
+    public static synchronized BoardTopologyCacheStats getStats() {
+        return new BoardTopologyCacheStats(hits.sum(), misses.sum(), staleHits.sum(), evictions.sum(), topologies.size());
+    }
+
+    private static synchronized int size() {
+        return topologies.size();
+    }
+
+    private static void registerCounter(final String result, final LongAdder adder) {
+        FunctionCounter.builder("board.topology.cache", adder, LongAdder::sum)
+                .tag("result", result)
+                .register(BoardMetrics.registry());
+    }
+
+}
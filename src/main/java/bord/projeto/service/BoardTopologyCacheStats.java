@@ -0,0 +1,13 @@
+package bord.projeto.service;
+
+public record BoardTopologyCacheStats(long hits,
+                                      long misses,
+                                      long staleHits,
+                                      long evictions,
+                                      int size) {
+
+    public double hitRate() {
+        var total = hits + misses + staleHits;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,174 @@
+package bord.projeto.service;
+
+import bord.projeto.dto.BoardWorkflow;
+import bord.projeto.dto.BulkMoveResultDTO;
+import bord.projeto.dto.CardColumnStateDTO;
+import bord.projeto.dto.CardMoveOutcome;
+import bord.projeto.exception.CardWorkflowException;
+import bord.projeto.persistence.dao.BoardColumnDAO;
+import bord.projeto.persistence.dao.CardDAO;
+import bord.projeto.persistence.shard.ShardConnections;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static bord.projeto.dto.BoardWorkflow.NONE;
+import static bord.projeto.dto.CardMoveOutcome.BLOCKED;
+import static bord.projeto.dto.CardMoveOutcome.CANCELED;
+import static bord.projeto.dto.CardMoveOutcome.FINISHED;
+import static bord.projeto.dto.CardMoveOutcome.MOVED;
+import static bord.projeto.dto.CardMoveOutcome.NOT_FOUND;
+
+/**
+ * Move ou cancela vários cards numa única transação, com um UPDATE por par de colunas (origem, destino)
+ * em vez de uma leitura, um UPDATE e um commit por card. Cards bloqueados, finalizados ou já cancelados
+ * ficam onde estão e aparecem no resultado com o motivo.
+ */
+@AllArgsConstructor
+public class CardBulkService {
+
+    private final Connection connection;
+
+    public BulkMoveResultDTO moveToNextColumn(final Long boardId, final Collection<Long> cardIds,
+                                              final BoardWorkflow workflow) throws SQLException {
+        return moveCards(boardId, cardIds, workflow, false);
+    }
+
+    public BulkMoveResultDTO cancel(final Long boardId, final Collection<Long> cardIds,
+                                    final BoardWorkflow workflow) throws SQLException {
+        return moveCards(boardId, cardIds, workflow, true);
+    }
+
+    public BulkMoveResultDTO moveColumnToNextColumn(final Long columnId, final BoardWorkflow workflow) throws SQLException {
+        return moveColumn(columnId, workflow, false);
+    }
+
+    public BulkMoveResultDTO cancelColumn(final Long columnId, final BoardWorkflow workflow) throws SQLException {
+        return moveColumn(columnId, workflow, true);
+    }
+
+    private BulkMoveResultDTO moveCards(final Long boardId, final Collection<Long> cardIds,
+                                        final BoardWorkflow workflow, final boolean toCancel) throws SQLException {
+        validateCancelColumn(workflow, toCancel);
+        var requested = List.copyOf(new LinkedHashSet<>(cardIds));
+        Map<Long, CardMoveOutcome> outcomes = new LinkedHashMap<>();
+        requested.forEach(id -> outcomes.put(id, NOT_FOUND));
+        if (requested.isEmpty()) {
+            return new BulkMoveResultDTO(outcomes);
+        }
+        try {
+            var dao = new CardDAO(connection);
+            Map<Move, List<Long>> idsByMove = new LinkedHashMap<>();
+            for (var card : dao.lockForMove(boardId, requested)) {
+                var target = classify(card, workflow, toCancel, outcomes);
+                if (target != NONE) {
+                    idsByMove.computeIfAbsent(new Move(card.columnId(), workflow.columnIdAt(target)),
+                            m -> new ArrayList<>()).add(card.id());
+                }
+            }
+
+            Map<Long, Integer> deltaByColumnId = new HashMap<>();
+            for (var entry : idsByMove.entrySet()) {
+                var move = entry.getKey();
+                var moved = dao.moveAll(entry.getValue(), move.fromColumnId(), move.toColumnId());
+                deltaByColumnId.merge(move.fromColumnId(), -moved, Integer::sum);
+                deltaByColumnId.merge(move.toColumnId(), moved, Integer::sum);
+            }
+            new BoardColumnDAO(connection).addCardsAmount(deltaByColumnId);
+
+            connection.commit();
+            var shard = ShardConnections.shardOf(connection);
+            idsByMove.forEach((move, ids) -> ids.forEach(id -> record(shard, id, move, toCancel)));
+            return new BulkMoveResultDTO(outcomes);
+        } catch (SQLException ex) {
+            connection.rollback();
+            throw ex;
+        }
+    }
+
+    private BulkMoveResultDTO moveColumn(final Long columnId, final BoardWorkflow workflow,
+                                         final boolean toCancel) throws SQLException {
+        if (!workflow.contains(columnId)) {
+            throw new CardWorkflowException("A coluna informada pertence a outro board");
+        }
+        validateCancelColumn(workflow, toCancel);
+        try {
+            var dao = new CardDAO(connection);
+            Map<Long, CardMoveOutcome> outcomes = new LinkedHashMap<>();
+            var target = NONE;
+            List<Long> movedIds = new ArrayList<>();
+            for (var card : dao.lockColumnForMove(columnId)) {
+                // Todos os cards estão na mesma coluna: o destino só muda entre bloqueado e não bloqueado
+                var cardTarget = classify(card, workflow, toCancel, outcomes);
+                if (cardTarget != NONE) {
+                    target = cardTarget;
+                    movedIds.add(card.id());
+                }
+            }
+            if (target != NONE) {
+                var toColumnId = workflow.columnIdAt(target);
+                var moved = dao.moveColumn(columnId, toColumnId);
+                new BoardColumnDAO(connection).addCardsAmount(Map.of(columnId, -moved, toColumnId, moved));
+                connection.commit();
+                var move = new Move(columnId, toColumnId);
+                var shard = ShardConnections.shardOf(connection);
+                movedIds.forEach(id -> record(shard, id, move, toCancel));
+            } else {
+                connection.commit();
+            }
+            return new BulkMoveResultDTO(outcomes);
+        } catch (SQLException ex) {
+            connection.rollback();
+            throw ex;
+        }
+    }
+
+    // Aplica as mesmas regras de CardService.moveToNextColumn/cancel; devolve o índice de destino ou NONE
+    private int classify(final CardColumnStateDTO card, final BoardWorkflow workflow, final boolean toCancel,
+                         final Map<Long, CardMoveOutcome> outcomes) {
+        var currentIndex = workflow.indexOf(card.columnId());
+        CardMoveOutcome outcome;
+        if (currentIndex == NONE) {
+            outcome = NOT_FOUND;
+        } else if (card.blocked()) {
+            outcome = BLOCKED;
+        } else if (workflow.isFinal(currentIndex)) {
+            outcome = FINISHED;
+        } else if (workflow.nextIndex(currentIndex) == NONE) {
+            outcome = CANCELED;
+        } else {
+            outcome = MOVED;
+        }
+        outcomes.put(card.id(), outcome);
+        if (outcome != MOVED) {
+            return NONE;
+        }
+        return toCancel ? workflow.cancelIndex() : workflow.nextIndex(currentIndex);
+    }
+
+    private void record(final int shard, final Long cardId, final Move move, final boolean toCancel) {
+        if (toCancel) {
+            CardMovementRecorder.canceled(shard, cardId, move.fromColumnId(), move.toColumnId());
+        } else {
+            CardMovementRecorder.moved(shard, cardId, move.fromColumnId(), move.toColumnId());
+        }
+    }
+
+    private void validateCancelColumn(final BoardWorkflow workflow, final boolean toCancel) {
+        if (toCancel && workflow.cancelIndex() == NONE) {
+            throw new CardWorkflowException("O board não tem coluna de cancelamento");
+        }
+    }
+
+    private record Move(Long fromColumnId, Long toColumnId) {
+    }
+
+}
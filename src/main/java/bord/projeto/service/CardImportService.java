@@ -0,0 +1,364 @@
+package bord.projeto.service;
+
+import bord.projeto.dto.ImportProgressDTO;
+import bord.projeto.importer.CsvChannelReader;
+import bord.projeto.metrics.BoardMetrics;
+import bord.projeto.persistence.dao.BoardColumnDAO;
+import bord.projeto.persistence.dao.BoardDAO;
+import bord.projeto.persistence.dao.CardDAO;
+import bord.projeto.persistence.dao.CardMovementDAO;
+import bord.projeto.persistence.dao.ImportCheckpointDAO;
+import bord.projeto.persistence.entity.BoardColumnEntity;
+import bord.projeto.persistence.entity.BoardColumnKindEnum;
+import bord.projeto.persistence.entity.BoardEntity;
+import bord.projeto.persistence.entity.CardEntity;
+import bord.projeto.persistence.entity.CardMovementEntity;
+import bord.projeto.persistence.entity.ImportCheckpointEntity;
+import io.micrometer.core.instrument.Counter;
+import lombok.AllArgsConstructor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import static bord.projeto.config.ApplicationProperties.getBoolean;
+import static bord.projeto.config.ApplicationProperties.getInt;
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.FINAL;
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.PENDING;
+import static bord.projeto.persistence.entity.CardMovementEventEnum.CREATE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Importa cards de um CSV com cabeçalho. Campos obrigatórios: {@code board}, {@code column} e {@code title};
+ * opcionais: {@code description} e {@code column_kind} (INITIAL, PENDING, FINAL ou CANCEL).
+ * <p>
+ * Uma primeira passada lê só board e coluna e cria, com {@link BoardService#insert}, os boards que não
+ * existem: as colunas ficam na ordem INITIAL, PENDING, FINAL, CANCEL e, sem {@code column_kind}, a primeira
+ * coluna vista é a INITIAL e a última a FINAL; se faltar coluna de cancelamento, é criada uma "Cancelado".
+ * Em boards que já existem, linhas com coluna desconhecida são rejeitadas, assim como as de título ou
+ * descrição com mais de 255 caracteres, que o banco recusaria junto com o lote inteiro.
+ * <p>
+ * Na segunda passada os cards são inseridos em lotes de {@code board.import.batch-size} (padrão 5000),
+ * com um commit por lote. O checkpoint (offset no arquivo e contagens) é gravado em IMPORT_CHECKPOINTS
+ * na mesma transação do lote, então uma importação interrompida pode ser retomada sem duplicar cards.
+ * O evento CREATE de cada card entra em CARD_MOVEMENTS também nessa transação, e não pela fila do
+ * {@link CardMovementRecorder}: a retomada não duplica nem perde eventos, e os cards importados aparecem
+ * no relatório de fluxo como os criados pelo menu. Com {@code board.movements.enabled=false} nenhum
+ * evento é gravado.
+ */
+@AllArgsConstructor
+public class CardImportService {
+
+    private static final String CANCEL_COLUMN_NAME = "Cancelado";
+    // Tamanho de CARDS.title e CARDS.description
+    private static final int MAX_TEXT_LENGTH = 255;
+    // Ordem das colunas de um board criado pela importação
+    private static final List<BoardColumnKindEnum> KIND_ORDER = List.of(INITIAL, PENDING, FINAL, CANCEL);
+
+    private static final Counter importedRows = Counter.builder("board.import.rows")
+            .tag("result", "imported").register(BoardMetrics.registry());
+    private static final Counter rejectedRows = Counter.builder("board.import.rows")
+            .tag("result", "rejected").register(BoardMetrics.registry());
+
+    private final Connection connection;
+
+    /**
+     * @param resume   continua do último checkpoint do arquivo; com false a importação recomeça do início
+     * @param progress chamado depois de cada lote confirmado
+     */
+    public ImportProgressDTO importCsv(final Path file, final boolean resume,
+                                       final Consumer<ImportProgressDTO> progress) throws SQLException {
+        try {
+            return load(file, resume, progress);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private ImportProgressDTO load(final Path file, final boolean resume,
+                                   final Consumer<ImportProgressDTO> progress) throws IOException, SQLException {
+        var bufferSize = getInt("board.import.buffer-size", 1024 * 1024);
+        var batchSize = getInt("board.import.batch-size", 5_000);
+        var checkpointDAO = new ImportCheckpointDAO(connection);
+        var checkpoint = resume ?
+                checkpointDAO.findByKey(sourceKey(file)).orElseGet(() -> newCheckpoint(file)) :
+                newCheckpoint(file);
+
+        try (var reader = CsvChannelReader.open(file, bufferSize)) {
+            var totalBytes = reader.size();
+            if (checkpoint.isFinished()) {
+                return toProgress(checkpoint, totalBytes, 0, 0);
+            }
+            if (checkpoint.getByteOffset() > totalBytes) {
+                throw new IllegalStateException("O arquivo %s mudou desde o último checkpoint".formatted(file));
+            }
+
+            List<String> fields = new ArrayList<>();
+            if (!reader.next(fields)) {
+                throw new IllegalArgumentException("O arquivo %s está vazio".formatted(file));
+            }
+            var header = Header.of(fields);
+            var start = Math.max(checkpoint.getByteOffset(), reader.position());
+
+            reader.seek(start);
+            var columns = resolveColumns(reader, header, fields);
+
+            reader.seek(start);
+            var started = System.nanoTime();
+            var rowsAtStart = checkpoint.getRowsImported();
+            var cardDAO = new CardDAO(connection);
+            List<CardEntity> batch = new ArrayList<>(batchSize);
+            while (reader.next(fields)) {
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                checkpoint.setRowsRead(checkpoint.getRowsRead() + 1);
+                var card = toCard(header, fields, columns);
+                if (isNull(card)) {
+                    checkpoint.setRowsRejected(checkpoint.getRowsRejected() + 1);
+                    rejectedRows.increment();
+                } else {
+                    batch.add(card);
+                }
+                if (batch.size() >= batchSize) {
+                    commitBatch(cardDAO, checkpointDAO, batch, checkpoint, reader.position(), false);
+                    progress.accept(toProgress(checkpoint, totalBytes, checkpoint.getRowsImported() - rowsAtStart, started));
+                }
+            }
+            commitBatch(cardDAO, checkpointDAO, batch, checkpoint, reader.position(), true);
+            var result = toProgress(checkpoint, totalBytes, checkpoint.getRowsImported() - rowsAtStart, started);
+            progress.accept(result);
+            return result;
+        }
+    }
+
+    private void commitBatch(final CardDAO cardDAO, final ImportCheckpointDAO checkpointDAO, final List<CardEntity> batch,
+                             final ImportCheckpointEntity checkpoint, final long offset, final boolean finished) throws SQLException {
+        try {
+            if (!batch.isEmpty()) {
+                cardDAO.insertAll(batch);
+                if (getBoolean("board.movements.enabled", true)) {
+                    new CardMovementDAO(connection).insertAll(createEvents(batch));
+                }
+            }
+            checkpoint.setByteOffset(offset);
+            checkpoint.setRowsImported(checkpoint.getRowsImported() + batch.size());
+            checkpoint.setFinished(finished);
+            checkpoint.setUpdatedAt(OffsetDateTime.now());
+            checkpointDAO.save(checkpoint);
+            connection.commit();
+            importedRows.increment(batch.size());
+            CardSearchIndexer.indexedAll(batch);
+            batch.clear();
+        } catch (SQLException ex) {
+            connection.rollback();
+            throw ex;
+        }
+    }
+
+    private static List<CardMovementEntity> createEvents(final List<CardEntity> cards) {
+        var now = OffsetDateTime.now();
+        List<CardMovementEntity> events = new ArrayList<>(cards.size());
+        for (var card : cards) {
+            var event = new CardMovementEntity();
+            event.setCardId(card.getId());
+            event.setEvent(CREATE);
+            event.setToColumnId(card.getBoardColumn().getId());
+            event.setMovedAt(now);
+            events.add(event);
+        }
+        return events;
+    }
+
+    // Primeira passada: boards e colunas citados a partir do offset; cria os boards que faltam
+    private Map<String, Map<String, Long>> resolveColumns(final CsvChannelReader reader, final Header header,
+                                                         final List<String> fields) throws IOException, SQLException {
+        Map<String, Map<String, BoardColumnKindEnum>> columnsByBoard = new LinkedHashMap<>();
+        while (reader.next(fields)) {
+            var board = header.board(fields);
+            var column = header.column(fields);
+            if (isNull(board) || isNull(column)) {
+                continue;
+            }
+            var kind = header.kind(fields);
+            var columns = columnsByBoard.computeIfAbsent(board, b -> new LinkedHashMap<>());
+            if (nonNull(kind) || !columns.containsKey(column)) {
+                columns.put(column, kind);
+            }
+        }
+
+        var boardDAO = new BoardDAO(connection);
+        var columnDAO = new BoardColumnDAO(connection);
+        Map<String, Map<String, Long>> columnIds = new HashMap<>();
+        for (var entry : columnsByBoard.entrySet()) {
+            var boardId = boardDAO.findIdByName(entry.getKey());
+            List<BoardColumnEntity> columns = boardId.isPresent() ?
+                    columnDAO.findByBoardId(boardId.get()) :
+                    new BoardService(connection).insert(newBoard(entry.getKey(), entry.getValue())).getBoardColumns();
+            Map<String, Long> ids = new HashMap<>();
+            columns.forEach(c -> ids.putIfAbsent(c.getName(), c.getId()));
+            columnIds.put(entry.getKey(), ids);
+        }
+        return columnIds;
+    }
+
+    private BoardEntity newBoard(final String name, final Map<String, BoardColumnKindEnum> kindsByColumn) {
+        List<String> names = List.copyOf(kindsByColumn.keySet());
+        var kindsGiven = kindsByColumn.values().stream().anyMatch(Objects::nonNull);
+        Map<String, BoardColumnKindEnum> kinds = new LinkedHashMap<>();
+        for (var i = 0; i < names.size(); i++) {
+            var given = kindsByColumn.get(names.get(i));
+            BoardColumnKindEnum kind;
+            if (kindsGiven) {
+                kind = isNull(given) ? PENDING : given;
+            } else if (i == 0) {
+                kind = INITIAL;
+            } else if (i == names.size() - 1) {
+                kind = FINAL;
+            } else {
+                kind = PENDING;
+            }
+            kinds.put(names.get(i), kind);
+        }
+        if (!kinds.containsValue(CANCEL)) {
+            kinds.put(CANCEL_COLUMN_NAME, CANCEL);
+        }
+        if (!kinds.containsValue(INITIAL) || !kinds.containsValue(FINAL)) {
+            throw new IllegalArgumentException("O board %s precisa de uma coluna INITIAL e uma FINAL".formatted(name));
+        }
+
+        var board = new BoardEntity();
+        board.setName(name);
+        List<BoardColumnEntity> columns = new ArrayList<>();
+        kinds.entrySet().stream()
+                .sorted(Comparator.comparingInt(e -> KIND_ORDER.indexOf(e.getValue())))
+                .forEach(e -> {
+                    var column = new BoardColumnEntity();
+                    column.setName(e.getKey());
+                    column.setKind(e.getValue());
+                    column.setOrder(columns.size());
+                    columns.add(column);
+                });
+        board.setBoardColumns(columns);
+        return board;
+    }
+
+    private CardEntity toCard(final Header header, final List<String> fields, final Map<String, Map<String, Long>> columns) {
+        var board = header.board(fields);
+        var title = header.title(fields);
+        if (isNull(board) || isNull(title) || title.length() > MAX_TEXT_LENGTH) {
+            return null;
+        }
+        var description = header.description(fields);
+        if (nonNull(description) && description.length() > MAX_TEXT_LENGTH) {
+            return null;
+        }
+        var columnId = columns.getOrDefault(board, Map.of()).get(header.column(fields));
+        if (isNull(columnId)) {
+            return null;
+        }
+        var card = new CardEntity();
+        card.setTitle(title);
+        card.setDescription(description);
+        card.getBoardColumn().setId(columnId);
+        return card;
+    }
+
+    private ImportProgressDTO toProgress(final ImportCheckpointEntity checkpoint, final long totalBytes,
+                                        final long rowsThisRun, final long startedNanos) {
+        var seconds = startedNanos == 0 ? 0 : (System.nanoTime() - startedNanos) / 1_000_000_000.0;
+        return new ImportProgressDTO(checkpoint.getRowsRead(), checkpoint.getRowsImported(), checkpoint.getRowsRejected(),
+                checkpoint.getByteOffset(), totalBytes, seconds > 0 ? rowsThisRun / seconds : 0, checkpoint.isFinished());
+    }
+
+    private static ImportCheckpointEntity newCheckpoint(final Path file) {
+        var checkpoint = new ImportCheckpointEntity();
+        checkpoint.setSourceKey(sourceKey(file));
+        var name = file.toAbsolutePath().normalize().toString();
+        checkpoint.setSourceName(name.length() > 255 ? name.substring(name.length() - 255) : name);
+        return checkpoint;
+    }
+
+    // O checkpoint é identificado pelo caminho absoluto do arquivo
+    private static String sourceKey(final Path file) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256")
+                    .digest(file.toAbsolutePath().normalize().toString().getBytes(UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private record Header(int board, int column, int title, int description, int kind) {
+
+        static Header of(final List<String> names) {
+            Map<String, Integer> indexes = new HashMap<>();
+            for (var i = 0; i < names.size(); i++) {
+                // Remove o BOM que alguns editores gravam no início do arquivo
+                indexes.put(names.get(i).replace("\uFEFF", "").trim().toLowerCase(), i);
+            }
+            for (var required : List.of("board", "column", "title")) {
+                if (!indexes.containsKey(required)) {
+                    throw new IllegalArgumentException("O cabeçalho do CSV não tem a coluna " + required);
+                }
+            }
+            return new Header(indexes.get("board"), indexes.get("column"), indexes.get("title"),
+                    indexes.getOrDefault("description", -1), indexes.getOrDefault("column_kind", -1));
+        }
+
+        String board(final List<String> fields) {
+            return value(fields, board);
+        }
+
+        String column(final List<String> fields) {
+            return value(fields, column);
+        }
+
+        String title(final List<String> fields) {
+            return value(fields, title);
+        }
+
+        String description(final List<String> fields) {
+            var value = value(fields, description);
+            return isNull(value) ? "" : value;
+        }
+
+        // Tipo desconhecido é tratado como ausente
+        BoardColumnKindEnum kind(final List<String> fields) {
+            var value = value(fields, kind);
+            if (isNull(value)) {
+                return null;
+            }
+            var name = value.trim().toUpperCase();
+            return KIND_ORDER.stream().filter(k -> k.name().equals(name)).findFirst().orElse(null);
+        }
+
+        private static String value(final List<String> fields, final int index) {
+            if (index < 0 || index >= fields.size() || fields.get(index).isBlank()) {
+                return null;
+            }
+            return fields.get(index);
+        }
+    }
+
+}
@@ -0,0 +1,248 @@
+package bord.projeto.service;
+
+import bord.projeto.metrics.BoardMetrics;
+import bord.projeto.persistence.ConnectionConfig;
+import bord.projeto.persistence.dao.CardMovementDAO;
+import bord.projeto.persistence.entity.CardMovementEntity;
+import bord.projeto.persistence.entity.CardMovementEventEnum;
+import bord.projeto.persistence.shard.ShardConnections;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import lombok.NoArgsConstructor;
+
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static bord.projeto.config.ApplicationProperties.getBoolean;
+import static bord.projeto.config.ApplicationProperties.getInt;
+import static bord.projeto.config.ApplicationProperties.getLong;
+import static bord.projeto.persistence.ConnectionConfig.getBackgroundConnection;
+import static bord.projeto.persistence.entity.CardMovementEventEnum.BLOCK;
+import static bord.projeto.persistence.entity.CardMovementEventEnum.CANCEL;
+import static bord.projeto.persistence.entity.CardMovementEventEnum.CREATE;
+import static bord.projeto.persistence.entity.CardMovementEventEnum.MOVE;
+import static bord.projeto.persistence.entity.CardMovementEventEnum.UNBLOCK;
+import static java.util.Objects.isNull;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Grava o histórico de cards (CARD_MOVEMENTS) em segundo plano. Os serviços chamam os métodos
+ * deste recorder depois do commit: o evento só entra numa fila em memória e uma thread gravadora
+ * o insere mais tarde, em lotes, numa conexão própria. Assim a ação do usuário não paga um INSERT a mais.
+ * <p>
+ * Se a fila ({@code board.movements.queue-size}) estiver cheia, o evento é gravado na hora, na thread
+ * de quem chamou; no shutdown do pool a fila é esvaziada antes das conexões fecharem. Um evento só se
+ * perde se o processo morrer sem shutdown ou se o banco recusar o lote depois das novas tentativas.
+ * Os contadores ficam em {@code board.movements} (tag result: enqueued, written, synchronous, retried
+ * e failed) e o tamanho da fila em {@code board.movements.pending}.
+ * <p>
+ * Com vários shards, cada evento vai para o shard informado por quem chama: o da conexão que a ação
+ * usou ({@link ShardConnections#shardOf}), que é o shard do board.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class CardMovementRecorder {
+
+    private static final boolean ENABLED = getBoolean("board.movements.enabled", true);
+    private static final int BATCH_SIZE = getInt("board.movements.batch-size", 500);
+    private static final long FLUSH_INTERVAL_MS = getLong("board.movements.flush-interval-ms", 200);
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MS = getLong("board.movements.retry-backoff-ms", 100);
+
+    private static final BlockingQueue<PendingMovement> queue =
+            new ArrayBlockingQueue<>(getInt("board.movements.queue-size", 10_000));
+
+    private static final LongAdder enqueued = new LongAdder();
+    private static final LongAdder written = new LongAdder();
+    private static final LongAdder synchronousWrites = new LongAdder();
+    private static final LongAdder retried = new LongAdder();
+    private static final LongAdder failed = new LongAdder();
+
+    // Acorda a thread gravadora no drain() sem interrompê-la: uma interrupção no meio da espera por
+    // uma conexão do Hikari faria a aquisição falhar
+    private static final PendingMovement STOP = new PendingMovement(-1, null);
+
+    private static Thread writer;
+    private static volatile boolean stopping;
+
+    static {
+        ConnectionConfig.addShutdownListener(CardMovementRecorder::drain);
+        registerCounter("enqueued", enqueued);
+        registerCounter("written", written);
+        registerCounter("synchronous", synchronousWrites);
+        registerCounter("retried", retried);
+        registerCounter("failed", failed);
+        Gauge.builder("board.movements.pending", queue, BlockingQueue::size)
+                .register(BoardMetrics.registry());
+    }
+
+    public static void created(final int shard, final Long cardId, final long columnId) {
+        record(shard, cardId, CREATE, null, columnId);
+    }
+
+    public static void moved(final int shard, final Long cardId, final long fromColumnId, final long toColumnId) {
+        record(shard, cardId, MOVE, fromColumnId, toColumnId);
+    }
+
+    public static void canceled(final int shard, final Long cardId, final long fromColumnId, final long toColumnId) {
+        record(shard, cardId, CANCEL, fromColumnId, toColumnId);
+    }
+
+    public static void blocked(final int shard, final Long cardId, final long columnId) {
+        record(shard, cardId, BLOCK, columnId, columnId);
+    }
+
+    public static void unblocked(final int shard, final Long cardId, final long columnId) {
+        record(shard, cardId, UNBLOCK, columnId, columnId);
+    }
+
+    /**
+     * Espera a thread gravadora inserir tudo o que está na fila e a encerra; o próximo evento
+     * registrado inicia uma nova thread. Chamado no shutdown do pool.
+     */
+    public static synchronized void drain() {
+        if (isNull(writer)) {
+            return;
+        }
+        stopping = true;
+        // Com a fila cheia o offer falha, mas aí a thread não está parada no poll e vê stopping logo
+        queue.offer(STOP);
+        try {
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            writer = null;
+            stopping = false;
+        }
+        // Eventos que entraram na fila depois que a thread saiu
+        flushRemaining();
+    }
+
+    public static CardMovementRecorderStats getStats() {
+        return new CardMovementRecorderStats(enqueued.sum(), written.sum(), synchronousWrites.sum(),
+                retried.sum(), failed.sum(), (int) queue.stream().filter(p -> p != STOP).count());
+    }
+
+    private static void record(final int shard, final Long cardId, final CardMovementEventEnum event,
+                               final Long fromColumnId, final long toColumnId) {
+        if (!ENABLED) {
+            return;
+        }
+        var entity = new CardMovementEntity();
+        entity.setCardId(cardId);
+        entity.setEvent(event);
+        entity.setFromColumnId(fromColumnId);
+        entity.setToColumnId(toColumnId);
+        // A hora é a da ação, não a da gravação
+        entity.setMovedAt(OffsetDateTime.now());
+        var pending = new PendingMovement(shard, entity);
+        if (!stopping && queue.offer(pending)) {
+            enqueued.increment();
+            ensureWriter();
+            return;
+        }
+        synchronousWrites.increment();
+        write(List.of(pending));
+    }
+
+    private static synchronized void ensureWriter() {
+        if (isNull(writer) && !stopping) {
+            writer = Thread.ofPlatform()
+                    .name("card-movements-writer")
+                    .daemon(true)
+                    .start(CardMovementRecorder::writeLoop);
+        }
+    }
+
+    private static void writeLoop() {
+        List<PendingMovement> batch = new ArrayList<>(BATCH_SIZE);
+        while (!stopping || !queue.isEmpty()) {
+            try {
+                var first = queue.poll(FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (isNull(first) || first == STOP) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException ex) {
+                // Ninguém interrompe esta thread; o que ficar na fila é gravado pelo drain()
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, BATCH_SIZE - 1);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private static void flushRemaining() {
+        List<PendingMovement> batch = new ArrayList<>(BATCH_SIZE);
+        while (queue.drainTo(batch, BATCH_SIZE) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private static void write(final List<PendingMovement> batch) {
+        Map<Integer, List<CardMovementEntity>> byShard = new TreeMap<>();
+        batch.stream()
+                .filter(p -> p != STOP)
+                .forEach(p -> byShard.computeIfAbsent(p.shard(), s -> new ArrayList<>()).add(p.movement()));
+        byShard.forEach(CardMovementRecorder::write);
+    }
+
+    private static void write(final int shard, final List<CardMovementEntity> batch) {
+        for (var attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try (var connection = getBackgroundConnection(shard)) {
+                try {
+                    new CardMovementDAO(connection).insertAll(batch);
+                    connection.commit();
+                    written.add(batch.size());
+                    return;
+                } catch (SQLException ex) {
+                    connection.rollback();
+                    throw ex;
+                }
+            } catch (SQLException ex) {
+                if (attempt == MAX_ATTEMPTS) {
+                    // Fica em board.movements{result=failed}; o console é do menu
+                    failed.add(batch.size());
+                    return;
+                }
+                retried.increment();
+                if (!backOff(attempt)) {
+                    failed.add(batch.size());
+                    return;
+                }
+            }
+        }
+    }
+
+    // Espera um pouco mais a cada tentativa, para um banco sobrecarregado ou reiniciando se recuperar
+    private static boolean backOff(final int attempt) {
+        try {
+            Thread.sleep(RETRY_BACKOFF_MS * attempt);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void registerCounter(final String result, final LongAdder adder) {
+        FunctionCounter.builder("board.movements", adder, LongAdder::sum)
+                .tag("result", result)
+                .register(BoardMetrics.registry());
+    }
+
+    private record PendingMovement(int shard, CardMovementEntity movement) {
+    }
+
+}
@@ -0,0 +1,5 @@
+package bord.projeto.service;
+
+public record CardMovementRecorderStats(long enqueued, long written, long synchronousWrites, long retried, long failed,
+                                        int pending) {
+}
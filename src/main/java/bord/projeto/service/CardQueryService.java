@@ -2,10 +2,13 @@ package bord.projeto.service;
 
 import bord.projeto.dto.CardDetailsDTO;
 import bord.projeto.persistence.dao.CardDAO;
+import bord.projeto.persistence.dao.CardMovementDAO;
+import bord.projeto.persistence.entity.CardMovementEntity;
 import lombok.AllArgsConstructor;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Optional;
 
 @AllArgsConstructor
@@ -23,4 +26,13 @@ public class CardQueryService {
         // O DAO vai usar esses parâmetros para filtrar corretamente o card no banco de dados
         return dao.findById(boardId, cardId);  // Passa boardId e cardId para o DAO
     }
+
+    /**
+     * Histórico do card em ordem cronológica. A gravação é assíncrona (ver {@link CardMovementRecorder}):
+     * a última ação pode levar alguns milissegundos para aparecer.
+     */
+    public List<CardMovementEntity> findMovements(final Long cardId) throws SQLException {
+        return new CardMovementDAO(connection).findByCardId(cardId);
+    }
+
 }
@@ -0,0 +1,200 @@
+package bord.projeto.service;
+
+import bord.projeto.dto.CardSearchDocumentDTO;
+import bord.projeto.dto.CardSearchHitDTO;
+import bord.projeto.dto.IdRangeDTO;
+import bord.projeto.metrics.BoardMetrics;
+import bord.projeto.persistence.dao.CardDAO;
+import bord.projeto.persistence.entity.CardEntity;
+import bord.projeto.persistence.shard.ShardScatter;
+import bord.projeto.search.CardSearchIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongPredicate;
+
+import static bord.projeto.config.ApplicationProperties.getBoolean;
+import static bord.projeto.config.ApplicationProperties.getInt;
+import static bord.projeto.persistence.ConnectionConfig.getShardConnection;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Índice de busca de cards compartilhado pelo processo. Os serviços o atualizam depois do commit
+ * (criação, importação, exclusão de board); na inicialização ele é reconstruído a partir de CARDS, em todos os shards,
+ * em faixas de {@code board.search.rebuild-chunk} ids, lidas e tokenizadas em paralelo por
+ * {@code board.search.rebuild-threads} threads, cada uma com sua conexão do pool. Cards indexados ou boards
+ * excluídos durante a reconstrução não são sobrescritos nem devolvidos ao índice por ela.
+ * <p>
+ * O resultado de cada reconstrução vai para o log e para {@code board.search.rebuilds} (tag result:
+ * success ou failure).
+ */
+@Slf4j
+@NoArgsConstructor(access = PRIVATE)
+public final class CardSearchIndexer {
+
+    private static final boolean ENABLED = getBoolean("board.search.enabled", true);
+
+    private static final CardSearchIndex index = new CardSearchIndex();
+
+    private static final LongAdder rebuilds = new LongAdder();
+    private static final LongAdder failedRebuilds = new LongAdder();
+
+    private static volatile boolean ready;
+    private static volatile boolean failed;
+
+    static {
+        FunctionCounter.builder("board.search.rebuilds", rebuilds, LongAdder::sum)
+                .tag("result", "success")
+                .register(BoardMetrics.registry());
+        FunctionCounter.builder("board.search.rebuilds", failedRebuilds, LongAdder::sum)
+                .tag("result", "failure")
+                .register(BoardMetrics.registry());
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * @return false enquanto a reconstrução inicial não terminou; buscas nesse período podem ficar incompletas
+     */
+    public static boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return true se a última reconstrução falhou; o índice só tem os cards indexados depois dela
+     */
+    public static boolean isFailed() {
+        return failed;
+    }
+
+    public static int size() {
+        return index.size();
+    }
+
+    // Também serve para edições: indexar de novo substitui o documento anterior do card
+    public static void indexed(final CardEntity card) {
+        indexedAll(List.of(card));
+    }
+
+    public static void indexedAll(final Collection<CardEntity> cards) {
+        if (!ENABLED || cards.isEmpty()) {
+            return;
+        }
+        index.putAll(cards.stream()
+                .map(c -> new CardSearchDocumentDTO(c.getId(), c.getBoardColumn().getId(), c.getTitle(), c.getDescription()))
+                .toList());
+    }
+
+    public static void removedColumns(final Set<Long> columnIds) {
+        if (ENABLED && !columnIds.isEmpty()) {
+            index.removeByColumn(columnIds::contains);
+        }
+    }
+
+    public static List<CardSearchHitDTO> search(final String query, final LongPredicate columnFilter, final int limit) {
+        return index.search(query, columnFilter, limit);
+    }
+
+    /**
+     * Reconstrói o índice numa thread em segundo plano, para não atrasar a abertura do menu e da API.
+     */
+    public static void rebuildAsync() {
+        if (!ENABLED) {
+            return;
+        }
+        Thread.ofPlatform().name("card-search-rebuild").daemon(true).start(() -> {
+            try {
+                var started = System.nanoTime();
+                var cards = rebuild();
+                log.info("Índice de busca reconstruído: {} cards em {} ms", cards, (System.nanoTime() - started) / 1_000_000);
+            } catch (SQLException | RuntimeException ex) {
+                log.error("Não foi possível reconstruir o índice de busca", ex);
+            }
+        });
+    }
+
+    /**
+     * @return quantidade de cards indexados
+     */
+    public static int rebuild() throws SQLException {
+        ready = false;
+        failed = false;
+        index.startRebuild();
+        try {
+            var total = indexAll();
+            ready = true;
+            rebuilds.increment();
+            return total;
+        } catch (SQLException | RuntimeException ex) {
+            failed = true;
+            failedRebuilds.increment();
+            throw ex;
+        } finally {
+            index.finishRebuild();
+        }
+    }
+
+    private static int indexAll() throws SQLException {
+        var chunk = getInt("board.search.rebuild-chunk", 20_000);
+        var threads = getInt("board.search.rebuild-threads",
+                Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(),
+                        getInt("board.datasource.pool.max-size", 10) / 2)));
+
+        // Cada shard tem a sua faixa de ids; as faixas de todos entram na mesma fila de threads
+        List<Optional<IdRangeDTO>> ranges = ShardScatter.gather((shard, connection) -> new CardDAO(connection).findIdRange());
+        List<Future<Integer>> chunks = new ArrayList<>();
+        try (var executor = Executors.newFixedThreadPool(threads)) {
+            for (var shard = 0; shard < ranges.size(); shard++) {
+                if (ranges.get(shard).isEmpty()) {
+                    continue;
+                }
+                var min = ranges.get(shard).get().min();
+                var max = ranges.get(shard).get().max();
+                for (var from = min; from <= max; from += chunk) {
+                    var to = Math.min(max, from + chunk - 1);
+                    var fromId = from;
+                    var currentShard = shard;
+                    chunks.add(executor.submit(() -> indexRange(currentShard, fromId, to)));
+                }
+            }
+        }
+        try {
+            var total = 0;
+            for (var future : chunks) {
+                total += future.get();
+            }
+            return total;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reconstrução do índice de busca interrompida", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private static int indexRange(final int shard, final long fromId, final long toId) throws SQLException {
+        List<CardSearchDocumentDTO> documents;
+        try (var connection = getShardConnection(shard)) {
+            documents = new CardDAO(connection).findSearchDocuments(fromId, toId);
+        }
+        index.putAllFromRebuild(documents);
+        return documents.size();
+    }
+
+}
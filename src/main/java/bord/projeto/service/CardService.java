@@ -1,21 +1,32 @@
 package bord.projeto.service;
 
-import bord.projeto.dto.BoardColumnInfoDTO;
+import bord.projeto.dto.BoardWorkflow;
 import bord.projeto.dto.CardDetailsDTO;
+import bord.projeto.dto.CardMoveOutcome;
 import bord.projeto.exception.CardBlockedException;
+import bord.projeto.exception.CardConflictException;
 import bord.projeto.exception.CardFinishedException;
+import bord.projeto.exception.CardWorkflowException;
 import bord.projeto.exception.EntityNotFoundException;
 import bord.projeto.persistence.dao.BlockDAO;
 import bord.projeto.persistence.dao.CardDAO;
 import bord.projeto.persistence.entity.CardEntity;
+import bord.projeto.persistence.shard.ShardConnections;
 import lombok.AllArgsConstructor;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 
-import static bord.projeto.persistence.entity.BoardColumnKindEnum.CANCEL;
-import static bord.projeto.persistence.entity.BoardColumnKindEnum.FINAL;
+import static bord.projeto.config.ApplicationProperties.getInt;
+import static bord.projeto.dto.BoardWorkflow.NONE;
+import static bord.projeto.dto.CardMoveOutcome.BLOCKED;
+import static bord.projeto.dto.CardMoveOutcome.CANCELED;
+import static bord.projeto.dto.CardMoveOutcome.CONFLICT;
+import static bord.projeto.dto.CardMoveOutcome.FINISHED;
+import static bord.projeto.dto.CardMoveOutcome.MOVED;
+import static bord.projeto.dto.CardMoveOutcome.NOT_FOUND;
 
 @AllArgsConstructor
 public class CardService {
@@ -30,6 +41,8 @@ public class CardService {
             System.out.println("O card de foi criado com sucesso!");
 
             connection.commit();
+            CardMovementRecorder.created(shard(), entity.getId(), entity.getBoardColumn().getId());
+            CardSearchIndexer.indexed(entity);
             return entity;
         } catch (SQLException ex){
             connection.rollback();
@@ -37,41 +50,114 @@ public class CardService {
         }
     }
 
-    public void moveToNextColumn(final Long boardId, final Long cardId, final List<BoardColumnInfoDTO> boardColumnsInfo) throws SQLException {
-        try {
-            var dao = new CardDAO(connection);
-
-            // Busca o card garantindo que pertence ao board correto
-            var dto = dao.findById(boardId, cardId)
-                    .orElseThrow(() -> new EntityNotFoundException("O card de id %s não foi encontrado no board %s".formatted(cardId, boardId)));
-
-            // Verifica se o card está bloqueado
-            validateCardNotBlocked(dto, cardId);
+    /**
+     * Cria os cards em lotes de {@code board.card.batch-size} (padrão 1000), com um commit por lote.
+     * Se um lote falhar, só ele é desfeito; os lotes anteriores já estão confirmados.
+     */
+    public List<CardEntity> createAll(final Collection<CardEntity> entities) throws SQLException {
+        return createAll(entities, getInt("board.card.batch-size", 1_000));
+    }
 
-            // Encontra a coluna atual do card
-            var currentColumn = findCurrentColumn(boardColumnsInfo, dto.columnId());
+    public List<CardEntity> createAll(final Collection<CardEntity> entities, final int chunkSize) throws SQLException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("O tamanho do lote deve ser maior que zero");
+        }
+        var dao = new CardDAO(connection);
+        var cards = List.copyOf(entities);
+        var shard = shard();
+        for (var from = 0; from < cards.size(); from += chunkSize) {
+            var chunk = cards.subList(from, Math.min(from + chunkSize, cards.size()));
+            try {
+                dao.insertAll(chunk);
+                connection.commit();
+                chunk.forEach(c -> CardMovementRecorder.created(shard, c.getId(), c.getBoardColumn().getId()));
+                CardSearchIndexer.indexedAll(chunk);
+            } catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            }
+        }
 
-            // Verifica se o card já está na última coluna
-            validateNotFinalColumn(currentColumn);
+        System.out.printf("Foram criados %s cards com sucesso!\n", cards.size());
 
-            // Determina a próxima coluna do fluxo
-            var nextColumn = findNextColumn(boardColumnsInfo, currentColumn);
+        return cards;
+    }
 
-            // Move o card para a próxima coluna
-            dao.moveToColumn(nextColumn.id(), cardId);
+    /**
+     * Move o card para a próxima coluna num único UPDATE, sem lê-lo antes; o card só é lido quando o
+     * UPDATE não o move, para informar o motivo.
+     */
+    public void moveToNextColumn(final Long boardId, final Long cardId, final BoardWorkflow workflow) throws SQLException {
+        try {
+            var dao = new CardDAO(connection);
+            var fromColumnId = dao.moveToNextColumn(boardId, cardId);
+            if (fromColumnId.isEmpty()) {
+                connection.rollback();
+                throw moveRejected(dao, boardId, cardId, workflow);
+            }
+            var nextColumnId = workflow.columnIdAt(findNextColumn(workflow, findCurrentColumn(workflow, fromColumnId.get())));
 
             System.out.println("O card de ID " + cardId + " foi movido com sucesso!");
 
             connection.commit();
+            CardMovementRecorder.moved(shard(), cardId, fromColumnId.get(), nextColumnId);
 
-        } catch (SQLException ex) {
-            if (connection != null) {
-                connection.rollback();
+        } catch (SQLException | RuntimeException ex) {
+            connection.rollback();
+            throw ex;
+        }
+    }
+
+    /**
+     * Move o card para a próxima coluna a partir da coluna e da versão que o chamador já leu
+     * (por exemplo, de um {@link CardDetailsDTO}). As regras do fluxo são avaliadas em memória e o
+     * movimento é um único UPDATE condicional; o card só é relido quando o UPDATE não altera nenhuma
+     * linha, para informar o motivo.
+     */
+    public CardMoveOutcome tryMoveToNextColumn(final Long boardId, final Long cardId, final Long expectedColumnId,
+                                               final long expectedVersion, final BoardWorkflow workflow) throws SQLException {
+        var currentIndex = workflow.indexOf(expectedColumnId);
+        if (currentIndex == NONE) {
+            return NOT_FOUND;
+        }
+        if (workflow.isFinal(currentIndex)) {
+            return FINISHED;
+        }
+        var nextIndex = workflow.nextIndex(currentIndex);
+        if (nextIndex == NONE) {
+            return CANCELED;
+        }
+        try {
+            var dao = new CardDAO(connection);
+            var nextColumnId = workflow.columnIdAt(nextIndex);
+            if (dao.moveToColumnIfCurrent(cardId, expectedColumnId, nextColumnId, expectedVersion)) {
+                connection.commit();
+                CardMovementRecorder.moved(shard(), cardId, expectedColumnId, nextColumnId);
+                return MOVED;
             }
+            connection.rollback();
+            return dao.findById(boardId, cardId)
+                    .map(dto -> dto.block() ? BLOCKED : CONFLICT)
+                    .orElse(NOT_FOUND);
+        } catch (SQLException ex) {
+            connection.rollback();
             throw ex;
         }
     }
 
+    // Lê o card que o UPDATE não moveu para explicar por quê; as validações lançam a exceção do motivo
+    private RuntimeException moveRejected(final CardDAO dao, final Long boardId, final Long cardId,
+                                          final BoardWorkflow workflow) throws SQLException {
+        var dto = dao.findById(boardId, cardId)
+                .orElseThrow(() -> new EntityNotFoundException("O card de id %s não foi encontrado no board %s".formatted(cardId, boardId)));
+        validateCardNotBlocked(dto, cardId);
+        var currentIndex = findCurrentColumn(workflow, dto.columnId());
+        validateNotFinalColumn(workflow, currentIndex);
+        findNextColumn(workflow, currentIndex);
+        return new CardConflictException(
+                "O card %s foi alterado por outro usuário, consulte-o e tente novamente".formatted(cardId));
+    }
+
     // Método para verificar se o card está bloqueado
     private void validateCardNotBlocked(CardDetailsDTO dto, Long cardId) {
         if (dto.block()) {
@@ -79,70 +165,54 @@ public class CardService {
         }
     }
 
-    // Método para encontrar a coluna atual do card
-    private BoardColumnInfoDTO findCurrentColumn(List<BoardColumnInfoDTO> boardColumnsInfo, Long columnId) {
-        return boardColumnsInfo.stream()
-                .filter(bc -> bc.id().equals(columnId))
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("O card informado pertence a outro board"));
+    // Método para encontrar o índice da coluna atual do card
+    private int findCurrentColumn(BoardWorkflow workflow, Long columnId) {
+        var index = workflow.indexOf(columnId);
+        if (index == NONE) {
+            throw new CardWorkflowException("O card informado pertence a outro board");
+        }
+        return index;
     }
 
     // Método para validar se o card já foi finalizado
-    private void validateNotFinalColumn(BoardColumnInfoDTO currentColumn) {
-        if (currentColumn.kind().equals(FINAL)) {
+    private void validateNotFinalColumn(BoardWorkflow workflow, int currentIndex) {
+        if (workflow.isFinal(currentIndex)) {
             throw new CardFinishedException("O card já foi finalizado.");
         }
     }
 
-    // Método para encontrar a próxima coluna do fluxo
-    private BoardColumnInfoDTO findNextColumn(List<BoardColumnInfoDTO> boardColumnsInfo, BoardColumnInfoDTO currentColumn) {
-        return boardColumnsInfo.stream()
-                .filter(bc -> bc.order() == currentColumn.order() + 1)
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("O card está cancelado."));
+    // Método para encontrar o índice da próxima coluna do fluxo
+    private int findNextColumn(BoardWorkflow workflow, int currentIndex) {
+        var index = workflow.nextIndex(currentIndex);
+        if (index == NONE) {
+            throw new CardWorkflowException("O card está cancelado.");
+        }
+        return index;
     }
 
 
 
-    public void cancel(final Long boardId, final Long cardId, final Long cancelColumnId,
-                       final List<BoardColumnInfoDTO> boardColumnsInfo) throws SQLException {
+    public void cancel(final Long boardId, final Long cardId, final BoardWorkflow workflow) throws SQLException {
+        var cancelIndex = workflow.cancelIndex();
+        if (cancelIndex == NONE) {
+            throw new CardWorkflowException("O board não tem coluna de cancelamento");
+        }
         try {
-            // Cria uma instância do DAO para interagir com o banco de dados
-            CardDAO dao = new CardDAO(connection);
-
-            // Busca o card pelo ID no banco de dados
-            CardDetailsDTO cardDTO = dao.findById(boardId, cardId)
-                    .orElseThrow(() -> new EntityNotFoundException("O card de id %s não foi encontrado".formatted(cardId)));
-
-            // Verifica se o card está bloqueado
-            if (cardDTO.block()) {
-                throw new CardBlockedException("O card %s está bloqueado, é necesário desbloquea-lo para mover".formatted(cardId));
-            }
-
-            // Encontra a coluna atual do card
-            BoardColumnInfoDTO currentColumn = boardColumnsInfo.stream()
-                    .filter(bc -> bc.id().equals(cardDTO.columnId()))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalStateException("O card informado pertence a outro board"));
-
-            // Verifica se o card já foi finalizado
-            if (currentColumn.kind().equals(FINAL)) {
-                throw new CardFinishedException("O card já foi finalizado");
-            }
-
-            // Verifica se o card já está cancelado (se não existe coluna seguinte)
-            if (boardColumnsInfo.stream().noneMatch(bc -> bc.order() == currentColumn.order() + 1)) {
-                throw new IllegalStateException("O card está cancelado");
+            // Move o card para a coluna de cancelamento num único UPDATE, como em moveToNextColumn
+            var dao = new CardDAO(connection);
+            var fromColumnId = dao.moveToCancelColumn(boardId, cardId);
+            if (fromColumnId.isEmpty()) {
+                connection.rollback();
+                throw moveRejected(dao, boardId, cardId, workflow);
             }
-
-            // Move o card para a coluna de cancelamento
-            dao.moveToColumn(cancelColumnId, cardId);
+            var cancelColumnId = workflow.columnIdAt(cancelIndex);
 
             System.out.println("O card de ID " + cardId + " foi cancelado com sucesso!");
 
             // Confirma a transação
             connection.commit();
-        } catch (SQLException ex) {
+            CardMovementRecorder.canceled(shard(), cardId, fromColumnId.get(), cancelColumnId);
+        } catch (SQLException | RuntimeException ex) {
             // Em caso de erro, desfaz a transação
             connection.rollback();
             throw ex;
@@ -151,7 +221,7 @@ public class CardService {
 
 
 
-    public void block(final Long boardId, final Long cardId, final String reason, final List<BoardColumnInfoDTO> boardColumnsInfo) throws SQLException {
+    public void block(final Long boardId, final Long cardId, final String reason, final BoardWorkflow workflow) throws SQLException {
         try{
             var dao = new CardDAO(connection);
             var optional = dao.findById(boardId, cardId);
@@ -162,50 +232,59 @@ public class CardService {
                 var message = "O card %s já está bloqueado".formatted(boardId, cardId);
                 throw new CardBlockedException(message);
             }
-            var currentColumn = boardColumnsInfo.stream()
-                    .filter(bc -> bc.id().equals(dto.columnId()))
-                    .findFirst()
-                    .orElseThrow();
-            if (currentColumn.kind().equals(FINAL) || currentColumn.kind().equals(CANCEL)){
+            var currentIndex = findCurrentColumn(workflow, dto.columnId());
+            if (workflow.isFinal(currentIndex) || workflow.isCancel(currentIndex)){
                 var message = "O card está em uma coluna do tipo %s e não pode ser bloqueado"
-                        .formatted(currentColumn.kind());
-                throw new IllegalStateException(message);
+                        .formatted(workflow.kindAt(currentIndex));
+                throw new CardWorkflowException(message);
             }
             var blockDAO = new BlockDAO(connection);
-            blockDAO.block(reason, cardId);
+            if (!blockDAO.block(reason, cardId)) {
+                // Outro usuário bloqueou o card entre a leitura e o bloqueio
+                connection.rollback();
+                throw new CardBlockedException("O card %s já está bloqueado".formatted(cardId));
+            }
 
             System.out.println("O card de ID " + cardId + " foi bloqueado com sucesso!");
 
             connection.commit();
+            CardMovementRecorder.blocked(shard(), cardId, dto.columnId());
         }catch (SQLException ex) {
             connection.rollback();
             throw ex;
         }
     }
 
-     /*
-
-    public void unblock(final Long id, final String reason) throws SQLException {
+    public void unblock(final Long boardId, final Long cardId, final String reason) throws SQLException {
         try{
             var dao = new CardDAO(connection);
-            var optional = dao.findById(id);
+            var optional = dao.findById(boardId, cardId);
             var dto = optional.orElseThrow(
-                    () -> new EntityNotFoundException("O card de id %s não foi encontrado".formatted(id))
+                    () -> new EntityNotFoundException("O card de id %s não foi encontrado".formatted(cardId))
             );
             if (!dto.block()){
-                var message = "O card %s não está bloqueado".formatted(id);
-                throw new CardBlockException(message);
+                var message = "O card %s não está bloqueado".formatted(cardId);
+                throw new CardBlockedException(message);
             }
             var blockDAO = new BlockDAO(connection);
-            blockDAO.unblock(reason, id);
+            if (!blockDAO.unblock(reason, cardId)) {
+                connection.rollback();
+                throw new CardBlockedException("O card %s não está bloqueado".formatted(cardId));
+            }
 
             System.out.println("O card de ID " + cardId + " foi desbloqueado com sucesso!");
 
             connection.commit();
+            CardMovementRecorder.unblocked(shard(), cardId, dto.columnId());
         }catch (SQLException ex) {
             connection.rollback();
             throw ex;
         }
-    }*/
+    }
+
+    // O histórico do card vai para o shard do board, que é o da conexão deste serviço
+    private int shard() throws SQLException {
+        return ShardConnections.shardOf(connection);
+    }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,90 @@
+package bord.projeto.service;
+
+import bord.projeto.dto.ShardMoveResultDTO;
+import bord.projeto.exception.EntityNotFoundException;
+import bord.projeto.persistence.dao.BoardDAO;
+import bord.projeto.persistence.dao.ShardMaintenanceDAO;
+import lombok.NoArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static bord.projeto.persistence.ConnectionConfig.getShardConnection;
+import static bord.projeto.persistence.ConnectionConfig.getShardRouter;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Move um board, com colunas, cards, bloqueios e histórico, para outro shard sem tirar a aplicação do ar.
+ * <ol>
+ *     <li>As linhas do board são lidas na origem com FOR UPDATE e copiadas para o destino com os mesmos ids;
+ *     leituras continuam na origem, gravações no board esperam pelos locks.</li>
+ *     <li>Com o destino confirmado, o diretório passa a apontar para ele.</li>
+ *     <li>O board é apagado da origem na mesma transação que segura os locks. Uma gravação que estava
+ *     esperando falha (o card não existe mais na origem) e pode ser repetida, já no destino.</li>
+ * </ol>
+ * Se algo falhar antes do passo 2, a cópia no destino é desfeita e o board continua onde estava.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class ShardRebalancer {
+
+    public static ShardMoveResultDTO moveBoard(final Long boardId, final int targetShard) throws SQLException {
+        var router = getShardRouter();
+        if (targetShard < 0 || targetShard >= router.shardCount()) {
+            throw new IllegalArgumentException("Shard inexistente: " + targetShard);
+        }
+        var sourceShard = router.shardOf(boardId);
+        if (sourceShard == targetShard) {
+            throw new IllegalStateException("O board %s já está no shard %s".formatted(boardId, targetShard));
+        }
+        // Eventos de histórico ainda na fila seriam gravados na origem depois da cópia
+        CardMovementRecorder.drain();
+
+        var started = System.nanoTime();
+        try (var source = getShardConnection(sourceShard);
+             var target = getShardConnection(targetShard)) {
+            long rows;
+            try {
+                rows = new ShardMaintenanceDAO(source).copyBoardTo(target, boardId);
+                if (rows == 0) {
+                    throw new EntityNotFoundException("O board de id %s não foi encontrado".formatted(boardId));
+                }
+                target.commit();
+            } catch (SQLException | RuntimeException ex) {
+                target.rollback();
+                source.rollback();
+                throw ex;
+            }
+
+            try {
+                router.moved(boardId, targetShard);
+            } catch (SQLException ex) {
+                source.rollback();
+                removeBoard(target, boardId);
+                throw ex;
+            }
+
+            // A partir daqui o board é lido e gravado no destino
+            try {
+                removeBoard(source, boardId);
+            } catch (SQLException ex) {
+                throw new IllegalStateException("O board %s foi movido para o shard %s, mas a cópia antiga no shard %s não foi removida: %s"
+                        .formatted(boardId, targetShard, sourceShard, ex.getMessage()), ex);
+            }
+            BoardTopologyCache.invalidate(boardId);
+            return new ShardMoveResultDTO(boardId, sourceShard, targetShard, rows,
+                    (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    private static void removeBoard(final Connection connection, final Long boardId) throws SQLException {
+        try {
+            new ShardMaintenanceDAO(connection).deleteMovements(boardId);
+            new BoardDAO(connection).delete(boardId);
+            connection.commit();
+        } catch (SQLException ex) {
+            connection.rollback();
+            throw ex;
+        }
+    }
+
+}
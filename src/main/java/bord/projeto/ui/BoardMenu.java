@@ -1,35 +1,50 @@
 package bord.projeto.ui;
 
-import bord.projeto.dto.BoardColumnInfoDTO;
+import bord.projeto.dto.BoardFlowReportDTO;
+import bord.projeto.dto.BoardTopology;
+import bord.projeto.dto.BoardWorkflow;
+import bord.projeto.dto.CardDetailsDTO;
+import bord.projeto.dto.CardMoveOutcome;
+import bord.projeto.dto.CardPageDTO;
 import bord.projeto.exception.CardBlockedException;
+import bord.projeto.exception.CardConflictException;
 import bord.projeto.exception.CardFinishedException;
+import bord.projeto.exception.CardWorkflowException;
 import bord.projeto.exception.EntityNotFoundException;
-import bord.projeto.persistence.entity.BoardColumnEntity;
-import bord.projeto.persistence.entity.BoardEntity;
 import bord.projeto.persistence.entity.CardEntity;
+import bord.projeto.persistence.trace.SqlTrace;
+import bord.projeto.service.BoardAnalyticsService;
 import bord.projeto.service.BoardColumnQueryService;
+import bord.projeto.service.BoardColumnService;
+import bord.projeto.service.BoardExportService;
 import bord.projeto.service.BoardQueryService;
+import bord.projeto.service.CardBulkService;
 import bord.projeto.service.CardQueryService;
+import bord.projeto.service.CardSearchIndexer;
 import bord.projeto.service.CardService;
 import lombok.AllArgsConstructor;
 
+import java.io.UncheckedIOException;
 import java.sql.SQLException;
+import java.util.Optional;
 import java.util.Scanner;
 
+import static bord.projeto.config.ApplicationProperties.getInt;
 import static bord.projeto.persistence.ConnectionConfig.getConnection;
+import static bord.projeto.persistence.ConnectionConfig.getReadConnection;
 
 @AllArgsConstructor
 public class BoardMenu {
 
     private final Scanner scanner = new Scanner(System.in).useDelimiter("\n");
 
-    private final BoardEntity entity;
+    private final BoardTopology topology;
 
     public void execute() {
         try {
-            System.out.printf("Bem vindo ao board %s, selecione a operação desejada\n", entity.getId());
+            System.out.printf("Bem vindo ao board %s, selecione a operação desejada\n", topology.id());
             var option = -1;
-            while (option != 9) {
+            while (option != 15) {
                 System.out.println("1 - Criar");
                 System.out.println("2 - Mover");
                 System.out.println("3 - Bloquear");
@@ -38,8 +53,14 @@ public class BoardMenu {
                 System.out.println("6 - Ver board");
                 System.out.println("7 - Ver coluna com cards");
                 System.out.println("8 - Ver card");
-                System.out.println("9 - Voltar para o menu anterior");
-                System.out.println("10 - Sair");
+                System.out.println("9 - Verificar contadores de cards");
+                System.out.println("10 - Mover ou cancelar todos os cards de uma coluna");
+                System.out.println("11 - Ver statements SQL por operação");
+                System.out.println("12 - Ver relatório de fluxo (lead time, cycle time, bloqueios e vazão)");
+                System.out.println("13 - Exportar o board (CSV ou JSON Lines)");
+                System.out.println("14 - Buscar card");
+                System.out.println("15 - Voltar para o menu anterior");
+                System.out.println("16 - Sair");
                 option = scanner.nextInt();
                 switch (option) {
                     case 1 -> createCard();
@@ -50,8 +71,14 @@ public class BoardMenu {
                     case 6 -> showBoard();
                     case 7 -> showColumn();
                     case 8 -> showCard();
-                    case 9 -> System.out.println("Voltando para o menu anterior");
-                    case 10 -> System.exit(0);
+                    case 9 -> verifyCardsAmount();
+                    case 10 -> moveColumnCards();
+                    case 11 -> showSqlTrace();
+                    case 12 -> showFlowReport();
+                    case 13 -> exportBoard();
+                    case 14 -> searchCard();
+                    case 15 -> System.out.println("Voltando para o menu anterior");
+                    case 16 -> System.exit(0);
                     default -> System.out.println("Opção inválida, informe uma opção do menu");
                 }
             }
@@ -67,8 +94,8 @@ public class BoardMenu {
         card.setTitle(scanner.next());
         System.out.println("Informe a descrição do card");
         card.setDescription(scanner.next());
-        card.setBoardColumn(entity.getInitialColumn());
-        try(var connection = getConnection()){
+        card.setBoardColumn(topology.initialColumn().toEntity());
+        try (var connection = getConnection(topology.id())) {
             new CardService(connection).create(card);
         }
     }
@@ -79,18 +106,30 @@ public class BoardMenu {
         System.out.println("Informe o ID do card que deseja mover para a próxima coluna:");
         var cardId = scanner.nextLong();  // Solicita o ID do card
 
-        // Mapeia as colunas do board para a DTO necessária
-        var boardColumnsInfo = entity.getBoardColumns().stream()
-                .map(bc -> new BoardColumnInfoDTO(bc.getId(), bc.getOrder(), bc.getKind()))
-                .toList();
-
-        // Tenta mover o card para a próxima coluna
-        try (var connection = getConnection()) {
-            var cardService = new CardService(connection);
-            cardService.moveToNextColumn(boardId, cardId, boardColumnsInfo);
-            System.out.println("Card movido com sucesso!");
-        } catch (CardBlockedException | CardFinishedException | IllegalStateException ex) {
-            System.out.println("Erro ao mover o card: " + ex.getMessage());
+        // Mostra o card e o move a partir da coluna e da versão mostradas: se outro usuário o mover
+        // antes, o UPDATE condicional não o move de novo e o conflito é informado
+        Optional<CardDetailsDTO> card;
+        try (var connection = getConnection(topology.id())) {
+            card = new CardQueryService(connection).findById(boardId, cardId);
+        }
+        if (card.isEmpty()) {
+            System.out.printf("Não foi encontrado um card com id %s\n", cardId);
+            return;
+        }
+        var dto = card.get();
+        System.out.printf("Card %s - %s, na coluna %s\n", dto.id(), dto.title(), dto.columnName());
+        CardMoveOutcome outcome;
+        try (var connection = getConnection(topology.id())) {
+            outcome = new CardService(connection)
+                    .tryMoveToNextColumn(boardId, cardId, dto.columnId(), dto.version(), topology.workflow());
+        }
+        switch (outcome) {
+            case MOVED -> System.out.println("Card movido com sucesso!");
+            case CONFLICT -> System.out.println("O card foi alterado por outro usuário, consulte-o e tente novamente");
+            case BLOCKED -> System.out.println("O card está bloqueado. É necessário desbloqueá-lo para mover.");
+            case FINISHED -> System.out.println("O card já foi finalizado.");
+            case CANCELED -> System.out.println("O card está cancelado.");
+            case NOT_FOUND -> System.out.printf("Não foi encontrado um card com id %s\n", cardId);
         }
     }
 
@@ -107,15 +146,10 @@ public class BoardMenu {
         System.out.println("Informe o motivo do bloqueio do card");
         var reason = scanner.nextLine(); // Captura a linha inteira como motivo do bloqueio
 
-        // Mapeia as colunas do board para um DTO
-        var boardColumnsInfo = entity.getBoardColumns().stream()
-                .map(bc -> new BoardColumnInfoDTO(bc.getId(), bc.getOrder(), bc.getKind()))
-                .toList();
-
         // Tenta obter a conexão com o banco e chamar o serviço para bloquear o card
-        try (var connection = getConnection()) {
-            // Chama o método block passando o ID do board, do card, o motivo e as colunas do board
-            new CardService(connection).block(boardId, cardId, reason, boardColumnsInfo);
+        try (var connection = getConnection(topology.id())) {
+            // Chama o método block passando o ID do board, do card, o motivo e o fluxo de colunas do board
+            new CardService(connection).block(boardId, cardId, reason, topology.workflow());
         } catch (SQLException ex) {
             // Captura erros de conexão com o banco de dados
             System.out.println("Erro ao conectar com o banco de dados: " + ex.getMessage());
@@ -128,6 +162,21 @@ public class BoardMenu {
 
 
     private void unblockCard() {
+        System.out.println("Informe o id do board");
+        var boardId = scanner.nextLong();
+        System.out.println("Informe o id do card que será desbloqueado");
+        var cardId = scanner.nextLong();
+        scanner.nextLine();
+        System.out.println("Informe o motivo do desbloqueio do card");
+        var reason = scanner.nextLine();
+
+        try (var connection = getConnection(topology.id())) {
+            new CardService(connection).unblock(boardId, cardId, reason);
+        } catch (SQLException ex) {
+            System.out.println("Erro ao conectar com o banco de dados: " + ex.getMessage());
+        } catch (RuntimeException ex) {
+            System.out.println("Erro ao desbloquear o card: " + ex.getMessage());
+        }
     }
 
     private void cancelCard() throws SQLException {
@@ -136,31 +185,26 @@ public class BoardMenu {
         System.out.println("Informe o ID do card que deseja cancelar:");
         var cardId = scanner.nextLong();  // Solicita o ID do card
 
-        var cancelColumn = entity.getCancelColumn(); // Obtém a coluna de cancelamento
-        if (cancelColumn == null) {
+        if (topology.workflow().cancelIndex() == BoardWorkflow.NONE) {
             System.out.println("Erro: Coluna de cancelamento não encontrada.");
             return;
         }
 
-        // Mapeia as colunas do board para DTO
-        var boardColumnsInfo = entity.getBoardColumns().stream()
-                .map(bc -> new BoardColumnInfoDTO(bc.getId(), bc.getOrder(), bc.getKind()))
-                .toList();
-
         // Tenta cancelar o card
-        try (var connection = getConnection()) {
+        try (var connection = getConnection(topology.id())) {
             var cardService = new CardService(connection);
-            cardService.cancel(boardId, cardId, cancelColumn.getId(), boardColumnsInfo);
+            cardService.cancel(boardId, cardId, topology.workflow());
             System.out.println("O card foi movido para a coluna de cancelamento com sucesso!");
-        } catch (EntityNotFoundException | IllegalStateException ex) {
+        } catch (EntityNotFoundException | CardBlockedException | CardFinishedException | CardConflictException
+                 | CardWorkflowException ex) {
             System.out.println("Erro ao cancelar o card: " + ex.getMessage());
         }
     }
 
 
     private void showBoard() throws SQLException {
-        try(var connection = getConnection()){
-            var optional = new BoardQueryService(connection).showBoardDetails(entity.getId());
+        try (var connection = getReadConnection(topology.id())) {
+            var optional = new BoardQueryService(connection).showBoardDetails(topology.id());
             optional.ifPresent(b -> {
                 System.out.printf("Board [%s,%s]\n", b.id(), b.name());
                 b.columns().forEach(c ->
@@ -171,20 +215,142 @@ public class BoardMenu {
     }
 
     private void showColumn() throws SQLException {
-        var columnsIds = entity.getBoardColumns().stream().map(BoardColumnEntity::getId).toList();
+        var columnsIds = topology.columns().stream().map(BoardTopology.Column::id).toList();
         var selectedColumnId = -1L;
         while (!columnsIds.contains(selectedColumnId)){
-            System.out.printf("Escolha uma coluna do board %s pelo id\n", entity.getName());
-            entity.getBoardColumns().forEach(c -> System.out.printf("%s - %s [%s]\n", c.getId(), c.getName(), c.getKind()));
+            System.out.printf("Escolha uma coluna do board %s pelo id\n", topology.name());
+            topology.columns().forEach(c -> System.out.printf("%s - %s [%s]\n", c.id(), c.name(), c.kind()));
             selectedColumnId = scanner.nextLong();
         }
-        try(var connection = getConnection()){
-            var column = new BoardColumnQueryService(connection).findById(selectedColumnId);
-            column.ifPresent(co -> {
-                System.out.printf("Coluna %s tipo %s\n", co.getName(), co.getKind());
-                co.getCards().forEach(ca -> System.out.printf("Card %s - %s\nDescrição: %s",
-                        ca.getId(), ca.getTitle(), ca.getDescription()));
+        // Mostra os cards página a página (keyset), sem carregar a coluna inteira. Cada página usa a sua
+        // conexão: enquanto o menu espera a resposta do usuário nenhuma conexão nem transação fica aberta
+        var pageSize = getInt("board.menu.page-size", 20);
+        var columnId = selectedColumnId;
+        var column = topology.columns().stream().filter(c -> c.id() == columnId).findFirst().orElseThrow();
+        System.out.printf("Coluna %s tipo %s\n", column.name(), column.kind());
+        var afterCardId = 0L;
+        while (true) {
+            CardPageDTO page;
+            try (var connection = getReadConnection(topology.id())) {
+                page = new BoardColumnQueryService(connection).findCardsPage(selectedColumnId, afterCardId, pageSize);
+            }
+            page.cards().forEach(ca -> System.out.printf("Card %s - %s\nDescrição: %s\n",
+                    ca.getId(), ca.getTitle(), ca.getDescription()));
+            if (!page.hasNext()) {
+                break;
+            }
+            System.out.println("Mostrar a próxima página? (s/n)");
+            if (!scanner.next().trim().equalsIgnoreCase("s")) {
+                break;
+            }
+            afterCardId = page.nextAfterCardId();
+        }
+    }
+
+    private void moveColumnCards() throws SQLException {
+        System.out.println("Informe o id da coluna cujos cards serão movidos:");
+        topology.columns().forEach(c -> System.out.printf("%s - %s [%s]\n", c.id(), c.name(), c.kind()));
+        var columnId = scanner.nextLong();
+        System.out.println("1 - Mover para a próxima coluna");
+        System.out.println("2 - Cancelar");
+        var toCancel = scanner.nextInt() == 2;
+
+        try (var connection = getConnection(topology.id())) {
+            var service = new CardBulkService(connection);
+            var result = toCancel ?
+                    service.cancelColumn(columnId, topology.workflow()) :
+                    service.moveColumnToNextColumn(columnId, topology.workflow());
+            System.out.printf("%s cards movidos\n", result.moved());
+            result.outcomes().forEach((cardId, outcome) -> {
+                if (outcome != CardMoveOutcome.MOVED) {
+                    System.out.printf("Card %s não foi movido: %s\n", cardId, outcome);
+                }
             });
+        } catch (CardWorkflowException ex) {
+            System.out.println("Erro ao mover os cards: " + ex.getMessage());
+        }
+    }
+
+    private void showSqlTrace() {
+        if (!SqlTrace.isEnabled()) {
+            System.out.println("O rastreamento de SQL está desligado (board.trace.enabled=false)");
+            return;
+        }
+        System.out.printf("%s statements desde o último resumo\n", SqlTrace.totalStatements());
+        SqlTrace.summary().forEach(s -> System.out.printf("%s: %s chamadas, %.1f statements por chamada (máx %s), %.1f ms\n",
+                s.operation(), s.calls(), s.statementsPerCall(), s.maxStatementsPerCall(), s.totalMillis()));
+        if (SqlTrace.lostSlowQueries() > 0) {
+            System.out.printf("%s consultas lentas não entraram no log\n", SqlTrace.lostSlowQueries());
+        }
+        SqlTrace.reset();
+    }
+
+    private void showFlowReport() throws SQLException {
+        BoardFlowReportDTO report;
+        try (var connection = getConnection(topology.id())) {
+            report = new BoardAnalyticsService(connection).flowReport(topology.id(), topology.workflow());
+        }
+        System.out.printf("%s cards, %s eventos\n", report.cards(), report.events());
+        System.out.printf("Lead time: %s cards, média %s, máximo %s\n",
+                report.leadTime().count(), report.leadTime().mean(), report.leadTime().max());
+        System.out.printf("Cycle time: %s cards, média %s, máximo %s\n",
+                report.cycleTime().count(), report.cycleTime().mean(), report.cycleTime().max());
+        System.out.println("Tempo por coluna:");
+        for (var i = 0; i < report.columns().size(); i++) {
+            var column = report.columns().get(i);
+            System.out.printf("  [%s] %s: %s passagens, média %s, máximo %s, %s cards agora\n",
+                    column.columnId(), topology.columns().get(i).name(), column.time().count(),
+                    column.time().mean(), column.time().max(), column.currentCards());
+        }
+        var blocked = report.blocked();
+        System.out.printf("Bloqueios: %s (%s em aberto) em %s cards, total %s\n",
+                blocked.blocks(), blocked.openBlocks(), blocked.blockedCards(), blocked.total());
+        System.out.println("Cards finalizados por semana:");
+        report.throughputPerWeek().forEach((week, amount) -> System.out.printf("  %s: %s\n", week, amount));
+    }
+
+    private void searchCard() {
+        System.out.println("Informe o texto da busca:");
+        var query = scanner.next();
+        if (CardSearchIndexer.isFailed()) {
+            System.out.println("A reconstrução do índice de busca falhou; o resultado pode estar incompleto");
+        } else if (!CardSearchIndexer.isReady()) {
+            System.out.println("O índice de busca ainda está sendo construído; o resultado pode estar incompleto");
+        }
+        // A busca é feita no índice em memória, sem conexão com o banco
+        var hits = CardSearchIndexer.search(query, topology.workflow()::contains, getInt("board.search.page-size", 10));
+        if (hits.isEmpty()) {
+            System.out.printf("Nenhum card encontrado para \"%s\"\n", query);
+            return;
+        }
+        hits.forEach(h -> System.out.printf("Card %s - %s (relevância %.2f)\n", h.cardId(), h.title(), h.score()));
+    }
+
+    private void exportBoard() throws SQLException {
+        var options = ExportOptions.read(scanner);
+        try (var connection = getConnection(topology.id())) {
+            var result = new BoardExportService(connection)
+                    .exportBoard(topology.id(), options.directory(), options.format(), options.gzip());
+            ExportOptions.print(result);
+        } catch (UncheckedIOException ex) {
+            ExportOptions.printFailure(ex);
+        }
+    }
+
+    private void verifyCardsAmount() throws SQLException {
+        try (var connection = getConnection(topology.id())) {
+            var mismatches = new BoardColumnQueryService(connection).findCardsAmountMismatches(topology.id());
+            if (mismatches.isEmpty()) {
+                System.out.println("Os contadores de cards de todas as colunas estão corretos");
+                return;
+            }
+            mismatches.forEach(m -> System.out.printf("Coluna [%s] %s: contador %s, cards reais %s\n",
+                    m.columnId(), m.columnName(), m.storedAmount(), m.actualAmount()));
+            System.out.println("Deseja recalcular os contadores? (s/n)");
+            if (scanner.next().trim().equalsIgnoreCase("s")) {
+                new BoardColumnService(connection).recountCardsAmount(topology.id());
+                System.out.println("Contadores recalculados com sucesso!");
+            }
         }
     }
 
@@ -196,21 +362,28 @@ public class BoardMenu {
         var selectedCardId = scanner.nextLong();  // Recebe o id do card
 
         // Tenta estabelecer uma conexão com o banco e consultar os detalhes do card
-        try (var connection = getConnection()) {
+        try (var connection = getReadConnection(selectedBoardId)) {
+            var queryService = new CardQueryService(connection);
             // Chama o serviço CardQueryService passando tanto o boardId quanto o cardId
-            new CardQueryService(connection).findById(selectedBoardId, selectedCardId)
-                    .ifPresentOrElse(
-                            c -> {  // Caso o card seja encontrado, exibe as informações do card
-                                System.out.printf("Card %s - %s.\n", c.id(), c.title());
-                                System.out.printf("Descrição: %s\n", c.description());
-                                // Verifica se o card está bloqueado ou não e exibe a mensagem correspondente
-                                System.out.println(c.block() ?
-                                        "Está bloqueado. Motivo: " + c.blockReason() :
-                                        "Não está bloqueado");
-                                System.out.printf("Já foi bloqueado %s vezes\n", c.blocksAmount());
-                                System.out.printf("Está no momento na coluna %s - %s\n", c.columnId(), c.columnName());
-                            },
-                            () -> System.out.printf("Não existe um card com o id %s no board %s\n", selectedCardId, selectedBoardId));  // Caso o card não seja encontrado, exibe mensagem de erro
+            var optional = queryService.findById(selectedBoardId, selectedCardId);
+            if (optional.isEmpty()) {
+                System.out.printf("Não existe um card com o id %s no board %s\n", selectedCardId, selectedBoardId);
+                return;
+            }
+            var c = optional.get();
+            System.out.printf("Card %s - %s.\n", c.id(), c.title());
+            System.out.printf("Descrição: %s\n", c.description());
+            // Verifica se o card está bloqueado ou não e exibe a mensagem correspondente
+            System.out.println(c.block() ?
+                    "Está bloqueado. Motivo: " + c.blockReason() :
+                    "Não está bloqueado");
+            System.out.printf("Já foi bloqueado %s vezes\n", c.blocksAmount());
+            System.out.printf("Está no momento na coluna %s - %s\n", c.columnId(), c.columnName());
+
+            // Histórico de movimentações do card
+            System.out.println("Histórico:");
+            queryService.findMovements(selectedCardId).forEach(m -> System.out.printf("  %s %s: %s -> %s\n",
+                    m.getMovedAt(), m.getEvent(), m.getFromColumnId(), m.getToColumnId()));
         }
     }
 
@@ -0,0 +1,50 @@
+package bord.projeto.ui;
+
+import bord.projeto.dto.BoardExportResultDTO;
+import bord.projeto.export.ExportFormat;
+
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Path;
+import java.util.Scanner;
+
+// Perguntas de exportação compartilhadas pelo menu principal e pelo menu do board
+record ExportOptions(Path directory, ExportFormat format, boolean gzip) {
+
+    static ExportOptions read(final Scanner scanner) {
+        System.out.println("Informe o diretório de destino:");
+        var directory = Path.of(scanner.next().trim());
+        var format = readFormat(scanner);
+        System.out.println("Compactar com gzip? (s/n)");
+        var gzip = scanner.next().trim().equalsIgnoreCase("s");
+        return new ExportOptions(directory, format, gzip);
+    }
+
+    // Só aceita csv ou jsonl; qualquer outra resposta é pedida de novo
+    private static ExportFormat readFormat(final Scanner scanner) {
+        while (true) {
+            System.out.println("Informe o formato (csv ou jsonl):");
+            var answer = scanner.next().trim();
+            for (var format : ExportFormat.values()) {
+                if (format.name().equalsIgnoreCase(answer)) {
+                    return format;
+                }
+            }
+            System.out.printf("Formato inválido: %s\n", answer);
+        }
+    }
+
+    static void print(final BoardExportResultDTO result) {
+        System.out.printf("%s board(s) exportado(s) em %s (%s bytes)\n", result.boards(), result.directory(), result.bytes());
+        result.recordsByFile().forEach((file, records) -> System.out.printf("  %s: %s registros\n", file, records));
+    }
+
+    static void printFailure(final UncheckedIOException ex) {
+        if (ex.getCause() instanceof FileAlreadyExistsException exists) {
+            System.out.printf("O arquivo %s já existe; escolha outro diretório ou remova o arquivo\n", exists.getFile());
+            return;
+        }
+        System.out.printf("Não foi possível exportar: %s\n", ex.getCause().getMessage());
+    }
+
+}
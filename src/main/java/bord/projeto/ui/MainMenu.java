@@ -1,17 +1,31 @@
 package bord.projeto.ui;
 
+import bord.projeto.dto.BoardTopology;
 import bord.projeto.persistence.entity.BoardColumnEntity;
 import bord.projeto.persistence.entity.BoardColumnKindEnum;
 import bord.projeto.persistence.entity.BoardEntity;
+import bord.projeto.service.BoardListingService;
 import bord.projeto.service.BoardQueryService;
+import bord.projeto.service.BoardExportService;
 import bord.projeto.service.BoardService;
+import bord.projeto.service.CardImportService;
+import bord.projeto.service.ShardRebalancer;
 
+import java.nio.file.Path;
+import java.io.UncheckedIOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Scanner;
 
 import static bord.projeto.persistence.ConnectionConfig.getConnection;
+import static bord.projeto.persistence.ConnectionConfig.getNewBoardConnection;
+import static bord.projeto.persistence.ConnectionConfig.getReadConnection;
+import static bord.projeto.persistence.ConnectionConfig.getShardConnection;
+import static bord.projeto.persistence.ConnectionConfig.getShardCount;
+import static bord.projeto.persistence.ConnectionConfig.getShardRouter;
+import static java.util.Objects.nonNull;
 import static bord.projeto.persistence.entity.BoardColumnKindEnum.*;
 
 public class MainMenu {
@@ -26,12 +40,20 @@ public class MainMenu {
             System.out.println("2 - Selecione um board criado");
             System.out.println("3 - Exclua um board");
             System.out.println("4 - Finalizar operação");
+            System.out.println("5 - Exportar todos os boards (CSV ou JSON Lines)");
+            System.out.println("6 - Importar cards de um arquivo CSV");
+            System.out.println("7 - Listar boards");
+            System.out.println("8 - Mover um board para outro shard");
             option = scanner.nextInt();
             switch (option) {
                 case 1 -> createBoard();
                 case 2 -> selectBoard();
                 case 3 -> deleteBoard();
                 case 4 -> System.exit(0);
+                case 5 -> exportAll();
+                case 6 -> importCards();
+                case 7 -> listBoards();
+                case 8 -> moveBoard();
                 default -> System.out.println("Opção inválida, informe outra opção do menu");
             }
 
@@ -79,8 +101,8 @@ public class MainMenu {
         // Associando a lista de colunas ao board
         entity.setBoardColumns(columns);
 
-        // Obtendo uma conexão com o banco de dados e inserindo o board no banco
-        try (var connection = getConnection()) {
+        // Obtendo uma conexão com o shard do novo board e inserindo o board no banco
+        try (var connection = getNewBoardConnection()) {
             var service = new BoardService(connection);
             service.insert(entity);
         }
@@ -93,18 +115,98 @@ public class MainMenu {
         System.out.println("Informe o id do board que deseja selecionar:");
         var id = scanner.nextLong();
 
-        // Abre uma conexão com o banco de dados dentro de um bloco try-with-resources
-        try (var connection = getConnection()) {
-            var queryService = new BoardQueryService(connection);
+        // Busca o board pelo ID; a conexão volta ao pool antes de abrir o menu do board
+        Optional<BoardTopology> optional;
+        try (var connection = getReadConnection(id)) {
+            optional = new BoardQueryService(connection).findTopologyById(id);
+        }
+        // O board pode ter sido movido de shard por outra instância depois que a rota foi lida
+        if (optional.isEmpty() && getShardRouter().refresh(id)) {
+            try (var connection = getReadConnection(id)) {
+                optional = new BoardQueryService(connection).findTopologyById(id);
+            }
+        }
+
+        // Se encontrado, abre o menu do board; caso contrário, exibe mensagem de erro
+        optional.ifPresentOrElse(
+                b -> new BoardMenu(b).execute(),
+                () -> System.out.printf("Não foi encontrado um board com id %s\n", id)
+        );
+    }
+
+    private void exportAll() throws SQLException {
+        var options = ExportOptions.read(scanner);
+        var shards = getShardCount();
+        try {
+            if (shards == 1) {
+                try (var connection = getConnection()) {
+                    ExportOptions.print(new BoardExportService(connection)
+                            .exportAll(options.directory(), options.format(), options.gzip()));
+                }
+                return;
+            }
+            // Cada shard é exportado no seu próprio subdiretório, com os mesmos nomes de arquivo
+            for (var shard = 0; shard < shards; shard++) {
+                try (var connection = getShardConnection(shard)) {
+                    ExportOptions.print(new BoardExportService(connection)
+                            .exportAll(options.directory().resolve("shard-" + shard), options.format(), options.gzip()));
+                }
+            }
+        } catch (UncheckedIOException ex) {
+            ExportOptions.printFailure(ex);
+        }
+    }
 
-            // Busca o board pelo ID
-            var optional = queryService.findById(id);
+    private void listBoards() throws SQLException {
+        System.out.println("Quantos boards por página?");
+        var limit = scanner.nextInt();
+        if (limit <= 0) {
+            System.out.println("Informe um número maior que zero");
+            return;
+        }
+        Long afterId = 0L;
+        while (nonNull(afterId)) {
+            var page = BoardListingService.findPage(afterId, limit);
+            page.boards().forEach(b -> System.out.printf("Board [%s - %s] (shard %s)\n", b.id(), b.name(), b.shard()));
+            afterId = page.nextAfterBoardId();
+            if (!page.hasNext()) {
+                break;
+            }
+            System.out.println("Mostrar a próxima página? (s/n)");
+            if (!scanner.next().trim().equalsIgnoreCase("s")) {
+                break;
+            }
+        }
+    }
+
+    private void moveBoard() throws SQLException {
+        if (getShardCount() == 1) {
+            System.out.println("Há um único shard configurado (board.shards.urls)");
+            return;
+        }
+        System.out.println("Informe o id do board que será movido:");
+        var id = scanner.nextLong();
+        System.out.printf("Informe o shard de destino (0 a %s):\n", getShardCount() - 1);
+        var target = scanner.nextInt();
+        try {
+            var result = ShardRebalancer.moveBoard(id, target);
+            System.out.printf("Board %s movido do shard %s para o shard %s: %s linhas em %s ms\n",
+                    result.boardId(), result.fromShard(), result.toShard(), result.rowsCopied(), result.elapsedMillis());
+        } catch (RuntimeException ex) {
+            System.out.println(ex.getMessage());
+        }
+    }
 
-            // Se encontrado, abre o menu do board; caso contrário, exibe mensagem de erro
-            optional.ifPresentOrElse(
-                    b -> new BoardMenu(b).execute(),
-                    () -> System.out.printf("Não foi encontrado um board com id %s\n", id)
-            );
+    private void importCards() throws SQLException {
+        System.out.println("Informe o caminho do arquivo CSV (colunas board, column, title, description e column_kind):");
+        var file = Path.of(scanner.next().trim());
+        System.out.println("Continuar do último checkpoint, se houver? (s/n)");
+        var resume = scanner.next().trim().equalsIgnoreCase("s");
+        try (var connection = getConnection()) {
+            var result = new CardImportService(connection).importCsv(file, resume, p ->
+                    System.out.printf("%.1f%% - %s linhas lidas, %s importadas, %s rejeitadas, %.0f linhas/s\n",
+                            p.percent(), p.rowsRead(), p.rowsImported(), p.rowsRejected(), p.rowsPerSecond()));
+            System.out.println(result.finished() ? "Importação concluída!" : "Importação interrompida");
         }
     }
 
@@ -121,7 +223,7 @@ public class MainMenu {
         var id = scanner.nextLong(); // Lê o ID informado pelo usuário
 
         // Usa try-with-resources para garantir que a conexão será fechada corretamente
-        try (var connection = getConnection()) {
+        try (var connection = getConnection(id)) {
             var service = new BoardService(connection);
 
             // Tenta excluir o board pelo ID informado
@@ -0,0 +1,14 @@
+--liquibase formatted sql
+--changeset artur:202610171000
+--comment: blocks card_id references cards
+
+CREATE TABLE BLOCKS_ORPHANS LIKE BLOCKS;
+INSERT INTO BLOCKS_ORPHANS SELECT * FROM BLOCKS WHERE card_id NOT IN (SELECT id FROM CARDS);
+DELETE FROM BLOCKS WHERE id IN (SELECT id FROM BLOCKS_ORPHANS);
+ALTER TABLE BLOCKS DROP FOREIGN KEY cards__blocks_fk;
+ALTER TABLE BLOCKS ADD CONSTRAINT cards__blocks_fk FOREIGN KEY (card_id) REFERENCES CARDS(id) ON DELETE CASCADE;
+
+--rollback ALTER TABLE BLOCKS DROP FOREIGN KEY cards__blocks_fk;
+--rollback INSERT INTO BLOCKS SELECT * FROM BLOCKS_ORPHANS;
+--rollback DROP TABLE BLOCKS_ORPHANS;
+--rollback ALTER TABLE BLOCKS ADD CONSTRAINT cards__blocks_fk FOREIGN KEY (card_id) REFERENCES BOARDS_COLUMNS(id) ON DELETE CASCADE;
@@ -0,0 +1,11 @@
+--liquibase formatted sql
+--changeset artur:202610171010
+--comment: indexes for card details and column card count
+
+CREATE INDEX blocks_card_id_unblock_at_idx ON BLOCKS (card_id, unblock_at);
+CREATE INDEX cards_board_column_id_id_idx ON CARDS (board_column_id, id);
+
+--rollback CREATE INDEX cards_board_column_id_idx ON CARDS (board_column_id);
+--rollback DROP INDEX cards_board_column_id_id_idx ON CARDS;
+--rollback CREATE INDEX blocks_card_id_idx ON BLOCKS (card_id);
+--rollback DROP INDEX blocks_card_id_unblock_at_idx ON BLOCKS;
@@ -0,0 +1,14 @@
+--liquibase formatted sql
+--changeset artur:202610171030
+--comment: cards block state columns
+
+ALTER TABLE CARDS
+    ADD COLUMN is_blocked BOOLEAN NOT NULL DEFAULT FALSE,
+    ADD COLUMN current_block_id BIGINT NULL,
+    ADD COLUMN blocks_amount INT NOT NULL DEFAULT 0;
+UPDATE CARDS c
+   SET c.blocks_amount = (SELECT COUNT(b.id) FROM BLOCKS b WHERE b.card_id = c.id),
+       c.current_block_id = (SELECT MAX(b.id) FROM BLOCKS b WHERE b.card_id = c.id AND b.unblock_at IS NULL);
+UPDATE CARDS SET is_blocked = TRUE WHERE current_block_id IS NOT NULL;
+
+--rollback ALTER TABLE CARDS DROP COLUMN is_blocked, DROP COLUMN current_block_id, DROP COLUMN blocks_amount;
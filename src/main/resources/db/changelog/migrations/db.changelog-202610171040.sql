@@ -0,0 +1,7 @@
+--liquibase formatted sql
+--changeset artur:202610171040
+--comment: boards version column
+
+ALTER TABLE BOARDS ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+--rollback ALTER TABLE BOARDS DROP COLUMN version;
@@ -0,0 +1,7 @@
+--liquibase formatted sql
+--changeset artur:202610171050
+--comment: cards version column
+
+ALTER TABLE CARDS ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+--rollback ALTER TABLE CARDS DROP COLUMN version;
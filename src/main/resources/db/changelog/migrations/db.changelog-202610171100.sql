@@ -0,0 +1,16 @@
+--liquibase formatted sql
+--changeset artur:202610171100
+--comment: card movements history table create
+
+CREATE TABLE CARD_MOVEMENTS(
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    card_id BIGINT NOT NULL,
+    event VARCHAR(10) NOT NULL,
+    from_column_id BIGINT NULL,
+    to_column_id BIGINT NOT NULL,
+    moved_at TIMESTAMP(3) NOT NULL
+) ENGINE=InnoDB;
+CREATE INDEX card_movements_card_id_moved_at_idx ON CARD_MOVEMENTS(card_id, moved_at);
+CREATE INDEX card_movements_to_column_id_moved_at_idx ON CARD_MOVEMENTS(to_column_id, moved_at);
+
+--rollback DROP TABLE CARD_MOVEMENTS
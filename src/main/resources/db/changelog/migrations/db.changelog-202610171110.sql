@@ -0,0 +1,18 @@
+--liquibase formatted sql
+--changeset artur:202610171110
+--comment: import checkpoints table create and boards name index
+
+CREATE INDEX boards_name_idx ON BOARDS(name);
+CREATE TABLE IMPORT_CHECKPOINTS(
+    source_key CHAR(64) PRIMARY KEY,
+    source_name VARCHAR(255) NOT NULL,
+    byte_offset BIGINT NOT NULL,
+    rows_read BIGINT NOT NULL,
+    rows_imported BIGINT NOT NULL,
+    rows_rejected BIGINT NOT NULL,
+    finished BOOLEAN NOT NULL DEFAULT FALSE,
+    updated_at TIMESTAMP NOT NULL
+) ENGINE=InnoDB;
+
+--rollback DROP TABLE IMPORT_CHECKPOINTS;
+--rollback DROP INDEX boards_name_idx ON BOARDS;
@@ -0,0 +1,11 @@
+--liquibase formatted sql
+--changeset artur:202610171120
+--comment: migration fingerprints table create
+
+CREATE TABLE MIGRATION_FINGERPRINTS(
+    id TINYINT PRIMARY KEY,
+    changelog_hash CHAR(64) NOT NULL,
+    applied_at TIMESTAMP NOT NULL
+) ENGINE=InnoDB;
+
+--rollback DROP TABLE MIGRATION_FINGERPRINTS;
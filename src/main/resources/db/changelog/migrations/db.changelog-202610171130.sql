@@ -0,0 +1,11 @@
+--liquibase formatted sql
+--changeset artur:202610171130
+--comment: shard directory table create
+
+CREATE TABLE SHARD_DIRECTORY(
+    board_id BIGINT PRIMARY KEY,
+    shard SMALLINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+) ENGINE=InnoDB;
+
+--rollback DROP TABLE SHARD_DIRECTORY;
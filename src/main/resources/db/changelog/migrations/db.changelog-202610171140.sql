@@ -0,0 +1,29 @@
+--liquibase formatted sql
+--changeset artur:202610171140-1 splitStatements:false
+--comment: boards_columns insert bumps boards version
+
+CREATE TRIGGER boards_columns_version_ai AFTER INSERT ON BOARDS_COLUMNS FOR EACH ROW
+UPDATE BOARDS SET version = version + 1 WHERE id = NEW.board_id
+
+--rollback DROP TRIGGER boards_columns_version_ai
+
+--changeset artur:202610171140-2 splitStatements:false
+CREATE TRIGGER boards_columns_version_au AFTER UPDATE ON BOARDS_COLUMNS FOR EACH ROW
+IF NOT (NEW.name <=> OLD.name AND NEW.`order` <=> OLD.`order` AND NEW.kind <=> OLD.kind AND NEW.board_id <=> OLD.board_id) THEN
+    UPDATE BOARDS SET version = version + 1 WHERE id IN (OLD.board_id, NEW.board_id);
+END IF
+
+--rollback DROP TRIGGER boards_columns_version_au
+
+--changeset artur:202610171140-3 splitStatements:false
+--comment: boards_columns delete bumps boards version
+CREATE TRIGGER boards_columns_version_ad AFTER DELETE ON BOARDS_COLUMNS FOR EACH ROW
+UPDATE BOARDS SET version = version + 1 WHERE id = OLD.board_id
+
+--rollback DROP TRIGGER boards_columns_version_ad
+
+--changeset artur:202610171140-4 splitStatements:false
+CREATE TRIGGER boards_version_bu BEFORE UPDATE ON BOARDS FOR EACH ROW
+SET NEW.version = IF(NEW.name <=> OLD.name, NEW.version, OLD.version + 1)
+
+--rollback DROP TRIGGER boards_version_bu
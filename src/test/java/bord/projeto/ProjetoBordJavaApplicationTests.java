@@ -1,13 +1,74 @@
 package bord.projeto;
 
+import bord.projeto.api.BoardController;
+import bord.projeto.api.CardController;
+import bord.projeto.api.DatabaseLimiter;
+import bord.projeto.exception.CardWorkflowException;
+import jakarta.servlet.ServletException;
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
 
-@SpringBootTest
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Só a camada web (controllers e ApiExceptionHandler), com o DatabaseLimiter simulado: não abre
+ * banco, não roda migrations nem o menu.
+ */
+@WebMvcTest(controllers = {BoardController.class, CardController.class})
 class ProjetoBordJavaApplicationTests {
 
+	@Autowired
+	private MockMvc mvc;
+
+	@MockitoBean
+	private DatabaseLimiter limiter;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void createBoardWithoutColumnsIsBadRequest() throws Exception {
+		mvc.perform(post("/boards").contentType(MediaType.APPLICATION_JSON).content("{\"name\": \"sem colunas\"}"))
+				.andExpect(status().isBadRequest());
+		mvc.perform(post("/boards").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"name\": \"sem tipo\", \"columns\": [{\"name\": \"A fazer\"}]}"))
+				.andExpect(status().isBadRequest());
+		verifyNoInteractions(limiter);
+	}
+
+	@Test
+	void cardRequestsWithMissingOrTooLongFieldsAreBadRequest() throws Exception {
+		mvc.perform(post("/boards/1/cards").contentType(MediaType.APPLICATION_JSON).content("{\"title\": \"sem descrição\"}"))
+				.andExpect(status().isBadRequest());
+		mvc.perform(post("/boards/1/cards").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"title\": \"%s\", \"description\": \"longo\"}".formatted("x".repeat(256))))
+				.andExpect(status().isBadRequest());
+		mvc.perform(post("/boards/1/cards/2/block").contentType(MediaType.APPLICATION_JSON).content("{}"))
+				.andExpect(status().isBadRequest());
+		mvc.perform(post("/boards/1/cards/bulk/move").contentType(MediaType.APPLICATION_JSON).content("{}"))
+				.andExpect(status().isBadRequest());
+		verifyNoInteractions(limiter);
+	}
+
+	@Test
+	void workflowRuleIsConflictButOtherIllegalStatesAreNot() throws Exception {
+		doThrow(new CardWorkflowException("O card está cancelado.")).when(limiter).withConnection(anyLong(), any());
+		mvc.perform(post("/boards/1/cards/2/cancel")).andExpect(status().isConflict());
+
+		// Sem tradução no ApiExceptionHandler a exceção segue para o container, que responde 500
+		doThrow(new IllegalStateException("falha interna")).when(limiter).withConnection(anyLong(), any());
+		assertThrows(ServletException.class, () -> mvc.perform(post("/boards/1/cards/2/cancel")));
+	}
+
 }
@@ -0,0 +1,81 @@
+package bord.projeto.analytics;
+
+import bord.projeto.dto.BoardColumnInfoDTO;
+import bord.projeto.dto.BoardWorkflow;
+import bord.projeto.dto.CardHistoryRowDTO;
+import bord.projeto.persistence.entity.CardMovementEventEnum;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.FINAL;
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.PENDING;
+import static bord.projeto.persistence.entity.CardMovementEventEnum.CREATE;
+import static bord.projeto.persistence.entity.CardMovementEventEnum.MOVE;
+import static java.time.ZoneOffset.UTC;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BoardFlowAnalyzerTest {
+
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+    // Quarta-feira
+    private static final long START = OffsetDateTime.of(2026, 10, 14, 9, 0, 0, 0, UTC).toInstant().toEpochMilli();
+
+    private final BoardWorkflow workflow = BoardWorkflow.of(List.of(
+            new BoardColumnInfoDTO(10L, 0, INITIAL),
+            new BoardColumnInfoDTO(20L, 1, PENDING),
+            new BoardColumnInfoDTO(30L, 2, FINAL),
+            new BoardColumnInfoDTO(40L, 3, CANCEL)
+    ));
+
+    @Test
+    void aggregatesCardsAcrossBatches() {
+        // Lotes de 1 card e no máximo 1 pendente, para exercitar a combinação dos resultados
+        var analyzer = new BoardFlowAnalyzer(workflow, START + 100 * HOUR, ForkJoinPool.commonPool(), 1, 1);
+        // Card 1: 2h no INITIAL, 4h no PENDING, bloqueado 1h
+        analyzer.accept(event(1, CREATE, 0, 10, 0));
+        analyzer.accept(event(1, MOVE, 10, 20, 2));
+        analyzer.accept(block(1, 3, 4));
+        analyzer.accept(event(1, MOVE, 20, 30, 6));
+        // Card 2: 4h no INITIAL, 8h no PENDING, com um bloqueio ainda aberto
+        analyzer.accept(event(2, CREATE, 0, 10, 0));
+        analyzer.accept(event(2, MOVE, 10, 20, 4));
+        analyzer.accept(event(2, MOVE, 20, 30, 12));
+        analyzer.accept(block(2, 99, -1));
+        // Card 3: ainda no INITIAL
+        analyzer.accept(event(3, CREATE, 0, 10, 1));
+
+        var report = analyzer.finish(7L);
+
+        assertEquals(3, report.cards());
+        assertEquals(2, report.leadTime().count());
+        assertEquals(Duration.ofHours(9), report.leadTime().mean());
+        assertEquals(Duration.ofHours(12), report.leadTime().max());
+        assertEquals(Duration.ofHours(6), report.cycleTime().mean());
+        assertEquals(Duration.ofHours(3), report.columns().get(0).time().mean());
+        assertEquals(1, report.columns().get(0).currentCards());
+        assertEquals(Duration.ofHours(8), report.columns().get(1).time().max());
+        assertEquals(2, report.columns().get(2).currentCards());
+        assertEquals(2, report.blocked().blocks());
+        assertEquals(1, report.blocked().openBlocks());
+        assertEquals(Duration.ofHours(2), report.blocked().total());
+        assertEquals(2L, report.throughputPerWeek().get(LocalDate.of(2026, 10, 12)));
+    }
+
+    private static CardHistoryRowDTO event(final long cardId, final CardMovementEventEnum event,
+                                           final long from, final long to, final long hour) {
+        return new CardHistoryRowDTO(cardId, false, event, from, to, START + hour * HOUR, -1);
+    }
+
+    private static CardHistoryRowDTO block(final long cardId, final long fromHour, final long untilHour) {
+        return new CardHistoryRowDTO(cardId, true, null, 0, 0, START + fromHour * HOUR,
+                untilHour < 0 ? -1 : START + untilHour * HOUR);
+    }
+
+}
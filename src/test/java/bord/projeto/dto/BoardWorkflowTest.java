@@ -0,0 +1,49 @@
+package bord.projeto.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static bord.projeto.dto.BoardWorkflow.NONE;
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.FINAL;
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.PENDING;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardWorkflowTest {
+
+    // Colunas fora de ordem na lista, como podem vir do banco
+    private final BoardWorkflow workflow = BoardWorkflow.of(List.of(
+            new BoardColumnInfoDTO(40L, 3, FINAL),
+            new BoardColumnInfoDTO(10L, 0, INITIAL),
+            new BoardColumnInfoDTO(50L, 4, CANCEL),
+            new BoardColumnInfoDTO(20L, 1, PENDING),
+            new BoardColumnInfoDTO(30L, 2, PENDING)
+    ));
+
+    @Test
+    void followsColumnOrder() {
+        var index = workflow.initialIndex();
+        var path = new StringBuilder();
+        while (index != NONE) {
+            path.append(workflow.columnIdAt(index)).append(' ');
+            index = workflow.nextIndex(index);
+        }
+        assertEquals("10 20 30 40 50 ", path.toString());
+    }
+
+    @Test
+    void findsKindSlotsAndIds() {
+        assertEquals(1, workflow.initialIndex());
+        assertEquals(0, workflow.finalIndex());
+        assertEquals(2, workflow.cancelIndex());
+        assertEquals(4, workflow.indexOf(30L));
+        assertTrue(workflow.isFinal(workflow.indexOf(40L)));
+        assertTrue(workflow.isCancel(workflow.indexOf(50L)));
+        assertFalse(workflow.contains(99L));
+    }
+
+}
@@ -0,0 +1,64 @@
+package bord.projeto.export;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RecordWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void csvQuotesAndWritesHeaderOnce() throws IOException {
+        try (var writer = ExportFormat.CSV.open(directory, "cards", false)) {
+            write(writer, 1, "Título, com vírgula");
+            write(writer, 2, "aspas \"duplas\"");
+        }
+        assertEquals("id,title,closed_at\r\n1,\"Título, com vírgula\",\r\n2,\"aspas \"\"duplas\"\"\",\r\n",
+                Files.readString(directory.resolve("cards.csv")));
+    }
+
+    @Test
+    void emptyCsvStillHasHeader() throws IOException {
+        try (var writer = ExportFormat.CSV.open(directory, "cards", List.of("id", "title", "closed_at"), false)) {
+            assertEquals(0, writer.records());
+        }
+        assertEquals("id,title,closed_at\r\n", Files.readString(directory.resolve("cards.csv")));
+    }
+
+    @Test
+    void existingFileIsNotOverwritten() throws IOException {
+        Files.writeString(directory.resolve("cards.csv"), "conteúdo anterior");
+        assertThrows(FileAlreadyExistsException.class, () -> ExportFormat.CSV.open(directory, "cards", false));
+        assertEquals("conteúdo anterior", Files.readString(directory.resolve("cards.csv")));
+    }
+
+    @Test
+    void jsonLinesEscapesAndCompresses() throws IOException {
+        try (var writer = ExportFormat.JSONL.open(directory, "cards", true)) {
+            write(writer, 1, "linha\nquebrada");
+        }
+        try (var in = new GZIPInputStream(Files.newInputStream(directory.resolve("cards.jsonl.gz")))) {
+            assertEquals("{\"id\":1,\"title\":\"linha\\nquebrada\",\"closed_at\":null}\n",
+                    new String(in.readAllBytes(), UTF_8));
+        }
+    }
+
+    private static void write(final RecordWriter writer, final long id, final String title) {
+        writer.startRecord();
+        writer.field("id", id).field("title", title).nullField("closed_at");
+        writer.endRecord();
+    }
+
+}
@@ -0,0 +1,48 @@
+package bord.projeto.importer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class CsvChannelReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsQuotedFieldsAcrossBufferBoundaries() throws IOException {
+        var file = Files.writeString(directory.resolve("cards.csv"),
+                "board,column,title\r\nÁgil,\"A fazer\",\"linha\nquebrada, com \"\"aspas\"\"\"\r\nÁgil,Feito,\n");
+        // Buffer de 4 bytes para forçar campos e registros divididos entre leituras
+        try (var reader = CsvChannelReader.open(file, 4)) {
+            List<String> fields = new ArrayList<>();
+            reader.next(fields);
+            assertEquals(List.of("board", "column", "title"), fields);
+            var firstRecord = reader.position();
+
+            reader.next(fields);
+            assertEquals(List.of("Ágil", "A fazer", "linha\nquebrada, com \"aspas\""), fields);
+            var secondRecord = reader.position();
+            reader.next(fields);
+            assertEquals(List.of("Ágil", "Feito", ""), fields);
+            assertFalse(reader.next(fields));
+
+            reader.seek(secondRecord);
+            reader.next(fields);
+            assertEquals("Feito", fields.get(1));
+
+            reader.seek(firstRecord);
+            reader.next(fields);
+            assertEquals("A fazer", fields.get(1));
+        }
+    }
+
+}
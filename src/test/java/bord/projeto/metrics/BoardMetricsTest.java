@@ -0,0 +1,129 @@
+package bord.projeto.metrics;
+
+import bord.projeto.persistence.entity.BoardColumnEntity;
+import bord.projeto.persistence.entity.CardEntity;
+import bord.projeto.service.BoardQueryService;
+import bord.projeto.service.BoardService;
+import bord.projeto.service.CardService;
+import bord.projeto.support.DatabaseSeeder;
+import bord.projeto.support.EmbeddedDatabaseExtension;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import static bord.projeto.metrics.BoardMetrics.DAO;
+import static bord.projeto.metrics.BoardMetrics.SERVICE;
+import static bord.projeto.persistence.ConnectionConfig.getConnection;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * As métricas saem da conexão do ConnectionConfig, sem instrumentação nos serviços e DAOs.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BoardMetricsTest {
+
+    @RegisterExtension
+    static final EmbeddedDatabaseExtension database = new EmbeddedDatabaseExtension("board_metrics");
+
+    @Test
+    void countsCommitsAndRollbacks() throws SQLException {
+        var commits = transactions("commit");
+        var rollbacks = transactions("rollback");
+        try (var connection = getConnection()) {
+            connection.commit();
+            connection.commit();
+            connection.rollback();
+        }
+        assertEquals(commits + 2, transactions("commit"));
+        assertEquals(rollbacks + 1, transactions("rollback"));
+    }
+
+    @Test
+    void timesStatementsByDaoAndUnitsByService() throws SQLException {
+        var statements = count(DAO, "BoardDAO.insertAll", "success");
+        var units = count(SERVICE, "BoardService.insert", "commit");
+        try (var connection = getConnection()) {
+            new BoardService(connection).insert(DatabaseSeeder.newBoard("metricas"));
+        }
+        assertEquals(statements + 1, count(DAO, "BoardDAO.insertAll", "success"));
+        assertEquals(units + 1, count(SERVICE, "BoardService.insert", "commit"));
+    }
+
+    @Test
+    void tagsFailedStatementsAndRolledBackUnits() throws SQLException {
+        var failures = count(DAO, "CardDAO.insert", "failure");
+        var rollbacks = count(SERVICE, "CardService.create", "rollback");
+        var failedUnits = count(SERVICE, "CardService.create", "rollback", "SQLIntegrityConstraintViolationException");
+        // A coluna não existe: o INSERT falha na chave estrangeira e o serviço desfaz a transação
+        var column = new BoardColumnEntity();
+        column.setId(Long.MAX_VALUE);
+        var card = new CardEntity();
+        card.setTitle("card");
+        card.setDescription("sem coluna");
+        card.setBoardColumn(column);
+        try (var connection = getConnection()) {
+            assertThrows(SQLException.class, () -> new CardService(connection).create(card));
+        }
+        assertEquals(failures + 1, count(DAO, "CardDAO.insert", "failure"));
+        assertEquals(rollbacks + 1, count(SERVICE, "CardService.create", "rollback"));
+        assertEquals(failedUnits + 1, count(SERVICE, "CardService.create", "rollback",
+                "SQLIntegrityConstraintViolationException"));
+    }
+
+    @Test
+    void queryUnitEndsAtItsLastStatement() throws Exception {
+        long boardId;
+        try (var connection = getConnection()) {
+            boardId = new BoardService(connection).insert(DatabaseSeeder.newBoard("consulta")).getId();
+        }
+        var before = totalMillis(SERVICE, "BoardQueryService.findTopologyById", "close");
+        try (var connection = getConnection()) {
+            new BoardQueryService(connection).findTopologyById(boardId);
+            // O tempo que quem chamou segura a conexão depois da consulta não entra na unidade
+            Thread.sleep(500);
+        }
+        var elapsed = totalMillis(SERVICE, "BoardQueryService.findTopologyById", "close") - before;
+        assertTrue(elapsed > 0 && elapsed < 500, "duração da unidade: " + elapsed + " ms");
+    }
+
+    @Test
+    void poolGaugesFollowBorrowedConnections() throws SQLException {
+        try (var first = getConnection(); var second = getConnection()) {
+            var active = pool("active");
+            assertTrue(active >= 2, "conexões ativas: " + active);
+            assertTrue(pool("total") >= active);
+        }
+    }
+
+    private static double transactions(final String result) {
+        return BoardMetrics.registry().get("board.transactions").tag("result", result).counter().count();
+    }
+
+    // Soma os timers da operação com o outcome pedido, qualquer que seja a tag exception
+    private static long count(final String metric, final String operation, final String outcome) {
+        return BoardMetrics.registry().find(metric).tags("operation", operation, "outcome", outcome)
+                .timers().stream().mapToLong(Timer::count).sum();
+    }
+
+    private static long count(final String metric, final String operation, final String outcome, final String exception) {
+        return BoardMetrics.registry().find(metric)
+                .tags("operation", operation, "outcome", outcome, "exception", exception)
+                .timers().stream().mapToLong(Timer::count).sum();
+    }
+
+    private static double totalMillis(final String metric, final String operation, final String outcome) {
+        return BoardMetrics.registry().find(metric).tags("operation", operation, "outcome", outcome)
+                .timers().stream().mapToDouble(t -> t.totalTime(TimeUnit.MILLISECONDS)).sum();
+    }
+
+    private static double pool(final String state) {
+        return BoardMetrics.registry().get("board.pool.connections").tag("state", state).gauge().value();
+    }
+
+}
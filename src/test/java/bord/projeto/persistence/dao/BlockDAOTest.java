@@ -0,0 +1,84 @@
+package bord.projeto.persistence.dao;
+
+import bord.projeto.support.DatabaseSeeder;
+import bord.projeto.support.DatabaseSeeder.SeededBoard;
+import bord.projeto.support.EmbeddedDatabase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * O estado de bloqueio guardado em CARDS (is_blocked, current_block_id, blocks_amount) acompanha
+ * BLOCKS, e CardDAO.findById devolve o bloqueio em aberto.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BlockDAOTest {
+
+    private EmbeddedDatabase database;
+    private Connection connection;
+    private SeededBoard seeded;
+
+    @BeforeAll
+    void setUp() throws Exception {
+        database = EmbeddedDatabase.start("board_blocks").useAsDefault();
+        connection = database.openConnection();
+        seeded = DatabaseSeeder.seed(connection, 3);
+    }
+
+    @AfterAll
+    void tearDown() throws Exception {
+        connection.close();
+        database.close();
+    }
+
+    @Test
+    void blockAndUnblockKeepCardStateInSync() throws Exception {
+        var cardId = seeded.firstCardId();
+        var blocks = new BlockDAO(connection);
+        var cards = new CardDAO(connection);
+
+        assertTrue(blocks.block("primeiro", cardId));
+        connection.commit();
+        var blocked = cards.findById(seeded.boardId(), cardId).orElseThrow();
+        assertTrue(blocked.block());
+        assertEquals("primeiro", blocked.blockReason());
+        assertNotNull(blocked.blockAt());
+        assertEquals(1, blocked.blocksAmount());
+
+        // Um segundo bloqueio do mesmo card é recusado e precisa ser desfeito
+        assertFalse(blocks.block("de novo", cardId));
+        connection.rollback();
+
+        assertTrue(blocks.unblock("liberado", cardId));
+        connection.commit();
+        var unblocked = cards.findById(seeded.boardId(), cardId).orElseThrow();
+        assertFalse(unblocked.block());
+        assertNull(unblocked.blockReason());
+        assertEquals(1, unblocked.blocksAmount());
+        assertFalse(blocks.unblock("liberado", cardId));
+
+        // O bloqueio seguinte passa a ser o bloqueio em aberto, com o histórico contado
+        assertTrue(blocks.block("segundo", cardId));
+        connection.commit();
+        var reblocked = cards.findById(seeded.boardId(), cardId).orElseThrow();
+        assertEquals("segundo", reblocked.blockReason());
+        assertEquals(2, reblocked.blocksAmount());
+    }
+
+    @Test
+    void findByIdChecksTheBoard() throws Exception {
+        var cards = new CardDAO(connection);
+        assertTrue(cards.findById(seeded.boardId(), seeded.lastCardId()).isPresent());
+        assertTrue(cards.findById(seeded.boardId() + 1_000, seeded.lastCardId()).isEmpty());
+    }
+
+}
@@ -0,0 +1,160 @@
+package bord.projeto.persistence.dao;
+
+import bord.projeto.support.DatabaseSeeder;
+import bord.projeto.support.DatabaseSeeder.SeededBoard;
+import bord.projeto.support.EmbeddedDatabase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Roda EXPLAIN em cada consulta dos DAOs contra um MariaDB embarcado com massa de dados
+ * e falha se alguma tabela for lida por full table scan (type = ALL).
+ * INSERTs ficam de fora porque não leem tabela.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    private EmbeddedDatabase database;
+    private Connection connection;
+    private SeededBoard seeded;
+
+    @BeforeAll
+    void setUp() throws Exception {
+        database = EmbeddedDatabase.start("board_plan").useAsDefault();
+        connection = database.openConnection();
+        for (var i = 0; i < 20; i++) {
+            seeded = DatabaseSeeder.seed(connection, 500);
+        }
+        try (var statement = connection.prepareStatement(
+                "INSERT INTO BLOCKS (block_reason, unblock_at, unblock_reason, card_id) VALUES (?, CURRENT_TIMESTAMP, ?, ?)")) {
+            for (var cardId = seeded.firstCardId(); cardId <= seeded.lastCardId(); cardId += 3) {
+                statement.setString(1, "bloqueio");
+                statement.setString(2, "desbloqueio");
+                statement.setLong(3, cardId);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        connection.commit();
+        try (var statement = connection.createStatement()) {
+            statement.execute("ANALYZE TABLE BOARDS, BOARDS_COLUMNS, CARDS, BLOCKS");
+        }
+    }
+
+    @AfterAll
+    void tearDown() throws Exception {
+        connection.close();
+        database.close();
+    }
+
+    Stream<DaoQuery> daoQueries() {
+        var boardId = seeded.boardId();
+        var columnId = seeded.column(INITIAL).id();
+        var cardId = seeded.firstCardId();
+        return Stream.of(
+                new DaoQuery("BlockDAO.block", BlockDAO.MARK_CARD_BLOCKED_SQL, 1L, cardId),
+                new DaoQuery("BlockDAO.unblock", BlockDAO.UNBLOCK_SQL, null, "motivo", cardId),
+                new DaoQuery("BoardDAO.delete", BoardDAO.DELETE_SQL, boardId),
+                new DaoQuery("BoardDAO.findById", BoardDAO.FIND_BY_ID_SQL, boardId),
+                new DaoQuery("BoardDAO.findVersion", BoardDAO.FIND_VERSION_SQL, boardId),
+                new DaoQuery("BoardDAO.exists", BoardDAO.EXISTS_SQL, boardId),
+                new DaoQuery("BoardDAO.findIdByName", BoardDAO.FIND_ID_BY_NAME_SQL, "board"),
+                new DaoQuery("BoardExportDAO.findBoardIds", BoardExportDAO.FIND_BOARD_IDS_SQL),
+                new DaoQuery("BoardExportDAO.exportBoard", BoardExportDAO.EXPORT_BOARD_SQL, boardId),
+                new DaoQuery("BoardExportDAO.exportColumns", BoardExportDAO.EXPORT_COLUMNS_SQL, boardId),
+                new DaoQuery("BoardExportDAO.exportCards", BoardExportDAO.EXPORT_CARDS_SQL, boardId),
+                new DaoQuery("BoardExportDAO.exportBlocks", BoardExportDAO.EXPORT_BLOCKS_SQL, boardId),
+                new DaoQuery("BoardColumnDAO.findByBoardId", BoardColumnDAO.FIND_BY_BOARD_ID_SQL, boardId),
+                new DaoQuery("BoardColumnDAO.findByBoardIdWithDetails", BoardColumnDAO.FIND_BY_BOARD_ID_WITH_DETAILS_SQL, boardId),
+                new DaoQuery("BoardColumnDAO.findById", BoardColumnDAO.FIND_BY_ID_SQL, columnId),
+                new DaoQuery("BoardColumnDAO.findHeaderById", BoardColumnDAO.FIND_HEADER_BY_ID_SQL, columnId),
+                new DaoQuery("BoardColumnDAO.addCardsAmount", BoardColumnDAO.ADD_CARDS_AMOUNT_SQL, 1, columnId),
+                new DaoQuery("BoardColumnDAO.findCardsAmountMismatches", BoardColumnDAO.FIND_CARDS_AMOUNT_MISMATCHES_SQL, boardId),
+                new DaoQuery("BoardColumnDAO.recountCardsAmount", BoardColumnDAO.RECOUNT_CARDS_AMOUNT_SQL, boardId),
+                new DaoQuery("CardDAO.moveToColumn (origem)", CardDAO.LEAVE_COLUMN_SQL, cardId, columnId),
+                new DaoQuery("CardDAO.moveToColumn", CardDAO.MOVE_TO_COLUMN_SQL, columnId, cardId),
+                new DaoQuery("CardDAO.moveToColumnIfCurrent", CardDAO.MOVE_IF_CURRENT_SQL,
+                        columnId, columnId + 1, columnId + 1, columnId + 1, cardId, columnId, 0L),
+                new DaoQuery("CardDAO.lockColumnId", CardDAO.LOCK_COLUMN_ID_SQL, cardId, boardId),
+                new DaoQuery("CardDAO.moveToNextColumn", CardDAO.MOVE_TO_NEXT_COLUMN_SQL, cardId, boardId, columnId),
+                new DaoQuery("CardDAO.moveToCancelColumn", CardDAO.MOVE_TO_CANCEL_COLUMN_SQL, cardId, boardId, columnId),
+                new DaoQuery("CardDAO.lockForMove", CardDAO.LOCK_FOR_MOVE_SQL, withIds(cardId, boardId)),
+                new DaoQuery("CardDAO.lockColumnForMove", CardDAO.LOCK_COLUMN_FOR_MOVE_SQL, columnId),
+                new DaoQuery("CardDAO.moveAll", CardDAO.MOVE_ALL_SQL, withIds(cardId, columnId + 1, columnId)),
+                new DaoQuery("CardDAO.moveColumn", CardDAO.MOVE_COLUMN_SQL, columnId + 1, columnId),
+                new DaoQuery("CardDAO.findById", CardDAO.FIND_BY_ID_SQL, cardId, boardId),
+                new DaoQuery("CardDAO.findPageByColumnId", CardDAO.FIND_PAGE_BY_COLUMN_ID_SQL, columnId, cardId, 20),
+                new DaoQuery("CardDAO.forEachByColumnId", CardDAO.FIND_BY_COLUMN_ID_SQL, columnId),
+                new DaoQuery("CardDAO.findIdRange", CardDAO.FIND_ID_RANGE_SQL),
+                new DaoQuery("CardDAO.findSearchDocuments", CardDAO.FIND_SEARCH_DOCUMENTS_SQL, cardId, cardId + 100),
+                new DaoQuery("ImportCheckpointDAO.findByKey", ImportCheckpointDAO.FIND_BY_KEY_SQL, "0".repeat(64)),
+                new DaoQuery("CardMovementDAO.findByCardId", CardMovementDAO.FIND_BY_CARD_ID_SQL, cardId),
+                new DaoQuery("CardMovementDAO.forEachHistoryByBoardId", CardMovementDAO.FIND_HISTORY_BY_BOARD_ID_SQL,
+                        boardId, boardId),
+                new DaoQuery("MigrationFingerprintDAO.findHash", MigrationFingerprintDAO.FIND_HASH_SQL,
+                        MigrationFingerprintDAO.FINGERPRINT_ID),
+                new DaoQuery("BoardDAO.findPage", BoardDAO.FIND_PAGE_SQL, 0L, 20),
+                new DaoQuery("ShardDirectoryDAO.findShard", ShardDirectoryDAO.FIND_SHARD_SQL, boardId),
+                new DaoQuery("ShardMaintenanceDAO.copyBoard", ShardMaintenanceDAO.COPY_BOARD_SQL, boardId),
+                new DaoQuery("ShardMaintenanceDAO.copyColumns", ShardMaintenanceDAO.COPY_COLUMNS_SQL, boardId),
+                new DaoQuery("ShardMaintenanceDAO.copyCards", ShardMaintenanceDAO.COPY_CARDS_SQL, boardId),
+                new DaoQuery("ShardMaintenanceDAO.copyBlocks", ShardMaintenanceDAO.COPY_BLOCKS_SQL, boardId),
+                new DaoQuery("ShardMaintenanceDAO.copyMovements", ShardMaintenanceDAO.COPY_MOVEMENTS_SQL, boardId),
+                new DaoQuery("ShardMaintenanceDAO.deleteMovements", ShardMaintenanceDAO.DELETE_MOVEMENTS_SQL, boardId)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("daoQueries")
+    void queryDoesNotScanWholeTable(final DaoQuery query) throws Exception {
+        List<String> fullScans = new ArrayList<>();
+        try (var statement = connection.prepareStatement("EXPLAIN " + query.sql())) {
+            for (var i = 0; i < query.params().length; i++) {
+                statement.setObject(i + 1, query.params()[i]);
+            }
+            try (var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    // O resultado temporário de um UNION aparece como <unionN,M> e não é uma tabela
+                    var table = resultSet.getString("table");
+                    if ("ALL".equals(resultSet.getString("type")) && !table.startsWith("<union")) {
+                        fullScans.add(table);
+                    }
+                }
+            }
+        } finally {
+            connection.rollback();
+        }
+        assertTrue(fullScans.isEmpty(),
+                "%s faz full table scan em %s".formatted(query.name(), fullScans));
+    }
+
+    // Parâmetros iniciais seguidos de um bloco completo de ids de cards (consultas com IN de tamanho fixo)
+    private static Object[] withIds(final long firstCardId, final Object... leading) {
+        var params = new Object[leading.length + CardDAO.ID_CHUNK_SIZE];
+        System.arraycopy(leading, 0, params, 0, leading.length);
+        for (var i = 0; i < CardDAO.ID_CHUNK_SIZE; i++) {
+            params[leading.length + i] = firstCardId + i;
+        }
+        return params;
+    }
+
+    record DaoQuery(String name, String sql, Object... params) {
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+}
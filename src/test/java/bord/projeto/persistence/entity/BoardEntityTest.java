@@ -0,0 +1,62 @@
+package bord.projeto.persistence.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static bord.projeto.dto.BoardWorkflow.NONE;
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.FINAL;
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class BoardEntityTest {
+
+    @Test
+    void rebuildsWorkflowWhenInvalidatedAfterColumnsReceiveIds() {
+        var board = new BoardEntity();
+        board.setBoardColumns(new ArrayList<>(List.of(column(0, INITIAL), column(1, FINAL), column(2, CANCEL))));
+
+        // Antes do INSERT as colunas não têm id e ficam fora do mapa
+        assertEquals(NONE, board.getWorkflow().indexOf(10L));
+
+        var id = 10L;
+        for (var column : board.getBoardColumns()) {
+            column.setId(id++);
+        }
+        board.invalidateWorkflow();
+        var workflow = board.getWorkflow();
+        assertEquals(0, workflow.indexOf(10L));
+        assertEquals(2, workflow.indexOf(12L));
+        assertSame(workflow, board.getWorkflow());
+    }
+
+    @Test
+    void keepsWorkflowUntilInvalidated() {
+        var board = new BoardEntity();
+        var columns = new ArrayList<>(List.of(column(0, INITIAL), column(1, FINAL)));
+        board.setBoardColumns(columns);
+        var workflow = board.getWorkflow();
+        assertEquals(NONE, workflow.cancelIndex());
+
+        columns.get(1).setKind(CANCEL);
+        assertSame(workflow, board.getWorkflow());
+
+        board.invalidateWorkflow();
+        assertEquals(1, board.getWorkflow().cancelIndex());
+
+        board.setBoardColumns(new ArrayList<>(List.of(column(0, INITIAL), column(5, CANCEL))));
+        assertEquals(NONE, board.getWorkflow().nextIndex(0));
+    }
+
+    private static BoardColumnEntity column(final int order, final BoardColumnKindEnum kind) {
+        var column = new BoardColumnEntity();
+        column.setName(kind.name());
+        column.setOrder(order);
+        column.setKind(kind);
+        return column;
+    }
+
+}
@@ -0,0 +1,53 @@
+package bord.projeto.persistence.migration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static bord.projeto.persistence.migration.ChangelogFingerprint.MASTER;
+import static bord.projeto.persistence.migration.ChangelogFingerprint.MIGRATIONS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChangelogFingerprintTest {
+
+    @TempDir
+    Path classpath;
+
+    @Test
+    void changesWhenAMigrationIsAddedOrEdited() throws IOException {
+        Files.createDirectories(classpath.resolve(MIGRATIONS));
+        Files.writeString(classpath.resolve(MASTER), "databaseChangeLog: []");
+        var first = Files.writeString(classpath.resolve(MIGRATIONS).resolve("db.changelog-1.sql"), "CREATE TABLE A(id INT);");
+
+        var original = compute();
+        assertTrue(original.isPresent());
+        assertEquals(original, compute());
+
+        Files.writeString(classpath.resolve(MIGRATIONS).resolve("db.changelog-2.sql"), "CREATE TABLE B(id INT);");
+        var withNewFile = compute();
+        assertNotEquals(original, withNewFile);
+
+        Files.writeString(first, "CREATE TABLE A(id BIGINT);");
+        assertNotEquals(withNewFile, compute());
+    }
+
+    @Test
+    void isEmptyWithoutChangelogs() throws IOException {
+        assertTrue(compute().isEmpty());
+    }
+
+    private Optional<String> compute() throws IOException {
+        try (var loader = new URLClassLoader(new URL[]{classpath.toUri().toURL()}, null)) {
+            return ChangelogFingerprint.compute(loader);
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package bord.projeto.persistence.replica;
+
+import bord.projeto.metrics.BoardMetrics;
+import bord.projeto.support.EmbeddedDatabase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static bord.projeto.persistence.ConnectionConfig.getConnection;
+import static bord.projeto.persistence.ConnectionConfig.getReadConnection;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReplicaRoutingTest {
+
+    private static final long READ_YOUR_WRITES_MS = 300;
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+
+    @BeforeAll
+    void setUp() throws Exception {
+        // Dois MariaDB independentes: o teste só precisa saber qual deles respondeu a leitura
+        replica = EmbeddedDatabase.start("board_replica").migrate();
+        System.setProperty("board.datasource.replicas.urls", replica.getUrl());
+        System.setProperty("board.datasource.replicas.read-your-writes-ms", String.valueOf(READ_YOUR_WRITES_MS));
+        System.setProperty("board.datasource.replicas.health-check-interval-ms", "200");
+        primary = EmbeddedDatabase.start("board_primary").useAsDefault();
+        Thread.sleep(READ_YOUR_WRITES_MS);
+    }
+
+    @AfterAll
+    void tearDown() throws Exception {
+        System.clearProperty("board.datasource.replicas.urls");
+        System.clearProperty("board.datasource.replicas.read-your-writes-ms");
+        System.clearProperty("board.datasource.replicas.health-check-interval-ms");
+        primary.close();
+        replica.close();
+    }
+
+    @Test
+    @Order(1)
+    void readsGoToReplicaExceptRightAfterACommit() throws Exception {
+        assertEquals("board_replica", readDatabase());
+
+        try (var connection = getConnection()) {
+            connection.commit();
+        }
+        assertEquals("board_primary", readDatabase());
+
+        Thread.sleep(READ_YOUR_WRITES_MS + 50);
+        assertEquals("board_replica", readDatabase());
+    }
+
+    @Test
+    @Order(2)
+    void commitInAnotherSessionKeepsReadsOnReplica() throws Exception {
+        AtomicReference<String> otherSession = new AtomicReference<>();
+        var writer = Thread.ofPlatform().start(() -> {
+            try {
+                try (var connection = getConnection()) {
+                    connection.commit();
+                }
+                otherSession.set(readDatabase());
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        writer.join();
+
+        assertEquals("board_primary", otherSession.get());
+        assertEquals("board_replica", readDatabase());
+    }
+
+    @Test
+    @Order(3)
+    void fallsBackToPrimaryWhenReplicaIsDown() throws Exception {
+        // Sem esperar a verificação periódica: a leitura que falha por erro de conexão tira a réplica da rotação
+        replica.stop();
+        try {
+            // O Hikari já descartou a conexão parada e não conseguiu outra: a leitura foi para o primário
+            assertEquals("board_primary", readDatabase());
+        } catch (SQLException ex) {
+            // A conexão usada há pouco foi entregue sem validação e a leitura falhou na réplica
+        }
+        assertEquals(0, BoardMetrics.registry().get("board.replicas.healthy").gauge().value());
+        assertEquals("board_primary", readDatabase());
+    }
+
+    private static String readDatabase() throws SQLException {
+        try (var connection = getReadConnection();
+             var statement = connection.prepareStatement("SELECT DATABASE()");
+             var resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+}
@@ -0,0 +1,193 @@
+package bord.projeto.persistence.shard;
+
+import bord.projeto.dto.BoardSummaryDTO;
+import bord.projeto.persistence.ConnectionConfig;
+import bord.projeto.persistence.dao.BoardDAO;
+import bord.projeto.persistence.dao.CardDAO;
+import bord.projeto.persistence.dao.ShardDirectoryDAO;
+import bord.projeto.persistence.dao.ShardMaintenanceDAO;
+import bord.projeto.service.BoardListingService;
+import bord.projeto.service.BoardQueryService;
+import bord.projeto.service.BoardService;
+import bord.projeto.service.CardMovementRecorder;
+import bord.projeto.service.CardQueryService;
+import bord.projeto.service.CardService;
+import bord.projeto.service.ShardRebalancer;
+import bord.projeto.support.DatabaseSeeder;
+import bord.projeto.support.EmbeddedDatabase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.sql.SQLException;
+import java.util.Map;
+
+import static bord.projeto.persistence.ConnectionConfig.getConnection;
+import static bord.projeto.persistence.ConnectionConfig.getNewBoardConnection;
+import static bord.projeto.persistence.ConnectionConfig.getShardConnection;
+import static bord.projeto.persistence.ConnectionConfig.getShardRouter;
+import static bord.projeto.persistence.entity.CardMovementEventEnum.BLOCK;
+import static bord.projeto.persistence.entity.CardMovementEventEnum.UNBLOCK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ShardRoutingTest {
+
+    private static final int STRIDE = 16;
+
+    private EmbeddedDatabase shard0;
+    private EmbeddedDatabase shard1;
+
+    @BeforeAll
+    void setUp() throws Exception {
+        shard1 = EmbeddedDatabase.start("board_shard1", "--auto-increment-increment=" + STRIDE, "--auto-increment-offset=2")
+                .migrate();
+        System.setProperty("board.shards.urls", shard1.getUrl());
+        System.setProperty("board.shards.id-stride", String.valueOf(STRIDE));
+        shard0 = EmbeddedDatabase.start("board_shard0", "--auto-increment-increment=" + STRIDE, "--auto-increment-offset=1")
+                .useAsDefault();
+        ShardIdRanges.verifyAndAlign();
+    }
+
+    @AfterAll
+    void tearDown() throws Exception {
+        System.clearProperty("board.shards.urls");
+        System.clearProperty("board.shards.id-stride");
+        shard0.close();
+        shard1.close();
+    }
+
+    @Test
+    void routesListsAndMovesBoardsByBoardId() throws Exception {
+        var first = insertBoard("primeiro");
+        var second = insertBoard("segundo");
+        var router = ConnectionConfig.getShardRouter();
+        assertEquals(router.homeShard(first), router.shardOf(first));
+        assertEquals(router.homeShard(second), router.shardOf(second));
+        assertTrue(router.shardOf(first) != router.shardOf(second));
+
+        var listed = BoardListingService.findPage(0, 10).boards().stream().map(BoardSummaryDTO::id).toList();
+        assertTrue(listed.contains(first) && listed.contains(second));
+        var firstPage = BoardListingService.findPage(0, 1);
+        assertEquals(Math.min(first, second), firstPage.boards().getFirst().id());
+        assertTrue(firstPage.hasNext());
+
+        var onShard1 = router.shardOf(first) == 1 ? first : second;
+        var result = ShardRebalancer.moveBoard(onShard1, 0);
+        assertEquals(1, result.fromShard());
+        assertEquals(0, router.shardOf(onShard1));
+        assertTrue(exists(0, onShard1));
+        assertFalse(exists(1, onShard1));
+        try (var connection = getConnection(onShard1)) {
+            assertTrue(new BoardQueryService(connection).findTopologyById(onShard1).isPresent());
+        }
+    }
+
+    @Test
+    void rebalanceMovesCardsBlocksAndHistory() throws Exception {
+        DatabaseSeeder.SeededBoard seeded;
+        try (var connection = getShardConnection(1)) {
+            seeded = DatabaseSeeder.seed(connection, 3);
+        }
+        var boardId = seeded.boardId();
+        var cardId = seeded.firstCardId();
+        try (var connection = getConnection(boardId)) {
+            var workflow = new BoardQueryService(connection).findTopologyById(boardId).orElseThrow().workflow();
+            new CardService(connection).block(boardId, cardId, "aguardando", workflow);
+        }
+
+        var result = ShardRebalancer.moveBoard(boardId, 0);
+        assertEquals(1, result.fromShard());
+        assertFalse(exists(1, boardId));
+        try (var connection = getConnection(boardId)) {
+            assertTrue(new CardDAO(connection).findById(boardId, cardId).orElseThrow().block());
+            new CardService(connection).unblock(boardId, cardId, "liberado");
+        }
+        CardMovementRecorder.drain();
+
+        // O histórico copiado e o gravado depois da mudança ficam juntos no shard novo
+        try (var connection = getShardConnection(0)) {
+            var movements = new CardQueryService(connection).findMovements(cardId);
+            assertEquals(2, movements.size());
+            assertEquals(BLOCK, movements.get(0).getEvent());
+            assertEquals(UNBLOCK, movements.get(1).getEvent());
+        }
+        try (var connection = getShardConnection(1)) {
+            assertTrue(new CardQueryService(connection).findMovements(cardId).isEmpty());
+        }
+    }
+
+    @Test
+    void findsABoardMovedByAnotherInstance() throws Exception {
+        var boardId = insertBoard(1);
+        var router = getShardRouter();
+        assertEquals(1, router.shardOf(boardId));
+
+        // Outra instância move o board: os mesmos passos do ShardRebalancer, sem passar por este router
+        try (var source = shard1.openConnection(); var target = shard0.openConnection()) {
+            new ShardMaintenanceDAO(source).copyBoardTo(target, boardId);
+            new ShardDirectoryDAO(target).saveAll(Map.of(boardId, 0));
+            target.commit();
+            new ShardMaintenanceDAO(source).deleteMovements(boardId);
+            new BoardDAO(source).delete(boardId);
+            source.commit();
+        }
+
+        // A rota em memória ainda vale; quem não acha o board no shard antigo relê o diretório
+        assertEquals(1, router.shardOf(boardId));
+        assertFalse(exists(router.shardOf(boardId), boardId));
+        assertTrue(router.refresh(boardId));
+        assertEquals(0, router.shardOf(boardId));
+        assertTrue(exists(router.shardOf(boardId), boardId));
+        assertFalse(router.refresh(boardId));
+    }
+
+    @Test
+    void alignsIdsAndRegistersBoardsFromBeforeSharding() throws Exception {
+        // Board criado no banco original antes do sharding, com um id que pelo deslocamento seria do shard 1
+        var legacyId = 100L * STRIDE + 2;
+        try (var connection = shard0.openConnection();
+             var statement = connection.prepareStatement("INSERT INTO BOARDS (id, name) VALUES (?, ?)")) {
+            statement.setLong(1, legacyId);
+            statement.setString(2, "legado");
+            statement.executeUpdate();
+            connection.commit();
+        }
+
+        ShardIdRanges.verifyAndAlign();
+
+        var router = getShardRouter();
+        assertEquals(1, router.homeShard(legacyId));
+        router.refresh(legacyId);
+        assertEquals(0, router.shardOf(legacyId));
+        try (var connection = getConnection(legacyId)) {
+            assertTrue(new BoardDAO(connection).exists(legacyId));
+        }
+        // O contador do shard 1 passou do maior id do shard 0: o próximo board não repete ids antigos
+        var next = insertBoard(1);
+        assertTrue(next > legacyId);
+        assertEquals(1, router.shardOf(next));
+    }
+
+    private static long insertBoard(final int shard) throws SQLException {
+        try (var connection = getShardConnection(shard)) {
+            return new BoardService(connection).insert(DatabaseSeeder.newBoard("shard " + shard)).getId();
+        }
+    }
+
+    private static long insertBoard(final String name) throws SQLException {
+        try (var connection = getNewBoardConnection()) {
+            return new BoardService(connection).insert(DatabaseSeeder.newBoard(name)).getId();
+        }
+    }
+
+    private static boolean exists(final int shard, final long boardId) throws SQLException {
+        try (var connection = getShardConnection(shard)) {
+            return new BoardQueryService(connection).findTopologyById(boardId).isPresent();
+        }
+    }
+
+}
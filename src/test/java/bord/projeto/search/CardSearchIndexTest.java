@@ -0,0 +1,87 @@
+package bord.projeto.search;
+
+import bord.projeto.dto.CardSearchDocumentDTO;
+import bord.projeto.dto.CardSearchHitDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CardSearchIndexTest {
+
+    private final CardSearchIndex index = new CardSearchIndex();
+
+    @Test
+    void tokenizesPortugueseAndEnglish() {
+        assertEquals(List.of("integracao", "botao", "pagamento"),
+                TextTokenizer.tokenize("Integração dos botões de pagamentos"));
+        assertEquals(List.of("fix", "login", "bug", "status"), TextTokenizer.tokenize("Fix the login bugs (status)"));
+    }
+
+    @Test
+    void ranksTitleMatchesFirstAndIgnoresAccents() {
+        index.putAll(List.of(
+                new CardSearchDocumentDTO(1, 10, "Revisar contrato", "Enviar a migração para o cliente"),
+                new CardSearchDocumentDTO(2, 10, "Migração do banco", "Migrar tabelas antigas"),
+                new CardSearchDocumentDTO(3, 20, "Migração de outro board", "")
+        ));
+
+        var hits = index.search("migracao", id -> id == 10, 10);
+
+        assertEquals(List.of(2L, 1L), hits.stream().map(CardSearchHitDTO::cardId).toList());
+    }
+
+    @Test
+    void reindexingReplacesAndRemovingHides() {
+        index.put(new CardSearchDocumentDTO(1, 10, "Deploy", ""));
+        index.put(new CardSearchDocumentDTO(1, 10, "Rollback", ""));
+        index.put(new CardSearchDocumentDTO(2, 20, "Rollback", ""));
+
+        assertTrue(index.search("deploy", id -> true, 10).isEmpty());
+        assertEquals(2, index.search("rollback", id -> true, 10).size());
+
+        index.removeByColumn(id -> id == 20);
+        index.remove(1);
+        assertTrue(index.search("rollback", id -> true, 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void compactsStalePostingsOnceTheyOutnumberLiveOnes() {
+        var small = new CardSearchIndex(10);
+        for (var i = 0; i < 20; i++) {
+            small.put(new CardSearchDocumentDTO(1, 10, "Deploy versão " + i, ""));
+        }
+
+        assertTrue(small.compactions() > 0);
+        assertTrue(small.postingEntries() <= 20, "entradas: " + small.postingEntries());
+        assertEquals(1, small.search("deploy", id -> true, 10).size());
+        assertEquals(1, small.search("19", id -> true, 10).size());
+        assertTrue(small.search("13", id -> true, 10).isEmpty());
+    }
+
+    @Test
+    void rebuildKeepsRemovalsAndNewerDocuments() {
+        index.startRebuild();
+        // Durante a reconstrução: o board da coluna 20 é excluído, o card 3 é removido e o card 1 é editado
+        index.removeByColumn(id -> id == 20);
+        index.remove(3);
+        index.put(new CardSearchDocumentDTO(1, 10, "Título novo", ""));
+
+        // Leituras feitas antes dessas mudanças chegam depois delas
+        index.putAllFromRebuild(List.of(
+                new CardSearchDocumentDTO(1, 10, "Título antigo", ""),
+                new CardSearchDocumentDTO(2, 20, "Card do board excluído", ""),
+                new CardSearchDocumentDTO(3, 10, "Card removido", ""),
+                new CardSearchDocumentDTO(4, 10, "Card que continua", "")));
+        index.finishRebuild();
+
+        assertEquals(List.of(1L), index.search("titulo", id -> true, 10).stream().map(CardSearchHitDTO::cardId).toList());
+        assertTrue(index.search("antigo", id -> true, 10).isEmpty());
+        assertEquals(List.of(4L), index.search("card", id -> true, 10).stream().map(CardSearchHitDTO::cardId).toList());
+        assertEquals(2, index.size());
+    }
+
+}
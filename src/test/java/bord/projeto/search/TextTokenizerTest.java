@@ -0,0 +1,31 @@
+package bord.projeto.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextTokenizerTest {
+
+    @Test
+    void dropsStopwordsSharedByBothLanguages() {
+        assertEquals(List.of("card", "backlog"), TextTokenizer.tokenize("as do no card do backlog"));
+        assertTrue(TextTokenizer.tokenize("as do no").isEmpty());
+    }
+
+    @Test
+    void foldsAccentsCaseAndRegularPlurals() {
+        assertEquals(List.of("acao", "botao", "tarefa", "card"), TextTokenizer.tokenize("AÇÕES, Botões; tarefas/cards"));
+        assertEquals(List.of("status", "class", "bonus", "bug"), TextTokenizer.tokenize("status class bonus bugs"));
+    }
+
+    @Test
+    void ignoresShortTermsAndBlankText() {
+        assertEquals(List.of("42", "ok"), TextTokenizer.tokenize("x 42 y ok"));
+        assertTrue(TextTokenizer.tokenize(null).isEmpty());
+        assertTrue(TextTokenizer.tokenize("   ").isEmpty());
+    }
+
+}
@@ -0,0 +1,90 @@
+package bord.projeto.service;
+
+import bord.projeto.dto.BoardTopology;
+import bord.projeto.metrics.BoardMetrics;
+import bord.projeto.persistence.dao.CardDAO;
+import bord.projeto.persistence.entity.CardEntity;
+import bord.projeto.support.DatabaseSeeder;
+import bord.projeto.support.EmbeddedDatabase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.sql.SQLException;
+
+import static bord.projeto.persistence.ConnectionConfig.getConnection;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * A topologia em cache é descartada quando colunas ou o nome do board mudam, por qualquer statement,
+ * e continua válida quando só os cards mudam.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BoardTopologyCacheTest {
+
+    private EmbeddedDatabase database;
+
+    @BeforeAll
+    void setUp() throws Exception {
+        database = EmbeddedDatabase.start("board_topology").useAsDefault();
+    }
+
+    @AfterAll
+    void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Test
+    void topologyChangesInvalidateTheCachedEntry() throws Exception {
+        long boardId;
+        try (var connection = getConnection()) {
+            boardId = new BoardService(connection).insert(DatabaseSeeder.newBoard("topologia")).getId();
+        }
+        var cached = findTopology(boardId);
+        var hits = BoardTopologyCache.getStats().hits();
+        assertEquals(cached, findTopology(boardId));
+        assertEquals(hits + 1, BoardTopologyCache.getStats().hits());
+
+        // Movimentos de cards alteram cards_amount, mas não a topologia
+        try (var connection = getConnection()) {
+            var card = new CardEntity();
+            card.setTitle("card");
+            card.setDescription("descrição");
+            card.setBoardColumn(cached.initialColumn().toEntity());
+            var dao = new CardDAO(connection);
+            dao.insert(card);
+            dao.moveToColumn(cached.columns().get(1).id(), card.getId());
+            connection.commit();
+        }
+        assertEquals(cached.version(), findTopology(boardId).version());
+
+        var stale = BoardTopologyCache.getStats().staleHits();
+        execute("UPDATE BOARDS_COLUMNS SET name = 'Backlog' WHERE id = " + cached.initialColumn().id());
+        var renamedColumn = findTopology(boardId);
+        assertEquals("Backlog", renamedColumn.initialColumn().name());
+        assertNotEquals(cached.version(), renamedColumn.version());
+        assertEquals(stale + 1, BoardTopologyCache.getStats().staleHits());
+
+        execute("UPDATE BOARDS SET name = 'renomeado' WHERE id = " + boardId);
+        assertEquals("renomeado", findTopology(boardId).name());
+
+        var staleCounter = BoardMetrics.registry().get("board.topology.cache").tag("result", "stale").functionCounter();
+        assertEquals(BoardTopologyCache.getStats().staleHits(), (long) staleCounter.count());
+    }
+
+    private static BoardTopology findTopology(final long boardId) throws SQLException {
+        try (var connection = getConnection()) {
+            return new BoardQueryService(connection).findTopologyById(boardId).orElseThrow();
+        }
+    }
+
+    private static void execute(final String sql) throws SQLException {
+        try (var connection = getConnection(); var statement = connection.createStatement()) {
+            statement.executeUpdate(sql);
+            connection.commit();
+        }
+    }
+
+}
@@ -0,0 +1,148 @@
+package bord.projeto.service;
+
+import bord.projeto.persistence.dao.BoardDAO;
+import bord.projeto.support.EmbeddedDatabaseExtension;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+import static bord.projeto.persistence.ConnectionConfig.getConnection;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Uma importação que falha no meio do arquivo é retomada do checkpoint sem duplicar cards nem
+ * eventos, e com os contadores cards_amount iguais ao COUNT real.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CardImportServiceTest {
+
+    private static final int ROWS = 250;
+    private static final int BATCH_SIZE = 100;
+
+    @RegisterExtension
+    static final EmbeddedDatabaseExtension database = new EmbeddedDatabaseExtension("board_card_import");
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    void setUp() throws Exception {
+        System.setProperty("board.import.batch-size", String.valueOf(BATCH_SIZE));
+    }
+
+    @AfterAll
+    void tearDown() throws Exception {
+        System.clearProperty("board.import.batch-size");
+    }
+
+    @Test
+    void resumesAfterAFailureInTheMiddleOfTheFile() throws Exception {
+        var file = csv("retomada");
+        // O card da linha 150 é recusado pelo banco: o primeiro lote é confirmado, o segundo desfeito
+        try (var connection = database.openConnection(); var statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TRIGGER cards_fail_import BEFORE INSERT ON CARDS FOR EACH ROW
+                    BEGIN
+                        IF NEW.title = 'card 150' THEN
+                            SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = 'falha simulada';
+                        END IF;
+                    END
+                    """);
+        }
+        try {
+            try (var connection = getConnection()) {
+                assertThrows(SQLException.class, () -> new CardImportService(connection).importCsv(file, true, p -> { }));
+            }
+        } finally {
+            try (var connection = database.openConnection(); var statement = connection.createStatement()) {
+                statement.execute("DROP TRIGGER cards_fail_import");
+            }
+        }
+        var boardId = boardId("retomada");
+        assertEquals(BATCH_SIZE, count(boardId, "SELECT COUNT(*) FROM CARDS c " +
+                "INNER JOIN BOARDS_COLUMNS bc ON bc.id = c.board_column_id WHERE bc.board_id = ?"));
+
+        try (var connection = getConnection()) {
+            var result = new CardImportService(connection).importCsv(file, true, p -> { });
+            assertTrue(result.finished());
+            assertEquals(ROWS, result.rowsImported());
+        }
+        assertEquals(ROWS, count(boardId, "SELECT COUNT(*) FROM CARDS c " +
+                "INNER JOIN BOARDS_COLUMNS bc ON bc.id = c.board_column_id WHERE bc.board_id = ?"));
+        assertEquals(ROWS, count(boardId, "SELECT SUM(cards_amount) FROM BOARDS_COLUMNS WHERE board_id = ?"));
+        assertEquals(ROWS, count(boardId, "SELECT COUNT(*) FROM CARD_MOVEMENTS m " +
+                "INNER JOIN BOARDS_COLUMNS bc ON bc.id = m.to_column_id WHERE bc.board_id = ? AND m.event = 'CREATE'"));
+        try (var connection = getConnection()) {
+            assertTrue(new BoardColumnQueryService(connection).findCardsAmountMismatches(boardId).isEmpty());
+        }
+    }
+
+    @Test
+    void finishedImportIsNotRepeated() throws Exception {
+        var file = csv("concluida");
+        try (var connection = getConnection()) {
+            new CardImportService(connection).importCsv(file, true, p -> { });
+            var again = new CardImportService(connection).importCsv(file, true, p -> { });
+            assertTrue(again.finished());
+        }
+        var boardId = boardId("concluida");
+        assertEquals(ROWS, count(boardId, "SELECT SUM(cards_amount) FROM BOARDS_COLUMNS WHERE board_id = ?"));
+        assertEquals(ROWS, count(boardId, "SELECT COUNT(*) FROM CARD_MOVEMENTS m " +
+                "INNER JOIN BOARDS_COLUMNS bc ON bc.id = m.to_column_id WHERE bc.board_id = ?"));
+    }
+
+    @Test
+    void rejectsRowsWithTooLongTextAndImportsTheRest() throws Exception {
+        var tooLong = "x".repeat(256);
+        var file = Files.writeString(directory.resolve("tamanho.csv"), """
+                board,column,title,description
+                tamanho,A fazer,card 0,linha 0
+                tamanho,A fazer,%s,linha 1
+                tamanho,A fazer,card 2,%s
+                tamanho,Feito,card 3,linha 3
+                """.formatted(tooLong, tooLong));
+        try (var connection = getConnection()) {
+            var result = new CardImportService(connection).importCsv(file, false, p -> { });
+            assertTrue(result.finished());
+            assertEquals(2, result.rowsImported());
+            assertEquals(2, result.rowsRejected());
+        }
+        assertEquals(2, count(boardId("tamanho"), "SELECT SUM(cards_amount) FROM BOARDS_COLUMNS WHERE board_id = ?"));
+    }
+
+    private Path csv(final String board) throws IOException {
+        var content = new StringBuilder("board,column,title,description\n");
+        for (var i = 0; i < ROWS; i++) {
+            content.append(board).append(',').append(i % 2 == 0 ? "A fazer" : "Feito")
+                    .append(",card ").append(i).append(",linha ").append(i).append('\n');
+        }
+        return Files.writeString(directory.resolve(board + ".csv"), content);
+    }
+
+    private static Long boardId(final String name) throws SQLException {
+        try (var connection = getConnection()) {
+            return new BoardDAO(connection).findIdByName(name).orElseThrow();
+        }
+    }
+
+    private long count(final Long boardId, final String sql) throws SQLException {
+        try (var connection = database.openConnection(); var statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, boardId);
+            try (var resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,177 @@
+package bord.projeto.service;
+
+import bord.projeto.dto.BoardTopology;
+import bord.projeto.dto.CardDetailsDTO;
+import bord.projeto.dto.CardMoveOutcome;
+import bord.projeto.dto.CardsAmountMismatchDTO;
+import bord.projeto.exception.CardFinishedException;
+import bord.projeto.persistence.entity.CardEntity;
+import bord.projeto.support.DatabaseSeeder;
+import bord.projeto.support.EmbeddedDatabaseExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static bord.projeto.dto.CardMoveOutcome.BLOCKED;
+import static bord.projeto.dto.CardMoveOutcome.CONFLICT;
+import static bord.projeto.dto.CardMoveOutcome.MOVED;
+import static bord.projeto.persistence.ConnectionConfig.getConnection;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Movimentos de card com conflito de versão e em paralelo: o UPDATE único nunca perde nem duplica
+ * um movimento, e os contadores cards_amount continuam iguais ao COUNT real.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CardMoveTest {
+
+    @RegisterExtension
+    static final EmbeddedDatabaseExtension database = new EmbeddedDatabaseExtension("board_card_move");
+
+    @Test
+    void staleVersionOrBlockedCardIsNotMoved() throws Exception {
+        var topology = newBoard("versao");
+        try (var connection = getConnection()) {
+            var service = new CardService(connection);
+            var card = service.create(newCard(topology));
+            var read = details(topology, card.getId());
+
+            // Outro usuário move o card depois da leitura: a versão lida fica velha
+            service.moveToNextColumn(topology.id(), card.getId(), topology.workflow());
+            assertEquals(CONFLICT, service.tryMoveToNextColumn(topology.id(), card.getId(),
+                    read.columnId(), read.version(), topology.workflow()));
+
+            var current = details(topology, card.getId());
+            service.block(topology.id(), card.getId(), "aguardando", topology.workflow());
+            assertEquals(BLOCKED, service.tryMoveToNextColumn(topology.id(), card.getId(),
+                    current.columnId(), current.version(), topology.workflow()));
+            assertEquals(current.columnId(), details(topology, card.getId()).columnId());
+        }
+    }
+
+    @Test
+    void concurrentMovesWithSameVersionMoveOnce() throws Exception {
+        var topology = newBoard("mesma_versao");
+        Long cardId;
+        try (var connection = getConnection()) {
+            cardId = new CardService(connection).create(newCard(topology)).getId();
+        }
+        var read = details(topology, cardId);
+
+        var outcomes = runConcurrently(2, () -> {
+            try (var connection = getConnection()) {
+                return new CardService(connection).tryMoveToNextColumn(topology.id(), cardId,
+                        read.columnId(), read.version(), topology.workflow());
+            }
+        });
+
+        assertEquals(1, outcomes.stream().filter(MOVED::equals).count());
+        assertEquals(1, outcomes.stream().filter(CONFLICT::equals).count());
+        assertEquals(read.version() + 1, details(topology, cardId).version());
+        assertTrue(mismatches(topology).isEmpty());
+    }
+
+    @Test
+    void concurrentMovesAdvanceOneColumnEach() throws Exception {
+        var topology = newBoard("paralelo");
+        List<CardEntity> cards;
+        try (var connection = getConnection()) {
+            cards = new CardService(connection).createAll(IntStream.range(0, 10).mapToObj(i -> newCard(topology)).toList());
+        }
+
+        // Duas threads movem os mesmos cards ao mesmo tempo; cada chamada avança uma coluna
+        runConcurrently(2, () -> {
+            try (var connection = getConnection()) {
+                var service = new CardService(connection);
+                for (var card : cards) {
+                    service.moveToNextColumn(topology.id(), card.getId(), topology.workflow());
+                }
+                return MOVED;
+            }
+        });
+
+        var workflow = topology.workflow();
+        var expectedColumnId = workflow.columnIdAt(workflow.nextIndex(workflow.nextIndex(workflow.initialIndex())));
+        for (var card : cards) {
+            assertEquals(expectedColumnId, details(topology, card.getId()).columnId());
+        }
+        assertTrue(mismatches(topology).isEmpty());
+    }
+
+    @Test
+    void finishedCardIsRejectedWithoutMoving() throws Exception {
+        var topology = newBoard("finalizado");
+        try (var connection = getConnection()) {
+            var service = new CardService(connection);
+            var card = service.create(newCard(topology));
+            var workflow = topology.workflow();
+            while (!workflow.isFinal(workflow.indexOf(details(topology, card.getId()).columnId()))) {
+                service.moveToNextColumn(topology.id(), card.getId(), workflow);
+            }
+            var version = details(topology, card.getId()).version();
+
+            assertThrows(CardFinishedException.class, () -> service.moveToNextColumn(topology.id(), card.getId(), workflow));
+            assertThrows(CardFinishedException.class, () -> service.cancel(topology.id(), card.getId(), workflow));
+            assertEquals(version, details(topology, card.getId()).version());
+            assertTrue(mismatches(topology).isEmpty());
+        }
+    }
+
+    private static List<CardMoveOutcome> runConcurrently(final int threads, final Callable<CardMoveOutcome> work) throws Exception {
+        var start = new CountDownLatch(1);
+        try (var executor = Executors.newFixedThreadPool(threads)) {
+            var futures = new ArrayList<Future<CardMoveOutcome>>();
+            for (var i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return work.call();
+                }));
+            }
+            start.countDown();
+            var outcomes = new ArrayList<CardMoveOutcome>();
+            for (var future : futures) {
+                outcomes.add(future.get());
+            }
+            return outcomes;
+        }
+    }
+
+    private static CardDetailsDTO details(final BoardTopology topology, final Long cardId) throws SQLException {
+        try (var connection = getConnection()) {
+            return new CardQueryService(connection).findById(topology.id(), cardId).orElseThrow();
+        }
+    }
+
+    private static List<CardsAmountMismatchDTO> mismatches(final BoardTopology topology) throws SQLException {
+        try (var connection = getConnection()) {
+            return new BoardColumnQueryService(connection).findCardsAmountMismatches(topology.id());
+        }
+    }
+
+    private static BoardTopology newBoard(final String name) throws SQLException {
+        try (var connection = getConnection()) {
+            var id = new BoardService(connection).insert(DatabaseSeeder.newBoard(name)).getId();
+            return new BoardQueryService(connection).findTopologyById(id).orElseThrow();
+        }
+    }
+
+    private static CardEntity newCard(final BoardTopology topology) {
+        var card = new CardEntity();
+        card.setTitle("card");
+        card.setDescription("descrição");
+        card.setBoardColumn(topology.initialColumn().toEntity());
+        return card;
+    }
+
+}
@@ -0,0 +1,132 @@
+package bord.projeto.service;
+
+import bord.projeto.persistence.entity.BoardColumnKindEnum;
+import bord.projeto.support.DatabaseSeeder;
+import bord.projeto.support.DatabaseSeeder.SeededBoard;
+import bord.projeto.support.EmbeddedDatabaseExtension;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import static bord.projeto.persistence.ConnectionConfig.getConnection;
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static bord.projeto.persistence.entity.CardMovementEventEnum.BLOCK;
+import static bord.projeto.persistence.entity.CardMovementEventEnum.CANCEL;
+import static bord.projeto.persistence.entity.CardMovementEventEnum.MOVE;
+import static bord.projeto.persistence.entity.CardMovementEventEnum.UNBLOCK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CardMovementRecorderTest {
+
+    @RegisterExtension
+    static final EmbeddedDatabaseExtension database = new EmbeddedDatabaseExtension("board_movements");
+
+    private SeededBoard seeded;
+
+    @BeforeAll
+    void setUp() throws Exception {
+        try (var connection = database.openConnection()) {
+            seeded = DatabaseSeeder.seed(connection, 5);
+        }
+    }
+
+    @Test
+    void recordsEveryActionAfterDrain() throws Exception {
+        var cardId = seeded.firstCardId();
+        var workflow = seeded.board().getWorkflow();
+        try (var connection = getConnection()) {
+            var service = new CardService(connection);
+            service.moveToNextColumn(seeded.boardId(), cardId, workflow);
+            service.block(seeded.boardId(), cardId, "motivo", workflow);
+            service.unblock(seeded.boardId(), cardId, "motivo");
+            service.cancel(seeded.boardId(), cardId, workflow);
+        }
+        CardMovementRecorder.drain();
+
+        try (var connection = getConnection()) {
+            var movements = new CardQueryService(connection).findMovements(cardId);
+            assertEquals(4, movements.size());
+            assertEquals(MOVE, movements.get(0).getEvent());
+            assertEquals(seeded.column(INITIAL).id(), movements.get(0).getFromColumnId());
+            assertEquals(BLOCK, movements.get(1).getEvent());
+            assertEquals(UNBLOCK, movements.get(2).getEvent());
+            assertEquals(CANCEL, movements.get(3).getEvent());
+            assertEquals(seeded.column(BoardColumnKindEnum.CANCEL).id(), movements.get(3).getToColumnId());
+        }
+    }
+
+    @Test
+    void drainWritesEveryPendingEvent() throws Exception {
+        var cardId = seeded.firstCardId() + 1;
+        var columnId = seeded.column(INITIAL).id();
+        var before = CardMovementRecorder.getStats();
+        for (var i = 0; i < 2_000; i++) {
+            CardMovementRecorder.created(0, cardId, columnId);
+        }
+        CardMovementRecorder.drain();
+
+        var after = CardMovementRecorder.getStats();
+        assertEquals(0, after.pending());
+        assertEquals(2_000, after.written() - before.written());
+        assertEquals(before.failed(), after.failed());
+        try (var connection = getConnection()) {
+            assertEquals(2_000, new CardQueryService(connection).findMovements(cardId).size());
+        }
+    }
+
+    @Test
+    void deletingABoardRemovesItsHistory() throws Exception {
+        SeededBoard other;
+        try (var connection = database.openConnection()) {
+            other = DatabaseSeeder.seed(connection, 1);
+        }
+        var cardId = other.firstCardId();
+        CardMovementRecorder.created(0, cardId, other.column(INITIAL).id());
+        CardMovementRecorder.drain();
+
+        try (var connection = getConnection()) {
+            assertTrue(new BoardService(connection).delete(other.boardId()));
+            assertEquals(0, new CardQueryService(connection).findMovements(cardId).size());
+        }
+    }
+
+    @Test
+    void retriesARejectedBatch() throws Exception {
+        var cardId = seeded.firstCardId() + 2;
+        // A primeira linha inserida depois do trigger é recusada; o contador AUTO_INCREMENT não volta no rollback
+        try (var connection = database.openConnection(); var statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE MOVEMENTS_FAIL_ONCE (id BIGINT AUTO_INCREMENT PRIMARY KEY)");
+            statement.execute("""
+                    CREATE TRIGGER card_movements_fail_once BEFORE INSERT ON CARD_MOVEMENTS FOR EACH ROW
+                    BEGIN
+                        INSERT INTO MOVEMENTS_FAIL_ONCE () VALUES ();
+                        IF LAST_INSERT_ID() = 1 THEN
+                            SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = 'falha simulada';
+                        END IF;
+                    END
+                    """);
+        }
+        try {
+            var before = CardMovementRecorder.getStats();
+            CardMovementRecorder.created(0, cardId, seeded.column(INITIAL).id());
+            CardMovementRecorder.drain();
+
+            var after = CardMovementRecorder.getStats();
+            assertEquals(1, after.retried() - before.retried());
+            assertEquals(1, after.written() - before.written());
+            assertEquals(before.failed(), after.failed());
+            try (var connection = getConnection()) {
+                assertEquals(1, new CardQueryService(connection).findMovements(cardId).size());
+            }
+        } finally {
+            try (var connection = database.openConnection(); var statement = connection.createStatement()) {
+                statement.execute("DROP TRIGGER card_movements_fail_once");
+                statement.execute("DROP TABLE MOVEMENTS_FAIL_ONCE");
+            }
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+package bord.projeto.service;
+
+import bord.projeto.dto.BoardColumnDTO;
+import bord.projeto.dto.BoardTopology;
+import bord.projeto.exception.CardBlockedException;
+import bord.projeto.persistence.entity.BoardColumnKindEnum;
+import bord.projeto.persistence.entity.CardEntity;
+import bord.projeto.support.DatabaseSeeder;
+import bord.projeto.support.EmbeddedDatabaseExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static bord.projeto.persistence.ConnectionConfig.getConnection;
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.FINAL;
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.PENDING;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * O contador cards_amount de cada coluna acompanha criação, movimento, cancelamento, bloqueio
+ * e exclusão do board, sempre igual a um COUNT real.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CardsAmountTest {
+
+    @RegisterExtension
+    static final EmbeddedDatabaseExtension database = new EmbeddedDatabaseExtension("board_cards_amount");
+
+    @Test
+    void followsCreateMoveCancelAndBlock() throws Exception {
+        var topology = newBoard("contadores");
+        try (var connection = getConnection()) {
+            var service = new CardService(connection);
+            var first = service.create(newCard(topology));
+            var second = service.create(newCard(topology));
+            service.createAll(List.of(newCard(topology), newCard(topology)));
+            assertEquals(Map.of(INITIAL, 4, PENDING, 0, FINAL, 0, CANCEL, 0), amounts(topology.id()));
+
+            service.moveToNextColumn(topology.id(), first.getId(), topology.workflow());
+            service.cancel(topology.id(), second.getId(), topology.workflow());
+            assertEquals(Map.of(INITIAL, 2, PENDING, 1, FINAL, 0, CANCEL, 1), amounts(topology.id()));
+
+            // Um card bloqueado não sai da coluna, e a tentativa não mexe nos contadores
+            service.block(topology.id(), first.getId(), "aguardando", topology.workflow());
+            assertThrows(CardBlockedException.class,
+                    () -> service.moveToNextColumn(topology.id(), first.getId(), topology.workflow()));
+            assertEquals(Map.of(INITIAL, 2, PENDING, 1, FINAL, 0, CANCEL, 1), amounts(topology.id()));
+
+            service.unblock(topology.id(), first.getId(), "liberado");
+            service.moveToNextColumn(topology.id(), first.getId(), topology.workflow());
+            assertEquals(Map.of(INITIAL, 2, PENDING, 1, FINAL, 0, CANCEL, 1), amounts(topology.id()));
+
+            assertTrue(new BoardColumnQueryService(connection).findCardsAmountMismatches(topology.id()).isEmpty());
+        }
+    }
+
+    @Test
+    void deletingABoardLeavesOtherCountersIntact() throws Exception {
+        var kept = newBoard("mantido");
+        var deleted = newBoard("excluido");
+        try (var connection = getConnection()) {
+            var service = new CardService(connection);
+            service.createAll(IntStream.range(0, 3).mapToObj(i -> newCard(kept)).toList());
+            service.createAll(IntStream.range(0, 5).mapToObj(i -> newCard(deleted)).toList());
+
+            assertTrue(new BoardService(connection).delete(deleted.id()));
+            assertTrue(new BoardQueryService(connection).showBoardDetails(deleted.id()).isEmpty());
+            assertEquals(3, amounts(kept.id()).get(INITIAL));
+            assertTrue(new BoardColumnQueryService(connection).findCardsAmountMismatches(kept.id()).isEmpty());
+        }
+    }
+
+    private static BoardTopology newBoard(final String name) throws SQLException {
+        try (var connection = getConnection()) {
+            var id = new BoardService(connection).insert(DatabaseSeeder.newBoard(name)).getId();
+            return new BoardQueryService(connection).findTopologyById(id).orElseThrow();
+        }
+    }
+
+    private static CardEntity newCard(final BoardTopology topology) {
+        var card = new CardEntity();
+        card.setTitle("card");
+        card.setDescription("descrição");
+        card.setBoardColumn(topology.initialColumn().toEntity());
+        return card;
+    }
+
+    // Soma por tipo de coluna (o board padrão tem duas PENDING)
+    private static Map<BoardColumnKindEnum, Integer> amounts(final Long boardId) throws SQLException {
+        try (var connection = getConnection()) {
+            return new BoardQueryService(connection).showBoardDetails(boardId).orElseThrow().columns().stream()
+                    .collect(Collectors.groupingBy(BoardColumnDTO::kind, Collectors.summingInt(BoardColumnDTO::cardsAmount)));
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+package bord.projeto.service;
+
+import bord.projeto.support.DatabaseSeeder;
+import bord.projeto.support.DatabaseSeeder.SeededBoard;
+import bord.projeto.support.EmbeddedDatabaseExtension;
+import bord.projeto.support.StatementBudget;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.stream.LongStream;
+
+import static bord.projeto.persistence.ConnectionConfig.getConnection;
+
+/**
+ * Quantidade de statements das operações do menu, para que um N+1 apareça como falha de teste.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StatementBudgetTest {
+
+    @RegisterExtension
+    static final EmbeddedDatabaseExtension database = new EmbeddedDatabaseExtension("board_budget");
+
+    private SeededBoard seeded;
+
+    @BeforeAll
+    void setUp() throws Exception {
+        try (var connection = database.openConnection()) {
+            seeded = DatabaseSeeder.seed(connection, 50);
+        }
+    }
+
+    @Test
+    @StatementBudget(operation = "BoardQueryService.showBoardDetails", max = 2)
+    void showBoardDetails() throws Exception {
+        try (var connection = getConnection()) {
+            new BoardQueryService(connection).showBoardDetails(seeded.boardId());
+        }
+    }
+
+    @Test
+    @StatementBudget(operation = "BoardQueryService.findTopologyById", max = 3)
+    void findTopologyById() throws Exception {
+        try (var connection = getConnection()) {
+            var service = new BoardQueryService(connection);
+            service.findTopologyById(seeded.boardId());
+            service.findTopologyById(seeded.boardId());
+        }
+    }
+
+    @Test
+    @StatementBudget(operation = "CardService.moveToNextColumn", max = 2)
+    void moveToNextColumn() throws Exception {
+        try (var connection = getConnection()) {
+            new CardService(connection).moveToNextColumn(seeded.boardId(), seeded.firstCardId(), seeded.board().getWorkflow());
+        }
+    }
+
+    @Test
+    @StatementBudget(operation = "CardBulkService.moveToNextColumn", max = 6)
+    void bulkMoveToNextColumn() throws Exception {
+        var cardIds = LongStream.rangeClosed(seeded.firstCardId(), seeded.lastCardId()).boxed().toList();
+        try (var connection = getConnection()) {
+            new CardBulkService(connection).moveToNextColumn(seeded.boardId(), cardIds, seeded.board().getWorkflow());
+        }
+    }
+
+}
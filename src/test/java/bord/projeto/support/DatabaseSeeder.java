@@ -0,0 +1,105 @@
+package bord.projeto.support;
+
+import bord.projeto.dto.BoardColumnInfoDTO;
+import bord.projeto.persistence.dao.BoardColumnDAO;
+import bord.projeto.persistence.entity.BoardColumnEntity;
+import bord.projeto.persistence.entity.BoardColumnKindEnum;
+import bord.projeto.persistence.entity.BoardEntity;
+import bord.projeto.service.BoardService;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.FINAL;
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static bord.projeto.persistence.entity.BoardColumnKindEnum.PENDING;
+
+/**
+ * Cria um board padrão (INITIAL, 2 PENDING, FINAL, CANCEL) e distribui a quantidade pedida de cards
+ * entre as colunas abertas, em lotes JDBC.
+ */
+public final class DatabaseSeeder {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private DatabaseSeeder() {
+    }
+
+    public static SeededBoard seed(final Connection connection, final int cards) throws SQLException {
+        var board = new BoardService(connection).insert(newBoard("seed-" + cards));
+        var columns = board.getBoardColumns().stream()
+                .map(c -> new BoardColumnInfoDTO(c.getId(), c.getOrder(), c.getKind()))
+                .toList();
+        var openColumns = columns.stream()
+                .filter(c -> c.kind() == INITIAL || c.kind() == PENDING)
+                .toList();
+
+        var sql = "INSERT INTO CARDS (title, description, board_column_id) VALUES (?, ?, ?)";
+        try (var statement = connection.prepareStatement(sql)) {
+            for (var i = 0; i < cards; i++) {
+                statement.setString(1, "card " + i);
+                statement.setString(2, "descrição do card " + i);
+                statement.setLong(3, openColumns.get(i % openColumns.size()).id());
+                statement.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+            }
+            statement.executeBatch();
+            connection.commit();
+        }
+        // Os cards foram inseridos direto na tabela; acerta o contador cards_amount das colunas
+        new BoardColumnDAO(connection).recountCardsAmount(board.getId());
+        connection.commit();
+
+        var range = "SELECT MIN(c.id), MAX(c.id) FROM CARDS c " +
+                "INNER JOIN BOARDS_COLUMNS bc ON bc.id = c.board_column_id WHERE bc.board_id = ?";
+        try (var statement = connection.prepareStatement(range)) {
+            statement.setLong(1, board.getId());
+            try (var resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return new SeededBoard(board, columns, resultSet.getLong(1), resultSet.getLong(2));
+            }
+        }
+    }
+
+    public static BoardEntity newBoard(final String name) {
+        var board = new BoardEntity();
+        board.setName(name);
+        List<BoardColumnEntity> columns = new ArrayList<>();
+        columns.add(newColumn("A fazer", INITIAL, 0));
+        columns.add(newColumn("Em andamento", PENDING, 1));
+        columns.add(newColumn("Em revisão", PENDING, 2));
+        columns.add(newColumn("Concluído", FINAL, 3));
+        columns.add(newColumn("Cancelado", CANCEL, 4));
+        board.setBoardColumns(columns);
+        return board;
+    }
+
+    private static BoardColumnEntity newColumn(final String name, final BoardColumnKindEnum kind, final int order) {
+        var column = new BoardColumnEntity();
+        column.setName(name);
+        column.setKind(kind);
+        column.setOrder(order);
+        return column;
+    }
+
+    public record SeededBoard(BoardEntity board,
+                              List<BoardColumnInfoDTO> columns,
+                              long firstCardId,
+                              long lastCardId) {
+
+        public long boardId() {
+            return board.getId();
+        }
+
+        public BoardColumnInfoDTO column(final BoardColumnKindEnum kind) {
+            return columns.stream().filter(c -> c.kind() == kind).findFirst().orElseThrow();
+        }
+    }
+
+}
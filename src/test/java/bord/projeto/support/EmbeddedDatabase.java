@@ -0,0 +1,92 @@
+package bord.projeto.support;
+
+import bord.projeto.persistence.ConnectionConfig;
+import bord.projeto.persistence.migration.MigrationStrategy;
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * MariaDB embarcado (compatível com MySQL) para testes e benchmarks.
+ * Sobe numa porta livre, aplica as migrations do Liquibase e aponta o ConnectionConfig para ele.
+ */
+public final class EmbeddedDatabase implements AutoCloseable {
+
+    private final DB db;
+    private final String url;
+
+    private EmbeddedDatabase(final DB db, final String url) {
+        this.db = db;
+        this.url = url;
+    }
+
+    public static EmbeddedDatabase start(final String name) throws ManagedProcessException {
+        return start(name, new String[0]);
+    }
+
+    // serverArgs vão para o mysqld, como --auto-increment-offset=2 de um shard
+    public static EmbeddedDatabase start(final String name, final String... serverArgs) throws ManagedProcessException {
+        var config = DBConfigurationBuilder.newBuilder();
+        config.setPort(0);
+        for (var arg : serverArgs) {
+            config.addArg(arg);
+        }
+        var db = DB.newEmbeddedDB(config.build());
+        db.start();
+        db.createDB(name);
+        var url = "jdbc:mysql://localhost:%s/%s?useSSL=false&rewriteBatchedStatements=true"
+                .formatted(db.getConfiguration().getPort(), name);
+        return new EmbeddedDatabase(db, url);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Faz o ConnectionConfig (e, portanto, DAOs e services) usar este banco e aplica as migrations.
+     */
+    public EmbeddedDatabase useAsDefault() throws SQLException {
+        ConnectionConfig.shutdown();
+        System.setProperty("board.datasource.url", url);
+        System.setProperty("board.datasource.username", "root");
+        System.setProperty("board.datasource.password", "");
+        try (var connection = ConnectionConfig.getConnection()) {
+            new MigrationStrategy(connection).executeMigration();
+        }
+        return this;
+    }
+
+    /**
+     * Aplica as migrations sem passar pelo ConnectionConfig, para um segundo banco (réplica ou shard) do mesmo teste.
+     */
+    public EmbeddedDatabase migrate() throws SQLException {
+        try (var connection = openConnection()) {
+            new MigrationStrategy(connection).executeMigration();
+        }
+        return this;
+    }
+
+    // Conexão direta, fora do pool, para preparar massa de dados
+    public Connection openConnection() throws SQLException {
+        var connection = DriverManager.getConnection(url, "root", "");
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    // Derruba só o servidor, sem mexer no ConnectionConfig (simula uma réplica fora do ar)
+    public void stop() throws ManagedProcessException {
+        db.stop();
+    }
+
+    @Override
+    public void close() throws ManagedProcessException {
+        ConnectionConfig.shutdown();
+        db.stop();
+    }
+
+}
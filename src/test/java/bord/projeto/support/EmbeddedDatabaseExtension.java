@@ -0,0 +1,55 @@
+package bord.projeto.support;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Sobe um {@link EmbeddedDatabase} para a classe de teste, aponta o ConnectionConfig para ele e cala o
+ * System.out enquanto os testes rodam (os serviços imprimem mensagens de sucesso). Fica num campo estático:
+ * <pre>{@code
+ * @RegisterExtension
+ * static final EmbeddedDatabaseExtension database = new EmbeddedDatabaseExtension("board_metrics");
+ * }</pre>
+ * Os {@code @BeforeAll} da classe já encontram o banco migrado.
+ */
+public class EmbeddedDatabaseExtension implements BeforeAllCallback, AfterAllCallback {
+
+    private final String name;
+    private EmbeddedDatabase database;
+    private PrintStream console;
+
+    public EmbeddedDatabaseExtension(final String name) {
+        this.name = name;
+    }
+
+    @Override
+    public void beforeAll(final ExtensionContext context) throws Exception {
+        database = EmbeddedDatabase.start(name).useAsDefault();
+        console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @Override
+    public void afterAll(final ExtensionContext context) throws Exception {
+        if (nonNull(console)) {
+            System.setOut(console);
+        }
+        if (nonNull(database)) {
+            database.close();
+        }
+    }
+
+    // Conexão direta, fora do pool, para preparar massa de dados
+    public Connection openConnection() throws SQLException {
+        return database.openConnection();
+    }
+
+}
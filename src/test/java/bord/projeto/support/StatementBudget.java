@@ -0,0 +1,25 @@
+package bord.projeto.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Falha o teste se alguma chamada da operação de serviço informada (por exemplo
+ * {@code "BoardQueryService.showBoardDetails"}) executar mais que {@link #max()} statements.
+ * Sem operação, o limite vale para todos os statements do teste.
+ * Só conta o SQL das conexões do ConnectionConfig.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(StatementBudgetExtension.class)
+public @interface StatementBudget {
+
+    int max();
+
+    String operation() default "";
+
+}
@@ -0,0 +1,53 @@
+package bord.projeto.support;
+
+import bord.projeto.persistence.trace.OperationStatementStats;
+import bord.projeto.persistence.trace.SqlTrace;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Liga o {@link SqlTrace} durante o teste anotado com {@link StatementBudget} e confere o limite no fim.
+ */
+public class StatementBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(StatementBudgetExtension.class);
+
+    @Override
+    public void beforeEach(final ExtensionContext context) {
+        context.getStore(NAMESPACE).put("wasEnabled", SqlTrace.isEnabled());
+        SqlTrace.setEnabled(true);
+        SqlTrace.reset();
+    }
+
+    @Override
+    public void afterEach(final ExtensionContext context) {
+        SqlTrace.setEnabled(context.getStore(NAMESPACE).get("wasEnabled", Boolean.class));
+        var budget = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), StatementBudget.class);
+        if (budget.isEmpty() || context.getExecutionException().isPresent()) {
+            return;
+        }
+        var max = budget.get().max();
+        var operation = budget.get().operation();
+        if (operation.isEmpty()) {
+            var total = SqlTrace.totalStatements();
+            assertTrue(total <= max, "O teste executou %s statements; o limite é %s".formatted(total, max));
+            return;
+        }
+        var stats = SqlTrace.summary().stream()
+                .filter(s -> s.operation().equals(operation))
+                .findFirst()
+                .orElseGet(() -> fail("A operação %s não foi chamada no teste".formatted(operation)));
+        assertTrue(stats.maxStatementsPerCall() <= max, describe(stats, max));
+    }
+
+    private static String describe(final OperationStatementStats stats, final int max) {
+        return "%s executou até %s statements numa chamada; o limite é %s"
+                .formatted(stats.operation(), stats.maxStatementsPerCall(), max);
+    }
+
+}